@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.Criteria;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.benchmark.model.Document;
+import com.blazebit.persistence.benchmark.model.Person;
+import com.blazebit.persistence.benchmark.view.DocumentJoinView;
+import com.blazebit.persistence.benchmark.view.DocumentMultisetView;
+import com.blazebit.persistence.benchmark.view.DocumentView;
+import com.blazebit.persistence.benchmark.view.PersonView;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+/**
+ * Bootstraps Hibernate on an in-memory H2 database along with a criteria builder factory and entity view manager
+ * and fills the database with documents that each have an owner and a number of partners.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    @Param({ "20" })
+    public int documentCount;
+    @Param({ "10" })
+    public int partnersPerDocument;
+
+    private EntityManagerFactory emf;
+    private EntityManager em;
+    private CriteriaBuilderFactory cbf;
+    private EntityViewManager evm;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        emf = Persistence.createEntityManagerFactory("benchmark");
+        cbf = Criteria.getDefault().createCriteriaBuilderFactory(emf);
+
+        EntityViewConfiguration entityViewConfiguration = EntityViews.createDefaultConfiguration();
+        entityViewConfiguration.addEntityView(PersonView.class);
+        entityViewConfiguration.addEntityView(DocumentView.class);
+        entityViewConfiguration.addEntityView(DocumentJoinView.class);
+        entityViewConfiguration.addEntityView(DocumentMultisetView.class);
+        evm = entityViewConfiguration.createEntityViewManager(cbf);
+
+        em = emf.createEntityManager();
+        em.getTransaction().begin();
+        for (int i = 0; i < documentCount; i++) {
+            Person owner = new Person("Owner " + i, i);
+            em.persist(owner);
+            Document document = new Document("Document " + i, i, owner);
+            em.persist(document);
+            for (int j = 0; j < partnersPerDocument; j++) {
+                Person partner = new Person("Partner " + i + "-" + j, j);
+                partner.setPartnerDocument(document);
+                em.persist(partner);
+            }
+        }
+        em.getTransaction().commit();
+        em.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        emf.close();
+    }
+
+    public EntityManager getEntityManager() {
+        return em;
+    }
+
+    public CriteriaBuilderFactory getCriteriaBuilderFactory() {
+        return cbf;
+    }
+
+    public EntityViewManager getEntityViewManager() {
+        return evm;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.benchmark.model.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a query with {@link com.blazebit.persistence.CriteriaBuilderFactory#create} and rendering
+ * the JPQL query strings, including the id, object and count queries of a paginated query.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CriteriaBuilderBenchmark {
+
+    @Benchmark
+    public String queryString(BenchmarkContext context) {
+        return createCriteriaBuilder(context).getQueryString();
+    }
+
+    @Benchmark
+    public String paginatedIdQueryString(BenchmarkContext context) {
+        return createPaginatedCriteriaBuilder(context).getPageIdQueryString();
+    }
+
+    @Benchmark
+    public String paginatedObjectQueryString(BenchmarkContext context) {
+        return createPaginatedCriteriaBuilder(context).getQueryString();
+    }
+
+    @Benchmark
+    public String paginatedCountQueryString(BenchmarkContext context) {
+        return createPaginatedCriteriaBuilder(context).getPageCountQueryString();
+    }
+
+    private static CriteriaBuilder<Document> createCriteriaBuilder(BenchmarkContext context) {
+        return context.getCriteriaBuilderFactory().create(context.getEntityManager(), Document.class, "d")
+                .innerJoin("d.owner", "o")
+                .where("d.age").gt(1L)
+                .where("o.name").like().value("Owner%").noEscape()
+                .orderByAsc("d.name")
+                .orderByAsc("d.id");
+    }
+
+    private static PaginatedCriteriaBuilder<Document> createPaginatedCriteriaBuilder(BenchmarkContext context) {
+        // The collection join requires an id query to be generated
+        return createCriteriaBuilder(context)
+                .leftJoin("d.partners", "p")
+                .where("p.age").lt(5L)
+                .page(0, 10);
+    }
+}
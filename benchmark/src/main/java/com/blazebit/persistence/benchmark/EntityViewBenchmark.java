@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.benchmark.model.Document;
+import com.blazebit.persistence.benchmark.view.DocumentJoinView;
+import com.blazebit.persistence.benchmark.view.DocumentMultisetView;
+import com.blazebit.persistence.benchmark.view.DocumentView;
+import com.blazebit.persistence.view.EntityViewSetting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the materialization of entity views on H2. The flat view exercises the {@code ViewTypeObjectBuilder},
+ * the join fetched collection the {@code TupleTransformator} and the multiset fetched collection the JSON parsing.
+ * Since the in-memory database is part of the measurement, the numbers should be compared relative to each other.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityViewBenchmark {
+
+    @Benchmark
+    public List<DocumentView> flatView(BenchmarkContext context) {
+        return context.getEntityViewManager().applySetting(EntityViewSetting.create(DocumentView.class), createCriteriaBuilder(context))
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<DocumentJoinView> joinFetchedCollection(BenchmarkContext context) {
+        return context.getEntityViewManager().applySetting(EntityViewSetting.create(DocumentJoinView.class), createCriteriaBuilder(context))
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<DocumentMultisetView> multisetFetchedCollection(BenchmarkContext context) {
+        return context.getEntityViewManager().applySetting(EntityViewSetting.create(DocumentMultisetView.class), createCriteriaBuilder(context))
+                .getResultList();
+    }
+
+    private static CriteriaBuilder<Document> createCriteriaBuilder(BenchmarkContext context) {
+        return context.getCriteriaBuilderFactory().create(context.getEntityManager(), Document.class, "d")
+                .orderByAsc("d.id");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.parser.FieldLayout;
+import com.blazebit.persistence.parser.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the JSON that is produced by the MULTISET fetch strategy without a database round trip.
+ * The nested variant parses the nested partner arrays in the same pass through a {@link FieldLayout}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonParserBenchmark {
+
+    private static final String[] FIELDS = { "id", "name", "age", "partners" };
+    private static final FieldLayout NESTED_LAYOUT = new FieldLayout(
+            FIELDS,
+            new FieldLayout[]{ null, null, null, new FieldLayout("f0", "f1") }
+    );
+
+    @Param({ "10", "100" })
+    public int elementCount;
+
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (int i = 0; i < elementCount; i++) {
+            if (i != 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":\"").append(i)
+                .append("\",\"name\":\"Document \\\"").append(i).append("\\\"\"")
+                .append(",\"age\":\"").append(i)
+                .append("\",\"partners\":[");
+            for (int j = 0; j < 3; j++) {
+                if (j != 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"f0\":\"").append(j).append("\",\"f1\":\"Partner ").append(j).append("\"}");
+            }
+            sb.append("]}");
+        }
+        sb.append(']');
+        json = sb.toString();
+    }
+
+    @Benchmark
+    public List<Object[]> parse() {
+        return JsonParser.parseStringOnly(json, FIELDS);
+    }
+
+    @Benchmark
+    public List<Object[]> parseNested() {
+        return JsonParser.parse(json, NESTED_LAYOUT);
+    }
+}
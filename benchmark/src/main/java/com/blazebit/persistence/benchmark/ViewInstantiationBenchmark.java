@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.benchmark.view.DocumentView;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares invoking the constructors of an entity view proxy through {@link Constructor#newInstance(Object...)} with invoking them
+ * through a {@link MethodHandle} with <code>invokeExact</code>, which is what the reflection based object instantiators do.
+ * The tuple variants call the tuple constructor with the self reference bound into the handle, the other variants spread the arguments.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ViewInstantiationBenchmark {
+
+    private Constructor<?> constructor;
+    private MethodHandle constructorHandle;
+    private Object[] arguments;
+    private Constructor<?> tupleConstructor;
+    private MethodHandle tupleConstructorHandle;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) throws Exception {
+        EntityViewManagerImpl evm = (EntityViewManagerImpl) context.getEntityViewManager();
+        ManagedViewTypeImplementor<DocumentView> viewType = (ManagedViewTypeImplementor<DocumentView>) evm.getMetamodel().managedView(DocumentView.class);
+        Class<?> proxyClass = evm.getProxyFactory().getProxy(evm, viewType);
+        // The constructor that takes all attribute values is the longest one that isn't a copy or tuple constructor
+        for (Constructor<?> declaredConstructor : proxyClass.getDeclaredConstructors()) {
+            Class<?>[] parameterTypes = declaredConstructor.getParameterTypes();
+            if (parameterTypes.length == 3 && parameterTypes[0] == proxyClass && parameterTypes[1] == int.class && parameterTypes[2] == Object[].class) {
+                tupleConstructor = declaredConstructor;
+            } else if ((parameterTypes.length == 0 || parameterTypes[0] != proxyClass)
+                    && (constructor == null || constructor.getParameterTypes().length < parameterTypes.length)) {
+                constructor = declaredConstructor;
+            }
+        }
+        tupleConstructor.setAccessible(true);
+        tupleConstructorHandle = MethodHandles.insertArguments(MethodHandles.lookup().unreflectConstructor(tupleConstructor), 0, new Object[]{ null })
+                .asType(MethodType.methodType(Object.class, int.class, Object[].class));
+        constructor.setAccessible(true);
+        constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor)
+                .asSpreader(Object[].class, constructor.getParameterTypes().length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        arguments = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            arguments[i] = defaultValue(parameterTypes[i]);
+        }
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        return constructor.newInstance(arguments);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Throwable {
+        return (Object) constructorHandle.invokeExact(arguments);
+    }
+
+    @Benchmark
+    public Object tupleReflection() throws Exception {
+        Object[] tupleConstructorArguments = new Object[3];
+        tupleConstructorArguments[1] = 0;
+        tupleConstructorArguments[2] = arguments;
+        return tupleConstructor.newInstance(tupleConstructorArguments);
+    }
+
+    @Benchmark
+    public Object tupleMethodHandle() throws Throwable {
+        return (Object) tupleConstructorHandle.invokeExact(0, arguments);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return (char) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        } else {
+            return 0d;
+        }
+    }
+}
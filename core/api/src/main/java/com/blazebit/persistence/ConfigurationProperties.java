@@ -108,6 +108,18 @@ public final class ConfigurationProperties {
      */
     public static final String EXPRESSION_CACHE_CLASS = "com.blazebit.persistence.expression.cache_class";
 
+    /**
+     * The maximum number of entries per cache name of a bounded expression cache, see {@link #EXPRESSION_CACHE_CLASS}.
+     * The limit of an individual cache can be set by appending the cache name to the property name,
+     * e.g. <code>com.blazebit.persistence.expression.cache_maximum_size.PathExpression</code>.
+     * The cache name is either the fully qualified name or its last segment.
+     * The property has no effect if the expression cache is unbounded.
+     * Default is <code>10000</code>
+     *
+     * @since 1.6.12
+     */
+    public static final String EXPRESSION_CACHE_MAXIMUM_SIZE = "com.blazebit.persistence.expression.cache_maximum_size";
+
     /**
      * If set to false, tuples of a VALUES clause with all null values won't be filtered out.
      * Valid values for this property are <code>true</code> or <code>false</code>.
@@ -119,6 +131,21 @@ public final class ConfigurationProperties {
      */
     public static final String VALUES_CLAUSE_FILTER_NULLS = "com.blazebit.persistence.values.filter_nulls";
 
+    /**
+     * If set to true, a VALUES clause for a basic type binds all values as a single array parameter instead of one parameter per value.
+     * This way, the query strings and SQL are the same for collections of any size, which reduces the number of distinct query plans.
+     * Array binding is only used if the DBMS supports it, see {@link com.blazebit.persistence.spi.DbmsDialect#getArrayParameterTableFunction(String)},
+     * if the JPA provider supports it, see {@link com.blazebit.persistence.spi.JpaProvider#supportsArrayParameters()},
+     * and if the basic type is one of <code>String</code>, <code>Long</code>, <code>Integer</code>, <code>Short</code>, <code>Double</code>, <code>Float</code> or <code>Boolean</code>.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     * Default is <code>false</code>
+     *
+     * The property can be changed for a criteria builder before using the VALUES clause.
+     *
+     * @since 1.6.12
+     */
+    public static final String VALUES_CLAUSE_ARRAY_BINDING = "com.blazebit.persistence.values.array_binding";
+
     /**
      * If set to false, parameters are always rendered as such, otherwise the values might get inlined when no type can be inferred.
      * Valid values for this property are <code>true</code> or <code>false</code>.
@@ -142,6 +169,19 @@ public final class ConfigurationProperties {
      */
     public static final String OPTIMIZED_KEYSET_PREDICATE_RENDERING = "com.blazebit.persistence.optimized_keyset_predicate_rendering";
 
+    /**
+     * If set to true, the optimized keyset predicate uses the row value comparison also for nullable order by items,
+     * if the DBMS dialect supports row value comparison with nulls and the keyset has no null elements.
+     * Rows with nulls that are sorted after the keyset are matched by separate predicates that consist of an equality prefix and a null check.
+     * Default is <code>false</code>
+     *
+     * The property can be changed for a criteria builder before constructing a query.
+     *
+     * @since 1.6.12
+     * @see com.blazebit.persistence.spi.DbmsDialect#supportsRowValueComparisonWithNulls()
+     */
+    public static final String NULLABLE_ROW_VALUE_KEYSET_PREDICATE_RENDERING = "com.blazebit.persistence.nullable_row_value_keyset_predicate_rendering";
+
     /**
      * If set to true, the id query in a {@link PaginatedCriteriaBuilder} is inlined into the object query as subquery.
      * Valid values for this property are <code>true</code>, <code>false</code> or <code>auto</code>.
@@ -192,6 +232,42 @@ public final class ConfigurationProperties {
      */
     public static final String QUERY_PLAN_CACHE_ENABLED = "com.blazebit.persistence.query_plan_cache_enabled";
 
+    /**
+     * The maximum number of query strings to cache across query builders with the same structure.
+     * A query builder's structure is made up of its from, join, select, where, group by, having and order by clauses, but not of its parameter values.
+     * Query builders that use CTEs, set operations, entity functions, subqueries or keyset pagination are never cached.
+     * A value of <code>0</code> disables the cache.
+     * Default is <code>0</code>
+     *
+     * @since 1.6.12
+     */
+    public static final String QUERY_STRING_CACHE_SIZE = "com.blazebit.persistence.query_string_cache_size";
+
+    /**
+     * The maximum number of post-processed SQL strings to cache for queries that use CTEs, entity functions like VALUES, returning clauses or key restricted left joins.
+     * The SQL of the JPA provider is fetched and rewritten for such queries on every build, which is avoided when a query with the same JPQL query string,
+     * the same query properties and the same collection parameter sizes was built before. The columns for returning clauses are cached as well.
+     * A value of <code>0</code> disables the cache.
+     * Default is <code>0</code>
+     *
+     * @since 1.6.12
+     */
+    public static final String CUSTOM_SQL_CACHE_SIZE = "com.blazebit.persistence.custom_sql_cache_size";
+
+    /**
+     * The encoding to use for the aggregated rows of the <code>TO_MULTISET</code> function.
+     * The value <code>auto</code> uses JSON or XML, depending on what the DBMS supports.
+     * The value <code>length_prefixed</code> uses a lighter text encoding that prefixes every value with its length, which avoids escaping,
+     * for DBMS that support it i.e. PostgreSQL, and falls back to <code>auto</code> for other DBMS.
+     * Values are still converted to text in the database and parsed from text, just like with JSON.
+     * Note that the encoding changes the SQL and the format of the aggregated results, so all instances that share a database should use the same setting.
+     * Valid values for this property are <code>auto</code> and <code>length_prefixed</code>.
+     * Default is <code>auto</code>
+     *
+     * @since 1.6.12
+     */
+    public static final String MULTISET_ENCODING = "com.blazebit.persistence.multiset_encoding";
+
     /**
      * If set to true, JPA Criteria predicates are wrapped in a negation predicate instead of copied with negation being propagated.
      * Valid values for this property are <code>true</code> and <code>false</code>.
@@ -61,6 +61,18 @@ public interface CriteriaBuilder<T> extends FullQueryBuilder<T, CriteriaBuilder<
      */
     public String getQueryRootCountQueryString(long maximumCount);
 
+    /**
+     * Freezes the current state of this criteria builder into an immutable and thread safe prepared query
+     * which can be used to create queries for different entity managers by only binding parameters.
+     * Changes to this criteria builder after preparing are not reflected in the prepared query.
+     *
+     * @return The prepared query
+     * @throws IllegalStateException If the query uses CTEs, entity functions or other features that require SQL replacement,
+     * a custom object builder like entity views or parameters that require a value transformation
+     * @since 1.6.12
+     */
+    public PreparedQuery<T> prepare();
+
     @Override
     public <Y> CriteriaBuilder<Y> copy(Class<Y> resultClass);
 
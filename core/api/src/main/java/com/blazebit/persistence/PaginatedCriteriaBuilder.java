@@ -16,7 +16,11 @@
 
 package com.blazebit.persistence;
 
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.TypedQuery;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 
 /**
  * A builder for paginated criteria queries.
@@ -135,6 +139,29 @@ public interface PaginatedCriteriaBuilder<T> extends FullQueryBuilder<T, Paginat
      */
     public long getBoundedCount();
 
+    /**
+     * Enables the use of an estimated total size which is based on the table statistics of the DBMS instead of the exact count.
+     * The estimate is only used if it is at least the given threshold, otherwise the count query is executed as usual.
+     * Estimates are only available for queries with a single entity root that has no restrictions, i.e. no WHERE or HAVING clause,
+     * no GROUP BY clause and no inner joins, and only if the DBMS dialect provides access to the statistics,
+     * see {@link com.blazebit.persistence.spi.DbmsDialect#getEstimatedRowCountSql(String)}.
+     * Enabling the estimated count disables the inlining of the count query.
+     *
+     * @param exactCountThreshold the estimate from which on the estimate is used instead of the exact count or {@link Long#MAX_VALUE} to disable estimates
+     * @return The query builder for chaining calls
+     * @since 1.6.12
+     * @see PagedArrayList#isTotalSizeEstimated()
+     */
+    public PaginatedCriteriaBuilder<T> withEstimatedCount(long exactCountThreshold);
+
+    /**
+     * Returns the estimate from which on the estimate is used instead of the exact count or {@link Long#MAX_VALUE} if estimates are disabled.
+     *
+     * @return the estimate from which on the estimate is used instead of the exact count
+     * @since 1.6.12
+     */
+    public long getEstimatedCountThreshold();
+
     /**
      * Forces the use of an id query even if the pagination would not need it.
      *
@@ -204,6 +231,28 @@ public interface PaginatedCriteriaBuilder<T> extends FullQueryBuilder<T, Paginat
      */
     public boolean isWithInlineCountQuery();
 
+    /**
+     * Enables the execution of the count query through the given executor, concurrently to the id and object queries.
+     * The count query is executed on a separate entity manager created from the given entity manager factory,
+     * which means that it only sees committed data. Enabling the concurrent execution disables the inlining of the count query.
+     * The count query is still executed before the other queries when paginating to the page of an entity id, when the count is bounded
+     * or when the count query requires CTEs, entity functions or other features that are not supported by plain JPQL queries.
+     *
+     * @param entityManagerFactory The entity manager factory to create the entity manager for the count query with
+     * @param executor The executor to execute the count query on or <code>null</code> to disable the concurrent execution
+     * @return The query builder for chaining calls
+     * @since 1.6.12
+     */
+    public PaginatedCriteriaBuilder<T> withConcurrentCountQuery(EntityManagerFactory entityManagerFactory, Executor executor);
+
+    /**
+     * Returns whether the count query is executed concurrently to the id and object queries.
+     *
+     * @return true when the count query is executed concurrently, false otherwise
+     * @since 1.6.12
+     */
+    public boolean isWithConcurrentCountQuery();
+
     /**
      * Creates and returns a new {@link CriteriaBuilder} that can be used to query the id values for the current page.
      *
@@ -220,6 +269,26 @@ public interface PaginatedCriteriaBuilder<T> extends FullQueryBuilder<T, Paginat
     @Override
     public PagedList<T> getResultList();
 
+    /**
+     * Execute the query on the given executor and return a completion stage for the result as a type PagedList.
+     * See {@link PaginatedTypedQuery#getPagedResultListAsync(Executor)} for details.
+     *
+     * @param executor The executor to execute the queries on
+     * @return The completion stage for the paged list of the results
+     * @since 1.6.12
+     */
+    public CompletionStage<PagedList<T>> getPagedResultListAsync(Executor executor);
+
+    /**
+     * Returns a publisher that emits the result of the query as single element of the type PagedList.
+     * See {@link PaginatedTypedQuery#getPagedResultListPublisher(Executor)} for details.
+     *
+     * @param executor The executor to execute the queries on
+     * @return The publisher for the paged list of the results
+     * @since 1.6.12
+     */
+    public Flow.Publisher<PagedList<T>> getPagedResultListPublisher(Executor executor);
+
     @Override
     public <Y> PaginatedCriteriaBuilder<Y> copy(Class<Y> resultClass);
 
@@ -18,6 +18,9 @@ package com.blazebit.persistence;
 
 import javax.persistence.TypedQuery;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 
 /**
  * An extended version of a {@linkplain TypedQuery} which also provides access to a count query.
@@ -50,4 +53,29 @@ public interface PaginatedTypedQuery<T> extends TypedQuery<T> {
     @Override
     public PagedList<T> getResultList();
 
+    /**
+     * Executes the queries for the requested page on the given executor and returns a completion stage for the {@link PagedList}.
+     * If the count query is not inlined, it is executed as separate task on its own entity manager if possible, concurrently to the id and object queries,
+     * which means that it only sees committed data. The entity manager factory and executor configured via
+     * {@link PaginatedCriteriaBuilder#withConcurrentCountQuery(javax.persistence.EntityManagerFactory, Executor)} are used for that if present.
+     * The id and object queries share the entity manager of this query which is not thread safe,
+     * so they are executed one after another by a single task. The entity manager must not be used until the returned completion stage completes.
+     *
+     * @param executor The executor to execute the queries on
+     * @return The completion stage for the result as paged list
+     * @since 1.6.12
+     */
+    public CompletionStage<PagedList<T>> getPagedResultListAsync(Executor executor);
+
+    /**
+     * Returns a publisher that emits the {@link PagedList} of the requested page as single element, see {@link #getPagedResultListAsync(Executor)}.
+     * The queries are executed when a subscriber requests the element, so subscriptions must not overlap because they share the entity manager.
+     * This method requires Java 9 or newer.
+     *
+     * @param executor The executor to execute the queries on
+     * @return The publisher for the result as paged list
+     * @since 1.6.12
+     */
+    public Flow.Publisher<PagedList<T>> getPagedResultListPublisher(Executor executor);
+
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable and thread safe snapshot of a fully built {@link CriteriaBuilder} that can be executed many times.
+ *
+ * The query string, result type, limit, offset and object builder are frozen when the query is prepared,
+ * so creating a query only needs to bind parameters. Parameter values that were set on the criteria builder
+ * before preparing it are used as default values. Mutable parameter values must not be modified after preparing.
+ *
+ * Only queries that don't depend on state of the criteria builder or its entity manager can be prepared.
+ * Queries that use custom object builders, like entity views, or parameters that require a value transformation,
+ * like entity or embeddable parameters that need to be rewritten for the JPA provider, are rejected when preparing.
+ * The object builders for {@link javax.persistence.Tuple}, <code>selectNew(Class)</code> and <code>selectNew(Constructor)</code> are supported.
+ *
+ * @param <T> The query result type
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface PreparedQuery<T> {
+
+    /**
+     * Returns the query string of the prepared query.
+     *
+     * @return The query string
+     */
+    public String getQueryString();
+
+    /**
+     * Returns the names of the parameters of the prepared query.
+     *
+     * @return The parameter names
+     */
+    public Set<String> getParameterNames();
+
+    /**
+     * Creates a query for the given entity manager with the default parameter values.
+     *
+     * @param entityManager The entity manager to use for the query
+     * @return The query
+     */
+    public TypedQuery<T> createQuery(EntityManager entityManager);
+
+    /**
+     * Creates a query for the given entity manager and binds the given parameter values.
+     * Parameters that are not contained in the map are bound to the default parameter values.
+     *
+     * @param entityManager The entity manager to use for the query
+     * @param parameters The parameter values by parameter name
+     * @return The query
+     * @throws IllegalArgumentException If a parameter with one of the given names does not exist
+     */
+    public TypedQuery<T> createQuery(EntityManager entityManager, Map<String, Object> parameters);
+}
@@ -18,6 +18,8 @@ package com.blazebit.persistence;
 
 import javax.persistence.TypedQuery;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 /**
@@ -66,4 +68,26 @@ public interface Queryable<T, X extends Queryable<T, X>> {
      */
     public Stream<T> getResultStream();
 
+    /**
+     * Execute the query on the given executor and return a completion stage for the result list.
+     * The query is built on the calling thread, so the builder may be modified as soon as this method returns.
+     * Since an entity manager is not thread safe, it must not be used until the returned completion stage completes.
+     *
+     * @param executor The executor to execute the query on
+     * @return The completion stage for the list of the results
+     * @since 1.6.12
+     */
+    public CompletionStage<List<T>> getResultListAsync(Executor executor);
+
+    /**
+     * Execute the query on the given executor expecting a single result and return a completion stage for it.
+     * The query is built on the calling thread, so the builder may be modified as soon as this method returns.
+     * Since an entity manager is not thread safe, it must not be used until the returned completion stage completes.
+     *
+     * @param executor The executor to execute the query on
+     * @return The completion stage for the single result
+     * @since 1.6.12
+     */
+    public CompletionStage<T> getSingleResultAsync(Executor executor);
+
 }
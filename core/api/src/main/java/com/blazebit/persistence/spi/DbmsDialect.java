@@ -273,6 +273,16 @@ public interface DbmsDialect {
      */
     public boolean supportsFullRowValueComparison();
 
+    /**
+     * Returns true if the dbms compares row values that contain null elements like the SQL standard defines it.
+     * The elements are compared from left to right and the comparison is only unknown if a null element is encountered before the first unequal element pair.
+     * This allows to use row value comparison for keyset pagination on nullable expressions.
+     *
+     * @return Whether row value comparison with null elements is supported by the dbms
+     * @since 1.6.12
+     */
+    public boolean supportsRowValueComparisonWithNulls();
+
     /**
      * Returns true if the dbms supports tuples in the count function, false otherwise.
      *
@@ -439,6 +449,28 @@ public interface DbmsDialect {
      */
     public Character getDefaultEscapeCharacter();
 
+    /**
+     * Returns a SQL query that selects the estimated row count of the given table as single numeric value based on the statistics of the dbms,
+     * or null if the dbms does not maintain such statistics. The query must not fail if the table has no statistics yet
+     * but rather return no row, null or a negative value.
+     *
+     * @param tableName The possibly qualified and quoted table name
+     * @return The SQL query for the estimated row count or null
+     * @since 1.6.12
+     */
+    public String getEstimatedRowCountSql(String tableName);
+
+    /**
+     * Returns a SQL table function invocation that produces a row for every element of a single array parameter, represented by <code>?</code>,
+     * or null if the dbms does not support binding arrays as parameters. The column of the rows must be named like the first column
+     * of a VALUES clause for the {@link #getValuesStrategy()}.
+     *
+     * @param sqlType The sql type of the array elements
+     * @return The SQL table function invocation or null
+     * @since 1.6.12
+     */
+    public String getArrayParameterTableFunction(String sqlType);
+
     /**
      * Returns whether sql types for the returning columns need to be provided.
      *
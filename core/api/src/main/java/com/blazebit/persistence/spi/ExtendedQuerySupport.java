@@ -192,6 +192,20 @@ public interface ExtendedQuerySupport {
      */
     public ReturningResult<Object[]> executeReturning(ServiceProvider serviceProvider, List<Query> participatingQueries, Query baseQuery, Query exampleQuery, String sqlOverride, boolean queryPlanCacheEnabled);
 
+    /**
+     * Executes the given modification queries, which must all have the same query string, as a single JDBC batch
+     * and returns the update count of every query in the order of the given list.
+     * An update count might be {@link java.sql.Statement#SUCCESS_NO_INFO} if the JDBC driver doesn't report update counts for batches.
+     * Returns <code>null</code> if the queries can't be batched e.g. because the JPA provider doesn't support it
+     * or the modification requires multiple SQL statements, in which case the caller should execute the queries one by one.
+     *
+     * @param em The entity manager to use
+     * @param queries The modification queries to execute
+     * @return The update counts of the queries or <code>null</code> if the queries can't be batched
+     * @since 1.6.12
+     */
+    public int[] executeBatchUpdate(EntityManager em, List<Query> queries);
+
     /**
      * Provides SQL information about a FROM element.
      *
@@ -638,6 +638,24 @@ public interface JpaProvider {
      */
     public void setSingularParameter(Query query, String name, Object value);
 
+    /**
+     * Indicates whether the provider supports binding an array as a single SQL array parameter via {@link #setArrayParameter(Query, String, Object[])}.
+     *
+     * @return true if supported, else false
+     * @since 1.6.12
+     */
+    public boolean supportsArrayParameters();
+
+    /**
+     * Sets the given array as a single SQL array parameter on the given query, regardless of the parameter type inferred from the query.
+     *
+     * @param query The query to set the parameter on
+     * @param name The parameter name
+     * @param value The parameter value
+     * @since 1.6.12
+     */
+    public void setArrayParameter(Query query, String name, Object[] value);
+
     /**
      * Get the identifier or unique key inverse properties of an association attribute.
      *
@@ -141,7 +141,8 @@ public abstract class AbstractCTECriteriaBuilder<Y, X extends BaseCTECriteriaBui
                     limit,
                     offset,
                     keyRestrictedLeftJoinAliases,
-                    entityFunctionNodes
+                    entityFunctionNodes,
+                    getCustomSqlCacheKey(baseQueryString, Collections.<ClauseType>emptySet())
             );
 
             query = new CustomSQLQuery(
@@ -34,6 +34,7 @@ import com.blazebit.persistence.KeysetBuilder;
 import com.blazebit.persistence.LeafOngoingFinalSetOperationCTECriteriaBuilder;
 import com.blazebit.persistence.MultipleSubqueryInitiator;
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.PreparedQuery;
 import com.blazebit.persistence.Path;
 import com.blazebit.persistence.PredicateBuilder;
 import com.blazebit.persistence.RestrictionBuilder;
@@ -45,6 +46,9 @@ import com.blazebit.persistence.SubqueryBuilder;
 import com.blazebit.persistence.SubqueryInitiator;
 import com.blazebit.persistence.WhereOrBuilder;
 import com.blazebit.persistence.WindowBuilder;
+import com.blazebit.persistence.impl.builder.object.ClassObjectBuilder;
+import com.blazebit.persistence.impl.builder.object.ConstructorObjectBuilder;
+import com.blazebit.persistence.impl.builder.object.TupleObjectBuilder;
 import com.blazebit.persistence.impl.function.entity.EntityFunction;
 import com.blazebit.persistence.impl.function.entity.ValuesEntity;
 import com.blazebit.persistence.impl.function.groupingsets.CubeFunction;
@@ -143,6 +147,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  *
@@ -157,6 +162,10 @@ import java.util.Set;
 public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, SetReturn, SubquerySetReturn, FinalSetReturn extends BaseFinalSetOperationBuilderImpl<?, ?, ?>> implements ServiceProvider, ConfigurationSource {
 
     public static final String ID_PARAM_NAME = "ids";
+    // JDBC drivers can bind arrays with these component types
+    private static final Set<Class<?>> ARRAY_BINDABLE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            String.class, Long.class, Integer.class, Short.class, Double.class, Float.class, Boolean.class
+    ));
 
     protected final MainQuery mainQuery;
     protected final QueryContext queryContext;
@@ -915,7 +924,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
             throw new IllegalArgumentException("Only identifiable types allowed!");
         }
 
-        joinManager.addRootValues(valueClass, valueClass, alias, valueCount, null, null, true, true, identifierAttribute, null, null, null);
+        joinManager.addRootValues(valueClass, valueClass, alias, valueCount, null, null, null, true, true, identifierAttribute, null, null, null);
         fromClassExplicitlySet = true;
 
         return (BuilderType) this;
@@ -979,13 +988,14 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
             }
 
             String castedParameter = mainQuery.dbmsDialect.cast("?", sqlType);
+            String arrayParameterTableFunction = getArrayParameterTableFunction(valueClass, sqlType);
             ExtendedAttribute valuesLikeAttribute = mainQuery.metamodel.getManagedType(ExtendedManagedType.class, ValuesEntity.class).getAttribute("value");
 
             prepareFromModification();
-            joinManager.addRootValues(ValuesEntity.class, valueClass, alias, valueCount, typeName, castedParameter, false, true, "value", valuesLikeAttribute, null, null);
+            joinManager.addRootValues(ValuesEntity.class, valueClass, alias, valueCount, typeName, castedParameter, arrayParameterTableFunction, false, true, "value", valuesLikeAttribute, null, null);
         } else if (type instanceof EntityType<?>) {
             prepareFromModification();
-            joinManager.addRootValues(valueClass, valueClass, alias, valueCount, null, null, false, true, null, null, null, null);
+            joinManager.addRootValues(valueClass, valueClass, alias, valueCount, null, null, null, false, true, null, null, null, null);
         } else {
             ExtendedManagedType<?> extendedManagedType = mainQuery.metamodel.getManagedType(ExtendedManagedType.class, valueClass);
             Map.Entry<? extends EntityType<?>, String> entry = extendedManagedType.getEmbeddableSingularOwner();
@@ -1001,13 +1011,20 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
             String valuesLikeAttributeName = entry.getValue();
             ExtendedAttribute valuesLikeAttribute = mainQuery.metamodel.getManagedType(ExtendedManagedType.class, valueHolderEntityClass).getAttribute(valuesLikeAttributeName);
             prepareFromModification();
-            joinManager.addRootValues(valueHolderEntityClass, valueClass, alias, valueCount, null, null, false, singular, valuesLikeAttributeName, valuesLikeAttribute, null, null);
+            joinManager.addRootValues(valueHolderEntityClass, valueClass, alias, valueCount, null, null, null, false, singular, valuesLikeAttributeName, valuesLikeAttribute, null, null);
         }
 
         fromClassExplicitlySet = true;
         return (BuilderType) this;
     }
 
+    private String getArrayParameterTableFunction(Class<?> valueClass, String sqlType) {
+        if (!mainQuery.getQueryConfiguration().isValuesClauseArrayBindingEnabled() || !ARRAY_BINDABLE_TYPES.contains(valueClass) || !mainQuery.jpaProvider.supportsArrayParameters()) {
+            return null;
+        }
+        return mainQuery.dbmsDialect.getArrayParameterTableFunction(sqlType);
+    }
+
     public BuilderType fromValues(Class<?> entityBaseClass, String originalAttributeName, String alias, int valueCount) {
         ExtendedManagedType<?> extendedManagedType = mainQuery.metamodel.getManagedType(ExtendedManagedType.class, entityBaseClass);
         String keyFunction = "key(";
@@ -1073,7 +1090,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
     private BuilderType fromValuesLike(Class<?> valueHolderEntityClass, Class<?> valueClass, String sqlType, String alias, int valueCount, String valuesLikeClause, ExtendedAttribute<?, ?> valuesLikeAttribute, boolean valueLikeAttributeSingular, String qualificationExpression) {
         prepareFromModification();
         String castedParameter = sqlType == null ? null : mainQuery.dbmsDialect.cast("?", sqlType);
-        joinManager.addRootValues(valueHolderEntityClass, valueClass, alias, valueCount, null, castedParameter, false, valueLikeAttributeSingular, valuesLikeAttribute.getAttributePathString(), valuesLikeAttribute, valuesLikeClause, qualificationExpression);
+        joinManager.addRootValues(valueHolderEntityClass, valueClass, alias, valueCount, null, castedParameter, null, false, valueLikeAttributeSingular, valuesLikeAttribute.getAttributePathString(), valuesLikeAttribute, valuesLikeClause, qualificationExpression);
         fromClassExplicitlySet = true;
 
         return (BuilderType) this;
@@ -2834,10 +2851,102 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
     }
 
     public String getQueryString() {
+        String queryShapeKey = getQueryShapeKey(true);
+        if (queryShapeKey != null) {
+            String queryString = cbf.getQueryStringCache().get(queryShapeKey);
+            if (queryString != null) {
+                return queryString;
+            }
+        }
         prepareAndCheck(null);
-        return getExternalQueryString();
+        String queryString = getExternalQueryString();
+        if (queryShapeKey != null && isQueryStringCacheable()) {
+            cbf.getQueryStringCache().putIfAbsent(queryShapeKey, queryString);
+        }
+        return queryString;
+    }
+
+    /**
+     * Returns whether query strings of this builder may be shared with other builders of the same shape through the query string cache.
+     *
+     * @return true if the query string cache may be used
+     */
+    protected boolean supportsQueryStringCache() {
+        return false;
+    }
+
+    /**
+     * Returns the key under which the query string of this builder is cached or <code>null</code> if the query string must not be cached.
+     * The key is built from the raw structure of the builder, so it must be computed before implicit joins and transformations are applied.
+     *
+     * @param externalRepresentation Whether the key is for the external query string
+     * @return the key or <code>null</code>
+     */
+    private String getQueryShapeKey(boolean externalRepresentation) {
+        if (cbf.getQueryStringCache() == null || !needsCheck || !isMainQuery || !supportsQueryStringCache()) {
+            return null;
+        }
+        if (checkSetBuilderEnded) {
+            verifySetBuilderEnded();
+        }
+        verifyBuilderEnded();
+        if (finalSetOperationBuilder != null || !mainQuery.cteManager.getCtes().isEmpty() || keysetManager.hasKeyset() || !explicitVersionEntities.isEmpty() || !windowManager.getWindows().isEmpty()) {
+            return null;
+        }
+
+        QueryShapeKeyGenerator keyGenerator = new QueryShapeKeyGenerator();
+        keyGenerator.append(externalRepresentation ? 'E' : 'B').append(resultType.getName());
+        QueryConfiguration queryConfiguration = mainQuery.getQueryConfiguration();
+        if (queryConfiguration instanceof MutableQueryConfiguration) {
+            keyGenerator.append(new TreeMap<>(queryConfiguration.getProperties()));
+        }
+        joinManager.appendQueryShapeKey(keyGenerator);
+        selectManager.appendQueryShapeKey(keyGenerator);
+        whereManager.appendQueryShapeKey(keyGenerator);
+        groupByManager.appendQueryShapeKey(keyGenerator);
+        havingManager.appendQueryShapeKey(keyGenerator);
+        orderByManager.appendQueryShapeKey(keyGenerator);
+        return keyGenerator.getKey();
+    }
+
+    /**
+     * Returns whether the rendered query string only depends on the query shape.
+     * Parameters that are rendered as literals or influence transformations depend on the parameter value.
+     * Parameters that got a value transformer during rendering, like entity parameters that are rewritten to ids
+     * or embeddable parameters that are split into sub-parameters, need the rendering to be set up, so such query strings are never shared.
+     *
+     * @return true if the rendered query string can be shared
+     */
+    private boolean isQueryStringCacheable() {
+        for (ParameterManager.ParameterImpl<?> parameter : parameterManager.getParameterImpls()) {
+            Map<ClauseType, ?> clauseTypes = parameter.getClauseTypes();
+            if (parameter.getTransformer() != null || parameter.isUsedInGroupBy() || clauseTypes.containsKey(ClauseType.SELECT) || clauseTypes.containsKey(ClauseType.GROUP_BY)
+                    || clauseTypes.containsKey(ClauseType.HAVING) || clauseTypes.containsKey(ClauseType.ORDER_BY)) {
+                return false;
+            }
+        }
+        return true;
     }
     
+    /**
+     * Returns the key under which the transformed SQL of a query for the given JPQL query string is cached.
+     * The JPQL query string determines the SQL of the JPA provider as well as the entity functions and key restricted left joins,
+     * so the SQL transformations can be reused without fetching the SQL from the JPA provider.
+     *
+     * @param queryString The JPQL query string of the base query
+     * @param variant The discriminator for the query variant e.g. the excluded clauses
+     * @return the cache key or null if the custom SQL cache is disabled
+     */
+    protected Object getCustomSqlCacheKey(String queryString, Object variant) {
+        if (cbf.getCustomSqlCache() == null) {
+            return null;
+        }
+        QueryConfiguration queryConfiguration = mainQuery.getQueryConfiguration();
+        // Properties set on the query might influence the SQL transformations
+        Object properties = queryConfiguration instanceof MutableQueryConfiguration ? new TreeMap<>(queryConfiguration.getProperties()) : null;
+        return Arrays.asList(queryString, variant, properties);
+    }
+
     protected String getBaseQueryStringWithCheck(StringBuilder lateralSb, JoinNode lateralJoinNode) {
         prepareAndCheck(null);
         return getBaseQueryString(lateralSb, lateralJoinNode);
@@ -2853,25 +2962,24 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
     }
 
     protected TypedQuery<QueryResultType> getTypedQuery(StringBuilder lateralSb, JoinNode lateralJoinNode) {
+        String queryShapeKey = lateralSb == null ? getQueryShapeKey(false) : null;
+        if (queryShapeKey != null) {
+            String queryString = cbf.getQueryStringCache().get(queryShapeKey);
+            if (queryString != null) {
+                // A builder of the same shape was already rendered, so we can skip implicit joining and transformations
+                return createSimpleTypedQuery(queryString);
+            }
+        }
         // NOTE: This must happen first because it generates implicit joins
         String baseQueryString = getBaseQueryStringWithCheck(lateralSb, lateralJoinNode);
         // We can only use the query directly if we have no ctes, entity functions or hibernate bugs
         Set<JoinNode> keyRestrictedLeftJoins = getKeyRestrictedLeftJoins();
         final boolean needsSqlReplacement = needsSqlReplacement(keyRestrictedLeftJoins);
         if (!needsSqlReplacement) {
-            TypedQuery<QueryResultType> query = (TypedQuery<QueryResultType>) em.createQuery(baseQueryString, selectManager.getExpectedQueryResultType());
-            if (firstResult != 0) {
-                query.setFirstResult(firstResult);
-            }
-            if (maxResults != Integer.MAX_VALUE) {
-                query.setMaxResults(maxResults);
+            if (queryShapeKey != null && isQueryStringCacheable()) {
+                cbf.getQueryStringCache().putIfAbsent(queryShapeKey, baseQueryString);
             }
-            if (isCacheable()) {
-                mainQuery.jpaProvider.setCacheable(query);
-            }
-
-            parameterManager.parameterizeQuery(query);
-            return applyObjectBuilder(query);
+            return createSimpleTypedQuery(baseQueryString);
         }
 
         TypedQuery<QueryResultType> baseQuery = (TypedQuery<QueryResultType>) em.createQuery(baseQueryString, selectManager.getExpectedQueryResultType());
@@ -2897,7 +3005,8 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         List<CTENode> ctes = shouldRenderCteNodes ? getCteNodes(false) : Collections.<CTENode>emptyList();
         QuerySpecification querySpecification = new CustomQuerySpecification(
                 this, baseQuery, parameterManager.getParameterImpls(), parameterListNames, limit, offset, keyRestrictedLeftJoinAliases, entityFunctionNodes,
-                mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null
+                mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null,
+                lateralSb == null ? getCustomSqlCacheKey(baseQueryString, Collections.<ClauseType>emptySet()) : null
         );
 
         TypedQuery<QueryResultType> query = new CustomSQLTypedQuery<QueryResultType>(
@@ -2923,6 +3032,50 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         return applyObjectBuilder(query);
     }
 
+    protected PreparedQuery<QueryResultType> prepareQuery() {
+        String queryString = getBaseQueryStringWithCheck(null, null);
+        if (needsSqlReplacement(getKeyRestrictedLeftJoins())) {
+            throw new IllegalStateException("Queries that use CTEs, entity functions or key restricted left joins can't be prepared!");
+        }
+        // Custom object builders, like the ones for entity views, might hold state that is bound to this builder or its entity manager
+        ObjectBuilder<QueryResultType> objectBuilder = selectManager.getSelectObjectBuilder();
+        if (objectBuilder != null && !(objectBuilder instanceof TupleObjectBuilder) && !(objectBuilder instanceof ClassObjectBuilder<?>) && !(objectBuilder instanceof ConstructorObjectBuilder<?>)) {
+            throw new IllegalStateException("Queries that use a custom object builder or entity views can't be prepared!");
+        }
+        // Parameter transformers like the one for entity parameters might be bound to this builder or its entity manager
+        for (ParameterManager.ParameterImpl<?> parameter : parameterManager.getParameterImpls()) {
+            if (parameter.getTransformer() != null) {
+                throw new IllegalStateException("Queries with parameters that require a value transformation, like entity or embeddable parameters that are rewritten, can't be prepared! Offending parameter: " + (parameter.getName() == null ? parameter.getPosition() : parameter.getName()));
+            }
+        }
+        return new PreparedQueryImpl<>(
+                queryString,
+                selectManager.getExpectedQueryResultType(),
+                firstResult,
+                maxResults,
+                isCacheable() ? mainQuery.jpaProvider : null,
+                objectBuilder,
+                parameterManager.getCriteriaNameMapping(),
+                parameterManager.getParameterImpls()
+        );
+    }
+
+    private TypedQuery<QueryResultType> createSimpleTypedQuery(String queryString) {
+        TypedQuery<QueryResultType> query = (TypedQuery<QueryResultType>) em.createQuery(queryString, selectManager.getExpectedQueryResultType());
+        if (firstResult != 0) {
+            query.setFirstResult(firstResult);
+        }
+        if (maxResults != Integer.MAX_VALUE) {
+            query.setMaxResults(maxResults);
+        }
+        if (isCacheable()) {
+            mainQuery.jpaProvider.setCacheable(query);
+        }
+
+        parameterManager.parameterizeQuery(query);
+        return applyObjectBuilder(query);
+    }
+
     protected boolean needsSqlReplacement(Set<JoinNode> keyRestrictedLeftJoins) {
         return isMainQuery && mainQuery.cteManager.hasCtes() || joinManager.hasEntityFunctions() || !keyRestrictedLeftJoins.isEmpty() || !isMainQuery && hasLimit();
     }
@@ -3357,7 +3510,12 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         sb.append(" WHERE ");
         joinManager.renderPlaceholderRequiringPredicate(sb, valuesNode, "e", false, false);
 
-        if (strategy == ValuesStrategy.SELECT_VALUES || strategy == ValuesStrategy.VALUES) {
+        String arrayParameterTableFunction = valuesNode.getValuesArrayParameterTableFunction();
+        if (arrayParameterTableFunction != null) {
+            // The table function produces rows with the same column naming as a VALUES clause would
+            valuesSb.append(arrayParameterTableFunction);
+            return mainQuery.em.createQuery(sb.toString());
+        } else if (strategy == ValuesStrategy.SELECT_VALUES || strategy == ValuesStrategy.VALUES) {
             valuesSb.append("(VALUES ");
         } else if (strategy == ValuesStrategy.SELECT_UNION) {
             // Nothing to do here
@@ -3696,6 +3854,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
 
         // No need to do all that stuff again if no mutation occurs
         needsCheck = false;
+        joinManager.markPrepared();
     }
 
     protected void analyzeConstantifiedJoinNodes() {
@@ -3934,7 +4093,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
 
             int positionalOffset = parameterManager.getPositionalOffset();
             if (mainQuery.getQueryConfiguration().isOptimizedKeysetPredicateRenderingEnabled()) {
-                keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, positionalOffset);
+                keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, positionalOffset, mainQuery.getQueryConfiguration().isNullableRowValueKeysetPredicateRenderingEnabled());
             } else {
                 keysetManager.buildKeysetPredicate(sbSelectFrom, positionalOffset);
             }
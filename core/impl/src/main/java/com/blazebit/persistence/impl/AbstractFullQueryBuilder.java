@@ -712,7 +712,7 @@ public abstract class AbstractFullQueryBuilder<T, X extends FullQueryBuilder<T,
         QuerySpecification querySpecification = new CustomQuerySpecification(
                 this, baseQuery, parameters, parameterListNames, limit, offset, keyRestrictedLeftJoinAliases, entityFunctionNodes,
                 mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(),
-                useCountWrapper ? getCountExampleQuery() : null
+                useCountWrapper ? getCountExampleQuery() : null, getCustomSqlCacheKey(countQueryString, Arrays.asList(COUNT_QUERY_CLAUSE_EXCLUSIONS, dualNode == null))
         );
 
         CustomSQLTypedQuery<Long> countQuery = new CustomSQLTypedQuery<>(
@@ -36,6 +36,7 @@ import com.blazebit.persistence.impl.query.QuerySpecification;
 import com.blazebit.persistence.impl.query.QueryWrapper;
 import com.blazebit.persistence.parser.expression.ExpressionCopyContext;
 import com.blazebit.persistence.spi.AttributePath;
+import com.blazebit.persistence.parser.util.BoundedCache;
 import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
 import com.blazebit.persistence.spi.DbmsModificationState;
 import com.blazebit.persistence.spi.DbmsStatementType;
@@ -229,7 +230,8 @@ public abstract class AbstractModificationCriteriaBuilder<T, X extends BaseModif
                     null,
                     includedModificationStates,
                     returningAttributeBindingMap,
-                    mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled()
+                    mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(),
+                    getCustomSqlCacheKey(getBaseQueryString(null, null), Collections.<ClauseType>emptySet())
             );
 
             query = new CustomSQLQuery(
@@ -408,7 +410,8 @@ public abstract class AbstractModificationCriteriaBuilder<T, X extends BaseModif
                 objectBuilder,
                 null,
                 returningAttributeBindingMap,
-                mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled()
+                mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(),
+                getCustomSqlCacheKey(getBaseQueryString(null, null), Collections.<ClauseType>emptySet())
         );
 
         CustomReturningSQLTypedQuery query = new CustomReturningSQLTypedQuery<R>(
@@ -569,6 +572,28 @@ public abstract class AbstractModificationCriteriaBuilder<T, X extends BaseModif
     }
     
     private String[] getReturningColumns(List<List<Attribute<?, ?>>> attributes) {
+        BoundedCache<List<Object>, String[]> returningColumnsCache = cbf.getReturningColumnsCache();
+        if (returningColumnsCache == null) {
+            return renderReturningColumns(attributes);
+        }
+        List<Object> cacheKey = new ArrayList<Object>(attributes.size() + 1);
+        cacheKey.add(entityType.getName());
+        for (List<Attribute<?, ?>> returningAttribute : attributes) {
+            List<String> attributeNames = new ArrayList<String>(returningAttribute.size());
+            for (Attribute<?, ?> attribute : returningAttribute) {
+                attributeNames.add(attribute.getName());
+            }
+            cacheKey.add(attributeNames);
+        }
+        String[] columns = returningColumnsCache.get(cacheKey);
+        if (columns == null) {
+            columns = renderReturningColumns(attributes);
+            returningColumnsCache.putIfAbsent(cacheKey, columns);
+        }
+        return columns;
+    }
+
+    private String[] renderReturningColumns(List<List<Attribute<?, ?>>> attributes) {
         List<String> columns = new ArrayList<String>(attributes.size());
 
         StringBuilder sb = new StringBuilder();
@@ -17,6 +17,10 @@
 package com.blazebit.persistence.impl;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.persistence.TypedQuery;
@@ -68,4 +72,26 @@ public abstract class AbstractQueryBuilder<T, X extends Queryable<T, X>, Z, W, F
         return getQuery().getResultStream();
     }
 
+    @Override
+    public CompletionStage<List<T>> getResultListAsync(Executor executor) {
+        final TypedQuery<T> query = getQuery();
+        return CompletableFuture.supplyAsync(new Supplier<List<T>>() {
+            @Override
+            public List<T> get() {
+                return query.getResultList();
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletionStage<T> getSingleResultAsync(Executor executor) {
+        final TypedQuery<T> query = getQuery();
+        return CompletableFuture.supplyAsync(new Supplier<T>() {
+            @Override
+            public T get() {
+                return query.getSingleResult();
+            }
+        }, executor);
+    }
+
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.spi.AttributeAccessor;
+import com.blazebit.persistence.spi.JpaProvider;
+
+import javax.persistence.Query;
+import java.lang.reflect.Array;
+import java.util.Collection;
+
+/**
+ * Binds all values of a basic VALUES clause as a single array parameter.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class ArrayValuesParameterBinder extends ValuesParameterBinder {
+
+    private final JpaProvider jpaProvider;
+    private final Class<?> elementType;
+
+    public ArrayValuesParameterBinder(String[][] parameterNames, AttributeAccessor<Object, Object>[] pathExpressions, JpaProvider jpaProvider, Class<?> elementType) {
+        super(parameterNames, pathExpressions);
+        this.jpaProvider = jpaProvider;
+        this.elementType = elementType;
+    }
+
+    @Override
+    public void bind(Query query, Collection<Object> value) {
+        // Use an array of the element type, as JDBC drivers derive the SQL array type from the component type
+        Object[] array = value.toArray((Object[]) Array.newInstance(elementType, value.size()));
+        jpaProvider.setArrayParameter(query, getParameterNames()[0][0], array);
+    }
+
+    @Override
+    public int size() {
+        return Integer.MAX_VALUE;
+    }
+}
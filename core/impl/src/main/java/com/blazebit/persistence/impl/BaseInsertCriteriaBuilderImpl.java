@@ -203,7 +203,8 @@ public abstract class BaseInsertCriteriaBuilderImpl<T, X extends BaseInsertCrite
                 null,
                 includedModificationStates,
                 returningAttributeBindingMap,
-                mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled()
+                mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(),
+                getCustomSqlCacheKey(getBaseQueryString(null, null), Collections.<ClauseType>emptySet())
         );
 
         CustomSQLQuery query = new CustomSQLQuery(
@@ -433,7 +433,8 @@ public abstract class BaseUpdateCriteriaBuilderImpl<T, X extends BaseUpdateCrite
                 setColumns,
                 getForeignKeyParticipatingQueries(),
                 aliasMapping,
-                getUpdateExampleQuery()
+                getUpdateExampleQuery(),
+                getCustomSqlCacheKey(getBaseQueryString(null, null), Collections.<ClauseType>emptySet())
         );
     }
 
@@ -414,6 +414,16 @@ public final class CachingJpaProvider implements JpaProvider {
         jpaProvider.setSingularParameter(query, name, value);
     }
 
+    @Override
+    public boolean supportsArrayParameters() {
+        return jpaProvider.supportsArrayParameters();
+    }
+
+    @Override
+    public void setArrayParameter(Query query, String name, Object[] value) {
+        jpaProvider.setArrayParameter(query, name, value);
+    }
+
     @Override
     public List<String> getIdentifierOrUniqueKeyEmbeddedPropertyNames(EntityType<?> owner, String attributeName) {
         // TODO: cache this via extended metamodel
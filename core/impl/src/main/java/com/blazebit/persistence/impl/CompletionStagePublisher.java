@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A publisher that emits the result of a completion stage which is created by the given supplier on the first request of a subscription.
+ * This class is only loaded when a publisher is requested, so that the rest of the implementation still runs on Java versions without {@link Flow}.
+ *
+ * @param <T> The element type
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class CompletionStagePublisher<T> implements Flow.Publisher<T> {
+
+    private final Supplier<? extends CompletionStage<? extends T>> supplier;
+
+    private CompletionStagePublisher(Supplier<? extends CompletionStage<? extends T>> supplier) {
+        this.supplier = supplier;
+    }
+
+    public static <T> Flow.Publisher<T> create(Supplier<? extends CompletionStage<? extends T>> supplier) {
+        return new CompletionStagePublisher<>(supplier);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        subscriber.onSubscribe(new CompletionStageSubscription<>(subscriber, supplier));
+    }
+
+    /**
+     * @param <T> The element type
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class CompletionStageSubscription<T> implements Flow.Subscription, BiConsumer<T, Throwable> {
+
+        private static final int NEW = 0;
+        private static final int REQUESTED = 1;
+        private static final int DONE = 2;
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Supplier<? extends CompletionStage<? extends T>> supplier;
+        private final AtomicInteger state = new AtomicInteger(NEW);
+
+        public CompletionStageSubscription(Flow.Subscriber<? super T> subscriber, Supplier<? extends CompletionStage<? extends T>> supplier) {
+            this.subscriber = subscriber;
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (state.getAndSet(DONE) != DONE) {
+                    subscriber.onError(new IllegalArgumentException("The number of requested elements must be positive but was: " + n));
+                }
+                return;
+            }
+            // The result is only computed once, further requests are ignored
+            if (!state.compareAndSet(NEW, REQUESTED)) {
+                return;
+            }
+            CompletionStage<? extends T> stage;
+            try {
+                stage = supplier.get();
+            } catch (Throwable t) {
+                accept(null, t);
+                return;
+            }
+            stage.whenComplete(this);
+        }
+
+        @Override
+        public void cancel() {
+            state.set(DONE);
+        }
+
+        @Override
+        public void accept(T result, Throwable throwable) {
+            if (!state.compareAndSet(REQUESTED, DONE)) {
+                return;
+            }
+            if (throwable == null) {
+                subscriber.onNext(result);
+                subscriber.onComplete();
+            } else if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                subscriber.onError(throwable.getCause());
+            } else {
+                subscriber.onError(throwable);
+            }
+        }
+    }
+}
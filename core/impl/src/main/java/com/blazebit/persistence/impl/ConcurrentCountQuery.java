@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.impl.query.TypedQueryWrapper;
+import com.blazebit.persistence.spi.JpaProvider;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Parameter;
+import javax.persistence.TypedQuery;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Executes the count query of a paginated query on a separate entity manager so that it can run concurrently to the id and object queries.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class ConcurrentCountQuery {
+
+    private final String countQueryString;
+    private final boolean cacheable;
+    private final JpaProvider jpaProvider;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Executor executor;
+
+    public ConcurrentCountQuery(String countQueryString, boolean cacheable, JpaProvider jpaProvider, EntityManagerFactory entityManagerFactory, Executor executor) {
+        this.countQueryString = countQueryString;
+        this.cacheable = cacheable;
+        this.jpaProvider = jpaProvider;
+        this.entityManagerFactory = entityManagerFactory;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns whether the count query should be executed concurrently to the id and object queries of a blocking execution.
+     *
+     * @return true if an executor for the count query was configured
+     */
+    public boolean isConcurrent() {
+        return executor != null;
+    }
+
+    /**
+     * Starts the execution of a count query that uses the parameter values of the given count query.
+     *
+     * @param countQuery The count query created for the entity manager of the query builder
+     * @return The future for the count
+     */
+    public CompletableFuture<Long> execute(TypedQuery<?> countQuery) {
+        return execute(countQuery, executor);
+    }
+
+    /**
+     * Starts the execution of a count query that uses the parameter values of the given count query
+     * on the configured executor or the given default executor if none was configured.
+     *
+     * @param countQuery The count query created for the entity manager of the query builder
+     * @param defaultExecutor The executor to use if no executor for the count query was configured
+     * @return The future for the count
+     */
+    public CompletableFuture<Long> execute(TypedQuery<?> countQuery, Executor defaultExecutor) {
+        final Executor executor = this.executor == null ? defaultExecutor : this.executor;
+        // Entity managers must not be shared between threads, so the count query is created for a separate entity manager
+        final EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            final TypedQuery<Long> query = em.createQuery(countQueryString, Long.class);
+            if (cacheable) {
+                jpaProvider.setCacheable(query);
+            }
+            // Parameter values might have been set on the paginated query after it was created, so we copy them from the count query
+            TypedQuery<?> source = countQuery instanceof TypedQueryWrapper<?> ? ((TypedQueryWrapper<?>) countQuery).getDelegate() : countQuery;
+            for (Parameter<?> parameter : query.getParameters()) {
+                String name = parameter.getName();
+                if (name == null) {
+                    Parameter<?> sourceParameter = source.getParameter(parameter.getPosition());
+                    if (source.isBound(sourceParameter)) {
+                        query.setParameter(parameter.getPosition(), source.getParameterValue(parameter.getPosition()));
+                    }
+                } else {
+                    Parameter<?> sourceParameter = source.getParameter(name);
+                    if (source.isBound(sourceParameter)) {
+                        query.setParameter(name, source.getParameterValue(name));
+                    }
+                }
+            }
+
+            return CompletableFuture.supplyAsync(new Supplier<Long>() {
+                @Override
+                public Long get() {
+                    try {
+                        return query.getSingleResult();
+                    } finally {
+                        em.close();
+                    }
+                }
+            }, executor);
+        } catch (RuntimeException ex) {
+            em.close();
+            throw ex;
+        }
+    }
+}
@@ -409,6 +409,8 @@ import com.blazebit.persistence.impl.function.stringxmlagg.GroupConcatBasedStrin
 import com.blazebit.persistence.impl.function.stringxmlagg.OracleGroupConcatBasedStringXmlAggFunction;
 import com.blazebit.persistence.impl.function.stringxmlagg.PostgreSQLStringXmlAggFunction;
 import com.blazebit.persistence.impl.function.subquery.SubqueryFunction;
+import com.blazebit.persistence.impl.function.tomultiset.LengthPrefixedMultisetEncoding;
+import com.blazebit.persistence.impl.function.tomultiset.PostgreSQLLengthPrefixedMultisetEncoding;
 import com.blazebit.persistence.impl.function.tomultiset.ToMultisetFunction;
 import com.blazebit.persistence.impl.function.tostringjson.AbstractToStringJsonFunction;
 import com.blazebit.persistence.impl.function.tostringjson.ForJsonPathToStringJsonFunction;
@@ -2013,10 +2015,15 @@ public class CriteriaBuilderConfigurationImpl implements CriteriaBuilderConfigur
         properties.put(ConfigurationProperties.COMPATIBLE_MODE, "false");
         properties.put(ConfigurationProperties.RETURNING_CLAUSE_CASE_SENSITIVE, "true");
         properties.put(ConfigurationProperties.EXPRESSION_CACHE_CLASS, ConcurrentHashMapExpressionCache.class.getName());
+        properties.put(ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE, "10000");
         properties.put(ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING, "true");
+        properties.put(ConfigurationProperties.NULLABLE_ROW_VALUE_KEYSET_PREDICATE_RENDERING, "false");
         properties.put(ConfigurationProperties.INLINE_ID_QUERY, "auto");
         properties.put(ConfigurationProperties.INLINE_COUNT_QUERY, "auto");
         properties.put(ConfigurationProperties.INLINE_CTES, "true");
+        properties.put(ConfigurationProperties.QUERY_STRING_CACHE_SIZE, "0");
+        properties.put(ConfigurationProperties.CUSTOM_SQL_CACHE_SIZE, "0");
+        properties.put(ConfigurationProperties.MULTISET_ENCODING, "auto");
     }
 
     private void loadExtendedQuerySupport() {
@@ -2079,6 +2086,44 @@ public class CriteriaBuilderConfigurationImpl implements CriteriaBuilderConfigur
         return functions;
     }
 
+    /**
+     * Returns the registered functions with the <code>to_multiset</code> function adapted to the configured {@link ConfigurationProperties#MULTISET_ENCODING}.
+     * The registered functions are left untouched, as the encoding can only be chosen after the functions were registered.
+     *
+     * @return The functions to use for a criteria builder factory
+     */
+    Map<String, JpqlFunctionGroup> getFactoryFunctions() {
+        String multisetEncoding = properties.getProperty(ConfigurationProperties.MULTISET_ENCODING);
+        if (multisetEncoding == null || "auto".equalsIgnoreCase(multisetEncoding)) {
+            return functions;
+        }
+        if (!"length_prefixed".equalsIgnoreCase(multisetEncoding)) {
+            throw new IllegalArgumentException("Invalid value for property " + ConfigurationProperties.MULTISET_ENCODING + ": " + multisetEncoding + ". Expected one of: auto, length_prefixed");
+        }
+        JpqlFunctionGroup multisetFunctionGroup = functions.get(ToMultisetFunction.FUNCTION_NAME);
+        JpqlFunctionGroup lengthPrefixedFunctionGroup = new JpqlFunctionGroup(multisetFunctionGroup.getName(), multisetFunctionGroup.getKind());
+        for (String dbms : dbmsDialects.keySet()) {
+            JpqlFunction function = multisetFunctionGroup.get(dbms);
+            LengthPrefixedMultisetEncoding encoding = createLengthPrefixedMultisetEncoding(dbms);
+            if (encoding != null && function instanceof ToMultisetFunction) {
+                function = ((ToMultisetFunction) function).withLengthPrefixedEncoding(encoding);
+            }
+            if (function != null) {
+                lengthPrefixedFunctionGroup.add(dbms, function);
+            }
+        }
+        Map<String, JpqlFunctionGroup> factoryFunctions = new HashMap<>(functions);
+        factoryFunctions.put(ToMultisetFunction.FUNCTION_NAME, lengthPrefixedFunctionGroup);
+        return factoryFunctions;
+    }
+
+    private static LengthPrefixedMultisetEncoding createLengthPrefixedMultisetEncoding(String dbms) {
+        if ("postgresql".equals(dbms)) {
+            return new PostgreSQLLengthPrefixedMultisetEncoding();
+        }
+        return null;
+    }
+
     @Override
     public JpqlFunctionGroup getFunction(String name) {
         return functions.get(name.toLowerCase());
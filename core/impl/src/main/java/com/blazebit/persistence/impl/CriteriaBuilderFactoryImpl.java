@@ -24,12 +24,14 @@ import com.blazebit.persistence.LeafOngoingFinalSetOperationCriteriaBuilder;
 import com.blazebit.persistence.StartOngoingSetOperationCriteriaBuilder;
 import com.blazebit.persistence.UpdateCriteriaBuilder;
 import com.blazebit.persistence.parser.FunctionKind;
+import com.blazebit.persistence.parser.expression.BoundedExpressionCache;
 import com.blazebit.persistence.parser.expression.ExpressionCache;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
 import com.blazebit.persistence.parser.expression.ExpressionFactoryImpl;
 import com.blazebit.persistence.parser.expression.MacroConfiguration;
 import com.blazebit.persistence.parser.expression.SimpleCachingExpressionFactory;
 import com.blazebit.persistence.parser.expression.SubqueryExpressionFactory;
+import com.blazebit.persistence.parser.util.BoundedCache;
 import com.blazebit.persistence.spi.ConfigurationSource;
 import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.EntityManagerFactoryIntegrator;
@@ -64,6 +66,9 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
     private final Map<String, FunctionKind> functions;
     private final Map<Class<?>, String> namedTypes;
     private final ExpressionCache expressionCache;
+    private final BoundedCache<String, String> queryStringCache;
+    private final BoundedCache<Object, String> customSqlCache;
+    private final BoundedCache<List<Object>, String[]> returningColumnsCache;
     private final ExpressionFactory expressionFactory;
     private final ExpressionFactory subqueryExpressionFactory;
     private final QueryConfiguration queryConfiguration;
@@ -85,7 +90,8 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
             throw new IllegalArgumentException("Multiple EntityManagerFactoryIntegrator were found on the classpath! Please remove the wrong integrations from the classpath!");
         }
         EntityManagerFactoryIntegrator integrator = integrators.get(0);
-        EntityManagerFactory emf = integrator.registerFunctions(entityManagerFactory, config.getFunctions());
+        Map<String, JpqlFunctionGroup> configuredFunctions = config.getFactoryFunctions();
+        EntityManagerFactory emf = integrator.registerFunctions(entityManagerFactory, configuredFunctions);
         Map<String, JpqlFunction> registeredFunctions = new HashMap<>(integrator.getRegisteredFunctions(emf));
         String dbms = integrator.getDbms(emf);
         Map<String, DbmsDialect> dbmsDialects = config.getDbmsDialects();
@@ -112,12 +118,15 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
 
         this.transientEntityParameterTransformerFactory = new TransientEntityAssociationParameterTransformerFactory(metamodel, new AssociationToIdParameterTransformer(jpaProvider));
         this.extendedQuerySupport = config.getExtendedQuerySupport();
-        this.functions = resolveFunctions(config.getFunctions(), configuredRegisteredFunctions);
+        this.functions = resolveFunctions(configuredFunctions, configuredRegisteredFunctions);
         this.registeredFunctionNames = caseInsensitiveFunctions(configuredRegisteredFunctions);
         this.namedTypes = resolveNamedTypes(config.getNamedTypes());
 
         ExpressionFactory originalExpressionFactory = new ExpressionFactoryImpl(functions, metamodel.getEntityTypes(), metamodel.getEnumTypes(), metamodel.getEnumTypesForLiterals(), !compatibleMode, optimize);
-        this.expressionCache = createCache(queryConfiguration.getExpressionCacheClass());
+        this.expressionCache = createCache(queryConfiguration);
+        this.queryStringCache = queryConfiguration.getQueryStringCacheSize() > 0 ? new BoundedCache<String, String>(queryConfiguration.getQueryStringCacheSize()) : null;
+        this.customSqlCache = queryConfiguration.getCustomSqlCacheSize() > 0 ? new BoundedCache<Object, String>(queryConfiguration.getCustomSqlCacheSize()) : null;
+        this.returningColumnsCache = queryConfiguration.getCustomSqlCacheSize() > 0 ? new BoundedCache<List<Object>, String[]>(queryConfiguration.getCustomSqlCacheSize()) : null;
         ExpressionFactory cachingExpressionFactory = new SimpleCachingExpressionFactory(originalExpressionFactory, expressionCache);
         ExpressionFactory cachingSubqueryExpressionFactory = new SimpleCachingExpressionFactory(new SubqueryExpressionFactory(functions, metamodel.getEntityTypes(), metamodel.getEnumTypes(), metamodel.getEnumTypesForLiterals(), !compatibleMode, optimize, originalExpressionFactory));
         this.macroConfiguration = MacroConfiguration.of(JpqlMacroAdapter.createMacros(config.getMacros(), cachingExpressionFactory));
@@ -126,9 +135,15 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
         this.subqueryExpressionFactory = new JpqlMacroAwareExpressionFactory(cachingSubqueryExpressionFactory, macroStorage);
     }
 
-    private ExpressionCache createCache(String className) {
+    private ExpressionCache createCache(QueryConfiguration queryConfiguration) {
+        String className = queryConfiguration.getExpressionCacheClass();
         try {
-            return (ExpressionCache) Class.forName(className).newInstance();
+            Class<?> cacheClass = Class.forName(className);
+            if (BoundedExpressionCache.class.isAssignableFrom(cacheClass)) {
+                return (ExpressionCache) cacheClass.getConstructor(int.class, Map.class)
+                        .newInstance(queryConfiguration.getExpressionCacheMaximumSize(), queryConfiguration.getExpressionCacheMaximumSizes());
+            }
+            return (ExpressionCache) cacheClass.newInstance();
         } catch (Exception ex) {
             throw new IllegalArgumentException("Could not instantiate expression cache: " + className, ex);
         }
@@ -224,6 +239,18 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
         return expressionCache;
     }
 
+    public BoundedCache<String, String> getQueryStringCache() {
+        return queryStringCache;
+    }
+
+    public BoundedCache<Object, String> getCustomSqlCache() {
+        return customSqlCache;
+    }
+
+    public BoundedCache<List<Object>, String[]> getReturningColumnsCache() {
+        return returningColumnsCache;
+    }
+
     public ExpressionFactory getExpressionFactory() {
         return expressionFactory;
     }
@@ -20,11 +20,17 @@ import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.LeafOngoingFinalSetOperationCriteriaBuilder;
 import com.blazebit.persistence.LeafOngoingSetOperationCriteriaBuilder;
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.PreparedQuery;
 import com.blazebit.persistence.SelectObjectBuilder;
 import com.blazebit.persistence.StartOngoingSetOperationCriteriaBuilder;
+import com.blazebit.persistence.impl.builder.object.GroupingObjectBuilder;
 import com.blazebit.persistence.spi.SetOperationType;
 
 import javax.persistence.TypedQuery;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  *
@@ -51,6 +57,30 @@ public class CriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T, Criteria
         cachedExternalQueryRootCountQueryString = null;
     }
 
+    @Override
+    protected boolean supportsQueryStringCache() {
+        return true;
+    }
+
+    @Override
+    public PreparedQuery<T> prepare() {
+        return prepareQuery();
+    }
+
+    @Override
+    public Stream<T> getResultStream() {
+        TypedQuery<T> query = getQuery();
+        if (selectManager.getSelectObjectBuilder() instanceof GroupingObjectBuilder<?>) {
+            // The tuples of a result object must be adjacent, which is guaranteed by a unique ordering of the query root
+            // No join visitor is needed as the query is already rendered, without it the split off embeddable order by items are just not visited
+            List<OrderByExpression> orderByExpressions = orderByManager.getOrderByExpressions(false, whereManager.rootPredicate.getPredicate(), hasGroupBy ? Arrays.asList(getIdentifierExpressions()) : Collections.<ResolvedExpression>emptyList(), null);
+            if (orderByExpressions.isEmpty() || !orderByExpressions.get(orderByExpressions.size() - 1).isResultUnique()) {
+                throw new IllegalStateException("Streaming results that are built from multiple tuples requires order by items that are guaranteed to produce unique query root tuples! Consider ordering by the entity identifier!");
+            }
+        }
+        return query.getResultStream();
+    }
+
     @Override
     public TypedQuery<Long> getQueryRootCountQuery() {
         prepareAndCheck(null);
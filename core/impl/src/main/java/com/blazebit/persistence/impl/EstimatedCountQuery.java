@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.Query;
+import java.util.List;
+
+/**
+ * Determines the estimated total size of a paginated query through the table statistics of the DBMS.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class EstimatedCountQuery {
+
+    private final EntityManager em;
+    private final String estimatedRowCountSql;
+    private final long exactCountThreshold;
+
+    public EstimatedCountQuery(EntityManager em, String estimatedRowCountSql, long exactCountThreshold) {
+        this.em = em;
+        this.estimatedRowCountSql = estimatedRowCountSql;
+        this.exactCountThreshold = exactCountThreshold;
+    }
+
+    /**
+     * Returns the estimated total size or <code>-1</code> if the estimate is below the threshold or unknown and an exact count is necessary.
+     *
+     * @return The estimated total size or <code>-1</code>
+     */
+    public long getEstimate() {
+        Query query = em.createNativeQuery(estimatedRowCountSql);
+        // The statistics are independent of pending changes, so there is no need to flush
+        query.setFlushMode(FlushModeType.COMMIT);
+        List<?> resultList = query.getResultList();
+        if (resultList.isEmpty() || !(resultList.get(0) instanceof Number)) {
+            return -1L;
+        }
+        long estimate = ((Number) resultList.get(0)).longValue();
+        // An estimate of 0 usually means that the table was never analyzed
+        if (estimate <= 0L || estimate < exactCountThreshold) {
+            return -1L;
+        }
+        return estimate;
+    }
+}
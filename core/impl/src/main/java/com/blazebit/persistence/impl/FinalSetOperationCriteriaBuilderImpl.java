@@ -20,7 +20,13 @@ import com.blazebit.persistence.FinalSetOperationCriteriaBuilder;
 import com.blazebit.persistence.parser.expression.ExpressionCopyContext;
 import com.blazebit.persistence.spi.SetOperationType;
 
+import javax.persistence.TypedQuery;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  *
@@ -49,4 +55,26 @@ public class FinalSetOperationCriteriaBuilderImpl<T> extends BaseFinalSetOperati
         // There is nothing to do here for final builders as they don't have any nodes
         return null;
     }
+
+    @Override
+    public CompletionStage<List<T>> getResultListAsync(Executor executor) {
+        final TypedQuery<T> query = getTypedQuery(null, null);
+        return CompletableFuture.supplyAsync(new Supplier<List<T>>() {
+            @Override
+            public List<T> get() {
+                return query.getResultList();
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletionStage<T> getSingleResultAsync(Executor executor) {
+        final TypedQuery<T> query = getTypedQuery(null, null);
+        return CompletableFuture.supplyAsync(new Supplier<T>() {
+            @Override
+            public T get() {
+                return query.getSingleResult();
+            }
+        }, executor);
+    }
 }
@@ -202,6 +202,15 @@ public class GroupByManager extends AbstractManager<ExpressionModifier> {
         return groupByInfos.isEmpty();
     }
 
+    void appendQueryShapeKey(QueryShapeKeyGenerator keyGenerator) {
+        keyGenerator.append(" GROUP BY");
+        List<NodeInfo> infos = groupByInfos;
+        int size = infos.size();
+        for (int i = 0; i < size; i++) {
+            keyGenerator.append(',').appendExpression(infos.get(i).getExpression());
+        }
+    }
+
     public void resetCollected() {
         groupByClauses.clear();
     }
@@ -19,6 +19,7 @@ package com.blazebit.persistence.impl;
 import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.impl.util.PropertyUtils;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,6 +33,8 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
     private final boolean compatibleModeEnabled;
     private final boolean expressionOptimizationEnabled;
     private final String expressionCacheClass;
+    private final int expressionCacheMaximumSize;
+    private final Map<String, Integer> expressionCacheMaximumSizes;
 
     private final boolean returningClauseCaseSensitive;
     private final boolean sizeToCountTransformationEnabled;
@@ -39,17 +42,23 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
     private final boolean implicitGroupByFromHavingEnabled;
     private final boolean implicitGroupByFromOrderByEnabled;
     private final boolean valuesClauseFilterNullsEnabled;
+    private final boolean valuesClauseArrayBindingEnabled;
     private final boolean parameterAsLiteralRenderingEnabled;
     private final boolean optimizedKeysetPredicateRenderingEnabled;
+    private final boolean nullableRowValueKeysetPredicateRenderingEnabled;
     private final Boolean inlineIdQuery;
     private final Boolean inlineCountQuery;
     private final Boolean inlineCtes;
     private final boolean queryPlanCacheEnabled;
+    private final int queryStringCacheSize;
+    private final int customSqlCacheSize;
 
     public ImmutableQueryConfiguration(Map<String, String> properties) {
         this.compatibleModeEnabled = PropertyUtils.getAsBooleanProperty(properties, ConfigurationProperties.COMPATIBLE_MODE, false);
         this.expressionOptimizationEnabled = PropertyUtils.getAsBooleanProperty(properties, ConfigurationProperties.EXPRESSION_OPTIMIZATION, true);
         this.expressionCacheClass = properties.get(ConfigurationProperties.EXPRESSION_CACHE_CLASS);
+        this.expressionCacheMaximumSize = getIntegerProperty(properties, ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE, "10000");
+        this.expressionCacheMaximumSizes = getExpressionCacheMaximumSizes(properties);
 
         this.returningClauseCaseSensitive =                 getBooleanProperty(properties, ConfigurationProperties.RETURNING_CLAUSE_CASE_SENSITIVE,     "false");
         this.sizeToCountTransformationEnabled =             getBooleanProperty(properties, ConfigurationProperties.SIZE_TO_COUNT_TRANSFORMATION,        "true");
@@ -57,8 +66,10 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         this.implicitGroupByFromHavingEnabled =             getBooleanProperty(properties, ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_HAVING,       "true");
         this.implicitGroupByFromOrderByEnabled =            getBooleanProperty(properties, ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_ORDER_BY,     "true");
         this.valuesClauseFilterNullsEnabled =               getBooleanProperty(properties, ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS,          "true");
+        this.valuesClauseArrayBindingEnabled =              getBooleanProperty(properties, ConfigurationProperties.VALUES_CLAUSE_ARRAY_BINDING,         "false");
         this.parameterAsLiteralRenderingEnabled =           getBooleanProperty(properties, ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING,      "true");
         this.optimizedKeysetPredicateRenderingEnabled =     getBooleanProperty(properties, ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING,"true");
+        this.nullableRowValueKeysetPredicateRenderingEnabled = getBooleanProperty(properties, ConfigurationProperties.NULLABLE_ROW_VALUE_KEYSET_PREDICATE_RENDERING, "false");
         String inlineIdQuery =                              getProperty(properties, ConfigurationProperties.INLINE_ID_QUERY,                            "auto");
         String inlineCountQuery =                           getProperty(properties, ConfigurationProperties.INLINE_COUNT_QUERY,                         "auto");
         String inlineCtes =                                 getProperty(properties, ConfigurationProperties.INLINE_CTES,                                "auto");
@@ -66,6 +77,8 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         this.inlineCountQuery = "auto".equalsIgnoreCase(inlineCountQuery) ? null : Boolean.parseBoolean(inlineCountQuery);
         this.inlineCtes = "auto".equalsIgnoreCase(inlineCtes) ? null : Boolean.parseBoolean(inlineCtes);
         this.queryPlanCacheEnabled =                        getBooleanProperty(properties, ConfigurationProperties.QUERY_PLAN_CACHE_ENABLED,            "true");
+        this.queryStringCacheSize =                         getIntegerProperty(properties, ConfigurationProperties.QUERY_STRING_CACHE_SIZE,             "0");
+        this.customSqlCacheSize =                           getIntegerProperty(properties, ConfigurationProperties.CUSTOM_SQL_CACHE_SIZE,               "0");
     }
 
     @Override
@@ -88,6 +101,16 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return expressionCacheClass;
     }
 
+    @Override
+    public int getExpressionCacheMaximumSize() {
+        return expressionCacheMaximumSize;
+    }
+
+    @Override
+    public Map<String, Integer> getExpressionCacheMaximumSizes() {
+        return expressionCacheMaximumSizes;
+    }
+
     @Override
     public boolean isCountTransformationEnabled() {
         return sizeToCountTransformationEnabled;
@@ -113,6 +136,11 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return valuesClauseFilterNullsEnabled;
     }
 
+    @Override
+    public boolean isValuesClauseArrayBindingEnabled() {
+        return valuesClauseArrayBindingEnabled;
+    }
+
     @Override
     public boolean isParameterAsLiteralRenderingEnabled() {
         return parameterAsLiteralRenderingEnabled;
@@ -123,6 +151,11 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return optimizedKeysetPredicateRenderingEnabled;
     }
 
+    @Override
+    public boolean isNullableRowValueKeysetPredicateRenderingEnabled() {
+        return nullableRowValueKeysetPredicateRenderingEnabled;
+    }
+
     @Override
     public Boolean getInlineIdQueryEnabled() {
         return inlineIdQuery;
@@ -153,6 +186,16 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return queryPlanCacheEnabled;
     }
 
+    @Override
+    public int getQueryStringCacheSize() {
+        return queryStringCacheSize;
+    }
+
+    @Override
+    public int getCustomSqlCacheSize() {
+        return customSqlCacheSize;
+    }
+
     @Override
     public String getProperty(String name) {
         switch (name) {
@@ -164,13 +207,18 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
             case ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_ORDER_BY: return Boolean.toString(implicitGroupByFromOrderByEnabled);
             case ConfigurationProperties.EXPRESSION_OPTIMIZATION: return Boolean.toString(expressionOptimizationEnabled);
             case ConfigurationProperties.EXPRESSION_CACHE_CLASS: return expressionCacheClass;
+            case ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE: return Integer.toString(expressionCacheMaximumSize);
             case ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS: return Boolean.toString(valuesClauseFilterNullsEnabled);
+            case ConfigurationProperties.VALUES_CLAUSE_ARRAY_BINDING: return Boolean.toString(valuesClauseArrayBindingEnabled);
             case ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING: return Boolean.toString(parameterAsLiteralRenderingEnabled);
             case ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING: return Boolean.toString(optimizedKeysetPredicateRenderingEnabled);
+            case ConfigurationProperties.NULLABLE_ROW_VALUE_KEYSET_PREDICATE_RENDERING: return Boolean.toString(nullableRowValueKeysetPredicateRenderingEnabled);
             case ConfigurationProperties.INLINE_ID_QUERY: return inlineIdQuery == null ? "auto" : Boolean.toString(inlineIdQuery);
             case ConfigurationProperties.INLINE_COUNT_QUERY: return inlineIdQuery == null ? "auto" : Boolean.toString(inlineIdQuery);
             case ConfigurationProperties.INLINE_CTES: return inlineCtes == null ? "auto" : Boolean.toString(inlineCtes);
             case ConfigurationProperties.QUERY_PLAN_CACHE_ENABLED: return Boolean.toString(queryPlanCacheEnabled);
+            case ConfigurationProperties.QUERY_STRING_CACHE_SIZE: return Integer.toString(queryStringCacheSize);
+            case ConfigurationProperties.CUSTOM_SQL_CACHE_SIZE: return Integer.toString(customSqlCacheSize);
             default: return null;
         }
     }
@@ -186,13 +234,18 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         properties.put(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_ORDER_BY, Boolean.toString(implicitGroupByFromOrderByEnabled));
         properties.put(ConfigurationProperties.EXPRESSION_OPTIMIZATION, Boolean.toString(expressionOptimizationEnabled));
         properties.put(ConfigurationProperties.EXPRESSION_CACHE_CLASS, expressionCacheClass);
+        properties.put(ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE, Integer.toString(expressionCacheMaximumSize));
         properties.put(ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS, Boolean.toString(valuesClauseFilterNullsEnabled));
+        properties.put(ConfigurationProperties.VALUES_CLAUSE_ARRAY_BINDING, Boolean.toString(valuesClauseArrayBindingEnabled));
         properties.put(ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING, Boolean.toString(parameterAsLiteralRenderingEnabled));
         properties.put(ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING, Boolean.toString(optimizedKeysetPredicateRenderingEnabled));
+        properties.put(ConfigurationProperties.NULLABLE_ROW_VALUE_KEYSET_PREDICATE_RENDERING, Boolean.toString(nullableRowValueKeysetPredicateRenderingEnabled));
         properties.put(ConfigurationProperties.INLINE_ID_QUERY, getInlineIdQueryEnabled() == null ? "auto" : Boolean.toString(getInlineIdQueryEnabled()));
         properties.put(ConfigurationProperties.INLINE_COUNT_QUERY, getInlineCountQueryEnabled() == null ? "auto" : Boolean.toString(getInlineCountQueryEnabled()));
         properties.put(ConfigurationProperties.INLINE_CTES, getInlineCtesEnabled() == null ? "auto" : Boolean.toString(getInlineCtesEnabled()));
         properties.put(ConfigurationProperties.QUERY_PLAN_CACHE_ENABLED, Boolean.toString(queryPlanCacheEnabled));
+        properties.put(ConfigurationProperties.QUERY_STRING_CACHE_SIZE, Integer.toString(queryStringCacheSize));
+        properties.put(ConfigurationProperties.CUSTOM_SQL_CACHE_SIZE, Integer.toString(customSqlCacheSize));
         return properties;
     }
 
@@ -212,6 +265,26 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return Boolean.parseBoolean(getProperty(properties, propertyName, defaultValue));
     }
 
+    private Map<String, Integer> getExpressionCacheMaximumSizes(Map<String, String> properties) {
+        String prefix = ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE + ".";
+        Map<String, Integer> maximumSizes = new HashMap<>();
+        for (String propertyName : properties.keySet()) {
+            if (propertyName.startsWith(prefix)) {
+                maximumSizes.put(propertyName.substring(prefix.length()), getIntegerProperty(properties, propertyName, null));
+            }
+        }
+        return Collections.unmodifiableMap(maximumSizes);
+    }
+
+    private int getIntegerProperty(Map<String, String> properties, String propertyName, String defaultValue) {
+        String value = getProperty(properties, propertyName, defaultValue);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Illegal value '" + value + "' for integer property '" + propertyName + "'", ex);
+        }
+    }
+
     private String getProperty(Map<String, String> properties, String propertyName, String defaultValue) {
         String value = properties.get(propertyName);
         if (value == null) {
@@ -141,6 +141,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
     private boolean emulateJoins;
 
     private boolean hasFullJoin;
+    private boolean prepared;
     private JoinNode rootNode;
 
     JoinManager(MainQuery mainQuery, AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder, ResolvingQueryGenerator queryGenerator, AliasManager aliasManager, JoinManager parent, ExpressionFactory expressionFactory) {
@@ -159,6 +160,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
 
     Map<JoinNode, JoinNode> applyFrom(JoinManager joinManager, Set<ClauseType> clauseExclusions, Set<JoinNode> alwaysIncludedNodes, ExpressionCopyContext copyContext) {
         Map<JoinNode, JoinNode> nodeMapping = new IdentityHashMap<>();
+        prepared |= joinManager.prepared;
         for (JoinNode node : joinManager.rootNodes) {
             JoinNode rootNode = applyFrom(nodeMapping, node, clauseExclusions, alwaysIncludedNodes, copyContext);
 
@@ -397,7 +399,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
         }
     }
 
-    String addRootValues(Class<?> valueHolderEntityClass, Class<?> valueClass, String rootAlias, int valueCount, String typeName, String castedParameter, boolean identifiableReference, boolean valueClazzAttributeSingular, String valuesClassAttributeName, ExtendedAttribute<?, ?> valuesLikeAttribute, String valueLikeClause, String qualificationExpression) {
+    String addRootValues(Class<?> valueHolderEntityClass, Class<?> valueClass, String rootAlias, int valueCount, String typeName, String castedParameter, String arrayParameterTableFunction, boolean identifiableReference, boolean valueClazzAttributeSingular, String valuesClassAttributeName, ExtendedAttribute<?, ?> valuesLikeAttribute, String valueLikeClause, String qualificationExpression) {
         mainQuery.assertSupportsAdvancedSql("Illegal use of VALUES clause!");
         if (rootAlias == null) {
             throw new IllegalArgumentException("Illegal empty alias for the VALUES clause: " + valueHolderEntityClass.getName());
@@ -470,7 +472,9 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
             }
         }
 
-        String[][] parameterNames = new String[valueCount][attributePaths.size()];
+        // With array binding, all values are bound through a single parameter per attribute
+        int parameterValueCount = arrayParameterTableFunction == null ? valueCount : 1;
+        String[][] parameterNames = new String[parameterValueCount][attributePaths.size()];
         String[] attributes = new String[attributePaths.size()];
         AttributeAccessor<Object, Object>[] pathExpressions = new AttributeAccessor[attributePaths.size()];
 
@@ -480,13 +484,13 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
             attributes[i] = attributeName;
             if (simpleValueAttributePrefix.isEmpty()) {
                 pathExpressions[i] = CompositeAttributeAccessor.of(mainQuery.metamodel.getManagedType(ExtendedManagedType.class, valueClass), attributeName);
-                for (int j = 0; j < valueCount; j++) {
+                for (int j = 0; j < parameterValueCount; j++) {
                     parameterNames[j][i] = rootAlias + '_' + parameterPart + '_' + j;
                 }
             } else {
                 if (attributeName.startsWith(simpleValueAttributePrefix)) {
                     pathExpressions[i] = CompositeAttributeAccessor.of(mainQuery.metamodel.getManagedType(ExtendedManagedType.class, valueClass), attributeName.substring(simpleValueAttributePrefix.length()));
-                    for (int j = 0; j < valueCount; j++) {
+                    for (int j = 0; j < parameterValueCount; j++) {
                         parameterNames[j][i] = rootAlias + '_' + parameterPart + '_' + j;
                     }
                 } else if (simpleValue || attributeName.equals(valuesClassAttributeName)) {
@@ -494,22 +498,22 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
                     if (qualificationExpression != null) {
                         parameterPart += '_' + qualificationExpression.toLowerCase();
                     }
-                    for (int j = 0; j < valueCount; j++) {
+                    for (int j = 0; j < parameterValueCount; j++) {
                         parameterNames[j][i] = rootAlias + '_' + parameterPart + '_' + j;
                     }
                 } else {
                     pathExpressions[i] = CompositeAttributeAccessor.of(mainQuery.metamodel.getManagedType(ExtendedManagedType.class, valueClass), attributeName);
-                    for (int j = 0; j < valueCount; j++) {
+                    for (int j = 0; j < parameterValueCount; j++) {
                         parameterNames[j][i] = rootAlias + '_' + parameterPart + '_' + j;
                     }
                 }
             }
         }
 
-        parameterManager.registerValuesParameter(rootAlias, valueClass, parameterNames, pathExpressions, queryBuilder);
+        parameterManager.registerValuesParameter(rootAlias, valueClass, parameterNames, pathExpressions, arrayParameterTableFunction != null, queryBuilder);
 
         JoinAliasInfo rootAliasInfo = new JoinAliasInfo(rootAlias, rootAlias, false, true, aliasManager);
-        JoinNode rootNode = JoinNode.createValuesRootNode(type, entityType, typeName, valueCount, idAttributeNames, valueLikeClause, qualificationExpression, valueClazzAttributeSingular, simpleValue, valuesClassAttributeName, castedParameter, attributes, rootAliasInfo);
+        JoinNode rootNode = JoinNode.createValuesRootNode(type, entityType, typeName, valueCount, idAttributeNames, valueLikeClause, qualificationExpression, valueClazzAttributeSingular, simpleValue, valuesClassAttributeName, castedParameter, arrayParameterTableFunction, attributes, rootAliasInfo);
         rootAliasInfo.setJoinNode(rootNode);
         rootNodes.add(rootNode);
         explicitJoinNodes.add(rootNode);
@@ -1196,6 +1200,65 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
         return rootNodes;
     }
 
+    void markPrepared() {
+        prepared = true;
+    }
+
+    void appendQueryShapeKey(QueryShapeKeyGenerator keyGenerator) {
+        // Once implicit joins were applied, the join tree doesn't represent the raw query shape anymore
+        if (prepared || hasEntityFunctions() || emulateJoins) {
+            keyGenerator.markNotCacheable();
+            return;
+        }
+        List<JoinNode> nodes = rootNodes;
+        int size = nodes.size();
+        for (int i = 0; i < size; i++) {
+            keyGenerator.append(" FROM ");
+            appendQueryShapeKey(keyGenerator, nodes.get(i));
+        }
+    }
+
+    private void appendQueryShapeKey(QueryShapeKeyGenerator keyGenerator, JoinNode node) {
+        // Values, correlations, lateral joins and inlined CTEs depend on more than what is captured here
+        if (!keyGenerator.isCacheable() || node.getValueCount() > 0 || node.getCorrelationParent() != null || node.isLateral()
+                || node.isInlineCte() || node.getDisallowedDeReferenceAlias() != null) {
+            keyGenerator.markNotCacheable();
+            return;
+        }
+        if (node.getParentTreeNode() == null) {
+            keyGenerator.append(JpaMetamodelUtils.getTypeName(node.getNodeType()));
+        } else {
+            keyGenerator.append(node.getParentTreeNode().getRelationName());
+        }
+        keyGenerator.append(' ').append(node.getAlias())
+                .append(' ').append(node.getJoinType())
+                .append(node.isFetch())
+                .append(node.isDefaultJoinNode())
+                .append(node.isCrossJoin())
+                .append(' ').append(node.getTreatType() == null ? null : JpaMetamodelUtils.getTypeName(node.getTreatType()))
+                .append(' ').append(node.getQualificationExpression())
+                .append(' ').append(node.getDeReferenceFunction())
+                .append(" ON ").appendExpression(node.getOnPredicate())
+                .append('(');
+        for (JoinTreeNode treeNode : node.getNodes().values()) {
+            for (JoinNode child : treeNode.getJoinNodes().values()) {
+                appendQueryShapeKey(keyGenerator, child);
+                keyGenerator.append(',');
+            }
+        }
+        for (JoinNode child : node.getTreatedJoinNodes().values()) {
+            keyGenerator.append("TREAT ");
+            appendQueryShapeKey(keyGenerator, child);
+            keyGenerator.append(',');
+        }
+        for (JoinNode child : node.getEntityJoinNodes()) {
+            keyGenerator.append("ENTITY ");
+            appendQueryShapeKey(keyGenerator, child);
+            keyGenerator.append(',');
+        }
+        keyGenerator.append(')');
+    }
+
     boolean hasCollections() {
         final ConstantifiedJoinNodeAttributeCollector constantifiedJoinNodeAttributeCollector = queryBuilder.functionalDependencyAnalyzerVisitor.getConstantifiedJoinNodeAttributeCollector();
         final JoinNode firstRootNode = rootNodes.get(0);
@@ -1212,6 +1275,20 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
         });
     }
 
+    boolean hasNonLeftJoins() {
+        return acceptVisitor(new AbortableResultJoinNodeVisitor<Boolean>() {
+            @Override
+            public Boolean getStopValue() {
+                return Boolean.TRUE;
+            }
+
+            @Override
+            public Boolean visit(JoinNode node) {
+                return !rootNodes.contains(node) && node.getJoinType() != JoinType.LEFT;
+            }
+        });
+    }
+
     // Since DB2 doesn't like joins in the recursive part of CTEs, we must be able to determine emulatable joins
     boolean hasNonEmulatableJoins() {
         List<JoinNode> nodes = rootNodes;
@@ -1643,7 +1720,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
     void renderPlaceholderRequiringPredicate(StringBuilder sb, JoinNode rootNode, String alias, boolean externalRepresentation, boolean renderMarkerPredicate) {
         // The rendering strategy is to render the VALUES clause predicate into JPQL with the values parameters
         // in the correct order. The whole SQL part of that will be replaced later by the correct SQL
-        int valueCount = rootNode.getValueCount();
+        int valueCount = rootNode.getValuesParameterCount();
         if (!externalRepresentation) {
             if (valueCount > 0) {
                 String typeName = rootNode.getValuesTypeName() == null ? null : rootNode.getValuesTypeName().toUpperCase();
@@ -85,6 +85,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
     private final boolean valueClazzSimpleValue;
     private final String valuesLikeAttribute;
     private final String valuesCastedParameter;
+    private final String valuesArrayParameterTableFunction;
     private final String[] valuesAttributes;
     private final String qualificationExpression;
     private final JoinAliasInfo aliasInfo;
@@ -136,6 +137,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         this.valueClazzSimpleValue = treatedJoinNode.valueClazzSimpleValue;
         this.valuesLikeAttribute = treatedJoinNode.valuesLikeAttribute;
         this.valuesCastedParameter = treatedJoinNode.valuesCastedParameter;
+        this.valuesArrayParameterTableFunction = treatedJoinNode.valuesArrayParameterTableFunction;
         this.valuesAttributes = treatedJoinNode.valuesAttributes;
         this.aliasInfo = treatedJoinAliasInfo;
         this.lateral = treatedJoinNode.lateral;
@@ -174,6 +176,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         this.valueClazzSimpleValue = false;
         this.valuesLikeAttribute = null;
         this.valuesCastedParameter = null;
+        this.valuesArrayParameterTableFunction = null;
         this.valuesAttributes = null;
         this.qualificationExpression = qualificationExpression;
         this.aliasInfo = aliasInfo;
@@ -189,7 +192,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         onUpdate(null);
     }
 
-    private JoinNode(Type<?> nodeType, EntityType<?> valueType, String valuesTypeName, int valueCount, Set<String> valuesIdNames, String valuesLikeClause, String valueClazzAttributeQualificationExpression, boolean valueClazzAttributeSingular, boolean valueClazzSimpleValue, String valuesLikeAttribute, String valuesCastedParameter, String[] valuesAttributes, JoinAliasInfo aliasInfo) {
+    private JoinNode(Type<?> nodeType, EntityType<?> valueType, String valuesTypeName, int valueCount, Set<String> valuesIdNames, String valuesLikeClause, String valueClazzAttributeQualificationExpression, boolean valueClazzAttributeSingular, boolean valueClazzSimpleValue, String valuesLikeAttribute, String valuesCastedParameter, String valuesArrayParameterTableFunction, String[] valuesAttributes, JoinAliasInfo aliasInfo) {
         this.parent = null;
         this.parentTreeNode = null;
         this.joinType = null;
@@ -206,6 +209,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         this.valueClazzSimpleValue = valueClazzSimpleValue;
         this.valuesLikeAttribute = valuesLikeAttribute;
         this.valuesCastedParameter = valuesCastedParameter;
+        this.valuesArrayParameterTableFunction = valuesArrayParameterTableFunction;
         this.valuesAttributes = valuesAttributes;
         this.qualificationExpression = valueClazzAttributeQualificationExpression;
         this.aliasInfo = aliasInfo;
@@ -222,11 +226,11 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         String sqlType = mainQuery.dbmsDialect.getSqlType(Long.class);
         String valuesTypeName = mainQuery.cbf.getNamedTypes().get(Long.class);
         String valuesCastedParameter = mainQuery.dbmsDialect.cast("?", sqlType);
-        return new JoinNode(mainQuery.metamodel.type(nodeType), mainQuery.metamodel.entity(ValuesEntity.class), valuesTypeName, valueCount, null, null, null, true, true, "value", valuesCastedParameter, new String[] { "value" }, aliasInfo);
+        return new JoinNode(mainQuery.metamodel.type(nodeType), mainQuery.metamodel.entity(ValuesEntity.class), valuesTypeName, valueCount, null, null, null, true, true, "value", valuesCastedParameter, null, new String[] { "value" }, aliasInfo);
     }
 
-    public static JoinNode createValuesRootNode(Type<?> nodeType, EntityType<?> valueType, String valuesTypeName, int valueCount, Set<String> valuesIdName, String valuesLikeClause, String qualificationExpression, boolean valueClazzAttributeSingular, boolean valueClazzSimpleValue, String valuesLikeAttribute, String valuesCastedParameter, String[] valuesAttributes, JoinAliasInfo aliasInfo) {
-        return new JoinNode(nodeType, valueType, valuesTypeName, valueCount, valuesIdName, valuesLikeClause, qualificationExpression, valueClazzAttributeSingular, valueClazzSimpleValue, valuesLikeAttribute, valuesCastedParameter, valuesAttributes, aliasInfo);
+    public static JoinNode createValuesRootNode(Type<?> nodeType, EntityType<?> valueType, String valuesTypeName, int valueCount, Set<String> valuesIdName, String valuesLikeClause, String qualificationExpression, boolean valueClazzAttributeSingular, boolean valueClazzSimpleValue, String valuesLikeAttribute, String valuesCastedParameter, String valuesArrayParameterTableFunction, String[] valuesAttributes, JoinAliasInfo aliasInfo) {
+        return new JoinNode(nodeType, valueType, valuesTypeName, valueCount, valuesIdName, valuesLikeClause, qualificationExpression, valueClazzAttributeSingular, valueClazzSimpleValue, valuesLikeAttribute, valuesCastedParameter, valuesArrayParameterTableFunction, valuesAttributes, aliasInfo);
     }
 
     public static JoinNode createCorrelationRootNode(JoinNode correlationParent, String correlationPath, Attribute<?, ?> correlatedAttribute, Type<?> nodeType, EntityType<?> treatType, JoinAliasInfo aliasInfo, boolean lateral) {
@@ -245,7 +249,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         // NOTE: no cloning of treatedJoinNodes and entityJoinNodes is intentional
         JoinNode newNode;
         if (valueCount > 0) {
-            newNode = createValuesRootNode(nodeType, valueType, valuesTypeName, valueCount, valuesIdNames, valuesLikeClause, qualificationExpression, valueClazzAttributeSingular, valueClazzSimpleValue, valuesLikeAttribute, valuesCastedParameter, valuesAttributes, aliasInfo);
+            newNode = createValuesRootNode(nodeType, valueType, valuesTypeName, valueCount, valuesIdNames, valuesLikeClause, qualificationExpression, valueClazzAttributeSingular, valueClazzSimpleValue, valuesLikeAttribute, valuesCastedParameter, valuesArrayParameterTableFunction, valuesAttributes, aliasInfo);
         } else if (correlationParent == null) {
             newNode = createRootNode((EntityType<?>) nodeType, aliasInfo);
         } else {
@@ -719,6 +723,11 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         return valueCount;
     }
 
+    public int getValuesParameterCount() {
+        // All values are bound as a single array parameter when array binding is used
+        return valuesArrayParameterTableFunction == null ? valueCount : 1;
+    }
+
     public EntityType<?> getValueType() {
         return valueType;
     }
@@ -765,6 +774,10 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         return valuesCastedParameter;
     }
 
+    public String getValuesArrayParameterTableFunction() {
+        return valuesArrayParameterTableFunction;
+    }
+
     public String[] getValuesAttributes() {
         return valuesAttributes;
     }
@@ -291,6 +291,16 @@ public class OrderByManager extends AbstractManager<ExpressionModifier> {
         return orderByInfos.size() > 0;
     }
 
+    void appendQueryShapeKey(QueryShapeKeyGenerator keyGenerator) {
+        keyGenerator.append(" ORDER BY");
+        List<OrderByInfo> infos = orderByInfos;
+        int size = infos.size();
+        for (int i = 0; i < size; i++) {
+            OrderByInfo orderByInfo = infos.get(i);
+            keyGenerator.append(',').appendExpression(orderByInfo.getExpression()).append(orderByInfo.ascending).append(orderByInfo.nullFirst);
+        }
+    }
+
     boolean hasComplexOrderBys() {
         if (orderByInfos.isEmpty()) {
             return false;
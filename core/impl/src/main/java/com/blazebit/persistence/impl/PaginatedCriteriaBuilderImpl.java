@@ -53,6 +53,7 @@ import com.blazebit.persistence.impl.query.EntityFunctionNode;
 import com.blazebit.persistence.impl.query.ObjectBuilderTypedQuery;
 import com.blazebit.persistence.impl.query.QuerySpecification;
 import com.blazebit.persistence.impl.query.TypedQueryWrapper;
+import com.blazebit.persistence.impl.util.SqlUtils;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.FunctionExpression;
 import com.blazebit.persistence.parser.expression.NumericLiteral;
@@ -65,8 +66,11 @@ import com.blazebit.persistence.parser.predicate.EqPredicate;
 import com.blazebit.persistence.parser.predicate.InPredicate;
 import com.blazebit.persistence.parser.predicate.Predicate;
 import com.blazebit.persistence.spi.AttributeAccessor;
+import com.blazebit.persistence.spi.ExtendedQuerySupport;
 
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.Parameter;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -78,6 +82,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 
 /**
  *
@@ -97,7 +104,10 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
     private boolean withForceIdQuery = false;
     private Boolean withInlineIdQuery;
     private boolean withInlineCountQuery;
+    private EntityManagerFactory countEntityManagerFactory;
+    private Executor countExecutor;
     private long maximumCount = Long.MAX_VALUE;
+    private long estimatedCountThreshold = Long.MAX_VALUE;
     private int highestOffset = 0;
     private final KeysetPage keysetPage;
     private final ResolvedExpression[] identifierExpressions;
@@ -171,6 +181,12 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         builder.withCountQuery(withCountQuery);
         builder.withForceIdQuery(withForceIdQuery);
         builder.withHighestKeysetOffset(highestOffset);
+        if (countExecutor != null) {
+            builder.withConcurrentCountQuery(countEntityManagerFactory, countExecutor);
+        }
+        if (estimatedCountThreshold != Long.MAX_VALUE) {
+            builder.withEstimatedCount(estimatedCountThreshold);
+        }
         return builder;
     }
 
@@ -317,6 +333,21 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return maximumCount;
     }
 
+    @Override
+    public PaginatedCriteriaBuilder<T> withEstimatedCount(long exactCountThreshold) {
+        if (exactCountThreshold != Long.MAX_VALUE) {
+            // The estimate is only useful if the exact count is not computed as part of the other queries
+            withInlineCountQuery(false);
+        }
+        this.estimatedCountThreshold = exactCountThreshold;
+        return this;
+    }
+
+    @Override
+    public long getEstimatedCountThreshold() {
+        return estimatedCountThreshold;
+    }
+
     @Override
     public PaginatedCriteriaBuilder<T> withForceIdQuery(boolean withForceIdQuery) {
         this.withForceIdQuery = withForceIdQuery;
@@ -398,6 +429,25 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return this;
     }
 
+    @Override
+    public boolean isWithConcurrentCountQuery() {
+        return countExecutor != null;
+    }
+
+    @Override
+    public PaginatedCriteriaBuilder<T> withConcurrentCountQuery(EntityManagerFactory entityManagerFactory, Executor executor) {
+        if (executor != null) {
+            if (entityManagerFactory == null) {
+                throw new IllegalArgumentException("An entity manager factory is required for the concurrent execution of the count query!");
+            }
+            // The count must be available through a separate query
+            withInlineCountQuery(false);
+        }
+        this.countEntityManagerFactory = executor == null ? null : entityManagerFactory;
+        this.countExecutor = executor;
+        return this;
+    }
+
     @Override
     public PaginatedCriteriaBuilder<T> setProperty(String propertyName, String propertyValue) {
         super.setProperty(propertyName, propertyValue);
@@ -495,7 +545,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         }
         QuerySpecification querySpecification = new CustomQuerySpecification(
                 this, baseQuery, parameters, parameterListNames, null, null, keyRestrictedLeftJoinAliases, entityFunctionNodes,
-                mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null
+                mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null, getCustomSqlCacheKey(countQueryString, Arrays.asList(COUNT_QUERY_CLAUSE_EXCLUSIONS, dualNode == null))
         );
 
         CustomSQLTypedQuery<X> countQuery = new CustomSQLTypedQuery<X>(
@@ -516,6 +566,35 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return countQuery;
     }
 
+    private EstimatedCountQuery getEstimatedCountQuery(TypedQuery<?> countQuery) {
+        ExtendedQuerySupport extendedQuerySupport = mainQuery.cbf.getExtendedQuerySupport();
+        // The table statistics can only be used if every row of the root table is counted
+        if (extendedQuerySupport == null || !extendedQuerySupport.supportsAdvancedSql() || joinManager.getRoots().size() != 1
+                || whereManager.hasPredicates() || hasGroupBy || !havingManager.isEmpty() || joinManager.hasNonLeftJoins()) {
+            return null;
+        }
+        JoinNode rootNode = joinManager.getRoots().get(0);
+        // The table of a subtype in a single table inheritance hierarchy also contains rows of other types
+        if (rootNode.getTreatType() != null || mainQuery.jpaProvider.getDiscriminatorColumnCheck(rootNode.getEntityType()) != null) {
+            return null;
+        }
+        Query query = countQuery instanceof TypedQueryWrapper<?> ? ((TypedQueryWrapper<?>) countQuery).getDelegate() : countQuery;
+        String sql = extendedQuerySupport.getSql(em, query);
+        // The JPA provider might add restrictions to the SQL e.g. for Hibernate @Where or an enabled filter
+        if (SqlUtils.indexOfWhere(sql) != -1) {
+            return null;
+        }
+        String tableName = SqlUtils.getTableName(sql, extendedQuerySupport.getSqlFromInfo(em, query, rootNode.getAlias(), 0));
+        if (tableName == null) {
+            return null;
+        }
+        String estimatedRowCountSql = mainQuery.dbmsDialect.getEstimatedRowCountSql(tableName);
+        if (estimatedRowCountSql == null) {
+            return null;
+        }
+        return new EstimatedCountQuery(em, estimatedRowCountSql, estimatedCountThreshold);
+    }
+
     @Override
     public PaginatedTypedQueryImpl<T> getQuery() {
         prepareAndCheck(null);
@@ -555,6 +634,17 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         ObjectBuilder<T> objectBuilder;
         boolean inlinedIdQuery;
         boolean inlinedCountQuery = firstResult < maximumCount && withCountQuery && withInlineCountQuery;
+        ConcurrentCountQuery concurrentCountQuery = null;
+        // Only plain count queries can be created for a separate entity manager
+        // Without a configured executor, the count query is only executed concurrently by the asynchronous execution
+        if (withCountQuery && !inlinedCountQuery && entityId == null && maximumCount == Long.MAX_VALUE && normalQueryMode && isEmpty(keyRestrictedLeftJoins, COUNT_QUERY_CLAUSE_EXCLUSIONS)) {
+            EntityManagerFactory entityManagerFactory = countExecutor == null ? em.getEntityManagerFactory() : countEntityManagerFactory;
+            concurrentCountQuery = new ConcurrentCountQuery(countQueryString, isCacheable(), mainQuery.jpaProvider, entityManagerFactory, countExecutor);
+        }
+        EstimatedCountQuery estimatedCountQuery = null;
+        if (estimatedCountThreshold != Long.MAX_VALUE && withCountQuery && !inlinedCountQuery && entityId == null && maximumCount == Long.MAX_VALUE && normalQueryMode) {
+            estimatedCountQuery = getEstimatedCountQuery(countQuery);
+        }
         if (!isWithInlineIdQuery() && (hasCollections || withForceIdQuery)) {
             String idQueryString = getPageIdQueryStringWithoutCheck();
             if (normalQueryMode) {
@@ -603,7 +693,9 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 keysetPage,
                 forceFirstResult,
                 inlinedIdQuery,
-                inlinedCountQuery
+                inlinedCountQuery,
+                concurrentCountQuery,
+                estimatedCountQuery
         );
         return query;
     }
@@ -613,6 +705,16 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return getQuery().getResultList();
     }
 
+    @Override
+    public CompletionStage<PagedList<T>> getPagedResultListAsync(Executor executor) {
+        return getQuery().getPagedResultListAsync(executor);
+    }
+
+    @Override
+    public Flow.Publisher<PagedList<T>> getPagedResultListPublisher(Executor executor) {
+        return getQuery().getPagedResultListPublisher(executor);
+    }
+
     @Override
     public String getCountQueryString() {
         return getPageCountQueryString();
@@ -963,7 +1065,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             }
             QuerySpecification querySpecification = new CustomQuerySpecification(
                     this, baseQuery, parameters, parameterListNames, null, null, keyRestrictedLeftJoinAliases, entityFunctionNodes,
-                    mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null
+                    mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null, getCustomSqlCacheKey(queryString, clauseExclusions)
             );
 
             query = new CustomSQLTypedQuery<T>(
@@ -1034,7 +1136,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         List<CTENode> ctes = shouldRenderCteNodes ? getCteNodes(false) : Collections.EMPTY_LIST;
         QuerySpecification querySpecification = new CustomQuerySpecification(
                 this, baseQuery, parameterManager.getParameterImpls(), parameterListNames, null, null, keyRestrictedLeftJoinAliases, entityFunctionNodes,
-                mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null
+                mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null, getCustomSqlCacheKey(idQueryString, ID_QUERY_CLAUSE_EXCLUSIONS)
         );
 
         CustomSQLTypedQuery<Object[]> idQuery = new CustomSQLTypedQuery<Object[]>(
@@ -1068,7 +1170,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             return applyObjectBuilder(query);
         }
 
-        TypedQuery<T> baseQuery = (TypedQuery<T>) em.createQuery(getBaseQueryString(null, null), selectManager.getExpectedQueryResultType());
+        String objectQueryString = getBaseQueryString(null, null);
+        TypedQuery<T> baseQuery = (TypedQuery<T>) em.createQuery(objectQueryString, selectManager.getExpectedQueryResultType());
         Set<String> parameterListNames = parameterManager.getParameterListNames(baseQuery, ID_PARAM_NAME);
 
         if (identifierExpressionsToUse.length == 1) {
@@ -1088,7 +1191,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         }
         QuerySpecification querySpecification = new CustomQuerySpecification(
                 this, baseQuery, parameters, parameterListNames, null, null, keyRestrictedLeftJoinAliases, entityFunctionNodes,
-                mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null
+                mainQuery.cteManager.isRecursive(), ctes, shouldRenderCteNodes, mainQuery.getQueryConfiguration().isQueryPlanCacheEnabled(), null, getCustomSqlCacheKey(objectQueryString, OBJECT_QUERY_CLAUSE_EXCLUSIONS)
         );
 
         TypedQuery<T> query = new CustomSQLTypedQuery<T>(
@@ -1224,7 +1327,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
 
             int positionalOffset = parameterManager.getPositionalOffset();
             if (mainQuery.getQueryConfiguration().isOptimizedKeysetPredicateRenderingEnabled()) {
-                keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, positionalOffset);
+                keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, positionalOffset, mainQuery.getQueryConfiguration().isNullableRowValueKeysetPredicateRenderingEnabled());
             } else {
                 keysetManager.buildKeysetPredicate(sbSelectFrom, positionalOffset);
             }
@@ -1467,7 +1570,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
 
                 int positionalOffset = parameterManager.getPositionalOffset();
                 if (mainQuery.getQueryConfiguration().isOptimizedKeysetPredicateRenderingEnabled()) {
-                    keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, positionalOffset);
+                    keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, positionalOffset, mainQuery.getQueryConfiguration().isNullableRowValueKeysetPredicateRenderingEnabled());
                 } else {
                     keysetManager.buildKeysetPredicate(sbSelectFrom, positionalOffset);
                 }
@@ -50,6 +50,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
 
 /**
  * @author Christian Beikov
@@ -81,9 +87,12 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
     private final boolean forceFirstResult;
     private final boolean inlinedIdQuery;
     private final boolean inlinedCountQuery;
+    private final ConcurrentCountQuery concurrentCountQuery;
+    private final EstimatedCountQuery estimatedCountQuery;
 
     public PaginatedTypedQueryImpl(boolean withExtractAllKeysets, boolean withCount, boolean boundedCount, int highestOffset, TypedQuery<?> countQuery, TypedQuery<?> idQuery, TypedQuery<X> objectQuery, ObjectBuilder<X> objectBuilder, Collection<ParameterManager.ParameterImpl<?>> parameters, Map<ParameterExpression<?>, String> criteriaNameMapping,
-                                   Object entityId, int firstResult, int pageSize, int identifierCount, boolean needsNewIdList, int[] keysetToSelectIndexMapping, KeysetMode keysetMode, KeysetPage keysetPage, boolean forceFirstResult, boolean inlinedIdQuery, boolean inlinedCountQuery) {
+                                   Object entityId, int firstResult, int pageSize, int identifierCount, boolean needsNewIdList, int[] keysetToSelectIndexMapping, KeysetMode keysetMode, KeysetPage keysetPage, boolean forceFirstResult, boolean inlinedIdQuery, boolean inlinedCountQuery,
+                                   ConcurrentCountQuery concurrentCountQuery, EstimatedCountQuery estimatedCountQuery) {
         this.withExtractAllKeysets = withExtractAllKeysets;
         this.withCount = withCount;
         this.boundedCount = boundedCount;
@@ -104,6 +113,8 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
         this.forceFirstResult = forceFirstResult;
         this.inlinedIdQuery = inlinedIdQuery;
         this.inlinedCountQuery = inlinedCountQuery;
+        this.concurrentCountQuery = concurrentCountQuery;
+        this.estimatedCountQuery = estimatedCountQuery;
         this.criteriaNameMapping = criteriaNameMapping;
 
         Map<String, Parameter<?>> params = new HashMap<>(parameters.size());
@@ -183,7 +194,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
     public List<X> getPageResultList() {
         int queryFirstResult = firstResult;
         int firstRow = firstResult;
-        return getResultList(queryFirstResult, firstRow, -1L);
+        return getResultList(queryFirstResult, firstRow, -1L, false, null);
     }
 
     @Override
@@ -192,7 +203,16 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
         int queryFirstResult = firstResult;
         int firstRow = firstResult;
         long totalSize = -1L;
-        if (withCount && !inlinedCountQuery) {
+        if (withCount && estimatedCountQuery != null) {
+            totalSize = estimatedCountQuery.getEstimate();
+            if (totalSize != -1L) {
+                return getResultList(queryFirstResult, firstRow, totalSize, true, null);
+            }
+        }
+        if (withCount && concurrentCountQuery != null && concurrentCountQuery.isConcurrent()) {
+            // The count query runs while the id and object queries are executed and is joined when building the paged list
+            return getResultList(queryFirstResult, firstRow, totalSize, false, concurrentCountQuery.execute(countQuery));
+        } else if (withCount && !inlinedCountQuery) {
             if (entityId == null) {
                 totalSize = ((Number) countQuery.getSingleResult()).longValue();
             } else {
@@ -215,10 +235,41 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
             return new PagedArrayList<X>(null, totalSize, queryFirstResult, pageSize);
         }
 
-        return getResultList(queryFirstResult, firstRow, totalSize);
+        return getResultList(queryFirstResult, firstRow, totalSize, false, null);
+    }
+
+    @Override
+    public CompletionStage<PagedList<X>> getPagedResultListAsync(Executor executor) {
+        final CompletableFuture<Long> totalSizeFuture;
+        // The estimate decides whether the count query is needed at all, so the count query can only be started upfront without one
+        if (withCount && concurrentCountQuery != null && estimatedCountQuery == null) {
+            // The count query runs on its own entity manager and is started before the id and object queries
+            totalSizeFuture = concurrentCountQuery.execute(countQuery, executor);
+        } else {
+            totalSizeFuture = null;
+        }
+        return CompletableFuture.supplyAsync(new Supplier<PagedList<X>>() {
+            @Override
+            public PagedList<X> get() {
+                if (totalSizeFuture == null) {
+                    return getResultList();
+                }
+                return getResultList(firstResult, firstResult, -1L, false, totalSizeFuture);
+            }
+        }, executor);
     }
 
-    private PagedList<X> getResultList(int queryFirstResult, int firstRow, long totalSize) {
+    @Override
+    public Flow.Publisher<PagedList<X>> getPagedResultListPublisher(final Executor executor) {
+        return CompletionStagePublisher.create(new Supplier<CompletionStage<PagedList<X>>>() {
+            @Override
+            public CompletionStage<PagedList<X>> get() {
+                return getPagedResultListAsync(executor);
+            }
+        });
+    }
+
+    private PagedList<X> getResultList(int queryFirstResult, int firstRow, long totalSize, boolean totalSizeEstimated, CompletableFuture<Long> totalSizeFuture) {
         if (idQuery != null) {
             idQuery.setMaxResults(pageSize);
 
@@ -237,7 +288,9 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                     newKeysetPage = keysetPage;
                 }
                 long size;
-                if (withCount && totalSize == -1) {
+                if (totalSizeFuture != null) {
+                    size = join(totalSizeFuture);
+                } else if (withCount && totalSize == -1) {
                     size = getTotalCount();
                 } else {
                     size = totalSize;
@@ -249,7 +302,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                         size = Math.max(size, firstRow);
                     }
                 }
-                return new PagedArrayList<X>(newKeysetPage, size, queryFirstResult, pageSize);
+                return new PagedArrayList<X>(newKeysetPage, size, totalSizeEstimated, queryFirstResult, pageSize);
             }
 
             Serializable[] lowest = null;
@@ -384,10 +437,13 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                 newKeyset = new DefaultKeysetPage(firstRow, pageSize, lowest, highest, keysets);
             }
 
-            totalSize = Math.max(totalSize, firstRow + ids.size());
             List<X> queryResultList = objectQuery.getResultList();
+            if (totalSizeFuture != null) {
+                totalSize = join(totalSizeFuture);
+            }
+            totalSize = Math.max(totalSize, firstRow + ids.size());
 
-            PagedList<X> pagedResultList = new PagedArrayList<X>(queryResultList, newKeyset, totalSize, queryFirstResult, pageSize);
+            PagedList<X> pagedResultList = new PagedArrayList<X>(queryResultList, newKeyset, totalSize, totalSizeEstimated, queryFirstResult, pageSize);
             return pagedResultList;
         } else {
             if (!inlinedIdQuery) {
@@ -409,7 +465,9 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                     newKeysetPage = keysetPage;
                 }
 
-                if (totalSize == -1) {
+                if (totalSizeFuture != null) {
+                    totalSize = join(totalSizeFuture);
+                } else if (totalSize == -1) {
                     if (inlinedCountQuery && firstRow == 0) {
                         totalSize = 0L;
                     } else if (withCount) {
@@ -424,7 +482,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                     }
                 }
 
-                return new PagedArrayList<X>(newKeysetPage, totalSize, queryFirstResult, pageSize);
+                return new PagedArrayList<X>(newKeysetPage, totalSize, totalSizeEstimated, queryFirstResult, pageSize);
             }
 
             if (keysetMode == KeysetMode.PREVIOUS) {
@@ -463,13 +521,27 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                 }
             }
 
+            if (totalSizeFuture != null) {
+                totalSize = join(totalSizeFuture);
+            }
             totalSize = Math.max(totalSize, firstRow + result.size());
 
-            PagedList<X> pagedResultList = new PagedArrayList<X>(result, newKeyset, totalSize, queryFirstResult, pageSize);
+            PagedList<X> pagedResultList = new PagedArrayList<X>(result, newKeyset, totalSize, totalSizeEstimated, queryFirstResult, pageSize);
             return pagedResultList;
         }
     }
 
+    private static long join(CompletableFuture<Long> totalSizeFuture) {
+        try {
+            return totalSizeFuture.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public X getSingleResult() {
@@ -260,6 +260,10 @@ public abstract class PredicateManager<T extends WhereBuilder<T>> extends Abstra
         return rootPredicate.getPredicate().getChildren().size() > 0;
     }
 
+    void appendQueryShapeKey(QueryShapeKeyGenerator keyGenerator) {
+        keyGenerator.append(' ').append(getClauseType()).append(' ').appendExpression(rootPredicate.getPredicate());
+    }
+
     void buildClause(StringBuilder sb) {
         buildClause(sb, Collections.<String>emptyList(), Collections.<String>emptyList());
     }
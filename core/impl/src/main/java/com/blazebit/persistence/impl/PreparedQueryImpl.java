@@ -0,0 +1,192 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.PreparedQuery;
+import com.blazebit.persistence.impl.query.ObjectBuilderTypedQuery;
+import com.blazebit.persistence.impl.query.TypedQueryWrapper;
+import com.blazebit.persistence.spi.JpaProvider;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Parameter;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A snapshot of the state of a query builder that is needed to create a query. Parameter values are copied,
+ * so that changes to the query builder after preparing don't affect the prepared query.
+ * Only object builders and parameters that don't depend on the query builder or its entity manager are allowed.
+ *
+ * @param <T> The query result type
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+class PreparedQueryImpl<T> implements PreparedQuery<T> {
+
+    private final String queryString;
+    private final Class<?> queryResultType;
+    private final int firstResult;
+    private final int maxResults;
+    private final JpaProvider cacheableJpaProvider;
+    private final ObjectBuilder<T> objectBuilder;
+    private final Map<javax.persistence.criteria.ParameterExpression<?>, String> criteriaNameMapping;
+    private final Map<String, PreparedParameter> parameters;
+
+    public PreparedQueryImpl(String queryString, Class<?> queryResultType, int firstResult, int maxResults, JpaProvider cacheableJpaProvider, ObjectBuilder<T> objectBuilder,
+                             Map<javax.persistence.criteria.ParameterExpression<?>, String> criteriaNameMapping, Collection<ParameterManager.ParameterImpl<?>> parameters) {
+        this.queryString = queryString;
+        this.queryResultType = queryResultType;
+        this.firstResult = firstResult;
+        this.maxResults = maxResults;
+        this.cacheableJpaProvider = cacheableJpaProvider;
+        this.objectBuilder = objectBuilder;
+        this.criteriaNameMapping = criteriaNameMapping == null ? null : Collections.unmodifiableMap(new HashMap<>(criteriaNameMapping));
+        Map<String, PreparedParameter> preparedParameters = new LinkedHashMap<>(parameters.size());
+        for (ParameterManager.ParameterImpl<?> parameter : parameters) {
+            PreparedParameter preparedParameter = new PreparedParameter(parameter);
+            preparedParameters.put(preparedParameter.key, preparedParameter);
+        }
+        this.parameters = Collections.unmodifiableMap(preparedParameters);
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public Set<String> getParameterNames() {
+        return parameters.keySet();
+    }
+
+    @Override
+    public TypedQuery<T> createQuery(EntityManager entityManager) {
+        return createQuery(entityManager, Collections.<String, Object>emptyMap());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TypedQuery<T> createQuery(EntityManager entityManager, Map<String, Object> parameterValues) {
+        for (String parameterName : parameterValues.keySet()) {
+            if (!parameters.containsKey(parameterName)) {
+                throw new IllegalArgumentException(String.format("Parameter name \"%s\" does not exist", parameterName));
+            }
+        }
+
+        TypedQuery<T> query = (TypedQuery<T>) entityManager.createQuery(queryString, queryResultType);
+        if (firstResult != 0) {
+            query.setFirstResult(firstResult);
+        }
+        if (maxResults != Integer.MAX_VALUE) {
+            query.setMaxResults(maxResults);
+        }
+        if (cacheableJpaProvider != null) {
+            cacheableJpaProvider.setCacheable(query);
+        }
+
+        for (Parameter<?> p : query.getParameters()) {
+            String parameterName = p.getName();
+            // In case of positional parameters, we convert the position to a string and look it up instead
+            if (parameterName == null) {
+                if (criteriaNameMapping != null && p instanceof javax.persistence.criteria.ParameterExpression<?>) {
+                    parameterName = criteriaNameMapping.get(p);
+                } else {
+                    parameterName = p.getPosition().toString();
+                }
+            }
+            PreparedParameter parameter = parameters.get(parameterName);
+            if (parameter == null) {
+                throw new IllegalArgumentException(String.format("Parameter name \"%s\" does not exist", parameterName));
+            }
+            if (parameterValues.containsKey(parameterName)) {
+                parameter.bind(query, parameterValues.get(parameterName));
+            } else {
+                parameter.bindDefault(query);
+            }
+        }
+
+        if (objectBuilder != null) {
+            return new ObjectBuilderTypedQuery<>(query, criteriaNameMapping, objectBuilder);
+        } else if (criteriaNameMapping != null) {
+            return new TypedQueryWrapper<>(query, criteriaNameMapping);
+        } else {
+            return query;
+        }
+    }
+
+    /**
+     * An immutable copy of a parameter and its default value.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class PreparedParameter {
+
+        private final String key;
+        private final String name;
+        private final Integer position;
+        private final boolean valueSet;
+        private final Object value;
+
+        public PreparedParameter(ParameterManager.ParameterImpl<?> parameter) {
+            this.name = parameter.getName();
+            this.position = parameter.getPosition();
+            this.key = name == null ? position.toString() : name;
+            this.valueSet = parameter.isValueSet();
+            ParameterManager.ParameterValue parameterValue = parameter.getParameterValue();
+            this.value = parameterValue == null ? parameter.getValue() : parameterValue.copy();
+        }
+
+        public void bindDefault(Query query) {
+            if (valueSet) {
+                bindValue(query, value);
+            }
+        }
+
+        public void bind(Query query, Object newValue) {
+            if (value instanceof ParameterManager.ParameterValue) {
+                // The parameter value wrappers are mutable, so we bind a copy
+                bindValue(query, ((ParameterManager.ParameterValue) value).copy().withValue(newValue));
+            } else {
+                bindValue(query, newValue);
+            }
+        }
+
+        private void bindValue(Query query, Object value) {
+            if (value instanceof ParameterManager.ParameterValue) {
+                if (name == null) {
+                    ((ParameterManager.ParameterValue) value).bind(query, position);
+                } else {
+                    ((ParameterManager.ParameterValue) value).bind(query, name);
+                }
+            } else {
+                if (name == null) {
+                    query.setParameter(position, value);
+                } else {
+                    query.setParameter(name, value);
+                }
+            }
+        }
+    }
+}
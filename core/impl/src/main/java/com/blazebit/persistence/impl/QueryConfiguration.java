@@ -33,6 +33,10 @@ public interface QueryConfiguration {
 
     public String getExpressionCacheClass();
 
+    public int getExpressionCacheMaximumSize();
+
+    public Map<String, Integer> getExpressionCacheMaximumSizes();
+
     public boolean isCountTransformationEnabled();
 
     public boolean isImplicitGroupByFromSelectEnabled();
@@ -43,10 +47,14 @@ public interface QueryConfiguration {
 
     public boolean isValuesClauseFilterNullsEnabled();
 
+    public boolean isValuesClauseArrayBindingEnabled();
+
     public boolean isParameterAsLiteralRenderingEnabled();
 
     public boolean isOptimizedKeysetPredicateRenderingEnabled();
 
+    public boolean isNullableRowValueKeysetPredicateRenderingEnabled();
+
     public Boolean getInlineIdQueryEnabled();
 
     public Boolean getInlineCountQueryEnabled();
@@ -66,4 +74,8 @@ public interface QueryConfiguration {
     public boolean isCacheable();
 
     public boolean isQueryPlanCacheEnabled();
+
+    public int getQueryStringCacheSize();
+
+    public int getCustomSqlCacheSize();
 }
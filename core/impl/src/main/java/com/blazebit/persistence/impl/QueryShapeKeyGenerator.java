@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.parser.SimpleQueryGenerator;
+import com.blazebit.persistence.parser.expression.Expression;
+import com.blazebit.persistence.parser.expression.ParameterExpression;
+import com.blazebit.persistence.parser.expression.SubqueryExpression;
+
+/**
+ * Renders a key that identifies the structure of a query builder before implicit joins and transformations are applied.
+ * Query builders with the same key render the same query string, which allows to share it across query builders.
+ * Parameters are always rendered as placeholders, so the key does not depend on parameter values.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+class QueryShapeKeyGenerator extends SimpleQueryGenerator {
+
+    private boolean cacheable = true;
+
+    public QueryShapeKeyGenerator() {
+        setQueryBuffer(new StringBuilder());
+        setBooleanLiteralRenderingContext(BooleanLiteralRenderingContext.PLAIN);
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    public void markNotCacheable() {
+        this.cacheable = false;
+    }
+
+    public String getKey() {
+        return cacheable ? sb.toString() : null;
+    }
+
+    public QueryShapeKeyGenerator append(String s) {
+        sb.append(s);
+        return this;
+    }
+
+    public QueryShapeKeyGenerator append(char c) {
+        sb.append(c);
+        return this;
+    }
+
+    public QueryShapeKeyGenerator append(boolean b) {
+        sb.append(b ? '1' : '0');
+        return this;
+    }
+
+    public QueryShapeKeyGenerator append(Object o) {
+        sb.append(o);
+        return this;
+    }
+
+    public QueryShapeKeyGenerator appendExpression(Expression expression) {
+        if (expression == null) {
+            sb.append("null");
+        } else if (cacheable) {
+            expression.accept(this);
+        }
+        return this;
+    }
+
+    @Override
+    public void visit(ParameterExpression expression) {
+        super.visit(expression);
+        if (expression.isCollectionValued()) {
+            sb.append("[]");
+        }
+    }
+
+    @Override
+    public void visit(SubqueryExpression expression) {
+        // Subqueries are query builders on their own which we don't want to take into account
+        cacheable = false;
+    }
+}
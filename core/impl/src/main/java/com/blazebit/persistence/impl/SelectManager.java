@@ -33,13 +33,17 @@ import com.blazebit.persistence.impl.builder.expression.SuperExpressionSubqueryB
 import com.blazebit.persistence.impl.builder.object.ClassObjectBuilder;
 import com.blazebit.persistence.impl.builder.object.ConstructorObjectBuilder;
 import com.blazebit.persistence.impl.builder.object.DelegatingTupleObjectBuilder;
+import com.blazebit.persistence.impl.builder.object.GroupingObjectBuilder;
+import com.blazebit.persistence.impl.builder.object.GroupingPreProcessingObjectBuilder;
 import com.blazebit.persistence.impl.builder.object.MultisetTransformingObjectBuilder;
 import com.blazebit.persistence.impl.builder.object.PreProcessingObjectBuilder;
 import com.blazebit.persistence.impl.builder.object.SelectObjectBuilderImpl;
 import com.blazebit.persistence.impl.builder.object.TupleObjectBuilder;
 import com.blazebit.persistence.impl.function.param.ParamFunction;
+import com.blazebit.persistence.impl.function.tomultiset.ToMultisetFunction;
 import com.blazebit.persistence.impl.transform.ExpressionModifierVisitor;
 import com.blazebit.persistence.parser.EntityMetamodel;
+import com.blazebit.persistence.parser.FieldLayout;
 import com.blazebit.persistence.parser.SimpleQueryGenerator;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.Expression.ResultVisitor;
@@ -146,7 +150,11 @@ public class SelectManager<T> extends AbstractManager<SelectInfo> {
                 }
             }
         } else if (!jpqlFunctionProcessors.isEmpty()) {
-            builder = new PreProcessingObjectBuilder<>(new MultisetTransformingObjectBuilder(jpqlFunctionProcessors, selectInfos), builder);
+            if (builder instanceof GroupingObjectBuilder<?>) {
+                builder = new GroupingPreProcessingObjectBuilder<>(new MultisetTransformingObjectBuilder(jpqlFunctionProcessors, selectInfos), (GroupingObjectBuilder<T>) builder);
+            } else {
+                builder = new PreProcessingObjectBuilder<>(new MultisetTransformingObjectBuilder(jpqlFunctionProcessors, selectInfos), builder);
+            }
         }
         return builder;
     }
@@ -155,6 +163,16 @@ public class SelectManager<T> extends AbstractManager<SelectInfo> {
         return selectInfos;
     }
 
+    void appendQueryShapeKey(QueryShapeKeyGenerator keyGenerator) {
+        keyGenerator.append("SELECT ").append(distinct);
+        List<SelectInfo> infos = selectInfos;
+        int size = infos.size();
+        for (int i = 0; i < size; i++) {
+            SelectInfo selectInfo = infos.get(i);
+            keyGenerator.append(',').appendExpression(selectInfo.getExpression()).append(' ').append(selectInfo.getAlias());
+        }
+    }
+
     public Map<Integer, JpqlFunctionProcessor<?>> getJpqlFunctionProcessors() {
         return jpqlFunctionProcessors;
     }
@@ -571,15 +589,43 @@ public class SelectManager<T> extends AbstractManager<SelectInfo> {
 
         private final MultisetTransformingObjectBuilder objectBuilder;
         private final JpqlFunctionProcessor<Object> preProcessor;
+        private final ToMultisetFunction toMultisetFunction;
+        private final FieldLayout fieldLayout;
 
         public NestedToMultisetJpqlFunctionProcessor(JpqlFunctionProcessor<?> preProcessor, Map<Integer, JpqlFunctionProcessor<?>> jpqlFunctionProcessorMap, List<Expression> expressions) {
             this.objectBuilder = new MultisetTransformingObjectBuilder(expressions, jpqlFunctionProcessorMap);
             this.preProcessor = (JpqlFunctionProcessor<Object>) preProcessor;
+            if (preProcessor instanceof ToMultisetFunction) {
+                this.toMultisetFunction = (ToMultisetFunction) preProcessor;
+                // The layout is created once per call site and contains the layouts of nested multisets,
+                // so that the parser can parse them in the same pass
+                FieldLayout[] nestedLayouts = null;
+                for (Map.Entry<Integer, JpqlFunctionProcessor<?>> entry : jpqlFunctionProcessorMap.entrySet()) {
+                    if (entry.getValue() instanceof NestedToMultisetJpqlFunctionProcessor) {
+                        FieldLayout nestedLayout = ((NestedToMultisetJpqlFunctionProcessor) entry.getValue()).fieldLayout;
+                        if (nestedLayout != null) {
+                            if (nestedLayouts == null) {
+                                nestedLayouts = new FieldLayout[expressions.size()];
+                            }
+                            nestedLayouts[entry.getKey()] = nestedLayout;
+                        }
+                    }
+                }
+                this.fieldLayout = ToMultisetFunction.createFieldLayout(expressions.size(), nestedLayouts);
+            } else {
+                this.toMultisetFunction = null;
+                this.fieldLayout = null;
+            }
         }
 
         @Override
         public Object process(Object result, List<Object> arguments) {
-            List<Object[]> newResult = (List<Object[]>) preProcessor.process(result, arguments);
+            List<Object[]> newResult;
+            if (toMultisetFunction == null) {
+                newResult = (List<Object[]>) preProcessor.process(result, arguments);
+            } else {
+                newResult = (List<Object[]>) toMultisetFunction.process(result, fieldLayout);
+            }
             if (newResult != null) {
                 for (int i = 0; i < newResult.size(); i++) {
                     objectBuilder.build(newResult.get(i));
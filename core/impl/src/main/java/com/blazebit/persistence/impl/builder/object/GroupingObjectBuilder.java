@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.builder.object;
+
+import com.blazebit.persistence.ObjectBuilder;
+
+/**
+ * An object builder that can only produce result objects in {@link #buildList(java.util.List)} because a result object
+ * is made up of multiple tuples, like when collections are fetched through joins.
+ * The {@link #build(Object[])} method of such an object builder returns the tuple.
+ *
+ * Result streaming is possible when the tuples of a result object are adjacent, so all tuples with an equal group key
+ * are collected and passed to {@link #buildList(java.util.List)} together. Up to {@link #getGroupBatchSize()} groups
+ * are passed together, so that work which is done per {@link #buildList(java.util.List)} invocation, like batch loading, is shared.
+ *
+ * @param <T> The result type
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface GroupingObjectBuilder<T> extends ObjectBuilder<T> {
+
+    /**
+     * Returns the key of the result object for the given tuple.
+     *
+     * @param tuple The tuple as returned by {@link #build(Object[])}
+     * @return The group key
+     */
+    public Object getGroupKey(Object[] tuple);
+
+    /**
+     * Returns the maximum number of groups that should be passed to {@link #buildList(java.util.List)} together.
+     *
+     * @return The group batch size
+     */
+    public int getGroupBatchSize();
+}
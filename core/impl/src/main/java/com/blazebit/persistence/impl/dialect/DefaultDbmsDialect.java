@@ -122,6 +122,11 @@ public class DefaultDbmsDialect implements DbmsDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsRowValueComparisonWithNulls() {
+        return supportsFullRowValueComparison();
+    }
+
     @Override
     public boolean supportsCountTuple() {
         return false;
@@ -550,6 +555,16 @@ public class DefaultDbmsDialect implements DbmsDialect {
         return null;
     }
 
+    @Override
+    public String getEstimatedRowCountSql(String tableName) {
+        return null;
+    }
+
+    @Override
+    public String getArrayParameterTableFunction(String sqlType) {
+        return null;
+    }
+
     @Override
     public boolean needsReturningSqlTypes() {
         return false;
@@ -573,4 +588,54 @@ public class DefaultDbmsDialect implements DbmsDialect {
     public void appendLimit(StringBuilder sqlSb, boolean isSubquery, String limit, String offset) {
         createLimitHandler().applySql(sqlSb, isSubquery, limit, offset);
     }
+
+    /**
+     * Splits the given possibly qualified table name into the schema name, which is null for unqualified table names, and the table name.
+     * Quotes are removed and unquoted names are converted to upper case if requested.
+     *
+     * @param tableName The possibly qualified and quoted table name
+     * @param upperCaseUnquoted Whether unquoted names should be converted to upper case
+     * @return The schema name and table name
+     */
+    protected static String[] splitQualifiedTableName(String tableName, boolean upperCaseUnquoted) {
+        List<String> parts = new ArrayList<>(2);
+        StringBuilder sb = new StringBuilder(tableName.length());
+        char quoteEnd = 0;
+        boolean quoted = false;
+        for (int i = 0; i < tableName.length(); i++) {
+            final char c = tableName.charAt(i);
+            if (quoteEnd != 0) {
+                if (c == quoteEnd) {
+                    quoteEnd = 0;
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"' || c == '`') {
+                quoteEnd = c;
+                quoted = true;
+            } else if (c == '[') {
+                quoteEnd = ']';
+                quoted = true;
+            } else if (c == '.') {
+                parts.add(quoted || !upperCaseUnquoted ? sb.toString() : sb.toString().toUpperCase());
+                sb.setLength(0);
+                quoted = false;
+            } else {
+                sb.append(c);
+            }
+        }
+        parts.add(quoted || !upperCaseUnquoted ? sb.toString() : sb.toString().toUpperCase());
+        int size = parts.size();
+        return new String[]{ size == 1 ? null : parts.get(size - 2), parts.get(size - 1) };
+    }
+
+    /**
+     * Renders the given value as SQL string literal.
+     *
+     * @param value The value
+     * @return The SQL string literal
+     */
+    protected static String stringLiteral(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
 }
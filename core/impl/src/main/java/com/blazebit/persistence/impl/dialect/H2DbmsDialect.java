@@ -149,6 +149,19 @@ public class H2DbmsDialect extends DefaultDbmsDialect {
         return '\\';
     }
 
+    @Override
+    public String getEstimatedRowCountSql(String tableName) {
+        String[] schemaAndTableName = splitQualifiedTableName(tableName, true);
+        String schema = schemaAndTableName[0] == null ? "schema()" : stringLiteral(schemaAndTableName[0]);
+        return "select row_count_estimate from information_schema.tables where table_schema = " + schema + " and table_name = " + stringLiteral(schemaAndTableName[1]);
+    }
+
+    @Override
+    public String getArrayParameterTableFunction(String sqlType) {
+        // The elements of the array keep the Java types they are bound with, so no cast is needed
+        return "unnest(?)";
+    }
+
     @Override
     public boolean supportsArbitraryLengthMultiset() {
         return true;
@@ -229,4 +229,10 @@ public class MSSQLDbmsDialect extends DefaultDbmsDialect {
     public boolean supportsLimitWithoutOrderBy() {
         return false;
     }
+
+    @Override
+    public String getEstimatedRowCountSql(String tableName) {
+        // The index id 0 is the heap and 1 the clustered index which both contain all rows
+        return "select sum(rows) from sys.partitions where object_id = object_id(" + stringLiteral(tableName) + ") and index_id in (0, 1)";
+    }
 }
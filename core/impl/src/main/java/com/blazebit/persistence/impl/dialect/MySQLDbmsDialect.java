@@ -100,6 +100,13 @@ public class MySQLDbmsDialect extends DefaultDbmsDialect {
         return '\\';
     }
 
+    @Override
+    public String getEstimatedRowCountSql(String tableName) {
+        String[] schemaAndTableName = splitQualifiedTableName(tableName, false);
+        String schema = schemaAndTableName[0] == null ? "database()" : stringLiteral(schemaAndTableName[0]);
+        return "select table_rows from information_schema.tables where table_schema = " + schema + " and table_name = " + stringLiteral(schemaAndTableName[1]);
+    }
+
     @Override
     public boolean supportsArbitraryLengthMultiset() {
         return true;
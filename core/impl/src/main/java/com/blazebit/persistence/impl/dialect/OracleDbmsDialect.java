@@ -304,4 +304,12 @@ public class OracleDbmsDialect extends DefaultDbmsDialect {
         }
     }
 
+    @Override
+    public String getEstimatedRowCountSql(String tableName) {
+        String[] schemaAndTableName = splitQualifiedTableName(tableName, true);
+        String schema = schemaAndTableName[0] == null ? "sys_context('USERENV', 'CURRENT_SCHEMA')" : stringLiteral(schemaAndTableName[0]);
+        // The num_rows are null for tables that were never analyzed
+        return "select num_rows from all_tables where owner = " + schema + " and table_name = " + stringLiteral(schemaAndTableName[1]);
+    }
+
 }
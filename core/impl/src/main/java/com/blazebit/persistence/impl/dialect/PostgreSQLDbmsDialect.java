@@ -59,6 +59,17 @@ public class PostgreSQLDbmsDialect extends DefaultDbmsDialect {
         return '\\';
     }
 
+    @Override
+    public String getEstimatedRowCountSql(String tableName) {
+        // The reltuples are -1 for tables that were never analyzed
+        return "select cast(reltuples as bigint) from pg_class where oid = to_regclass(" + stringLiteral(tableName) + ")";
+    }
+
+    @Override
+    public String getArrayParameterTableFunction(String sqlType) {
+        return "unnest(cast(? as " + sqlType + "[]))";
+    }
+
     @Override
     public boolean supportsModificationQueryInWithClause() {
         return true;
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.function.tomultiset;
+
+import com.blazebit.persistence.parser.FieldLayout;
+import com.blazebit.persistence.parser.LengthPrefixedParser;
+import com.blazebit.persistence.spi.FunctionRenderContext;
+
+/**
+ * An alternative encoding of multiset values for the {@link ToMultisetFunction} that does not need escaping.
+ * Every value is rendered as its length followed by a colon and the value itself, or as <code>~</code> if it is <code>null</code>,
+ * and the values of all rows are concatenated in the order of the select items. See {@link LengthPrefixedParser} for the details.
+ * This is still a text encoding, so values are converted to text by the database and parsed from text again,
+ * but compared to JSON or XML there is no escaping and no structure to parse.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public abstract class LengthPrefixedMultisetEncoding {
+
+    public Object process(CharSequence result, FieldLayout layout) {
+        if (result == null) {
+            return null;
+        }
+        return LengthPrefixedParser.parse(result, layout);
+    }
+
+    public abstract void render(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, String subquery, int fromIndex);
+}
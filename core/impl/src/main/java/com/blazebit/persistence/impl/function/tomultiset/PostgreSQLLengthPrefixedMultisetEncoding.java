@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.function.tomultiset;
+
+import com.blazebit.persistence.impl.util.SqlUtils;
+import com.blazebit.persistence.spi.FunctionRenderContext;
+
+/**
+ * Renders the length prefixed text encoding with <code>string_agg</code>. The select items are evaluated once in a derived table
+ * where they are converted to text, and the order of the subquery is preserved through a <code>row_number</code> that is used as order of the aggregation.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class PostgreSQLLengthPrefixedMultisetEncoding extends LengthPrefixedMultisetEncoding {
+
+    private static final String ROW_NUMBER_ALIAS = "rn";
+
+    @Override
+    public void render(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, String subquery, int fromIndex) {
+        int orderByIndex = SqlUtils.indexOfOrderBy(subquery, fromIndex);
+        context.addChunk("(select string_agg(");
+        for (int i = 0; i < fields.length; i++) {
+            if (i != 0) {
+                context.addChunk(" || ");
+            }
+            context.addChunk("coalesce(length(tmp.");
+            context.addChunk(fields[i]);
+            context.addChunk(")::text || ':' || tmp.");
+            context.addChunk(fields[i]);
+            context.addChunk(", '~')");
+        }
+        context.addChunk(", ''");
+        if (orderByIndex != -1) {
+            context.addChunk(" order by tmp.");
+            context.addChunk(ROW_NUMBER_ALIAS);
+        }
+        context.addChunk(") from (select ");
+        for (int i = 0; i < fields.length; i++) {
+            if (i != 0) {
+                context.addChunk(",");
+            }
+            context.addChunk("'' || ");
+            context.addChunk(selectItemExpressions[i]);
+            context.addChunk(" ");
+            context.addChunk(fields[i]);
+        }
+        if (orderByIndex != -1) {
+            int limitIndex = SqlUtils.indexOfLimit(subquery, orderByIndex);
+            context.addChunk(",row_number() over (");
+            context.addChunk(subquery.substring(orderByIndex, limitIndex == -1 ? subquery.length() - 1 : limitIndex));
+            context.addChunk(") ");
+            context.addChunk(ROW_NUMBER_ALIAS);
+        }
+        context.addChunk(subquery.substring(fromIndex));
+        context.addChunk(" tmp)");
+    }
+}
@@ -20,6 +20,7 @@ import com.blazebit.persistence.impl.SubqueryInternalBuilder;
 import com.blazebit.persistence.impl.function.tostringjson.AbstractToStringJsonFunction;
 import com.blazebit.persistence.impl.function.tostringxml.AbstractToStringXmlFunction;
 import com.blazebit.persistence.impl.util.SqlUtils;
+import com.blazebit.persistence.parser.FieldLayout;
 import com.blazebit.persistence.parser.expression.Subquery;
 import com.blazebit.persistence.parser.expression.SubqueryExpression;
 import com.blazebit.persistence.spi.FunctionRenderContext;
@@ -38,10 +39,35 @@ public class ToMultisetFunction implements JpqlFunction, JpqlFunctionProcessor<C
 
     private final AbstractToStringJsonFunction toJsonFunction;
     private final AbstractToStringXmlFunction toXmlFunction;
+    private final LengthPrefixedMultisetEncoding lengthPrefixedEncoding;
 
     public ToMultisetFunction(AbstractToStringJsonFunction toJsonFunction, AbstractToStringXmlFunction toXmlFunction) {
+        this(toJsonFunction, toXmlFunction, null);
+    }
+
+    /**
+     * Creates a multiset function that prefers the length prefixed encoding over JSON and XML if given.
+     *
+     * @param toJsonFunction The JSON function or <code>null</code>
+     * @param toXmlFunction The XML function or <code>null</code>
+     * @param lengthPrefixedEncoding The length prefixed encoding or <code>null</code>
+     * @since 1.6.12
+     */
+    public ToMultisetFunction(AbstractToStringJsonFunction toJsonFunction, AbstractToStringXmlFunction toXmlFunction, LengthPrefixedMultisetEncoding lengthPrefixedEncoding) {
         this.toJsonFunction = toJsonFunction;
         this.toXmlFunction = toXmlFunction;
+        this.lengthPrefixedEncoding = lengthPrefixedEncoding;
+    }
+
+    /**
+     * Returns a copy of this function that prefers the given length prefixed encoding over JSON and XML.
+     *
+     * @param lengthPrefixedEncoding The length prefixed encoding
+     * @return The new multiset function
+     * @since 1.6.12
+     */
+    public ToMultisetFunction withLengthPrefixedEncoding(LengthPrefixedMultisetEncoding lengthPrefixedEncoding) {
+        return new ToMultisetFunction(toJsonFunction, toXmlFunction, lengthPrefixedEncoding);
     }
 
     @Override
@@ -69,13 +95,43 @@ public class ToMultisetFunction implements JpqlFunction, JpqlFunctionProcessor<C
         } else {
             throw new IllegalArgumentException("Can't handle: " + subquery);
         }
-        if (toJsonFunction == null) {
-            return toXmlFunction.process(result, fields);
+        return process(result, new FieldLayout(fields));
+    }
+
+    /**
+     * Processes the result with a field layout that was created once for the call site via {@link #createFieldLayout(int, FieldLayout[])}.
+     * A result that is already a list was parsed as part of the enclosing multiset and is returned as is.
+     *
+     * @param result The result set object
+     * @param layout The field layout
+     * @return The list of object arrays
+     * @since 1.6.12
+     */
+    public Object process(Object result, FieldLayout layout) {
+        if (result == null || result instanceof List<?>) {
+            return result;
+        }
+        if (lengthPrefixedEncoding != null) {
+            return lengthPrefixedEncoding.process((CharSequence) result, layout);
+        } else if (toJsonFunction == null) {
+            return toXmlFunction.process((CharSequence) result, layout);
         } else {
-            return toJsonFunction.process(result, fields);
+            return toJsonFunction.process((CharSequence) result, layout);
         }
     }
 
+    /**
+     * Creates the field layout for a multiset subquery with the given number of select items.
+     *
+     * @param size The number of select items
+     * @param nestedLayouts The layouts of nested multisets or <code>null</code>
+     * @return The field layout
+     * @since 1.6.12
+     */
+    public static FieldLayout createFieldLayout(int size, FieldLayout[] nestedLayouts) {
+        return new FieldLayout(createFields(size), nestedLayouts);
+    }
+
     @Override
     public void render(FunctionRenderContext context) {
         if (context.getArgumentsSize() != 1) {
@@ -92,7 +148,9 @@ public class ToMultisetFunction implements JpqlFunction, JpqlFunctionProcessor<C
             selectItemExpressions = SqlUtils.getSelectItemExpressions(subquery, SqlUtils.SELECT_FINDER.indexIn(subquery, 1));
         }
         String[] fields = createFields(selectItemExpressions.length);
-        if (toJsonFunction == null) {
+        if (lengthPrefixedEncoding != null) {
+            lengthPrefixedEncoding.render(context, fields, selectItemExpressions, subquery, fromIndex);
+        } else if (toJsonFunction == null) {
             toXmlFunction.render(context, fields, selectItemExpressions, subquery, fromIndex);
         } else {
             toJsonFunction.render(context, fields, selectItemExpressions, subquery, fromIndex);
@@ -18,6 +18,7 @@ package com.blazebit.persistence.impl.function.tostringxml;
 
 import com.blazebit.persistence.impl.util.JpqlFunctionUtil;
 import com.blazebit.persistence.impl.util.SqlUtils;
+import com.blazebit.persistence.parser.FieldLayout;
 import com.blazebit.persistence.parser.XmlParser;
 import com.blazebit.persistence.spi.FunctionRenderContext;
 import com.blazebit.persistence.spi.JpqlFunction;
@@ -71,5 +72,12 @@ public abstract class AbstractToStringXmlFunction implements JpqlFunction {
         return XmlParser.parse(result, fields);
     }
 
+    public Object process(CharSequence result, FieldLayout layout) {
+        if (result == null) {
+            return null;
+        }
+        return XmlParser.parse(result, layout);
+    }
+
     public abstract void render(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, String subquery, int fromIndex);
 }
\ No newline at end of file
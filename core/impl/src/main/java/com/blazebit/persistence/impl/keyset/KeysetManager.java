@@ -68,7 +68,7 @@ public class KeysetManager extends AbstractKeysetBuilderEndedListener {
         keysetLink.initialize(orderByExpressions);
     }
 
-    public void buildOptimizedKeysetPredicate(StringBuilder sb, int positionalOffset) {
+    public void buildOptimizedKeysetPredicate(StringBuilder sb, int positionalOffset, boolean nullableRowValueComparisonEnabled) {
         KeysetLink keysetLink = getKeysetLink();
         KeysetMode keysetMode = keysetLink.getKeysetMode();
         Keyset keyset = keysetLink.getKeyset();
@@ -77,19 +77,25 @@ public class KeysetManager extends AbstractKeysetBuilderEndedListener {
 
         if (key != null) {
             boolean hasNullableOrderBys = false;
+            boolean hasNullKeyElement = false;
             boolean hasParameterInOrderBy = false; // TODO: Determine if order by expression has parameter as that will ruin reordering of expressions in row value constructor
-            for (OrderByExpression orderByExpression : orderByExpressions) {
-                if (orderByExpression.isNullable()) {
+            for (int i = 0; i < orderByExpressions.size(); i++) {
+                if (orderByExpressions.get(i).isNullable()) {
                     hasNullableOrderBys = true;
-                    break;
+                    if (key[i] == null) {
+                        hasNullKeyElement = true;
+                        break;
+                    }
                 }
             }
 
             extractedNonNullableExpression = orderByExpressions.get(0);
 
-            // We can only use row value based keyset predicates if the dbms supports row values and row value comparison and
-            // if all order bys are non-nullable because null elements would break the row value comparison.
-            if (hasNullableOrderBys || hasParameterInOrderBy || !dbmsDialect.supportsFullRowValueComparison() || !jpaProvider.supportsCustomFunctions()) {
+            // We can only use row value based keyset predicates if the dbms supports row values and row value comparison.
+            // Nullable order bys are only supported if enabled, the dbms compares null elements like the SQL standard defines it
+            // and the keyset has no null elements, because a null key element would break the row value comparison.
+            boolean nullableRowValueComparison = nullableRowValueComparisonEnabled && !hasNullKeyElement && dbmsDialect.supportsRowValueComparisonWithNulls();
+            if (hasNullableOrderBys && !nullableRowValueComparison || hasParameterInOrderBy || !dbmsDialect.supportsFullRowValueComparison() || !jpaProvider.supportsCustomFunctions()) {
                 // Under certain conditions, we cannot render an optimized form because we would need to include
                 // null checks involving disjunction on the top predicate level which would contradict the main idea of the
                 // optimization.
@@ -109,6 +115,21 @@ public class KeysetManager extends AbstractKeysetBuilderEndedListener {
                     buildKeysetPredicate0(keysetMode, key, sb, orderByExpressions, positionalOffset);
                 }
             } else {
+                // A row value comparison is unknown for rows with a null element when all elements before it are equal to the keyset,
+                // so it already excludes the rows that have nulls sorted before the keyset. Rows with nulls sorted after the keyset
+                // are matched by separate index seekable branches that consist of the equal prefix and a null check
+                int nullBranches = 0;
+                if (hasNullableOrderBys) {
+                    for (int i = 0; i < orderByExpressions.size(); i++) {
+                        if (isNullSortedAfterKeyset(orderByExpressions.get(i), keysetMode)) {
+                            nullBranches++;
+                        }
+                    }
+                }
+                if (nullBranches != 0) {
+                    sb.append('(');
+                }
+
                 // we can use row value constructor syntax
                 // the rendering is heavily bound to the way this is parsed in RowValueComparisonFunction
                 queryGenerator.setClauseType(ClauseType.WHERE);
@@ -146,10 +167,30 @@ public class KeysetManager extends AbstractKeysetBuilderEndedListener {
                 }
 
                 sb.append(") = 0");
+
+                if (nullBranches != 0) {
+                    for (int i = 0; i < orderByExpressions.size(); i++) {
+                        OrderByExpression orderByExpression = orderByExpressions.get(i);
+                        if (isNullSortedAfterKeyset(orderByExpression, keysetMode)) {
+                            sb.append(" OR (");
+                            for (int j = 0; j < i; j++) {
+                                applyKeysetItem(sb, orderByExpressions.get(j).getExpression(), "=", j, key[j], positionalOffset);
+                                sb.append(" AND ");
+                            }
+                            applyKeysetNullItem(sb, orderByExpression.getExpression(), false);
+                            sb.append(')');
+                        }
+                    }
+                    sb.append(')');
+                }
             }
         }
     }
 
+    private static boolean isNullSortedAfterKeyset(OrderByExpression orderByExpression, KeysetMode keysetMode) {
+        return orderByExpression.isNullable() && orderByExpression.isNullFirst() == (keysetMode == KeysetMode.PREVIOUS);
+    }
+
     public void buildKeysetPredicate(StringBuilder sb, int positionalOffset) {
         KeysetLink keysetLink = getKeysetLink();
         KeysetMode keysetMode = keysetLink.getKeysetMode();
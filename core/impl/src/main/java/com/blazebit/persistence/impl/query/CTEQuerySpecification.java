@@ -36,8 +36,8 @@ import java.util.Set;
 public class CTEQuerySpecification extends CustomQuerySpecification<Object> {
 
     public CTEQuerySpecification(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> commonQueryBuilder, Query baseQuery, Collection<? extends Parameter<?>> parameters, Set<String> parameterListNames, String limit, String offset,
-                                 List<String> keyRestrictedLeftJoinAliases, List<EntityFunctionNode> entityFunctionNodes) {
-        super(commonQueryBuilder, baseQuery, parameters, parameterListNames, limit, offset, keyRestrictedLeftJoinAliases, entityFunctionNodes, false, Collections.EMPTY_LIST, false, true, null);
+                                 List<String> keyRestrictedLeftJoinAliases, List<EntityFunctionNode> entityFunctionNodes, Object customSqlCacheKey) {
+        super(commonQueryBuilder, baseQuery, parameters, parameterListNames, limit, offset, keyRestrictedLeftJoinAliases, entityFunctionNodes, false, Collections.EMPTY_LIST, false, true, null, customSqlCacheKey);
     }
 
     @Override
@@ -52,8 +52,7 @@ public class CTEQuerySpecification extends CustomQuerySpecification<Object> {
             baseQuery.setParameter(entry.getKey(), entry.getValue());
         }
 
-        String sqlQuery = extendedQuerySupport.getSql(em, baseQuery);
-        StringBuilder sqlSb = applySqlTransformations(sqlQuery);
+        StringBuilder sqlSb = getTransformedSql();
         // Need to inline LIMIT and OFFSET
         dbmsDialect.appendExtendedSql(sqlSb, statementType, false, true, null, limit, offset, null, null, null);
         participatingQueries.add(baseQuery);
@@ -61,8 +61,7 @@ public class CollectionInsertModificationQuerySpecification<T> extends Modificat
             baseQuery.setParameter(entry.getKey(), entry.getValue());
         }
 
-        String sql = extendedQuerySupport.getSql(em, baseQuery);
-        StringBuilder sqlSb = applySqlTransformations(sql);
+        StringBuilder sqlSb = getTransformedSql();
         if (cutoffColumns > 0) {
             final List<String> tableAliasesToRemove = new ArrayList<>();
             // Kind of a hack to reuse existing code to be able to cutoff columns at the end of the select list
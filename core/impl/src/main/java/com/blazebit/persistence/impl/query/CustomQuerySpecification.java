@@ -17,11 +17,13 @@
 package com.blazebit.persistence.impl.query;
 
 import com.blazebit.persistence.impl.AbstractCommonQueryBuilder;
+import com.blazebit.persistence.impl.CriteriaBuilderFactoryImpl;
 import com.blazebit.persistence.impl.function.entity.EntityFunction;
 import com.blazebit.persistence.impl.plan.CustomSelectQueryPlan;
 import com.blazebit.persistence.impl.plan.ModificationQueryPlan;
 import com.blazebit.persistence.impl.plan.SelectQueryPlan;
 import com.blazebit.persistence.impl.util.SqlUtils;
+import com.blazebit.persistence.parser.util.BoundedCache;
 import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.DbmsModificationState;
 import com.blazebit.persistence.spi.DbmsStatementType;
@@ -53,6 +55,8 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
     protected final DbmsDialect dbmsDialect;
     protected final ServiceProvider serviceProvider;
     protected final ExtendedQuerySupport extendedQuerySupport;
+    protected final BoundedCache<Object, String> customSqlCache;
+    protected final Object customSqlCacheKey;
 
     protected final DbmsStatementType statementType;
     protected final Query baseQuery;
@@ -78,10 +82,18 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
     public CustomQuerySpecification(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> commonQueryBuilder, Query baseQuery, Collection<? extends Parameter<?>> parameters, Set<String> listParameters, String limit, String offset,
                                     List<String> keyRestrictedLeftJoinAliases, List<EntityFunctionNode> entityFunctionNodes, boolean recursive, List<CTENode> ctes, boolean shouldRenderCtes,
                                     boolean queryPlanCacheEnabled, Query countWrapperExampleQuery) {
+        this(commonQueryBuilder, baseQuery, parameters, listParameters, limit, offset, keyRestrictedLeftJoinAliases, entityFunctionNodes, recursive, ctes, shouldRenderCtes, queryPlanCacheEnabled, countWrapperExampleQuery, null);
+    }
+
+    public CustomQuerySpecification(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> commonQueryBuilder, Query baseQuery, Collection<? extends Parameter<?>> parameters, Set<String> listParameters, String limit, String offset,
+                                    List<String> keyRestrictedLeftJoinAliases, List<EntityFunctionNode> entityFunctionNodes, boolean recursive, List<CTENode> ctes, boolean shouldRenderCtes,
+                                    boolean queryPlanCacheEnabled, Query countWrapperExampleQuery, Object customSqlCacheKey) {
         this.em = commonQueryBuilder.getEntityManager();
         this.dbmsDialect = commonQueryBuilder.getService(DbmsDialect.class);
         this.serviceProvider = commonQueryBuilder;
         this.extendedQuerySupport = commonQueryBuilder.getService(ExtendedQuerySupport.class);
+        this.customSqlCache = ((CriteriaBuilderFactoryImpl) commonQueryBuilder.getCriteriaBuilderFactory()).getCustomSqlCache();
+        this.customSqlCacheKey = customSqlCacheKey;
         this.statementType = commonQueryBuilder.getStatementType();
         this.baseQuery = baseQuery;
         this.parameters = parameters;
@@ -170,8 +182,7 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
             baseQuery.setParameter(entry.getKey(), entry.getValue());
         }
 
-        String sqlQuery = extendedQuerySupport.getSql(em, baseQuery);
-        StringBuilder sqlSb = applySqlTransformations(sqlQuery);
+        StringBuilder sqlSb = getTransformedSql();
         StringBuilder withClause = applyCtes(sqlSb, baseQuery, participatingQueries);
         Map<String, String> addedCtes = applyExtendedSql(sqlSb, false, false, withClause, null, null, null);
         participatingQueries.add(baseQuery);
@@ -383,6 +394,45 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
         return firstCte;
     }
 
+    /**
+     * Returns the SQL of the base query after applying the SQL transformations for entity functions and key restricted left joins.
+     * The SQL is cached under the key of the builder, which is based on the JPQL query string, so that neither the SQL of the JPA provider
+     * needs to be fetched nor the transformations need to be applied again for the same query.
+     *
+     * @return the transformed SQL
+     */
+    protected StringBuilder getTransformedSql() {
+        Object cacheKey = getSqlTransformationsCacheKey();
+        if (cacheKey != null) {
+            String transformedSql = customSqlCache.get(cacheKey);
+            if (transformedSql != null) {
+                return new StringBuilder(transformedSql);
+            }
+        }
+        StringBuilder sb = applySqlTransformations(extendedQuerySupport.getSql(em, baseQuery));
+        if (cacheKey != null) {
+            customSqlCache.putIfAbsent(cacheKey, sb.toString());
+        }
+        return sb;
+    }
+
+    private Object getSqlTransformationsCacheKey() {
+        if (customSqlCache == null || customSqlCacheKey == null || entityFunctionNodes.isEmpty() && keyRestrictedLeftJoinAliases.isEmpty()) {
+            return null;
+        }
+        if (listParameters.isEmpty()) {
+            return customSqlCacheKey;
+        }
+        // The JPA provider expands collection parameters, so the SQL also depends on the collection sizes
+        List<Object> cacheKey = new ArrayList<>(listParameters.size() * 2 + 1);
+        cacheKey.add(customSqlCacheKey);
+        for (Map.Entry<String, Collection<?>> entry : listParameters.entrySet()) {
+            cacheKey.add(entry.getKey());
+            cacheKey.add(entry.getValue() == null ? 0 : entry.getValue().size());
+        }
+        return cacheKey;
+    }
+
     protected StringBuilder applySqlTransformations(String sqlQuery) {
         if (entityFunctionNodes.isEmpty() && keyRestrictedLeftJoinAliases.isEmpty()) {
             return new StringBuilder(sqlQuery);
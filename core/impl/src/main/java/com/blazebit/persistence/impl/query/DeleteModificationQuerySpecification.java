@@ -61,7 +61,7 @@ public class DeleteModificationQuerySpecification<T> extends ModificationQuerySp
             baseQuery.setParameter(entry.getKey(), entry.getValue());
         }
 
-        String sql = applySqlTransformations(extendedQuerySupport.getSql(em, baseQuery)).toString();
+        String sql = getTransformedSql().toString();
         StringBuilder sb = new StringBuilder(sql.length());
         String tableToDelete = this.tableToDelete;
         if (tableToDelete == null) {
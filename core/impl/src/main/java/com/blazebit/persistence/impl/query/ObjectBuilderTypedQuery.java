@@ -17,12 +17,19 @@
 package com.blazebit.persistence.impl.query;
 
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.impl.builder.object.GroupingObjectBuilder;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.persistence.NoResultException;
 import javax.persistence.NonUniqueResultException;
@@ -77,8 +84,20 @@ public class ObjectBuilderTypedQuery<X> extends TypedQueryWrapper<X> {
         return builder.buildList(newList);
     }
 
+    @SuppressWarnings("unchecked")
     public Stream<X> getResultStream() {
         final Stream<X> resultStream = super.getResultStream();
+        if (builder instanceof GroupingObjectBuilder<?>) {
+            // Results are built from groups of adjacent tuples, so only the current group has to be kept in memory
+            Iterator<X> iterator = new GroupingIterator<>(resultStream.iterator(), (GroupingObjectBuilder<X>) builder);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(new Runnable() {
+                    @Override
+                    public void run() {
+                        resultStream.close();
+                    }
+                });
+        }
         return resultStream.map(new Function<X, X>() {
             @Override
             public X apply(X tuple) {
@@ -102,4 +121,89 @@ public class ObjectBuilderTypedQuery<X> extends TypedQueryWrapper<X> {
         });
     }
 
+    /**
+     * Collects adjacent tuples with the same group key and builds the result objects of a batch of groups once the group key
+     * changes after the group batch size was reached.
+     *
+     * @param <X> The result type
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class GroupingIterator<X> implements Iterator<X> {
+
+        private final Iterator<X> tupleIterator;
+        private final GroupingObjectBuilder<X> builder;
+        private final int groupBatchSize;
+        private List<X> group = new ArrayList<>();
+        private Object groupKey;
+        private int groupCount;
+        private Iterator<X> resultIterator = Collections.emptyIterator();
+
+        public GroupingIterator(Iterator<X> tupleIterator, GroupingObjectBuilder<X> builder) {
+            this.tupleIterator = tupleIterator;
+            this.builder = builder;
+            this.groupBatchSize = Math.max(1, builder.getGroupBatchSize());
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!resultIterator.hasNext()) {
+                if (!tupleIterator.hasNext()) {
+                    if (group.isEmpty()) {
+                        return false;
+                    }
+                    resultIterator = buildGroup(null, null);
+                } else {
+                    Object tuple = tupleIterator.next();
+                    Object[] array;
+                    if (tuple instanceof Object[]) {
+                        array = (Object[]) tuple;
+                    } else {
+                        array = new Object[]{ tuple };
+                    }
+                    X result = builder.build(array);
+                    Object key = builder.getGroupKey((Object[]) result);
+                    if (group.isEmpty()) {
+                        groupKey = key;
+                        groupCount = 1;
+                        group.add(result);
+                    } else if (groupKey == null ? key == null : groupKey.equals(key)) {
+                        group.add(result);
+                    } else if (groupCount < groupBatchSize) {
+                        groupKey = key;
+                        groupCount++;
+                        group.add(result);
+                    } else {
+                        resultIterator = buildGroup(result, key);
+                    }
+                }
+            }
+            return true;
+        }
+
+        private Iterator<X> buildGroup(X nextGroupTuple, Object nextGroupKey) {
+            List<X> results = builder.buildList(group);
+            group = new ArrayList<>();
+            groupKey = nextGroupKey;
+            groupCount = 0;
+            if (nextGroupTuple != null) {
+                groupCount = 1;
+                group.add(nextGroupTuple);
+            }
+            return results.iterator();
+        }
+
+        @Override
+        public X next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return resultIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -287,6 +287,38 @@ public class SqlUtils {
         return endIndex;
     }
 
+    /**
+     * Returns the name of the table of the given FROM element or null if the FROM element is a subquery.
+     *
+     * @param sql The SQL query
+     * @param sqlFromInfo The FROM element of the SQL query
+     * @return The table name or null
+     */
+    public static String getTableName(String sql, ExtendedQuerySupport.SqlFromInfo sqlFromInfo) {
+        final String searchAs = " as";
+        final String searchAlias = " " + sqlFromInfo.getAlias();
+        int searchIndex = sqlFromInfo.getFromStartIndex();
+        while ((searchIndex = sql.indexOf(searchAlias, searchIndex)) > -1) {
+            int idx = searchIndex + searchAlias.length();
+            if (idx == sql.length() || !isIdentifier(sql.charAt(idx)) && sql.charAt(idx) != '.') {
+                int[] tableNameIndexRange;
+                if (searchAs.equalsIgnoreCase(sql.substring(searchIndex - searchAs.length(), searchIndex))) {
+                    // Uses aliasing with the AS keyword
+                    tableNameIndexRange = rtrimBackwardsToFirstWhitespace(sql, searchIndex - searchAs.length());
+                } else {
+                    // Uses aliasing without the AS keyword
+                    tableNameIndexRange = rtrimBackwardsToFirstWhitespace(sql, searchIndex);
+                }
+                if (sql.charAt(tableNameIndexRange[1] - 1) == ')') {
+                    return null;
+                }
+                return sql.substring(tableNameIndexRange[0], tableNameIndexRange[1]);
+            }
+            searchIndex = idx;
+        }
+        return null;
+    }
+
     private static boolean isInMainQuery(StringBuilder sb, int tableNameIndex) {
         int parenthesis = 0;
         QuoteMode mode = QuoteMode.NONE;
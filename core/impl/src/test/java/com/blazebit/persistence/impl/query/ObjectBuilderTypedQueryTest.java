@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.query;
+
+import com.blazebit.persistence.SelectBuilder;
+import com.blazebit.persistence.impl.builder.object.GroupingObjectBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.ParameterExpression;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class ObjectBuilderTypedQueryTest {
+
+    @Test
+    public void testStreamBuildsBatchesOfGroups() {
+        // Tuples of 5 groups with 2 tuples each
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tuples.add(new Object[]{ i, "a" });
+            tuples.add(new Object[]{ i, "b" });
+        }
+        KeyCountingObjectBuilder builder = new KeyCountingObjectBuilder(2);
+
+        List<Object> results;
+        try (Stream<Object> stream = new ObjectBuilderTypedQuery<>(createQuery(tuples), Collections.<ParameterExpression<?>, String>emptyMap(), builder).getResultStream()) {
+            results = stream.collect(Collectors.toList());
+        }
+
+        Assert.assertEquals(Arrays.<Object>asList("0:2", "1:2", "2:2", "3:2", "4:2"), results);
+        Assert.assertEquals(Arrays.asList(2, 2, 1), builder.groupsPerBuildList);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypedQuery<Object> createQuery(final List<Object[]> tuples) {
+        return (TypedQuery<Object>) Proxy.newProxyInstance(ObjectBuilderTypedQueryTest.class.getClassLoader(), new Class[]{ TypedQuery.class }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if ("getResultStream".equals(method.getName())) {
+                    return tuples.stream();
+                } else if ("getParameters".equals(method.getName())) {
+                    return Collections.emptySet();
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    /**
+     * Builds a result per group key with the number of tuples of the group and records the number of groups per buildList invocation.
+     */
+    private static class KeyCountingObjectBuilder implements GroupingObjectBuilder<Object> {
+
+        private final int groupBatchSize;
+        private final List<Integer> groupsPerBuildList = new ArrayList<>();
+
+        public KeyCountingObjectBuilder(int groupBatchSize) {
+            this.groupBatchSize = groupBatchSize;
+        }
+
+        @Override
+        public Object getGroupKey(Object[] tuple) {
+            return tuple[0];
+        }
+
+        @Override
+        public int getGroupBatchSize() {
+            return groupBatchSize;
+        }
+
+        @Override
+        public <X extends SelectBuilder<X>> void applySelects(X selectBuilder) {
+        }
+
+        @Override
+        public Object build(Object[] tuple) {
+            return tuple;
+        }
+
+        @Override
+        public List<Object> buildList(List<Object> list) {
+            List<Object> results = new ArrayList<>();
+            Object currentKey = null;
+            int count = 0;
+            for (Object o : list) {
+                Object[] tuple = (Object[]) o;
+                if (count != 0 && !tuple[0].equals(currentKey)) {
+                    results.add(currentKey + ":" + count);
+                    count = 0;
+                }
+                currentKey = tuple[0];
+                count++;
+            }
+            results.add(currentKey + ":" + count);
+            groupsPerBuildList.add(results.size());
+            return results;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser;
+
+/**
+ * The field names of the objects that are parsed by the {@link JsonParser}, {@link XmlParser} or {@link LengthPrefixedParser} along with the layouts of nested arrays.
+ * A layout is meant to be created once and reused for every parsed value, so that field names can be matched without allocations.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class FieldLayout {
+
+    private final String[] fields;
+    private final FieldLayout[] nestedLayouts;
+
+    /**
+     * Creates a layout for objects with the given fields that has no nested layouts.
+     *
+     * @param fields The field names
+     */
+    public FieldLayout(String... fields) {
+        this(fields, null);
+    }
+
+    /**
+     * Creates a layout for objects with the given fields.
+     * A nested layout is used for parsing an array value of the field with the same index. Array values of fields without a nested layout are not parsed.
+     *
+     * @param fields The field names
+     * @param nestedLayouts The nested layouts or <code>null</code>
+     */
+    public FieldLayout(String[] fields, FieldLayout[] nestedLayouts) {
+        if (nestedLayouts != null && nestedLayouts.length != fields.length) {
+            throw new IllegalArgumentException("Expected " + fields.length + " nested layouts but got " + nestedLayouts.length);
+        }
+        this.fields = fields;
+        this.nestedLayouts = nestedLayouts;
+    }
+
+    public int size() {
+        return fields.length;
+    }
+
+    public String getField(int index) {
+        return fields[index];
+    }
+
+    public FieldLayout getNestedLayout(int index) {
+        return nestedLayouts == null ? null : nestedLayouts[index];
+    }
+
+    /**
+     * Returns the index of the field whose name is equal to the characters of the given range or <code>-1</code>.
+     * Since fields are usually rendered in order, the field at the hint index is checked first.
+     *
+     * @param charSequence The char sequence
+     * @param start The start index of the name, inclusive
+     * @param end The end index of the name, exclusive
+     * @param hint The expected field index
+     * @return The field index or <code>-1</code>
+     */
+    public int indexOf(CharSequence charSequence, int start, int end, int hint) {
+        if (hint >= 0 && hint < fields.length && matches(hint, charSequence, start, end)) {
+            return hint;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (i != hint && matches(i, charSequence, start, end)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether the name of the field at the given index is equal to the characters of the given range.
+     *
+     * @param index The field index
+     * @param charSequence The char sequence
+     * @param start The start index of the name, inclusive
+     * @param end The end index of the name, exclusive
+     * @return whether the field name matches
+     */
+    public boolean matches(int index, CharSequence charSequence, int start, int end) {
+        String field = fields[index];
+        int length = field.length();
+        if (end - start != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (field.charAt(i) != charSequence.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -17,14 +17,15 @@
 package com.blazebit.persistence.parser;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This is a specialized parser for the JSON structure that will be produced by the JSON functions in Blaze-Persistence.
  * The parser can only parse valid JSON that conforms to that structure. Other JSON may run into problems.
  *
+ * The JSON is parsed in a single pass. String values without escapes are returned as {@link SubSequence} of the JSON
+ * and array values are parsed right away if the {@link FieldLayout} has a nested layout for the field.
+ *
  * @author Christian Beikov
  * @since 1.5.0
  */
@@ -34,106 +35,156 @@ public final class JsonParser {
     }
 
     public static List<Object[]> parseStringOnly(CharSequence json, String... fields) {
+        return parse(json, new FieldLayout(fields));
+    }
+
+    /**
+     * Parses the JSON array of objects into a list of object arrays that contain the values in the order of the fields of the layout.
+     *
+     * @param json The JSON
+     * @param layout The field layout of the objects
+     * @return The parsed objects
+     * @since 1.6.12
+     */
+    public static List<Object[]> parse(CharSequence json, FieldLayout layout) {
         List<Object[]> list = new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
         if (json != null && json.length() != 0) {
-            Map<String, Integer> fieldMap = new HashMap<>(fields.length);
-            for (int i = 0; i < fields.length; i++) {
-                fieldMap.put(fields[i], i);
+            int start = CharSequenceUtils.indexOf(json, '[');
+            if (start != -1) {
+                parseArray(json, start, layout, list, new StringBuilder());
             }
+        }
+        return list;
+    }
 
-            int start = CharSequenceUtils.indexOf(json, '[') + 1;
-            int end = CharSequenceUtils.lastIndexOf(json, ']');
-            for (int i = start; i < end; i++) {
-                Object[] object = new Object[fields.length];
-                boolean quoteMode = false;
-                int fieldIndex = -1;
-                boolean escapes = false;
-                i = CharSequenceUtils.indexOf(json, '{', i) + 1;
-                for (; i < end; i++) {
-                    char c = json.charAt(i);
-                    if (!quoteMode) {
-                        if (c == '"') {
-                            quoteMode = true;
-                        } else if (c == '}') {
-                            break;
-                        } else if (c != ':' && c != ',' && !Character.isWhitespace(c)) {
-                            // non-string value
-                            switch (c) {
-                                case 'n':
-                                    object[fieldIndex] = null;
-                                    i += 3;
-                                    fieldIndex = -1;
-                                    escapes = false;
-                                    break;
-                                case '[':
-                                    // Nested object handling
-                                    int nestedEnd = findEnd(json, i);
-                                    object[fieldIndex] = new SubSequence(json, i, nestedEnd);
-                                    fieldIndex = -1;
-                                    i = nestedEnd - 1;
-                                    break;
-                                default:
-                                    throw new IllegalArgumentException("Non-String value unsupported! Found at: " + i);
-                            }
+    private static int parseArray(CharSequence json, int i, FieldLayout layout, List<Object[]> list, StringBuilder sb) {
+        int end = json.length();
+        for (i++; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '{') {
+                i = parseObject(json, i, layout, list, sb);
+            } else if (c == ']') {
+                return i + 1;
+            } else if (c != ',' && !Character.isWhitespace(c)) {
+                throw new IllegalArgumentException("Unexpected character '" + c + "' found at: " + i);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated array");
+    }
+
+    private static int parseObject(CharSequence json, int i, FieldLayout layout, List<Object[]> list, StringBuilder sb) {
+        int end = json.length();
+        Object[] object = new Object[layout.size()];
+        int fieldIndex = -1;
+        int lastFieldIndex = -1;
+        for (i++; i < end; i++) {
+            char c = json.charAt(i);
+            switch (c) {
+                case '"':
+                    if (fieldIndex == -1) {
+                        int keyEnd = CharSequenceUtils.indexOf(json, '"', i + 1);
+                        fieldIndex = layout.indexOf(json, i + 1, keyEnd, lastFieldIndex + 1);
+                        if (fieldIndex == -1) {
+                            throw new IllegalArgumentException("Unknown field '" + json.subSequence(i + 1, keyEnd) + "' found at: " + i);
                         }
+                        lastFieldIndex = fieldIndex;
+                        i = keyEnd;
                     } else {
-                        if (c == '\\') {
-                            escapes = true;
-                            c = json.charAt(++i);
-                            switch (c) {
-                                case 'b':
-                                    c = '\b';
-                                    break;
-                                case 'f':
-                                    c = '\f';
-                                    break;
-                                case 'r':
-                                    c = '\r';
-                                    break;
-                                case 'n':
-                                    c = '\n';
-                                    break;
-                                case 't':
-                                    c = '\t';
-                                    break;
-                                case 'u':
-                                    c = (char) Integer.parseInt(json.subSequence(i + 1, i + 5).toString(), 16);
-                                    i += 4;
-                                    break;
-                                case '"':
-                                case '\\':
-                                case '/':
-                                    break;
-                                default:
-                                    throw new IllegalStateException("Unexpected escape sequence at position: " + i);
-                            }
-                            sb.append(c);
-                        } else if (c == '"') {
-                            if (fieldIndex == -1) {
-                                fieldIndex = fieldMap.get(sb.toString());
-                            } else {
-                                if (escapes) {
-                                    object[fieldIndex] = sb.toString();
-                                } else {
-                                    object[fieldIndex] = new SubSequence(json, i - sb.length(), i);
-                                }
-                                fieldIndex = -1;
-                                escapes = false;
-                            }
-                            sb.setLength(0);
-                            quoteMode = false;
-                        } else {
-                            sb.append(c);
-                        }
+                        i = parseString(json, i, object, fieldIndex, sb);
+                        fieldIndex = -1;
                     }
-                }
-                list.add(object);
+                    break;
+                case 'n':
+                    object[fieldIndex] = null;
+                    fieldIndex = -1;
+                    i += 3;
+                    break;
+                case '[':
+                    FieldLayout nestedLayout = layout.getNestedLayout(fieldIndex);
+                    if (nestedLayout == null) {
+                        int nestedEnd = findEnd(json, i);
+                        object[fieldIndex] = new SubSequence(json, i, nestedEnd);
+                        i = nestedEnd - 1;
+                    } else {
+                        List<Object[]> nestedList = new ArrayList<>();
+                        i = parseArray(json, i, nestedLayout, nestedList, sb) - 1;
+                        object[fieldIndex] = nestedList;
+                    }
+                    fieldIndex = -1;
+                    break;
+                case '}':
+                    list.add(object);
+                    return i;
+                case ':':
+                case ',':
+                    break;
+                default:
+                    if (!Character.isWhitespace(c)) {
+                        throw new IllegalArgumentException("Non-String value unsupported! Found at: " + i);
+                    }
+                    break;
             }
         }
-        return list;
+        throw new IllegalArgumentException("Unterminated object");
     }
 
+    private static int parseString(CharSequence json, int i, Object[] object, int fieldIndex, StringBuilder sb) {
+        int start = i + 1;
+        int end = json.length();
+        for (i = start; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                object[fieldIndex] = new SubSequence(json, start, i);
+                return i;
+            } else if (c == '\\') {
+                break;
+            }
+        }
+
+        // Only decode strings with escapes into a new string
+        sb.setLength(0);
+        sb.append(json, start, i);
+        for (; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                c = json.charAt(++i);
+                switch (c) {
+                    case 'b':
+                        c = '\b';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'u':
+                        c = (char) Integer.parseInt(json.subSequence(i + 1, i + 5).toString(), 16);
+                        i += 4;
+                        break;
+                    case '"':
+                    case '\\':
+                    case '/':
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected escape sequence at position: " + i);
+                }
+                sb.append(c);
+            } else if (c == '"') {
+                object[fieldIndex] = sb.toString();
+                return i;
+            } else {
+                sb.append(c);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string");
+    }
     private static int findEnd(CharSequence json, int i) {
         int arrayLevel = 1;
         int end = json.length();
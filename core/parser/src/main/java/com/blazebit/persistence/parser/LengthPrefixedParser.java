@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parser for the length prefixed encoding that is produced by the length prefixed multiset functions in Blaze-Persistence.
+ * The encoding is a sequence of objects, each consisting of exactly as many values as the {@link FieldLayout} has fields.
+ * A value is either the null marker <code>~</code> or the length of the value followed by <code>:</code> and the value itself.
+ * The length is the number of code points of the value, which is what the <code>length</code> function of most databases returns.
+ *
+ * Since values are never escaped, every value is returned as {@link SubSequence} of the input.
+ * Values of fields with a nested layout are parsed right away as nested encoding.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class LengthPrefixedParser {
+
+    public static final char NULL_MARKER = '~';
+    public static final char LENGTH_SEPARATOR = ':';
+
+    private LengthPrefixedParser() {
+    }
+
+    /**
+     * Parses the encoded objects into a list of object arrays that contain the values in the order of the fields of the layout.
+     *
+     * @param encoded The encoded objects
+     * @param layout The field layout of the objects
+     * @return The parsed objects
+     */
+    public static List<Object[]> parse(CharSequence encoded, FieldLayout layout) {
+        List<Object[]> list = new ArrayList<>();
+        if (encoded != null) {
+            parse(encoded, 0, encoded.length(), layout, list);
+        }
+        return list;
+    }
+
+    private static void parse(CharSequence encoded, int i, int end, FieldLayout layout, List<Object[]> list) {
+        int size = layout.size();
+        while (i < end) {
+            Object[] object = new Object[size];
+            for (int fieldIndex = 0; fieldIndex < size; fieldIndex++) {
+                if (i >= end) {
+                    throw new IllegalArgumentException("Unexpected end of input, expected value for field " + fieldIndex);
+                }
+                char c = encoded.charAt(i);
+                if (c == NULL_MARKER) {
+                    i++;
+                    continue;
+                }
+                int length = 0;
+                while (c != LENGTH_SEPARATOR) {
+                    if (c < '0' || c > '9') {
+                        throw new IllegalArgumentException("Unexpected character '" + c + "' found at: " + i);
+                    }
+                    length = length * 10 + (c - '0');
+                    if (++i == end) {
+                        throw new IllegalArgumentException("Unterminated length of field " + fieldIndex);
+                    }
+                    c = encoded.charAt(i);
+                }
+                int start = i + 1;
+                i = advanceCodePoints(encoded, start, end, length);
+                FieldLayout nestedLayout = layout.getNestedLayout(fieldIndex);
+                if (nestedLayout == null) {
+                    object[fieldIndex] = new SubSequence(encoded, start, i);
+                } else {
+                    List<Object[]> nestedList = new ArrayList<>();
+                    parse(encoded, start, i, nestedLayout, nestedList);
+                    object[fieldIndex] = nestedList;
+                }
+            }
+            list.add(object);
+        }
+    }
+
+    private static int advanceCodePoints(CharSequence encoded, int i, int end, int codePoints) {
+        for (int j = 0; j < codePoints; j++) {
+            if (i >= end) {
+                throw new IllegalArgumentException("Value length " + codePoints + " exceeds the input");
+            }
+            if (Character.isHighSurrogate(encoded.charAt(i)) && i + 1 < end && Character.isLowSurrogate(encoded.charAt(i + 1))) {
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+}
@@ -17,9 +17,7 @@
 package com.blazebit.persistence.parser;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This is a specialized parser for the XML structure that will be produced by the XML functions in Blaze-Persistence.
@@ -34,19 +32,28 @@ public final class XmlParser {
     }
 
     public static List<Object[]> parse(CharSequence xml, String... fields) {
+        return parse(xml, new FieldLayout(fields));
+    }
+
+    /**
+     * Parses the XML elements into a list of object arrays that contain the values in the order of the fields of the layout.
+     * Nested layouts are not used by this parser.
+     *
+     * @param xml The XML
+     * @param layout The field layout of the elements
+     * @return The parsed elements
+     * @since 1.6.12
+     */
+    public static List<Object[]> parse(CharSequence xml, FieldLayout layout) {
         List<Object[]> list = new ArrayList<>();
         StringBuilder sb = new StringBuilder();
         if (xml != null && xml.length() != 0) {
-            Map<String, Integer> fieldMap = new HashMap<>(fields.length);
-            for (int i = 0; i < fields.length; i++) {
-                fieldMap.put(fields[i], i);
-            }
-
             for (int i = 0; i < xml.length(); i++) {
-                Object[] object = new Object[fields.length];
+                Object[] object = new Object[layout.size()];
                 boolean key = true;
                 boolean escape = false;
                 int fieldIndex = -1;
+                int lastFieldIndex = -1;
                 i = CharSequenceUtils.indexOf(xml, "<e>", i) + 3;
                 LOOP: for (; i < xml.length(); i++) {
                     char c = xml.charAt(i);
@@ -58,13 +65,15 @@ public final class XmlParser {
                                     i = endIndex;
                                     break LOOP;
                                 }
-                                String tag = xml.subSequence(i + 1, endIndex).toString();
-                                fieldIndex = fieldMap.get(tag);
+                                fieldIndex = layout.indexOf(xml, i + 1, endIndex, lastFieldIndex + 1);
+                                if (fieldIndex == -1) {
+                                    throw new IllegalStateException("Unexpected tag at position: " + i);
+                                }
+                                lastFieldIndex = fieldIndex;
                                 i = endIndex;
                                 key = false;
                             } else {
-                                String tag = xml.subSequence(i + 2, endIndex).toString();
-                                if (xml.charAt(i + 1) != '/' || !tag.equals(fields[fieldIndex])) {
+                                if (xml.charAt(i + 1) != '/' || !layout.matches(fieldIndex, xml, i + 2, endIndex)) {
                                     throw new IllegalStateException("Unexpected tag at position: " + i);
                                 }
                                 if (escape) {
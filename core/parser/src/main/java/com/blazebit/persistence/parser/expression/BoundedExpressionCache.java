@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.expression;
+
+import com.blazebit.persistence.parser.util.BoundedCache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An expression cache that limits the amount of entries per cache name.
+ *
+ * Every cache name is backed by a {@link BoundedCache} which evicts rarely used entries based on a W-TinyLFU-like policy.
+ * This keeps frequently used expressions in the cache even if a lot of one-off expressions with inline literals are created.
+ *
+ * The maximum size can be configured per cache name through {@link #BoundedExpressionCache(int, Map)}.
+ * A cache name is matched either fully qualified or by its last segment, e.g. <code>PathExpression</code>.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class BoundedExpressionCache<T> implements ExpressionCache<T> {
+
+    /**
+     * The default maximum amount of entries per cache name.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final int maximumSize;
+    private final Map<String, Integer> maximumSizes;
+    private final ConcurrentMap<String, BoundedCache<Key, T>> caches;
+
+    public BoundedExpressionCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public BoundedExpressionCache(int maximumSize) {
+        this(maximumSize, Collections.<String, Integer>emptyMap());
+    }
+
+    public BoundedExpressionCache(int maximumSize, Map<String, Integer> maximumSizes) {
+        checkMaximumSize(maximumSize);
+        for (Integer size : maximumSizes.values()) {
+            checkMaximumSize(size);
+        }
+        this.maximumSize = maximumSize;
+        this.maximumSizes = new HashMap<>(maximumSizes);
+        this.caches = new ConcurrentHashMap<>();
+    }
+
+    private static void checkMaximumSize(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Invalid maximum size " + maximumSize + ". The maximum size must be at least 1!");
+        }
+    }
+
+    @Override
+    public T get(String cacheName, Key key) {
+        return getCache(cacheName).get(key);
+    }
+
+    @Override
+    public T putIfAbsent(String cacheName, Key key, T value) {
+        return getCache(cacheName).putIfAbsent(key, value);
+    }
+
+    /**
+     * Returns the default maximum amount of entries per cache name.
+     *
+     * @return the default maximum amount of entries per cache name
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the maximum amount of entries of the cache with the given name.
+     *
+     * @param cacheName The cache name
+     * @return the maximum amount of entries of the cache
+     */
+    public int getMaximumSize(String cacheName) {
+        Integer size = maximumSizes.get(cacheName);
+        if (size == null) {
+            size = maximumSizes.get(cacheName.substring(cacheName.lastIndexOf('.') + 1));
+        }
+        return size == null ? maximumSize : size;
+    }
+
+    /**
+     * Returns the names of the caches that were accessed so far.
+     *
+     * @return the cache names
+     */
+    public Set<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache with the given name or <code>null</code> if the cache was never accessed.
+     *
+     * @param cacheName The cache name
+     * @return the statistics snapshot or <code>null</code>
+     */
+    public BoundedCache.Statistics getStatistics(String cacheName) {
+        BoundedCache<Key, T> cache = caches.get(cacheName);
+        return cache == null ? null : cache.getStatistics();
+    }
+
+    private BoundedCache<Key, T> getCache(String cacheName) {
+        BoundedCache<Key, T> cache = caches.get(cacheName);
+        if (cache == null) {
+            cache = new BoundedCache<>(getMaximumSize(cacheName));
+            BoundedCache<Key, T> oldCache = caches.putIfAbsent(cacheName, cache);
+            if (oldCache != null) {
+                cache = oldCache;
+            }
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread safe cache that holds at most a configured amount of entries.
+ *
+ * The eviction policy is a simplified W-TinyLFU. New entries enter a small LRU admission window and
+ * when leaving the window, they have to compete with the least recently used entry of the main region.
+ * The entry that was accessed more often according to a frequency sketch stays, the other one is evicted.
+ * This keeps frequently used entries in the cache even if a lot of one-off entries are added.
+ *
+ * The cache is split into segments that are guarded by their own lock to reduce contention.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class BoundedCache<K, V> {
+
+    private static final int MAXIMUM_SEGMENTS = 16;
+    private static final int MINIMUM_SEGMENT_SIZE = 64;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final int maximumSize;
+
+    @SuppressWarnings("unchecked")
+    public BoundedCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Invalid maximum size " + maximumSize + ". The maximum size must be at least 1!");
+        }
+        int segmentCount = 1;
+        while (segmentCount < MAXIMUM_SEGMENTS && segmentCount * 2 * MINIMUM_SEGMENT_SIZE <= maximumSize) {
+            segmentCount <<= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        this.maximumSize = maximumSize;
+        int segmentSize = maximumSize / segmentCount;
+        int remainder = maximumSize % segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(i < remainder ? segmentSize + 1 : segmentSize);
+        }
+    }
+
+    /**
+     * Returns the maximum amount of entries.
+     *
+     * @return the maximum amount of entries
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the value for the given key or <code>null</code>. Every invocation is recorded as hit or miss.
+     *
+     * @param key The key
+     * @return the value or <code>null</code>
+     */
+    public V get(K key) {
+        return segmentFor(key).get(key);
+    }
+
+    /**
+     * Associates the value with the given key unless there already is a value for the key, in which case that value is returned.
+     * Note that the cache might decide to evict the entry right away, if it is less popular than the existing entries.
+     *
+     * @param key The key
+     * @param value The value
+     * @return the existing value or the given value
+     */
+    public V putIfAbsent(K key, V value) {
+        return segmentFor(key).putIfAbsent(key, value);
+    }
+
+    /**
+     * Removes the entry for the given key.
+     *
+     * @param key The key
+     * @return the removed value or <code>null</code>
+     */
+    public V remove(K key) {
+        return segmentFor(key).remove(key);
+    }
+
+    /**
+     * Removes all entries. The statistics are retained.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the statistics snapshot
+     */
+    public Statistics getStatistics() {
+        long hitCount = 0;
+        long missCount = 0;
+        long evictionCount = 0;
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                hitCount += segment.hitCount;
+                missCount += segment.missCount;
+                evictionCount += segment.evictionCount;
+                size += segment.window.size() + segment.main.size();
+            }
+        }
+        return new Statistics(hitCount, missCount, evictionCount, size);
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & segmentMask];
+    }
+
+    /**
+     * A snapshot of cache statistics.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    public static final class Statistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        public Statistics(long hitCount, long missCount, long evictionCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double getHitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", evictionCount=" + evictionCount +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+
+    /**
+     * A segment of a cache guarded by its own lock.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class Segment<K, V> {
+
+        private final LinkedHashMap<K, V> window;
+        private final LinkedHashMap<K, V> main;
+        private final int windowCapacity;
+        private final int mainCapacity;
+        private final FrequencySketch sketch;
+        private long hitCount;
+        private long missCount;
+        private long evictionCount;
+
+        public Segment(int capacity) {
+            this.windowCapacity = Math.max(1, capacity / 100);
+            this.mainCapacity = capacity - windowCapacity;
+            this.window = new LinkedHashMap<>(16, 0.75f, true);
+            this.main = new LinkedHashMap<>(16, 0.75f, true);
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        public synchronized V get(K key) {
+            sketch.increment(key);
+            V value = window.get(key);
+            if (value == null) {
+                value = main.get(key);
+            }
+            if (value == null) {
+                missCount++;
+            } else {
+                hitCount++;
+            }
+            return value;
+        }
+
+        public synchronized V putIfAbsent(K key, V value) {
+            V oldValue = window.get(key);
+            if (oldValue == null) {
+                oldValue = main.get(key);
+            }
+            if (oldValue != null) {
+                return oldValue;
+            }
+
+            window.put(key, value);
+            if (window.size() > windowCapacity) {
+                Iterator<Map.Entry<K, V>> windowIterator = window.entrySet().iterator();
+                Map.Entry<K, V> candidate = windowIterator.next();
+                windowIterator.remove();
+                if (main.size() < mainCapacity) {
+                    main.put(candidate.getKey(), candidate.getValue());
+                } else {
+                    evictionCount++;
+                    if (mainCapacity != 0) {
+                        Iterator<Map.Entry<K, V>> mainIterator = main.entrySet().iterator();
+                        Map.Entry<K, V> victim = mainIterator.next();
+                        // Only admit the candidate if it is more popular than the victim, otherwise the candidate is dropped
+                        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+                            mainIterator.remove();
+                            main.put(candidate.getKey(), candidate.getValue());
+                        }
+                    }
+                }
+            }
+
+            return value;
+        }
+
+        public synchronized V remove(K key) {
+            V value = window.remove(key);
+            if (value == null) {
+                value = main.remove(key);
+            }
+            return value;
+        }
+
+        public synchronized void clear() {
+            window.clear();
+            main.clear();
+        }
+    }
+
+    /**
+     * A count-min sketch with 4-bit counters that estimates the access frequency of keys.
+     * The counters are periodically halved so that the sketch adapts to changing access patterns.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int size;
+
+        public FrequencySketch(int capacity) {
+            int length = 1;
+            while (length < capacity) {
+                length <<= 1;
+            }
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = 10 * Math.max(capacity, 1);
+        }
+
+        public int frequency(Object o) {
+            int hash = spread(o.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        public void increment(Object o) {
+            int hash = spread(o.hashCode());
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++size == sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size = size >>> 1;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (SEEDS[i] + hash) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & tableMask;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
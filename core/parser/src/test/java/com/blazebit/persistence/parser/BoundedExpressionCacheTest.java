@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser;
+
+import com.blazebit.persistence.parser.expression.BoundedExpressionCache;
+import com.blazebit.persistence.parser.expression.ExpressionCache;
+import com.blazebit.persistence.parser.util.BoundedCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class BoundedExpressionCacheTest {
+
+    private static final String CACHE_NAME = "test";
+
+    @Test
+    public void testSizeIsBounded() {
+        BoundedExpressionCache<String> cache = new BoundedExpressionCache<>(100);
+        for (int i = 0; i < 10_000; i++) {
+            String expression = "e.id = " + i;
+            Assert.assertNull(cache.get(CACHE_NAME, key(expression)));
+            Assert.assertEquals(expression, cache.putIfAbsent(CACHE_NAME, key(expression), expression));
+        }
+
+        BoundedCache.Statistics statistics = cache.getStatistics(CACHE_NAME);
+        Assert.assertTrue(statistics.getSize() <= 100);
+        Assert.assertEquals(10_000, statistics.getMissCount());
+        Assert.assertEquals(0, statistics.getHitCount());
+        Assert.assertEquals(10_000 - statistics.getSize(), statistics.getEvictionCount());
+    }
+
+    @Test
+    public void testFrequentlyUsedEntriesSurviveOneOffEntries() {
+        BoundedExpressionCache<String> cache = new BoundedExpressionCache<>(100);
+        for (int i = 0; i < 10_000; i++) {
+            // Access the hot entries less often than a LRU cache of that size would require to keep them
+            if (i % 200 == 0) {
+                for (int j = 0; j < 50; j++) {
+                    getOrPut(cache, "e.name = :param" + j);
+                }
+            }
+            getOrPut(cache, "e.id = " + i);
+        }
+
+        int hits = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get(CACHE_NAME, key("e.name = :param" + i)) != null) {
+                hits++;
+            }
+        }
+        Assert.assertTrue("Expected most frequently used entries to survive but only " + hits + " did", hits >= 45);
+    }
+
+    @Test
+    public void testPutIfAbsentReturnsExistingValue() {
+        BoundedExpressionCache<String> cache = new BoundedExpressionCache<>();
+        Assert.assertEquals("a", cache.putIfAbsent(CACHE_NAME, key("e.id"), "a"));
+        Assert.assertEquals("a", cache.putIfAbsent(CACHE_NAME, key("e.id"), "b"));
+        Assert.assertEquals("a", cache.get(CACHE_NAME, key("e.id")));
+        Assert.assertNull(cache.get("other", key("e.id")));
+
+        Assert.assertEquals(1, cache.getStatistics(CACHE_NAME).getHitCount());
+        Assert.assertEquals(1, cache.getStatistics("other").getMissCount());
+        Assert.assertNull(cache.getStatistics("unknown"));
+    }
+
+    @Test
+    public void testMaximumSizePerCacheName() {
+        Map<String, Integer> maximumSizes = new HashMap<>();
+        maximumSizes.put("com.blazebit.Small", 10);
+        maximumSizes.put("Medium", 20);
+        BoundedExpressionCache<String> cache = new BoundedExpressionCache<>(100, maximumSizes);
+        Assert.assertEquals(10, cache.getMaximumSize("com.blazebit.Small"));
+        Assert.assertEquals(20, cache.getMaximumSize("com.blazebit.Medium"));
+        Assert.assertEquals(100, cache.getMaximumSize("com.blazebit.Large"));
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.putIfAbsent("com.blazebit.Small", key("e.id = " + i), "e.id = " + i);
+            cache.putIfAbsent("com.blazebit.Large", key("e.id = " + i), "e.id = " + i);
+        }
+        Assert.assertTrue(cache.getStatistics("com.blazebit.Small").getSize() <= 10);
+        Assert.assertTrue(cache.getStatistics("com.blazebit.Large").getSize() > 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaximumSizePerCacheName() {
+        new BoundedExpressionCache<>(100, Collections.singletonMap("Small", 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaximumSize() {
+        new BoundedExpressionCache<>(0);
+    }
+
+    private static void getOrPut(BoundedExpressionCache<String> cache, String expression) {
+        if (cache.get(CACHE_NAME, key(expression)) == null) {
+            cache.putIfAbsent(CACHE_NAME, key(expression), expression);
+        }
+    }
+
+    private static ExpressionCache.Key key(String expression) {
+        return new ExpressionCache.Key(expression, false, false, false);
+    }
+}
@@ -19,12 +19,15 @@ package com.blazebit.persistence.parser;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertArrayEquals;
 
 /**
  *
  * @author Christian Beikov
  */
+@SuppressWarnings("unchecked")
 public class JsonParserTest {
 
     @Test
@@ -55,6 +58,32 @@ public class JsonParserTest {
         assertEquals(new Object[]{ "1", "test" }, JsonParser.parseStringOnly("[{\"age\": \"1\", \"name\": \"test\"}, {\"age\": \"1\", \"name\": \"test\"}]", "age", "name").get(1));
     }
 
+    @Test
+    public void testNestedLayout() {
+        FieldLayout nestedLayout = new FieldLayout("f0", "f1");
+        FieldLayout layout = new FieldLayout(new String[]{ "f0", "f1" }, new FieldLayout[]{ null, nestedLayout });
+        List<Object[]> objects = JsonParser.parse("[{\"f0\": \"a\", \"f1\": [{\"f0\": \"b\", \"f1\": null}, {\"f1\": \"]\", \"f0\": \"c\"}]}, {\"f0\": \"d\", \"f1\": []}]", layout);
+        Assert.assertEquals(2, objects.size());
+        Assert.assertEquals("a", objects.get(0)[0].toString());
+        List<Object[]> nested = (List<Object[]>) objects.get(0)[1];
+        Assert.assertEquals(2, nested.size());
+        assertEquals(new Object[]{ "b", null }, nested.get(0));
+        assertEquals(new Object[]{ "c", "]" }, nested.get(1));
+        Assert.assertEquals("d", objects.get(1)[0].toString());
+        Assert.assertEquals(0, ((List<Object[]>) objects.get(1)[1]).size());
+    }
+
+    @Test
+    public void testNestedWithoutLayout() {
+        List<Object[]> objects = JsonParser.parseStringOnly("[{\"f0\": \"a\", \"f1\": [{\"f0\": \"b\"}]}]", "f0", "f1");
+        assertEquals(new Object[]{ "a", "[{\"f0\": \"b\"}]" }, objects.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownField() {
+        JsonParser.parseStringOnly("[{\"name\": \"test\"}]", "age");
+    }
+
     private static void assertEquals(Object[] array1, Object[] array2) {
         Assert.assertEquals(array1.length, array2.length);
         for (int i = 0; i < array1.length; i++) {
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@SuppressWarnings("unchecked")
+public class LengthPrefixedParserTest {
+
+    @Test
+    public void testNormal() {
+        List<Object[]> objects = LengthPrefixedParser.parse("4:test1:12:ab~", new FieldLayout("name", "age"));
+        Assert.assertEquals(2, objects.size());
+        assertEquals(new Object[]{ "test", "1" }, objects.get(0));
+        assertEquals(new Object[]{ "ab", null }, objects.get(1));
+    }
+
+    @Test
+    public void testSeparatorsInValue() {
+        assertEquals(new Object[]{ "1:~2", "" }, LengthPrefixedParser.parse("4:1:~20:", new FieldLayout("name", "age")).get(0));
+    }
+
+    @Test
+    public void testSupplementaryCodePoints() {
+        String value = "a\uD83D\uDE00b";
+        assertEquals(new Object[]{ value, "1" }, LengthPrefixedParser.parse("3:" + value + "1:1", new FieldLayout("name", "age")).get(0));
+    }
+
+    @Test
+    public void testNestedLayout() {
+        FieldLayout layout = new FieldLayout(new String[]{ "name", "partners" }, new FieldLayout[]{ null, new FieldLayout("f0", "f1") });
+        List<Object[]> objects = LengthPrefixedParser.parse("1:a11:1:12:ab1:1~1:b~", layout);
+        Assert.assertEquals(2, objects.size());
+        List<Object[]> partners = (List<Object[]>) objects.get(0)[1];
+        Assert.assertEquals(2, partners.size());
+        assertEquals(new Object[]{ "1", "ab" }, partners.get(0));
+        assertEquals(new Object[]{ "1", null }, partners.get(1));
+        assertEquals(new Object[]{ "b", null }, objects.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncated() {
+        LengthPrefixedParser.parse("4:test1:", new FieldLayout("name", "age"));
+    }
+
+    private static void assertEquals(Object[] array1, Object[] array2) {
+        Assert.assertEquals(array1.length, array2.length);
+        for (int i = 0; i < array1.length; i++) {
+            Assert.assertEquals(String.valueOf(array1[i]), String.valueOf(array2[i]));
+        }
+    }
+
+}
@@ -242,6 +242,11 @@ public class DelegatingDbmsDialect implements DbmsDialect {
         return delegate.supportsFullRowValueComparison();
     }
 
+    @Override
+    public boolean supportsRowValueComparisonWithNulls() {
+        return delegate.supportsRowValueComparisonWithNulls();
+    }
+
     @Override
     public boolean supportsCountTuple() {
         return delegate.supportsCountTuple();
@@ -282,6 +287,16 @@ public class DelegatingDbmsDialect implements DbmsDialect {
         return delegate.getDefaultEscapeCharacter();
     }
 
+    @Override
+    public String getEstimatedRowCountSql(String tableName) {
+        return delegate.getEstimatedRowCountSql(tableName);
+    }
+
+    @Override
+    public String getArrayParameterTableFunction(String sqlType) {
+        return delegate.getArrayParameterTableFunction(sqlType);
+    }
+
     @Override
     public boolean needsReturningSqlTypes() {
         return delegate.needsReturningSqlTypes();
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.Criteria;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.PagedArrayList;
+import com.blazebit.persistence.PagedList;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.hibernate.annotations.Where;
+import org.junit.Test;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.Id;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class EstimatedCountWhereTest extends AbstractCoreTest {
+
+    @Override
+    protected Class<?>[] getEntityClasses() {
+        return new Class<?>[]{ SoftDeletableEntity.class };
+    }
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                for (long i = 1; i <= 4; i++) {
+                    SoftDeletableEntity entity = new SoftDeletableEntity();
+                    entity.id = i;
+                    entity.deleted = i > 2;
+                    em.persist(entity);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testEstimatedCountIsNotUsedForEntityWithSqlRestriction() {
+        // The statistics count every row of the table, including the soft deleted ones
+        CriteriaBuilderConfiguration config = Criteria.getDefault();
+        config.registerDialect(config.getEntityManagerIntegrators().get(0).getDbms(emf), new DelegatingDbmsDialect(dbmsDialect) {
+            @Override
+            public String getEstimatedRowCountSql(String tableName) {
+                return "SELECT 1000 FROM " + tableName;
+            }
+        });
+        CriteriaBuilderFactory cbf = config.createCriteriaBuilderFactory(emf);
+        PagedList<SoftDeletableEntity> result = cbf.create(em, SoftDeletableEntity.class, "e")
+                .orderByAsc("id")
+                .page(0, 1)
+                .withEstimatedCount(1)
+                .getResultList();
+        assertEquals(1, result.size());
+        assertFalse(((PagedArrayList<SoftDeletableEntity>) result).isTotalSizeEstimated());
+        assertEquals(2, result.getTotalSize());
+    }
+
+    @Entity(name = "SoftDeletableEntity")
+    @Where(clause = "deleted = false")
+    public static class SoftDeletableEntity {
+        @Id
+        Long id;
+        @Column(nullable = false)
+        boolean deleted;
+    }
+}
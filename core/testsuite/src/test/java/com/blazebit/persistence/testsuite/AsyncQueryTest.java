@@ -0,0 +1,240 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.PagedList;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.PaginatedTypedQuery;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class AsyncQueryTest extends AbstractCoreTest {
+
+    private ExecutorService executor;
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person o1 = new Person("Karl1");
+                em.persist(o1);
+
+                for (int i = 1; i <= 5; i++) {
+                    Document doc = new Document("doc" + i);
+                    doc.setOwner(o1);
+                    em.persist(doc);
+                }
+            }
+        });
+    }
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testGetResultListAsync() throws Exception {
+        CriteriaBuilder<String> cb = cbf.create(em, String.class)
+            .from(Document.class, "d")
+            .select("d.name")
+            .orderByAsc("d.name");
+
+        List<String> result = cb.getResultListAsync(executor).toCompletableFuture().get();
+        assertEquals(cb.getResultList(), result);
+        assertEquals(5, result.size());
+    }
+
+    @Test
+    public void testGetSingleResultAsync() throws Exception {
+        CriteriaBuilder<Long> cb = cbf.create(em, Long.class)
+            .from(Document.class, "d")
+            .select("COUNT(*)");
+
+        assertEquals(5L, cb.getSingleResultAsync(executor).toCompletableFuture().get().longValue());
+    }
+
+    @Test
+    public void testGetPagedResultListAsync() throws Exception {
+        CriteriaBuilder<String> cb = cbf.create(em, String.class)
+            .from(Document.class, "d")
+            .select("d.name")
+            .orderByAsc("d.name")
+            .orderByAsc("d.id");
+
+        PagedList<String> result = cb.page(2, 2).getPagedResultListAsync(executor).toCompletableFuture().get();
+        assertEquals(5L, result.getTotalSize());
+        assertEquals(2, result.size());
+        assertEquals("doc3", result.get(0));
+        assertEquals("doc4", result.get(1));
+    }
+
+    @Test
+    public void testGetPagedResultListAsyncExecutesCountQuerySeparately() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        PaginatedCriteriaBuilder<String> cb = cbf.create(em, String.class)
+            .from(Document.class, "d")
+            .select("d.name")
+            .orderByAsc("d.name")
+            .orderByAsc("d.id")
+            .page(2, 2)
+            .withInlineCountQuery(false);
+
+        PagedList<String> result = cb.getPagedResultListAsync(countingExecutor(executions)).toCompletableFuture().get();
+        // One task for the count query and one for the id and object queries
+        assertEquals(2, executions.get());
+        assertEquals(5L, result.getTotalSize());
+        assertEquals("doc3", result.get(0));
+        assertEquals("doc4", result.get(1));
+    }
+
+    @Test
+    public void testGetPagedResultListPublisher() throws Exception {
+        PaginatedCriteriaBuilder<String> cb = cbf.create(em, String.class)
+            .from(Document.class, "d")
+            .select("d.name")
+            .orderByAsc("d.name")
+            .orderByAsc("d.id")
+            .page(2, 2);
+
+        final CompletableFuture<PagedList<String>> future = new CompletableFuture<>();
+        final List<PagedList<String>> elements = new CopyOnWriteArrayList<>();
+        cb.getPagedResultListPublisher(executor).subscribe(new Flow.Subscriber<PagedList<String>>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(PagedList<String> item) {
+                elements.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(elements.get(0));
+            }
+        });
+
+        PagedList<String> result = future.get();
+        assertEquals(1, elements.size());
+        assertEquals(5L, result.getTotalSize());
+        assertEquals("doc3", result.get(0));
+        assertEquals("doc4", result.get(1));
+    }
+
+    @Test
+    public void testConcurrentCountQuery() {
+        AtomicInteger executions = new AtomicInteger();
+        PaginatedCriteriaBuilder<String> cb = cbf.create(em, String.class)
+            .from(Document.class, "d")
+            .select("d.name")
+            .orderByAsc("d.name")
+            .orderByAsc("d.id")
+            .page(2, 2)
+            .withConcurrentCountQuery(emf, countingExecutor(executions));
+
+        PagedList<String> result = cb.getResultList();
+        assertEquals(1, executions.get());
+        assertEquals(5L, result.getTotalSize());
+        assertEquals(2, result.size());
+        assertEquals("doc3", result.get(0));
+        assertEquals("doc4", result.get(1));
+    }
+
+    @Test
+    public void testConcurrentCountQueryEmptyPage() {
+        AtomicInteger executions = new AtomicInteger();
+        PaginatedCriteriaBuilder<String> cb = cbf.create(em, String.class)
+            .from(Document.class, "d")
+            .select("d.name")
+            .orderByAsc("d.name")
+            .orderByAsc("d.id")
+            .page(10, 2)
+            .withConcurrentCountQuery(emf, countingExecutor(executions));
+
+        PagedList<String> result = cb.getResultList();
+        assertEquals(1, executions.get());
+        assertEquals(5L, result.getTotalSize());
+        assertEquals(0, result.size());
+    }
+
+    @Test
+    public void testConcurrentCountQueryUsesParameterValuesOfQuery() {
+        AtomicInteger executions = new AtomicInteger();
+        PaginatedTypedQuery<String> query = cbf.create(em, String.class)
+            .from(Document.class, "d")
+            .select("d.name")
+            .where("d.name").notEqExpression(":excludedName")
+            .orderByAsc("d.name")
+            .orderByAsc("d.id")
+            .page(0, 2)
+            .withConcurrentCountQuery(emf, countingExecutor(executions))
+            .getQuery();
+        query.setParameter("excludedName", "doc1");
+
+        PagedList<String> result = query.getResultList();
+        assertEquals(1, executions.get());
+        assertEquals(4L, result.getTotalSize());
+        assertEquals("doc2", result.get(0));
+        assertEquals("doc3", result.get(1));
+    }
+
+    private Executor countingExecutor(final AtomicInteger executions) {
+        return new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                executions.incrementAndGet();
+                executor.execute(command);
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.parser.expression.BoundedExpressionCache;
+import com.blazebit.persistence.parser.expression.ExpressionCache;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.testsuite.entity.Document;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class BoundedExpressionCacheConfigurationTest extends AbstractCoreTest {
+
+    private static final String PATH_EXPRESSION_CACHE = "com.blazebit.persistence.parser.expression.cache.PathExpression";
+    private static final String SIMPLE_EXPRESSION_CACHE = "com.blazebit.persistence.parser.expression.cache.SimpleExpression";
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        config.setProperty(ConfigurationProperties.EXPRESSION_CACHE_CLASS, BoundedExpressionCache.class.getName());
+        config.setProperty(ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE, "50");
+        config.setProperty(ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE + ".PathExpression", "5");
+    }
+
+    @Test
+    public void testMaximumSizePerCacheName() {
+        BoundedExpressionCache<?> cache = (BoundedExpressionCache<?>) cbf.getService(ExpressionCache.class);
+        assertEquals(50, cache.getMaximumSize());
+        assertEquals(5, cache.getMaximumSize(PATH_EXPRESSION_CACHE));
+        assertEquals(50, cache.getMaximumSize(SIMPLE_EXPRESSION_CACHE));
+
+        for (int i = 0; i < 20; i++) {
+            cbf.create(em, Document.class, "d" + i).select("d" + i + ".name").getQueryString();
+        }
+
+        assertTrue(cache.getStatistics(PATH_EXPRESSION_CACHE).getSize() <= 5);
+    }
+}
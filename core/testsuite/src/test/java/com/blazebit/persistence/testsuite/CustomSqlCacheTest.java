@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.impl.CriteriaBuilderFactoryImpl;
+import com.blazebit.persistence.parser.util.BoundedCache;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class CustomSqlCacheTest extends AbstractCoreTest {
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        config.setProperty(ConfigurationProperties.CUSTOM_SQL_CACHE_SIZE, "100");
+    }
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person p1 = new Person("p1");
+                Document d1 = new Document("doc1", 1);
+                Document d2 = new Document("doc2", 2);
+                d1.setOwner(p1);
+                d2.setOwner(p1);
+
+                em.persist(p1);
+                em.persist(d1);
+                em.persist(d2);
+            }
+        });
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testSameLayoutSharesSql() {
+        assertEquals(Collections.singletonList("doc1"), createAllowedAgeQuery(Collections.singleton(1L)).getResultList());
+        long hits = getStatistics().getHitCount();
+        assertEquals(Collections.singletonList("doc2"), createAllowedAgeQuery(Collections.singleton(2L)).getResultList());
+        assertEquals(hits + 1, getStatistics().getHitCount());
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testDifferentLayoutIsNotShared() {
+        assertEquals(Collections.singletonList("doc1"), createAllowedAgeQuery(Collections.singleton(1L)).getResultList());
+        long misses = getStatistics().getMissCount();
+        List<String> result = createAllowedAgeQuery(Arrays.asList(1L, 2L)).getResultList();
+        assertEquals(misses + 1, getStatistics().getMissCount());
+        assertEquals(Arrays.asList("doc1", "doc2"), result);
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testCollectionParameterSizeIsPartOfKey() {
+        assertEquals(Collections.singletonList("doc1"), createAllowedAgeQuery(Collections.singleton(1L), Collections.singleton(1L)).getResultList());
+        long misses = getStatistics().getMissCount();
+        List<String> result = createAllowedAgeQuery(Collections.singleton(1L), Arrays.asList(1L, 2L)).getResultList();
+        assertEquals(misses + 1, getStatistics().getMissCount());
+        assertEquals(Collections.singletonList("doc1"), result);
+        long hits = getStatistics().getHitCount();
+        result = createAllowedAgeQuery(Collections.singleton(2L), Arrays.asList(2L, 3L)).getResultList();
+        assertEquals(hits + 1, getStatistics().getHitCount());
+        assertEquals(Collections.singletonList("doc2"), result);
+    }
+
+    private CriteriaBuilder<String> createAllowedAgeQuery(Collection<Long> allowedAges, Collection<Long> ages) {
+        return createAllowedAgeQuery(allowedAges)
+                .where("doc.age").in(ages);
+    }
+
+    private CriteriaBuilder<String> createAllowedAgeQuery(Collection<Long> allowedAges) {
+        return cbf.create(em, String.class)
+                .fromValues(Long.class, "allowedAge", allowedAges)
+                .from(Document.class, "doc")
+                .where("doc.age").eqExpression("allowedAge")
+                .select("doc.name")
+                .orderByAsc("doc.name");
+    }
+
+    private BoundedCache.Statistics getStatistics() {
+        return ((CriteriaBuilderFactoryImpl) cbf).getCustomSqlCache().getStatistics();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.Criteria;
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDB2;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.entity.Version;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs the <code>TO_MULTISET</code> function with the opt-in length prefixed encoding, which is used on PostgreSQL.
+ * Other DBMS fall back to the JSON or XML encoding.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class MultisetEncodingTest extends AbstractCoreTest {
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        config.setProperty(ConfigurationProperties.MULTISET_ENCODING, "length_prefixed");
+    }
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person p = new Person("Pers1");
+                p.setAge(20L);
+                em.persist(p);
+
+                Version v1 = new Version();
+                v1.setUrl("1:~");
+                Document doc1 = new Document("A:1~", p, v1);
+                em.persist(doc1);
+                em.persist(v1);
+
+                Version v2 = new Version();
+                v2.setUrl("");
+                Version v3 = new Version();
+                v3.setUrl("~~");
+                Document doc2 = new Document("B", p, v2, v3);
+                em.persist(doc2);
+                em.persist(v2);
+                em.persist(v3);
+
+                Document doc3 = new Document("C::", p);
+                em.persist(doc3);
+            }
+        });
+    }
+
+    // NOTE: DB2 crashes when executing this test with the GROUP_CONCAT based implementation
+    // NOTE: EclipseLink can't handle multiple subquery select items... Only one expression can be declared in a SELECT clause of a subquery
+    // NOTE: DataNucleus can't handle multiple subquery select items... Number of result expressions in subquery should be 1
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoDB2.class })
+    public void testNestedMultisetWithSeparatorCharacters() {
+        CriteriaBuilder<Tuple> criteria = cbf.create(em, Tuple.class)
+                .from(Person.class, "p")
+                .selectSubquery("subquery", "TO_MULTISET(subquery)")
+                    .from(Document.class, "doc")
+                    .select("doc.name")
+                    .selectSubquery("subquery", "TO_MULTISET(subquery)")
+                        .from("doc.versions", "v")
+                        .select("v.url")
+                    .end()
+                .end()
+                ;
+
+        Tuple actual = criteria.getResultList().get(0);
+        List<Object[]> objects = actual.get(0, List.class);
+        assertEquals(Arrays.asList("A:1~[1:~]", "B[, ~~]", "C::[]"), toStrings(objects));
+    }
+
+    @Test
+    public void testInvalidMultisetEncoding() {
+        CriteriaBuilderConfiguration config = Criteria.getDefault();
+        config.setProperty(ConfigurationProperties.MULTISET_ENCODING, "csv");
+        try {
+            config.createCriteriaBuilderFactory(emf);
+            Assert.fail("Expected an invalid multiset encoding to be rejected");
+        } catch (IllegalArgumentException ex) {
+            Assert.assertTrue(ex.getMessage().contains(ConfigurationProperties.MULTISET_ENCODING));
+        }
+    }
+
+    private static List<String> toStrings(List<Object[]> objects) {
+        List<String> strings = new ArrayList<>(objects.size());
+        for (Object[] object : objects) {
+            List<String> urls = new ArrayList<>();
+            List<Object[]> versions = (List<Object[]>) object[1];
+            if (versions != null) {
+                for (Object[] version : versions) {
+                    urls.add(String.valueOf(version[0]));
+                }
+            }
+            Collections.sort(urls);
+            strings.add(object[0] + urls.toString());
+        }
+        Collections.sort(strings);
+        return strings;
+    }
+}
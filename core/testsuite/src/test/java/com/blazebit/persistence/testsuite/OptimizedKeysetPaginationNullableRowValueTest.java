@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.PagedList;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoMSSQL;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoMySQL;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOracle;
+import com.blazebit.persistence.testsuite.entity.KeysetEntity2;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the row value keyset predicate for nullable order by items returns the same pages as the full ordered result.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+// DataNucleus has a bug with null precedence rendering
+// see https://github.com/datanucleus/datanucleus-rdbms/issues/224
+@Category({ NoDatanucleus.class, NoOracle.class, NoMSSQL.class, NoMySQL.class })
+public class OptimizedKeysetPaginationNullableRowValueTest extends AbstractCoreTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Override
+    protected Class<?>[] getEntityClasses() {
+        return new Class<?>[] { KeysetEntity2.class };
+    }
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        config.setProperty(ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING, "true");
+        config.setProperty(ConfigurationProperties.NULLABLE_ROW_VALUE_KEYSET_PREDICATE_RENDERING, "true");
+    }
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.persist(new KeysetEntity2(1, 1, null, null));
+                em.persist(new KeysetEntity2(2, 0, null, null));
+                em.persist(new KeysetEntity2(3, 2, 0, null));
+                em.persist(new KeysetEntity2(4, 1, 1, null));
+                em.persist(new KeysetEntity2(5, 2, 1, null));
+                em.persist(new KeysetEntity2(6, 1, 2, null));
+                em.persist(new KeysetEntity2(7, 2, null, 0));
+                em.persist(new KeysetEntity2(8, 1, null, 1));
+                em.persist(new KeysetEntity2(9, 0, null, 1));
+                em.persist(new KeysetEntity2(10, 2, null, 2));
+                em.persist(new KeysetEntity2(11, 1, 0, 0));
+                em.persist(new KeysetEntity2(12, 1, 0, 1));
+                em.persist(new KeysetEntity2(13, 0, 1, 0));
+                em.persist(new KeysetEntity2(14, 0, 1, 1));
+                em.persist(new KeysetEntity2(15, 0, 1, 1));
+                em.persist(new KeysetEntity2(16, 0, 1, 2));
+                em.persist(new KeysetEntity2(17, 0, 2, 1));
+                em.persist(new KeysetEntity2(18, 0, 2, 2));
+            }
+        });
+    }
+
+    @Test
+    public void paginateNullsFirst() {
+        assertPagination(true, true, true, true);
+        assertPagination(false, true, true, true);
+        assertPagination(true, true, false, true);
+    }
+
+    @Test
+    public void paginateNullsLast() {
+        assertPagination(true, false, true, false);
+        assertPagination(false, false, true, false);
+        assertPagination(true, false, false, false);
+    }
+
+    @Test
+    public void paginateMixedNulls() {
+        assertPagination(true, true, true, false);
+        assertPagination(false, false, true, true);
+    }
+
+    @Test
+    public void rendersRowValueComparisonWithNullBranch() {
+        CriteriaBuilder<Tuple> crit = createCriteriaBuilder(true, false, true, false);
+        // The keyset of the second page is (0, 1, 1, 15) which has no null elements
+        PagedList<Tuple> result = crit.page(null, 2, PAGE_SIZE).getResultList();
+        PaginatedCriteriaBuilder<Tuple> pcb = crit.page(result.getKeysetPage(), 4, PAGE_SIZE);
+        String queryString = pcb.withInlineCountQuery(false).getQueryString();
+        assertTrue(queryString, queryString.contains("compare_row_value"));
+        assertTrue(queryString, queryString.contains("k.b IS NULL"));
+        assertTrue(queryString, queryString.contains("k.c IS NULL"));
+    }
+
+    private void assertPagination(boolean bAsc, boolean bNullsFirst, boolean cAsc, boolean cNullsFirst) {
+        CriteriaBuilder<Tuple> crit = createCriteriaBuilder(bAsc, bNullsFirst, cAsc, cNullsFirst);
+        List<Object> expectedIds = new ArrayList<>();
+        for (Tuple tuple : crit.getResultList()) {
+            expectedIds.add(tuple.get(0));
+        }
+
+        // Scroll forward through all pages
+        List<Object> actualIds = new ArrayList<>();
+        PagedList<Tuple> result = crit.page(null, 0, PAGE_SIZE).getResultList();
+        for (int firstResult = 0; firstResult < expectedIds.size(); firstResult += PAGE_SIZE) {
+            if (firstResult != 0) {
+                result = crit.page(result.getKeysetPage(), firstResult, PAGE_SIZE).getResultList();
+            }
+            for (Tuple tuple : result) {
+                actualIds.add(tuple.get(0));
+            }
+        }
+        assertEquals(expectedIds, actualIds);
+
+        // Scroll back through all pages
+        int lastFirstResult = result.getFirstResult();
+        actualIds.clear();
+        for (int firstResult = lastFirstResult - PAGE_SIZE; firstResult >= 0; firstResult -= PAGE_SIZE) {
+            result = crit.page(result.getKeysetPage(), firstResult, PAGE_SIZE).getResultList();
+            List<Object> pageIds = new ArrayList<>();
+            for (Tuple tuple : result) {
+                pageIds.add(tuple.get(0));
+            }
+            actualIds.addAll(0, pageIds);
+        }
+        assertEquals(expectedIds.subList(0, lastFirstResult), actualIds);
+    }
+
+    private CriteriaBuilder<Tuple> createCriteriaBuilder(boolean bAsc, boolean bNullsFirst, boolean cAsc, boolean cNullsFirst) {
+        return cbf.create(em, Tuple.class).from(KeysetEntity2.class, "k")
+                .select("id")
+                .orderByAsc("a")
+                .orderBy("b", bAsc, bNullsFirst)
+                .orderBy("c", cAsc, cNullsFirst)
+                .orderByAsc("id");
+    }
+}
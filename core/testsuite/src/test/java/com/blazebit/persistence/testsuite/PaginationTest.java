@@ -17,11 +17,15 @@
 package com.blazebit.persistence.testsuite;
 
 import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.Criteria;
 import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.CriteriaBuilderFactory;
 import com.blazebit.persistence.DefaultKeyset;
 import com.blazebit.persistence.DefaultKeysetPage;
+import com.blazebit.persistence.PagedArrayList;
 import com.blazebit.persistence.PagedList;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
@@ -1268,6 +1272,56 @@ public class PaginationTest extends AbstractCoreTest {
         assertEquals(2, result.getTotalSize());
     }
 
+    @Test
+    // NOTE: The table name of the count query can only be determined with Hibernate
+    @Category({ NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
+    public void testEstimatedCount() {
+        // Use fixed statistics so that the estimate doesn't depend on the DBMS
+        CriteriaBuilderConfiguration config = Criteria.getDefault();
+        config.registerDialect(config.getEntityManagerIntegrators().get(0).getDbms(emf), new DelegatingDbmsDialect(dbmsDialect) {
+            @Override
+            public String getEstimatedRowCountSql(String tableName) {
+                return "SELECT COUNT(*) + 35 FROM " + tableName;
+            }
+        });
+        CriteriaBuilderFactory cbf = config.createCriteriaBuilderFactory(emf);
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .leftJoin("d.owner", "o")
+                .orderByAsc("id")
+                .page(0, 2)
+                .withEstimatedCount(1);
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(2, result.size());
+        assertEquals("doc1", result.get(0).getName());
+        assertTrue(((PagedArrayList<Document>) result).isTotalSizeEstimated());
+        assertEquals(42, result.getTotalSize());
+    }
+
+    @Test
+    public void testEstimatedCountBelowThreshold() {
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .orderByAsc("id")
+                .page(0, 2)
+                .withEstimatedCount(1000);
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(2, result.size());
+        assertFalse(((PagedArrayList<Document>) result).isTotalSizeEstimated());
+        assertEquals(7, result.getTotalSize());
+    }
+
+    @Test
+    public void testEstimatedCountRestricted() {
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .where("owner.name").eq("Karl1")
+                .orderByAsc("id")
+                .page(0, 2)
+                .withEstimatedCount(1);
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(2, result.size());
+        assertFalse(((PagedArrayList<Document>) result).isTotalSizeEstimated());
+        assertEquals(3, result.getTotalSize());
+    }
+
     // Test for #1209
     // NOTE: DataNucleus renders the literal `(1)` for the byte array parameter on PostgreSQL which is wrong
     @Test
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.PreparedQuery;
+import com.blazebit.persistence.SelectBuilder;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class PreparedQueryTest extends AbstractCoreTest {
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.persist(new Person("P1"));
+                em.persist(new Person("P2"));
+                em.persist(new Person("P3"));
+            }
+        });
+    }
+
+    @Test
+    public void testPreparedQueryRebindsParameters() {
+        PreparedQuery<String> preparedQuery = cbf.create(em, String.class)
+                .from(Person.class, "p")
+                .select("p.name")
+                .where("p.name").eq("P1")
+                .prepare();
+
+        assertEquals("SELECT p.name FROM Person p WHERE p.name = :param_0", preparedQuery.getQueryString());
+        assertEquals(Collections.singletonList("P1"), preparedQuery.createQuery(em).getResultList());
+        assertEquals(Collections.singletonList("P2"), preparedQuery.createQuery(em, Collections.<String, Object>singletonMap("param_0", "P2")).getResultList());
+    }
+
+    @Test
+    public void testPreparedQueryIsNotAffectedByBuilderChanges() {
+        CriteriaBuilder<String> cb = cbf.create(em, String.class)
+                .from(Person.class, "p")
+                .select("p.name")
+                .where("p.name").eqExpression(":name")
+                .orderByAsc("p.name")
+                .setParameter("name", "P1")
+                .setMaxResults(1);
+        PreparedQuery<String> preparedQuery = cb.prepare();
+        cb.setParameter("name", "P3");
+        cb.where("p.id").isNull();
+
+        assertEquals(Collections.singletonList("P1"), preparedQuery.createQuery(em).getResultList());
+    }
+
+    @Test
+    public void testPreparedQueryWithObjectBuilder() {
+        PreparedQuery<Tuple> preparedQuery = cbf.create(em, Tuple.class)
+                .from(Person.class, "p")
+                .select("p.name", "name")
+                .select("p.age", "age")
+                .orderByAsc("p.name")
+                .prepare();
+
+        List<Tuple> result = preparedQuery.createQuery(em).getResultList();
+        assertEquals(3, result.size());
+        assertEquals("P1", result.get(0).get("name"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPreparedQueryWithCustomObjectBuilderIsRejected() {
+        cbf.create(em, Tuple.class)
+                .from(Person.class, "p")
+                .selectNew(new ObjectBuilder<String>() {
+                    @Override
+                    public <X extends SelectBuilder<X>> void applySelects(X selectBuilder) {
+                        selectBuilder.select("p.name");
+                    }
+
+                    @Override
+                    public String build(Object[] tuple) {
+                        return (String) tuple[0];
+                    }
+
+                    @Override
+                    public List<String> buildList(List<String> list) {
+                        return list;
+                    }
+                })
+                .prepare();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPreparedQueryUnknownParameter() {
+        PreparedQuery<Person> preparedQuery = cbf.create(em, Person.class, "p").prepare();
+        preparedQuery.createQuery(em, Collections.<String, Object>singletonMap("unknown", "P2"));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.impl.AssociationToIdParameterTransformer;
+import com.blazebit.persistence.impl.CriteriaBuilderFactoryImpl;
+import com.blazebit.persistence.impl.ParameterManager;
+import com.blazebit.persistence.parser.util.BoundedCache;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.IntIdEntity;
+import com.blazebit.persistence.testsuite.entity.NameObject;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class QueryStringCacheTest extends AbstractCoreTest {
+
+    private static Person owner1;
+    private static Person owner2;
+    private static NameObject name1;
+    private static NameObject name2;
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        config.setProperty(ConfigurationProperties.QUERY_STRING_CACHE_SIZE, "100");
+    }
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                owner1 = new Person("owner1");
+                owner2 = new Person("owner2");
+                IntIdEntity intIdEntity1 = new IntIdEntity("entity1");
+                IntIdEntity intIdEntity2 = new IntIdEntity("entity2");
+                em.persist(owner1);
+                em.persist(owner2);
+                em.persist(intIdEntity1);
+                em.persist(intIdEntity2);
+
+                name1 = new NameObject("primary1", "secondary1", intIdEntity1);
+                name2 = new NameObject("primary2", "secondary2", intIdEntity2);
+                Document doc1 = new Document("doc1", owner1);
+                Document doc2 = new Document("doc2", owner2);
+                doc1.setNameObject(name1);
+                doc2.setNameObject(name2);
+                em.persist(doc1);
+                em.persist(doc2);
+            }
+        });
+    }
+
+    @Test
+    public void testSameShapeSharesQueryString() {
+        assertEquals("SELECT d FROM Document d LEFT JOIN d.partners partners_1 WHERE partners_1.age > :param_0", createPartnerAgeQuery(1L).getQueryString());
+        long hits = getStatistics().getHitCount();
+        assertEquals("SELECT d FROM Document d LEFT JOIN d.partners partners_1 WHERE partners_1.age > :param_0", createPartnerAgeQuery(2L).getQueryString());
+        assertEquals(hits + 1, getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testSameShapeSharesTypedQuery() {
+        createPartnerAgeQuery(1L).getResultList();
+        long hits = getStatistics().getHitCount();
+        createPartnerAgeQuery(2L).getResultList();
+        assertEquals(hits + 1, getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testDifferentShapeIsNotShared() {
+        CriteriaBuilder<Document> criteria = createPartnerAgeQuery(1L);
+        criteria.getQueryString();
+        criteria = cbf.create(em, Document.class, "d")
+                .where("d.partners.age").lt(1L);
+        assertEquals("SELECT d FROM Document d LEFT JOIN d.partners partners_1 WHERE partners_1.age < :param_0", criteria.getQueryString());
+    }
+
+    @Test
+    public void testSubqueryIsNotCached() {
+        long misses = getStatistics().getMissCount();
+        for (int i = 0; i < 2; i++) {
+            cbf.create(em, Document.class, "d")
+                    .where("d.owner.id").in()
+                        .from(Person.class, "p")
+                        .select("p.id")
+                    .end()
+                    .getQueryString();
+        }
+        assertEquals(misses, getStatistics().getMissCount());
+    }
+
+    @Test
+    public void testSelectParameterIsNotCached() {
+        int size = getStatistics().getSize();
+        for (int i = 0; i < 2; i++) {
+            cbf.create(em, Document.class, "d")
+                    .select(":param")
+                    .setParameter("param", i)
+                    .getQueryString();
+        }
+        assertEquals(size, getStatistics().getSize());
+    }
+
+    @Test
+    public void testEntityParameterThroughCache() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Collections.singletonList("doc1"), createOwnerQuery(owner1).getResultList());
+            assertEquals(Collections.singletonList("doc2"), createOwnerQuery(owner2).getResultList());
+        }
+    }
+
+    @Test
+    public void testEmbeddableParameterThroughCache() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Collections.singletonList("doc1"), createNameObjectQuery(name1).getResultList());
+            assertEquals(Collections.singletonList("doc2"), createNameObjectQuery(name2).getResultList());
+        }
+    }
+
+    @Test
+    public void testTransformedParameterIsNotCached() {
+        int size = getStatistics().getSize();
+        CriteriaBuilder<String> criteria = cbf.create(em, String.class)
+                .from(Document.class, "d")
+                .select("d.name")
+                .where("d.owner.id").eqExpression(":owner")
+                .setParameter("owner", owner1);
+        // Simulate a rewrite that registers a parameter transformer while rendering
+        ((ParameterManager.ParameterImpl<?>) criteria.getParameter("owner")).setTransformer(new AssociationToIdParameterTransformer(jpaProvider));
+        assertEquals(Collections.singletonList("doc1"), criteria.getResultList());
+        assertEquals(size, getStatistics().getSize());
+    }
+
+    private CriteriaBuilder<String> createOwnerQuery(Person owner) {
+        return cbf.create(em, String.class)
+                .from(Document.class, "d")
+                .select("d.name")
+                .innerJoinOn("d.owner", "o")
+                    .on("o").eqExpression(":owner")
+                .end()
+                .setParameter("owner", owner);
+    }
+
+    private CriteriaBuilder<String> createNameObjectQuery(NameObject nameObject) {
+        return cbf.create(em, String.class)
+                .from(Document.class, "d")
+                .select("d.name")
+                .where("d.nameObject").eqExpression(":nameObject")
+                .setParameter("nameObject", nameObject);
+    }
+
+    private CriteriaBuilder<Document> createPartnerAgeQuery(long age) {
+        return cbf.create(em, Document.class, "d")
+                .where("d.partners.age").gt(age);
+    }
+
+    private BoundedCache.Statistics getStatistics() {
+        return ((CriteriaBuilderFactoryImpl) cbf).getQueryStringCache().getStatistics();
+    }
+}
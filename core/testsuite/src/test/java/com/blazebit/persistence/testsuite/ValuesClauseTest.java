@@ -18,14 +18,22 @@ package com.blazebit.persistence.testsuite;
 
 import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.impl.query.CustomSQLTypedQuery;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDB2;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoFirebird;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate50;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate51;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate60;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoMSSQL;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoMySQL;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoMySQLOld;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOracle;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoSQLite;
 import com.blazebit.persistence.testsuite.entity.Document;
 import com.blazebit.persistence.testsuite.entity.DocumentNodeCTE;
 import com.blazebit.persistence.testsuite.entity.DocumentType;
@@ -58,6 +66,7 @@ import java.util.function.Consumer;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -151,6 +160,36 @@ public class ValuesClauseTest extends AbstractCoreTest {
         assertEquals(1L, resultList.get(0).get(1));
     }
 
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class, NoHibernate60.class, NoMySQL.class, NoMySQLOld.class, NoMSSQL.class, NoOracle.class, NoDB2.class, NoSQLite.class, NoFirebird.class })
+    public void testValuesEntityFunctionArrayBinding() {
+        CriteriaBuilder<Long> cb = createArrayBindingCriteriaBuilder(Arrays.asList(0L, 1L, 2L));
+
+        String expected = ""
+                + "SELECT allowedAge FROM Long(3 VALUES) allowedAge, Document doc WHERE doc.age = allowedAge";
+
+        assertEquals(expected, cb.getQueryString());
+        assertEquals(Collections.singletonList(1L), cb.getResultList());
+
+        // The SQL is independent of the number of values, as all values are bound through a single array parameter
+        CriteriaBuilder<Long> otherCb = createArrayBindingCriteriaBuilder(Arrays.asList(0L, 1L, 2L, 3L, 4L));
+        String sql = ((CustomSQLTypedQuery<?>) cb.getQuery()).getQuerySpecification().getSql();
+        String otherSql = ((CustomSQLTypedQuery<?>) otherCb.getQuery()).getQuerySpecification().getSql();
+        assertTrue(sql.contains("unnest("));
+        assertEquals(sql, otherSql);
+        assertEquals(Collections.singletonList(1L), otherCb.getResultList());
+    }
+
+    private CriteriaBuilder<Long> createArrayBindingCriteriaBuilder(Collection<Long> allowedAges) {
+        CriteriaBuilder<Long> cb = cbf.create(em, Long.class);
+        cb.setProperty(ConfigurationProperties.VALUES_CLAUSE_ARRAY_BINDING, "true");
+        cb.fromValues(Long.class, "allowedAge", allowedAges);
+        cb.from(Document.class, "doc");
+        cb.where("doc.age").eqExpression("allowedAge");
+        cb.select("allowedAge");
+        return cb;
+    }
+
     @Test
     @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
     public void testValuesEntityFunctionWithEmbeddable() {
@@ -221,6 +221,16 @@ public final class ConfigurationProperties {
      */
     public static final String PAGINATION_BOUNDED_COUNT = "com.blazebit.persistence.view.pagination.bounded_count";
 
+    /**
+     * The estimated total size from which on the estimate is used instead of an exact count i.e. see {@link com.blazebit.persistence.PaginatedCriteriaBuilder#withEstimatedCount(long)}.
+     *
+     * By default estimates are disabled i.e. all rows are counted.
+     *
+     * @since 1.6.12
+     * @see com.blazebit.persistence.PaginatedCriteriaBuilder#withEstimatedCount(long)
+     */
+    public static final String PAGINATION_ESTIMATED_COUNT_THRESHOLD = "com.blazebit.persistence.view.pagination.estimated_count_threshold";
+
     /**
      * A boolean flag to make it possible to disable the scanning for static builders annotated with {@link StaticBuilder}.
      * By default the scanning is enabled i.e. the default value is <code>false</code>.
@@ -257,6 +267,96 @@ public final class ConfigurationProperties {
      */
     public static final String CREATE_EMPTY_FLAT_VIEWS = "com.blazebit.persistence.view.create_empty_flat_views";
 
+    /**
+     * A {@link java.util.concurrent.Executor} that is used to run the batch queries of batch correlated attributes concurrently.
+     * By default the batch queries are run one after another on the calling thread.
+     * The concurrent execution is only enabled when also {@link #BATCH_CORRELATION_ENTITY_MANAGER_FACTORY} is set.
+     * This property can only be set via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * @since 1.6.12
+     */
+    public static final String BATCH_CORRELATION_EXECUTOR = "com.blazebit.persistence.view.batch_correlation_executor";
+
+    /**
+     * A {@link javax.persistence.EntityManagerFactory} that is used to create a separate entity manager for every batch query that is run through the {@link #BATCH_CORRELATION_EXECUTOR}.
+     * The entity managers are closed after the batch query was executed, so entities that are part of the correlation results are detached.
+     * Since the batch queries don't run in the transaction of the calling thread, they only see committed data.
+     * Pending changes of the calling transaction are not visible and batches might observe different committed states.
+     * This property can only be set via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * @since 1.6.12
+     */
+    public static final String BATCH_CORRELATION_ENTITY_MANAGER_FACTORY = "com.blazebit.persistence.view.batch_correlation_entity_manager_factory";
+
+    /**
+     * A long value that defines the time to live in milliseconds for results of correlated attributes using the
+     * {@link FetchStrategy#SELECT} fetch strategy in a cache that is shared between queries.
+     * By default the cache is disabled. A value greater than 0 enables the cache for attributes that correlate
+     * immutable basic values or entity views that are, including their subviews, neither updatable nor creatable and don't use parameter mappings
+     * or nested {@link FetchStrategy#SELECT} or {@link FetchStrategy#SUBSELECT} fetches. Entity results and batches that batch view root or
+     * embedding view ids are never cached.
+     * This property can only be set via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * To specify the time to live of a specific attribute, append the attribute name after the "correlation_cache_ttl" like
+     * e.g. <code>com.blazebit.persistence.view.correlation_cache_ttl.subProperty</code>
+     *
+     * @since 1.6.12
+     */
+    public static final String CORRELATION_CACHE_TTL = "com.blazebit.persistence.view.correlation_cache_ttl";
+
+    /**
+     * An integer value that defines the maximum number of correlation values for which results are cached
+     * when the cache is enabled via {@link #CORRELATION_CACHE_TTL}. By default the value is 1000.
+     * This property can only be set via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * To specify the maximum size of a specific attribute, append the attribute name after the "correlation_cache_max_size" like
+     * e.g. <code>com.blazebit.persistence.view.correlation_cache_max_size.subProperty</code>
+     *
+     * @since 1.6.12
+     */
+    public static final String CORRELATION_CACHE_MAX_SIZE = "com.blazebit.persistence.view.correlation_cache_max_size";
+
+    /**
+     * A boolean flag to make the batching of correlated attributes using the {@link FetchStrategy#SELECT} fetch strategy adaptive.
+     * By default adaptive batching is disabled. When enabled, the batch mode that was used by previous executions of a correlated attribute
+     * is expected instead of the static {@link #EXPECT_BATCH_MODE} default, and the batch size is reduced to the number of distinct correlation
+     * keys of the current result, so that as few parameter slots as possible are padded.
+     * The batch size configured via {@link #DEFAULT_BATCH_SIZE} or {@link com.blazebit.persistence.view.BatchFetch} is used as upper bound.
+     * An explicitly configured {@link #EXPECT_BATCH_MODE} always takes precedence over the learned batch mode.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     * This property can only be set via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * To enable adaptive batching for a specific attribute, append the attribute name after the "adaptive_batch_correlation" like
+     * e.g. <code>com.blazebit.persistence.view.adaptive_batch_correlation.subProperty</code>
+     *
+     * @since 1.6.12
+     */
+    public static final String ADAPTIVE_BATCH_CORRELATION = "com.blazebit.persistence.view.adaptive_batch_correlation";
+
+    /**
+     * An integer value that defines the number of threads that are used for bootstrapping the entity view manager.
+     * By default the value is 1 which means that the bootstrap runs on the calling thread.
+     * A value greater than 1 validates the mapping expressions of entity views and eagerly loads templates, proxies and updaters,
+     * as configured via {@link #TEMPLATE_EAGER_LOADING}, {@link #PROXY_EAGER_LOADING} and {@link #UPDATER_EAGER_LOADING}, on a fork join pool.
+     * Building the metamodel itself always happens on the calling thread.
+     *
+     * @since 1.6.12
+     */
+    public static final String BOOTSTRAP_PARALLELISM = "com.blazebit.persistence.view.bootstrap_parallelism";
+
+    /**
+     * A path to a directory that is used to persist the bytecode of generated entity view proxy classes.
+     * By default no directory is configured which means that proxy classes are always generated.
+     * When configured, the bytecode of generated proxy classes is written to a sub-directory named after a hash
+     * over the entity view and entity class files and proxy relevant settings, and later bootstraps with the same hash
+     * define the proxy classes from the persisted bytecode instead of generating them again.
+     * Since the persisted bytecode is loaded into the application, the directory must not be writable by other users.
+     * Valid values for this property are a {@link String}, a {@link java.nio.file.Path} or a {@link java.io.File}.
+     *
+     * @since 1.6.12
+     */
+    public static final String PROXY_CACHE_DIRECTORY = "com.blazebit.persistence.view.proxy.cache_directory";
+
     private ConfigurationProperties() {
     }
 }
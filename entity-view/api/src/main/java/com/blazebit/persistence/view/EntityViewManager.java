@@ -24,7 +24,10 @@ import com.blazebit.persistence.view.change.SingularChangeModel;
 import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * An interface that gives access to the metamodel and object builders.
@@ -81,6 +84,36 @@ public interface EntityViewManager extends ServiceProvider {
      */
     public <T> T find(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId);
 
+    /**
+     * Loads an entity view of the given type having the given entity id on the given executor.
+     * Since entity managers are not thread safe, the query is executed on a new entity manager
+     * that is created from the given entity manager factory on the executor and closed after the query.
+     *
+     * @param entityManagerFactory The entity manager factory to create the entity manager for querying with
+     * @param entityViewClass The entity view class to use
+     * @param entityId The id of the entity
+     * @param executor The executor to execute the query on
+     * @param <T> The type of the entity view class
+     * @return The completion stage for the loaded instance of the given entity view type with the id
+     * @since 1.6.12
+     */
+    public <T> CompletionStage<T> findAsync(EntityManagerFactory entityManagerFactory, Class<T> entityViewClass, Object entityId, Executor executor);
+
+    /**
+     * Loads an entity view as determined by the given type {@link EntityViewSetting} having the given entity id on the given executor.
+     * Since entity managers are not thread safe, the query is executed on a new entity manager
+     * that is created from the given entity manager factory on the executor and closed after the query.
+     *
+     * @param entityManagerFactory The entity manager factory to create the entity manager for querying with
+     * @param entityViewSetting The entity view setting to use
+     * @param entityId The id of the entity
+     * @param executor The executor to execute the query on
+     * @param <T> The type of the entity view class
+     * @return The completion stage for the loaded instance of the given entity view type with the id
+     * @since 1.6.12
+     */
+    public <T> CompletionStage<T> findAsync(EntityManagerFactory entityManagerFactory, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId, Executor executor);
+
     /**
      * Creates a reference instance of the entity view class for the given id and returns it.
      *
@@ -343,6 +376,18 @@ public interface EntityViewManager extends ServiceProvider {
      * @since 1.4.0
      */
     public void save(EntityManager entityManager, Object view);
+
+    /**
+     * Saves the entities which the given entity views map to, like {@link #save(EntityManager, Object)} does for every view.
+     * All views are flushed within the same flush context. The update statements of views of the same type that have the same dirty attributes
+     * are executed at the end as one JDBC batch if possible. Every view checks the version of its own entity and a
+     * {@link OptimisticLockException} is thrown if the update count of a statement does not match.
+     *
+     * @param entityManager The entity manager to use for the save
+     * @param views The views to use for saving
+     * @since 1.6.12
+     */
+    public void saveAll(EntityManager entityManager, Iterable<?> views);
     
     /**
      * Fully saves the entity which the given entity view maps to.
@@ -22,9 +22,12 @@ import com.blazebit.persistence.view.change.SingularChangeModel;
 import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * A serializable entity view manager implementation that accesses the actual entity view manager through a static field in the entity view implementation class.
@@ -85,6 +88,16 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         return getEvm().find(entityManager, entityViewSetting, entityId);
     }
 
+    @Override
+    public <T> CompletionStage<T> findAsync(EntityManagerFactory entityManagerFactory, Class<T> entityViewClass, Object entityId, Executor executor) {
+        return getEvm().findAsync(entityManagerFactory, entityViewClass, entityId, executor);
+    }
+
+    @Override
+    public <T> CompletionStage<T> findAsync(EntityManagerFactory entityManagerFactory, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId, Executor executor) {
+        return getEvm().findAsync(entityManagerFactory, entityViewSetting, entityId, executor);
+    }
+
     @Override
     public <T> T getReference(Class<T> entityViewClass, Object id) {
         return getEvm().getReference(entityViewClass, id);
@@ -195,6 +208,11 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         getEvm().save(entityManager, view);
     }
 
+    @Override
+    public void saveAll(EntityManager entityManager, Iterable<?> views) {
+        getEvm().saveAll(entityManager, views);
+    }
+
     @Override
     public void saveFull(EntityManager entityManager, Object view) {
         getEvm().saveFull(entityManager, view);
@@ -65,7 +65,8 @@ public interface DirtyTracker extends BasicDirtyTracker {
     public long[] $$_getDirty();
 
     /**
-     * Returns the dirty bit mask as long.
+     * Returns the dirty bit mask as long. If the object has more than 64 attributes,
+     * only the first 64 attributes are covered, use {@link #$$_getDirty()} for the full mask.
      *
      * @return the dirty bit mask as long
      */
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs independent tasks of the entity view manager bootstrap either on the calling thread or on a fork join pool.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class BootstrapTaskRunner {
+
+    private final int parallelism;
+
+    public BootstrapTaskRunner(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public static BootstrapTaskRunner of(Object parallelism) {
+        if (parallelism == null) {
+            return new BootstrapTaskRunner(1);
+        }
+        try {
+            return new BootstrapTaskRunner(Integer.parseInt(parallelism.toString()));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid bootstrap parallelism: " + parallelism, ex);
+        }
+    }
+
+    /**
+     * Runs the given tasks and waits for their completion.
+     * The first exception that is thrown by a task is rethrown after all tasks finished.
+     * The pool is only alive during this method, so that no threads outlive the bootstrap.
+     *
+     * @param tasks The tasks to run
+     */
+    public void runAll(List<? extends Runnable> tasks) {
+        if (parallelism < 2 || tasks.size() < 2) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, tasks.size()));
+        try {
+            List<ForkJoinTask<?>> futures = new ArrayList<>(tasks.size());
+            for (Runnable task : tasks) {
+                futures.add(pool.submit(task));
+            }
+
+            RuntimeException exception = null;
+            for (ForkJoinTask<?> future : futures) {
+                try {
+                    future.join();
+                } catch (RuntimeException ex) {
+                    if (exception == null) {
+                        exception = ex;
+                    } else {
+                        exception.addSuppressed(ex);
+                    }
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -30,6 +30,8 @@ import com.blazebit.persistence.view.metamodel.ViewType;
 import com.blazebit.persistence.view.spi.EmbeddingViewJpqlMacro;
 import com.blazebit.persistence.view.spi.ViewJpqlMacro;
 
+import javax.persistence.EntityManagerFactory;
+
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,6 +39,7 @@ import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 
 /**
  * @author Christian Beikov
@@ -53,6 +56,11 @@ public final class EntityViewConfiguration {
     private final NavigableSet<String> fetches;
     private final Map<String, Integer> batchSizeConfiguration;
     private final Map<String, BatchCorrelationMode> expectBatchCorrelationValuesConfiguration;
+    private final Map<String, Long> correlationCacheTtlConfiguration;
+    private final Map<String, Integer> correlationCacheMaxSizeConfiguration;
+    private final Map<String, Boolean> adaptiveBatchCorrelationConfiguration;
+    private final Executor batchCorrelationExecutor;
+    private final EntityManagerFactory batchCorrelationEntityManagerFactory;
 
     public EntityViewConfiguration(FullQueryBuilder<?, ?> criteriaBuilder, ExpressionFactory expressionFactory, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Map<String, Object> optionalParameters, Map<String, Object> properties, Collection<String> fetches, String attributePath) {
         this(criteriaBuilder, expressionFactory, viewJpqlMacro, embeddingViewJpqlMacro, optionalParameters, properties, getFetches(fetches, attributePath));
@@ -65,6 +73,11 @@ public final class EntityViewConfiguration {
     private EntityViewConfiguration(FullQueryBuilder<?, ?> criteriaBuilder, ExpressionFactory expressionFactory, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Map<String, Object> optionalParameters, Map<String, Object> properties, NavigableSet<String> fetches) {
         Map<String, Integer> batchSizeConfiguration = new HashMap<String, Integer>(properties.size());
         Map<String, BatchCorrelationMode> expectBatchCorrelationValuesConfiguration = new HashMap<>(properties.size());
+        Map<String, Long> correlationCacheTtlConfiguration = new HashMap<>(properties.size());
+        Map<String, Integer> correlationCacheMaxSizeConfiguration = new HashMap<>(properties.size());
+        Map<String, Boolean> adaptiveBatchCorrelationConfiguration = new HashMap<>(properties.size());
+        Executor batchCorrelationExecutor = null;
+        EntityManagerFactory batchCorrelationEntityManagerFactory = null;
 
         for (Map.Entry<String, Object> entry : properties.entrySet()) {
             String key = entry.getKey();
@@ -98,6 +111,46 @@ public final class EntityViewConfiguration {
                     key = key.substring(ConfigurationProperties.EXPECT_BATCH_MODE.length() + 1);
                     expectBatchCorrelationValuesConfiguration.put(key, value);
                 }
+            } else if (key.startsWith(ConfigurationProperties.CORRELATION_CACHE_TTL)) {
+                Long value = getCorrelationCacheTtl(key, entry.getValue());
+                if (key.length() == ConfigurationProperties.CORRELATION_CACHE_TTL.length()) {
+                    correlationCacheTtlConfiguration.put("", value);
+                } else if (key.length() < ConfigurationProperties.CORRELATION_CACHE_TTL.length() + 2) {
+                    throw new IllegalArgumentException("Invalid correlation cache ttl configuration!");
+                } else {
+                    key = key.substring(ConfigurationProperties.CORRELATION_CACHE_TTL.length() + 1);
+                    correlationCacheTtlConfiguration.put(key, value);
+                }
+            } else if (key.startsWith(ConfigurationProperties.CORRELATION_CACHE_MAX_SIZE)) {
+                Integer value = getCorrelationCacheMaxSize(key, entry.getValue());
+                if (key.length() == ConfigurationProperties.CORRELATION_CACHE_MAX_SIZE.length()) {
+                    correlationCacheMaxSizeConfiguration.put("", value);
+                } else if (key.length() < ConfigurationProperties.CORRELATION_CACHE_MAX_SIZE.length() + 2) {
+                    throw new IllegalArgumentException("Invalid correlation cache max size configuration!");
+                } else {
+                    key = key.substring(ConfigurationProperties.CORRELATION_CACHE_MAX_SIZE.length() + 1);
+                    correlationCacheMaxSizeConfiguration.put(key, value);
+                }
+            } else if (key.startsWith(ConfigurationProperties.ADAPTIVE_BATCH_CORRELATION)) {
+                Boolean value = getAdaptiveBatchCorrelation(key, entry.getValue());
+                if (key.length() == ConfigurationProperties.ADAPTIVE_BATCH_CORRELATION.length()) {
+                    adaptiveBatchCorrelationConfiguration.put("", value);
+                } else if (key.length() < ConfigurationProperties.ADAPTIVE_BATCH_CORRELATION.length() + 2) {
+                    throw new IllegalArgumentException("Invalid adaptive batch correlation configuration!");
+                } else {
+                    key = key.substring(ConfigurationProperties.ADAPTIVE_BATCH_CORRELATION.length() + 1);
+                    adaptiveBatchCorrelationConfiguration.put(key, value);
+                }
+            } else if (ConfigurationProperties.BATCH_CORRELATION_EXECUTOR.equals(key)) {
+                if (!(entry.getValue() instanceof Executor)) {
+                    throw new IllegalArgumentException("Invalid batch correlation executor configuration " + entry.getValue() + " for key: " + key);
+                }
+                batchCorrelationExecutor = (Executor) entry.getValue();
+            } else if (ConfigurationProperties.BATCH_CORRELATION_ENTITY_MANAGER_FACTORY.equals(key)) {
+                if (!(entry.getValue() instanceof EntityManagerFactory)) {
+                    throw new IllegalArgumentException("Invalid batch correlation entity manager factory configuration " + entry.getValue() + " for key: " + key);
+                }
+                batchCorrelationEntityManagerFactory = (EntityManagerFactory) entry.getValue();
             }
         }
 
@@ -109,11 +162,16 @@ public final class EntityViewConfiguration {
         this.fetches = fetches;
         this.batchSizeConfiguration = Collections.unmodifiableMap(batchSizeConfiguration);
         this.expectBatchCorrelationValuesConfiguration = Collections.unmodifiableMap(expectBatchCorrelationValuesConfiguration);
+        this.correlationCacheTtlConfiguration = Collections.unmodifiableMap(correlationCacheTtlConfiguration);
+        this.correlationCacheMaxSizeConfiguration = Collections.unmodifiableMap(correlationCacheMaxSizeConfiguration);
+        this.adaptiveBatchCorrelationConfiguration = Collections.unmodifiableMap(adaptiveBatchCorrelationConfiguration);
+        this.batchCorrelationExecutor = batchCorrelationExecutor;
+        this.batchCorrelationEntityManagerFactory = batchCorrelationEntityManagerFactory;
         this.criteriaBuilder.registerMacro("view", viewJpqlMacro);
         this.criteriaBuilder.registerMacro("embedding_view", embeddingViewJpqlMacro);
     }
 
-    private EntityViewConfiguration(EntityViewConfiguration original, FullQueryBuilder<?, ?> criteriaBuilder, NavigableSet<String> fetches, EmbeddingViewJpqlMacro embeddingViewJpqlMacro) {
+    private EntityViewConfiguration(EntityViewConfiguration original, FullQueryBuilder<?, ?> criteriaBuilder, NavigableSet<String> fetches, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Executor batchCorrelationExecutor) {
         this.criteriaBuilder = criteriaBuilder;
         this.expressionFactory = original.expressionFactory;
         this.viewJpqlMacro = original.viewJpqlMacro;
@@ -122,6 +180,11 @@ public final class EntityViewConfiguration {
         this.fetches = fetches;
         this.batchSizeConfiguration = original.batchSizeConfiguration;
         this.expectBatchCorrelationValuesConfiguration = original.expectBatchCorrelationValuesConfiguration;
+        this.correlationCacheTtlConfiguration = original.correlationCacheTtlConfiguration;
+        this.correlationCacheMaxSizeConfiguration = original.correlationCacheMaxSizeConfiguration;
+        this.adaptiveBatchCorrelationConfiguration = original.adaptiveBatchCorrelationConfiguration;
+        this.batchCorrelationExecutor = batchCorrelationExecutor;
+        this.batchCorrelationEntityManagerFactory = original.batchCorrelationEntityManagerFactory;
     }
 
     private static NavigableSet<String> getFetches(Collection<String> fetches, String attributePath) {
@@ -219,7 +282,18 @@ public final class EntityViewConfiguration {
     }
 
     public EntityViewConfiguration forSubview(FullQueryBuilder<?, ?> criteriaBuilder, String attributePath, EmbeddingViewJpqlMacro embeddingViewJpqlMacro) {
-        return new EntityViewConfiguration(this, criteriaBuilder, getFetches(fetches, attributePath), embeddingViewJpqlMacro);
+        return new EntityViewConfiguration(this, criteriaBuilder, getFetches(fetches, attributePath), embeddingViewJpqlMacro, batchCorrelationExecutor);
+    }
+
+    /**
+     * Returns a copy of this configuration that runs batch correlations on the calling thread.
+     * This is used for the nested correlations of batches that already run on the batch correlation executor.
+     */
+    public EntityViewConfiguration withSequentialBatchCorrelation() {
+        if (batchCorrelationExecutor == null) {
+            return this;
+        }
+        return new EntityViewConfiguration(this, criteriaBuilder, fetches, embeddingViewJpqlMacro, null);
     }
 
     public FullQueryBuilder<?, ?> getCriteriaBuilder() {
@@ -254,6 +328,18 @@ public final class EntityViewConfiguration {
         return embeddingViewJpqlMacro;
     }
 
+    public Executor getBatchCorrelationExecutor() {
+        return batchCorrelationExecutor;
+    }
+
+    public EntityManagerFactory getBatchCorrelationEntityManagerFactory() {
+        return batchCorrelationEntityManagerFactory;
+    }
+
+    public boolean isConcurrentBatchCorrelation() {
+        return batchCorrelationExecutor != null && batchCorrelationEntityManagerFactory != null;
+    }
+
     public int getBatchSize() {
         return getBatchSize("");
     }
@@ -291,6 +377,96 @@ public final class EntityViewConfiguration {
         return val;
     }
 
+    public long getCorrelationCacheTtl(String attributePath) {
+        Long value = correlationCacheTtlConfiguration.get(attributePath);
+        if (value == null) {
+            value = correlationCacheTtlConfiguration.get("");
+        }
+        if (value == null) {
+            return 0L;
+        }
+
+        return value;
+    }
+
+    public int getCorrelationCacheMaxSize(String attributePath) {
+        Integer value = correlationCacheMaxSizeConfiguration.get(attributePath);
+        if (value == null) {
+            value = correlationCacheMaxSizeConfiguration.get("");
+        }
+        if (value == null) {
+            return 1000;
+        }
+
+        return value;
+    }
+
+    private Long getCorrelationCacheTtl(String key, Object value) {
+        Long val = null;
+        if (value instanceof Number) {
+            val = ((Number) value).longValue();
+        } else if (value instanceof String) {
+            val = Long.parseLong(value.toString());
+        }
+
+        if (val == null) {
+            throw new IllegalArgumentException("Invalid correlation cache ttl configuration for key: " + key);
+        } else if (val < 0) {
+            throw new IllegalArgumentException("Invalid correlation cache ttl configuration " + val + " for key: " + key);
+        }
+
+        return val;
+    }
+
+    private Integer getCorrelationCacheMaxSize(String key, Object value) {
+        Integer val = null;
+        if (value instanceof Integer) {
+            val = (Integer) value;
+        } else if (value instanceof String) {
+            val = Integer.parseInt(value.toString());
+        }
+
+        if (val == null) {
+            throw new IllegalArgumentException("Invalid correlation cache max size configuration for key: " + key);
+        } else if (val < 1) {
+            throw new IllegalArgumentException("Invalid correlation cache max size configuration " + val + " for key: " + key);
+        }
+
+        return val;
+    }
+
+    public boolean isAdaptiveBatchCorrelation(String attributePath) {
+        Boolean value = adaptiveBatchCorrelationConfiguration.get(attributePath);
+        if (value == null) {
+            value = adaptiveBatchCorrelationConfiguration.get("");
+        }
+        if (value == null) {
+            return false;
+        }
+
+        return value;
+    }
+
+    private Boolean getAdaptiveBatchCorrelation(String key, Object value) {
+        Boolean val = null;
+        if (value instanceof Boolean) {
+            val = (Boolean) value;
+        } else if (value instanceof String) {
+            String s = (String) value;
+            if ("true".equalsIgnoreCase(s)) {
+                val = Boolean.TRUE;
+            } else if ("false".equalsIgnoreCase(s)) {
+                val = Boolean.FALSE;
+            }
+        }
+
+        if (val == null) {
+            throw new IllegalArgumentException("Invalid adaptive batch correlation configuration for key: " + key);
+        }
+
+        return val;
+    }
+
     public BatchCorrelationMode getExpectBatchCorrelationValues() {
         return getExpectBatchCorrelationValues("");
     }
@@ -300,7 +476,7 @@ public final class EntityViewConfiguration {
         return getExpectBatchCorrelationValues(attributePath, BatchCorrelationMode.VALUES);
     }
 
-    private BatchCorrelationMode getExpectBatchCorrelationValues(String attributePath, BatchCorrelationMode defaultValue) {
+    public BatchCorrelationMode getExpectBatchCorrelationValues(String attributePath, BatchCorrelationMode defaultValue) {
         BatchCorrelationMode value = expectBatchCorrelationValuesConfiguration.get(attributePath);
         if (value == null) {
             value = expectBatchCorrelationValuesConfiguration.get("");
@@ -91,6 +91,7 @@ import com.blazebit.persistence.view.impl.filter.StartsWithIgnoreCaseFilterImpl;
 import com.blazebit.persistence.view.impl.macro.DefaultViewRootJpqlMacro;
 import com.blazebit.persistence.view.impl.mapper.ConvertOperationBuilderImpl;
 import com.blazebit.persistence.view.impl.mapper.ViewMapper;
+import com.blazebit.persistence.view.impl.metamodel.AbstractAttribute;
 import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ConstrainedAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImpl;
@@ -102,6 +103,9 @@ import com.blazebit.persistence.view.impl.metamodel.ViewMetamodelImpl;
 import com.blazebit.persistence.view.impl.metamodel.ViewTypeImpl;
 import com.blazebit.persistence.view.impl.objectbuilder.ContainerAccumulator;
 import com.blazebit.persistence.view.impl.objectbuilder.ViewTypeObjectBuilderTemplate;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.BatchCorrelationStatistics;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelationResultCache;
+import com.blazebit.persistence.view.impl.proxy.ProxyBytecodeCache;
 import com.blazebit.persistence.view.impl.proxy.ProxyFactory;
 import com.blazebit.persistence.view.impl.type.DefaultBasicUserTypeRegistry;
 import com.blazebit.persistence.view.impl.update.DefaultUpdateContext;
@@ -137,12 +141,14 @@ import com.blazebit.persistence.view.metamodel.ViewType;
 import com.blazebit.persistence.view.spi.EmbeddingViewJpqlMacro;
 import com.blazebit.persistence.view.spi.TransactionSupport;
 import com.blazebit.persistence.view.spi.ViewJpqlMacro;
+import com.blazebit.persistence.view.spi.type.BasicUserType;
 import com.blazebit.persistence.view.spi.type.DirtyStateTrackable;
 import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 import com.blazebit.reflection.ReflectionUtils;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.ManagedType;
 import javax.persistence.metamodel.Metamodel;
@@ -152,6 +158,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -160,8 +167,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  *
@@ -197,6 +209,8 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final Map<String, Object> optionalParameters;
     private final boolean supportsTransientReference;
     private final ConcurrentMap<ViewTypeObjectBuilderTemplate.Key, ViewTypeObjectBuilderTemplate<?>> objectBuilderCache;
+    private final ConcurrentMap<AbstractAttribute<?, ?>, CorrelationResultCache> correlationResultCaches;
+    private final ConcurrentMap<List<Object>, BatchCorrelationStatistics> batchCorrelationStatistics;
     private final ConcurrentMap<ManagedViewType<?>, EntityViewUpdaterImpl> entityViewUpdaterCache;
     private final ConcurrentMap<ContextAwareUpdaterKey, EntityViewUpdaterImpl> contextAwareEntityViewUpdaterCache;
     private final ConcurrentMap<ViewMapper.Key<?, ?>, ViewMapper<?, ?>> entityViewMappers;
@@ -223,7 +237,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         this.entityIdAccessor = new EntityIdAttributeAccessor(jpaProvider);
         this.unsafeDisabled = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED)));
         this.strictCascadingCheck = Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK)));
-        this.proxyFactory = new ProxyFactory(unsafeDisabled, strictCascadingCheck, packageOpener);
+        this.proxyFactory = new ProxyFactory(unsafeDisabled, strictCascadingCheck, packageOpener, createProxyBytecodeCache(config, entityMetamodel));
         this.transactionSupport = config.getTransactionSupport();
         this.optionalParameters = Collections.unmodifiableMap(new HashMap<>(config.getOptionalParameters()));
         this.serializableDelegates = new ClassValue<EntityViewManager>() {
@@ -242,6 +256,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         boolean scanStaticBuilder = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.STATIC_BUILDER_SCANNING_DISABLED)));
         boolean scanStaticImplementations = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.STATIC_IMPLEMENTATION_SCANNING_DISABLED)));
         boolean scanStaticMetamodels = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.STATIC_METAMODEL_SCANNING_DISABLED)));
+        BootstrapTaskRunner taskRunner = BootstrapTaskRunner.of(config.getProperty(ConfigurationProperties.BOOTSTRAP_PARALLELISM));
 
         Set<String> errors = config.getBootContext().getErrors();
         Map<String, JpqlFunction> functions = cbf.getRegisteredFunctions();
@@ -250,7 +265,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
             registeredFunctions.put(entry.getKey().toLowerCase(), entry.getValue());
         }
 
-        MetamodelBuildingContext context = new MetamodelBuildingContextImpl(
+        final MetamodelBuildingContext context = new MetamodelBuildingContextImpl(
                 config.getProperties(),
                 new DefaultBasicUserTypeRegistry(config.getUserTypeRegistry(), cbf),
                 entityMetamodel,
@@ -268,7 +283,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         Map<Class<?>, Object> typeTestValues = config.getTypeTestValues();
 
         try {
-            viewMetamodel = new ViewMetamodelImpl(entityMetamodel, context, typeTestValues, validateManagedTypes, validateExpressions);
+            viewMetamodel = new ViewMetamodelImpl(entityMetamodel, context, typeTestValues, validateManagedTypes, validateExpressions, taskRunner);
         } catch (RuntimeException ex) {
             exception = ex;
         }
@@ -290,6 +305,8 @@ public class EntityViewManagerImpl implements EntityViewManager {
         this.metamodel = viewMetamodel;
         this.supportsTransientReference = jpaProvider.supportsTransientEntityAsParameter();
         this.objectBuilderCache = new ConcurrentHashMap<>();
+        this.correlationResultCaches = new ConcurrentHashMap<>();
+        this.batchCorrelationStatistics = new ConcurrentHashMap<>();
         this.entityViewUpdaterCache = new ConcurrentHashMap<>();
         this.contextAwareEntityViewUpdaterCache = new ConcurrentHashMap<>();
         this.entityViewMappers = new ConcurrentHashMap<>();
@@ -433,31 +450,89 @@ public class EntityViewManagerImpl implements EntityViewManager {
 
         this.listeners = listeners;
 
+        // The caches for templates, proxies and updaters are thread safe, so eager loading can fan out over the views
+        // Subviews that are shared between views are generated only once as the proxy generation is serialized
+        List<Runnable> eagerLoadingTasks = new ArrayList<>();
         if (Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.TEMPLATE_EAGER_LOADING)))) {
-            for (ViewTypeImpl<?> view : metamodel.views()) {
-                // TODO: Might be a good idea to let the view root be overridden or specified via the annotation
-                String probableViewRoot = StringUtils.firstToLower(view.getEntityClass().getSimpleName());
-                MacroConfigurationExpressionFactory macroAwareExpressionFactory = context.createMacroAwareExpressionFactory(probableViewRoot);
-                ViewJpqlMacro viewJpqlMacro = (ViewJpqlMacro) macroAwareExpressionFactory.getDefaultMacroConfiguration().get("VIEW").getState()[0];
-                EmbeddingViewJpqlMacro embeddingViewJpqlMacro = (EmbeddingViewJpqlMacro) macroAwareExpressionFactory.getDefaultMacroConfiguration().get("EMBEDDING_VIEW").getState()[0];
-                getTemplate(macroAwareExpressionFactory, view, null, null, viewJpqlMacro, null, embeddingViewJpqlMacro);
-
-                for (MappingConstructor<?> constructor : view.getConstructors()) {
-                    getTemplate(macroAwareExpressionFactory, view, (MappingConstructorImpl) constructor, null, viewJpqlMacro, null, embeddingViewJpqlMacro);
-                }
+            for (final ViewTypeImpl<?> view : metamodel.views()) {
+                eagerLoadingTasks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        // TODO: Might be a good idea to let the view root be overridden or specified via the annotation
+                        String probableViewRoot = StringUtils.firstToLower(view.getEntityClass().getSimpleName());
+                        MacroConfigurationExpressionFactory macroAwareExpressionFactory = context.createMacroAwareExpressionFactory(probableViewRoot);
+                        ViewJpqlMacro viewJpqlMacro = (ViewJpqlMacro) macroAwareExpressionFactory.getDefaultMacroConfiguration().get("VIEW").getState()[0];
+                        EmbeddingViewJpqlMacro embeddingViewJpqlMacro = (EmbeddingViewJpqlMacro) macroAwareExpressionFactory.getDefaultMacroConfiguration().get("EMBEDDING_VIEW").getState()[0];
+                        getTemplate(macroAwareExpressionFactory, view, null, null, viewJpqlMacro, null, embeddingViewJpqlMacro);
+
+                        for (MappingConstructor<?> constructor : view.getConstructors()) {
+                            getTemplate(macroAwareExpressionFactory, view, (MappingConstructorImpl) constructor, null, viewJpqlMacro, null, embeddingViewJpqlMacro);
+                        }
+                    }
+                });
             }
         } else if (Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.PROXY_EAGER_LOADING)))) {
             // Loading template will always involve also loading the proxies, so we use else if
-            for (ViewType<?> view : metamodel.getViews()) {
-                proxyFactory.getProxy(this, (ManagedViewTypeImplementor<Object>) view);
+            for (final ViewType<?> view : metamodel.getViews()) {
+                eagerLoadingTasks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        proxyFactory.getProxy(EntityViewManagerImpl.this, (ManagedViewTypeImplementor<Object>) view);
+                    }
+                });
             }
         }
 
         if (Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.UPDATER_EAGER_LOADING)))) {
-            for (ManagedViewType<?> view : metamodel.getViews()) {
-                getUpdater(null, (ManagedViewTypeImplementor<?>) view, null, null, null);
+            for (final ManagedViewType<?> view : metamodel.getViews()) {
+                eagerLoadingTasks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        getUpdater(null, (ManagedViewTypeImplementor<?>) view, null, null, null);
+                    }
+                });
             }
         }
+        taskRunner.runAll(eagerLoadingTasks);
+    }
+
+    private ProxyBytecodeCache createProxyBytecodeCache(EntityViewConfigurationImpl config, EntityMetamodel entityMetamodel) {
+        Object directory = config.getProperty(ConfigurationProperties.PROXY_CACHE_DIRECTORY);
+        if (directory == null) {
+            return null;
+        }
+        // The generated proxies depend on the entity view classes, the entity classes and the proxy relevant configuration
+        List<Class<?>> classes = new ArrayList<>(config.getBootContext().getViewMappingMap().keySet());
+        StringBuilder settings = new StringBuilder();
+        settings.append("unsafeDisabled=").append(unsafeDisabled).append(";strictCascadingCheck=").append(strictCascadingCheck);
+        // The mutability of basic types decides about dirty tracking, so registered user types must be part of the fingerprint
+        TreeMap<String, BasicUserType<?>> basicUserTypes = new TreeMap<>();
+        for (Map.Entry<Class<?>, BasicUserType<?>> entry : config.getUserTypeRegistry().getBasicUserTypes().entrySet()) {
+            basicUserTypes.put(entry.getKey().getName(), entry.getValue());
+        }
+        for (Map.Entry<String, BasicUserType<?>> entry : basicUserTypes.entrySet()) {
+            settings.append(';').append(entry.getKey()).append('=').append(entry.getValue().getClass().getName()).append(':').append(entry.getValue().isMutable());
+        }
+        // Mappings defined in orm.xml aren't visible in the entity class files, so we also describe the JPA metamodel
+        TreeMap<String, ManagedType<?>> managedTypes = new TreeMap<>();
+        for (ManagedType<?> managedType : entityMetamodel.getManagedTypes()) {
+            if (managedType.getJavaType() != null) {
+                classes.add(managedType.getJavaType());
+                managedTypes.put(managedType.getJavaType().getName(), managedType);
+            }
+        }
+        for (Map.Entry<String, ManagedType<?>> entry : managedTypes.entrySet()) {
+            settings.append(';').append(entry.getKey()).append('[');
+            TreeMap<String, javax.persistence.metamodel.Attribute<?, ?>> attributes = new TreeMap<>();
+            for (javax.persistence.metamodel.Attribute<?, ?> attribute : entry.getValue().getAttributes()) {
+                attributes.put(attribute.getName(), attribute);
+            }
+            for (javax.persistence.metamodel.Attribute<?, ?> attribute : attributes.values()) {
+                settings.append(attribute.getName()).append(':').append(attribute.getPersistentAttributeType()).append(':').append(attribute.getJavaType().getName()).append(',');
+            }
+            settings.append(']');
+        }
+        return ProxyBytecodeCache.of(directory, classes, settings.toString());
     }
 
     private static String getMetamodelClassName(Class<?> javaType) {
@@ -797,13 +872,38 @@ public class EntityViewManagerImpl implements EntityViewManager {
 
     @Override
     public <T> T find(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId) {
+        List<T> resultList = createFindCriteriaBuilder(entityManager, entityViewSetting, entityId).getResultList();
+        return resultList.isEmpty() ? null : resultList.get(0);
+    }
+
+    @Override
+    public <T> CompletionStage<T> findAsync(EntityManagerFactory entityManagerFactory, Class<T> entityViewClass, Object entityId, Executor executor) {
+        return findAsync(entityManagerFactory, EntityViewSetting.create(entityViewClass), entityId, executor);
+    }
+
+    @Override
+    public <T> CompletionStage<T> findAsync(final EntityManagerFactory entityManagerFactory, final EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, final Object entityId, Executor executor) {
+        return CompletableFuture.supplyAsync(new Supplier<T>() {
+            @Override
+            public T get() {
+                // Entity managers must not be shared between threads, so the query runs on an entity manager owned by this task
+                EntityManager entityManager = entityManagerFactory.createEntityManager();
+                try {
+                    return find(entityManager, entityViewSetting, entityId);
+                } finally {
+                    entityManager.close();
+                }
+            }
+        }, executor);
+    }
+
+    private <T> CriteriaBuilder<T> createFindCriteriaBuilder(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId) {
         ViewTypeImpl<T> managedViewType = metamodel.viewOrError(entityViewSetting.getEntityViewClass());
         EntityType<?> entityType = (EntityType<?>) managedViewType.getJpaManagedType();
         javax.persistence.metamodel.SingularAttribute<?, ?> idAttribute = JpaMetamodelUtils.getSingleIdAttribute(entityType);
         CriteriaBuilder<?> cb = cbf.create(entityManager, managedViewType.getEntityClass())
                 .where(idAttribute.getName()).eq(entityId);
-        List<T> resultList = applySetting(entityViewSetting, cb).getResultList();
-        return resultList.isEmpty() ? null : resultList.get(0);
+        return applySetting(entityViewSetting, cb);
     }
 
     @Override
@@ -1070,6 +1170,22 @@ public class EntityViewManagerImpl implements EntityViewManager {
         update(em, view, false);
     }
 
+    @Override
+    public void saveAll(EntityManager em, Iterable<?> views) {
+        DefaultUpdateContext context = new DefaultUpdateContext(this, em, false, false, false, null, null, null, true);
+        for (Object view : views) {
+            // Every view checks the versions of its own entities
+            context.clearVersionChecks();
+            update(context, view);
+        }
+        try {
+            context.executeBatchedUpdates();
+        } catch (Throwable t) {
+            context.getTransactionAccess().markRollbackOnly();
+            ExceptionUtils.doThrow(t);
+        }
+    }
+
     @Override
     public void saveFull(EntityManager em, Object view) {
         update(em, view, true);
@@ -1392,6 +1508,38 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return value;
     }
 
+    public CorrelationResultCache getCorrelationResultCache(AbstractAttribute<?, ?> attribute) {
+        CorrelationResultCache cache = correlationResultCaches.get(attribute);
+
+        if (cache == null) {
+            cache = new CorrelationResultCache();
+            CorrelationResultCache oldCache = correlationResultCaches.putIfAbsent(attribute, cache);
+
+            if (oldCache != null) {
+                cache = oldCache;
+            }
+        }
+
+        return cache;
+    }
+
+    public BatchCorrelationStatistics getBatchCorrelationStatistics(ManagedViewTypeImplementor<?> viewRoot, String attributePath) {
+        // The same attribute might be correlated for different keys when it is reachable through different paths
+        List<Object> key = Arrays.<Object>asList(viewRoot, attributePath);
+        BatchCorrelationStatistics statistics = batchCorrelationStatistics.get(key);
+
+        if (statistics == null) {
+            statistics = new BatchCorrelationStatistics();
+            BatchCorrelationStatistics oldStatistics = batchCorrelationStatistics.putIfAbsent(key, statistics);
+
+            if (oldStatistics != null) {
+                statistics = oldStatistics;
+            }
+        }
+
+        return statistics;
+    }
+
     public void addUpdater(Map<Object, EntityViewUpdaterImpl> localCache, ManagedViewTypeImplementor<?> viewType, ManagedViewTypeImplementor<?> declaredViewType, EntityViewUpdaterImpl owner, String ownerMapping, EntityViewUpdaterImpl updater) {
         if (declaredViewType != null && declaredViewType != viewType || owner != null) {
             ContextAwareUpdaterKey key = new ContextAwareUpdaterKey(viewType, declaredViewType, owner, ownerMapping);
@@ -211,6 +211,20 @@ public final class EntityViewSettingHelper {
                 if (boundedCount != null) {
                     builder.withBoundedCount(boundedCount);
                 }
+                Long estimatedCountThreshold = null;
+                o = properties.get(ConfigurationProperties.PAGINATION_ESTIMATED_COUNT_THRESHOLD);
+                if (o != null) {
+                    if (o instanceof Integer || o instanceof Long) {
+                        estimatedCountThreshold = ((Number) o).longValue();
+                    } else if (o instanceof String) {
+                        estimatedCountThreshold = Long.parseLong((String) o);
+                    } else {
+                        throw new IllegalArgumentException("Invalid value of type " + o.getClass().getName() + " given for the long property: " + ConfigurationProperties.PAGINATION_ESTIMATED_COUNT_THRESHOLD);
+                    }
+                }
+                if (estimatedCountThreshold != null) {
+                    builder.withEstimatedCount(estimatedCountThreshold);
+                }
             }
             Integer highestKeyOffset = null;
             Object o = properties.get(ConfigurationProperties.PAGINATION_HIGHEST_KEYSET_OFFSET);
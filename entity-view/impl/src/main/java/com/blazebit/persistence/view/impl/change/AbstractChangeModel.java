@@ -481,7 +481,6 @@ public abstract class AbstractChangeModel<C, E> implements ChangeModel<C> {
             return Collections.emptyList();
         }
 
-        long dirty = object.$$_getSimpleDirty();
         Object[] initialState = object.$$_getInitialState();
         Object[] dirtyState = object.$$_getMutableState();
         @SuppressWarnings("unchecked")
@@ -489,8 +488,7 @@ public abstract class AbstractChangeModel<C, E> implements ChangeModel<C> {
         List<ChangeModel<?>> list = new ArrayList<>();
 
         for (int i = 0; i < dirtyState.length; i++) {
-            long mask = 1L << i;
-            if ((dirty & mask) != 0) {
+            if (object.$$_isDirty(i)) {
                 if (nestedCheckers[i].getDirtyKind(initialState[i], dirtyState[i]) != DirtyChecker.DirtyKind.NONE) {
                     list.add(getChangeModel(initialState[i], dirtyState[i], elementType.getMutableAttribute(i), nestedCheckers[i]));
                 }
@@ -626,12 +626,17 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
 
     @Override
     public void addError(String error) {
-        errors.add(error);
+        // Expressions might be validated concurrently during a parallel bootstrap
+        synchronized (errors) {
+            errors.add(error);
+        }
     }
 
     @Override
     public boolean hasErrors() {
-        return !errors.isEmpty();
+        synchronized (errors) {
+            return !errors.isEmpty();
+        }
     }
 
     @Override
@@ -19,6 +19,7 @@ package com.blazebit.persistence.view.impl.metamodel;
 import com.blazebit.persistence.parser.EntityMetamodel;
 import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
 import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.impl.BootstrapTaskRunner;
 import com.blazebit.persistence.view.impl.type.BasicUserTypeRegistry;
 import com.blazebit.persistence.view.metamodel.FlatViewType;
 import com.blazebit.persistence.view.metamodel.ManagedViewType;
@@ -63,7 +64,7 @@ public class ViewMetamodelImpl implements ViewMetamodel {
     private final Map<Class<?>, FlatViewTypeImpl<?>> flatViews;
     private final Map<Class<?>, ManagedViewTypeImplementor<?>> managedViews;
 
-    public ViewMetamodelImpl(EntityMetamodel entityMetamodel, MetamodelBuildingContext context, Map<Class<?>, Object> typeTestValues, boolean validateManagedTypes, boolean validateExpressions) {
+    public ViewMetamodelImpl(EntityMetamodel entityMetamodel, final MetamodelBuildingContext context, Map<Class<?>, Object> typeTestValues, boolean validateManagedTypes, boolean validateExpressions, BootstrapTaskRunner taskRunner) {
         this.metamodel = entityMetamodel;
         this.basicUserTypeRegistry = context.getBasicUserTypeRegistry();
 
@@ -102,11 +103,18 @@ public class ViewMetamodelImpl implements ViewMetamodel {
         // Phase 4: Validate expressions against the entity model
         if (!context.hasErrors()) {
             if (validateExpressions) {
-                List<AbstractAttribute<?, ?>> parents = new ArrayList<>();
-                for (ManagedViewTypeImplementor<?> t : managedViews.values()) {
-                    t.checkAttributes(context);
-                    t.checkNestedAttributes(parents, context, false);
+                // The validation of a view type only reads the metamodel, so the view types can be validated independently
+                List<Runnable> tasks = new ArrayList<>(managedViews.size());
+                for (final ManagedViewTypeImplementor<?> t : managedViews.values()) {
+                    tasks.add(new Runnable() {
+                        @Override
+                        public void run() {
+                            t.checkAttributes(context);
+                            t.checkNestedAttributes(new ArrayList<AbstractAttribute<?, ?>>(), context, false);
+                        }
+                    });
                 }
+                taskRunner.runAll(tasks);
             }
         }
 
@@ -19,6 +19,7 @@ package com.blazebit.persistence.view.impl.objectbuilder;
 import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.ParameterHolder;
 import com.blazebit.persistence.SelectBuilder;
+import com.blazebit.persistence.impl.builder.object.GroupingObjectBuilder;
 import com.blazebit.persistence.view.impl.EntityViewConfiguration;
 import com.blazebit.persistence.view.impl.objectbuilder.transformator.TupleTransformator;
 import com.blazebit.persistence.view.impl.objectbuilder.transformator.TupleTransformatorFactory;
@@ -28,18 +29,23 @@ import java.util.List;
 import java.util.Map;
 
 /**
+ * Builds the result objects from the whole tuple list, since the tuples for collection elements have to be aggregated.
+ * When streaming, adjacent tuples with the same view id are transformed as a group.
+ * Multiple groups are transformed together according to the batch size of the list transformers, so that batch correlations are still batched.
  *
  * @author Christian Beikov
  * @since 1.6.4
  */
-public class ChainingCollectionObjectBuilder<T> implements ObjectBuilder<T> {
+public class ChainingCollectionObjectBuilder<T> implements GroupingObjectBuilder<T> {
 
     private final TupleTransformator transformator;
     private final ObjectBuilder<T> objectBuilder;
+    private final int[] idPositions;
 
-    public ChainingCollectionObjectBuilder(TupleTransformatorFactory transformatorFactory, ObjectBuilder<T> objectBuilder, ParameterHolder<?> parameterHolder, Map<String, Object> optionalParameters, EntityViewConfiguration entityViewConfiguration) {
+    public ChainingCollectionObjectBuilder(TupleTransformatorFactory transformatorFactory, ObjectBuilder<T> objectBuilder, int[] idPositions, ParameterHolder<?> parameterHolder, Map<String, Object> optionalParameters, EntityViewConfiguration entityViewConfiguration) {
         this.transformator = transformatorFactory.create(parameterHolder, optionalParameters, entityViewConfiguration);
         this.objectBuilder = objectBuilder;
+        this.idPositions = idPositions;
     }
 
     @Override
@@ -53,6 +59,16 @@ public class ChainingCollectionObjectBuilder<T> implements ObjectBuilder<T> {
         return (T) tuple;
     }
 
+    @Override
+    public Object getGroupKey(Object[] tuple) {
+        return new TupleId(idPositions, tuple);
+    }
+
+    @Override
+    public int getGroupBatchSize() {
+        return transformator.getBatchSize();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<T> buildList(List<T> list) {
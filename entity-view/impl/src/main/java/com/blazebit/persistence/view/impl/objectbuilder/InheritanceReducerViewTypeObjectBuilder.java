@@ -39,26 +39,27 @@ public class InheritanceReducerViewTypeObjectBuilder<T> extends ReducerViewTypeO
     }
 
     @Override
-    protected T buildObject(Object[] originalTuple, Object[] tuple) {
+    protected T buildObject(Object[] originalTuple, Object[] tuple, int offset, int length) {
         // Cast to Number instead of integer since datanucleus will return a Long
         Number index = (Number) originalTuple[subtypeDiscriminatorIndex];
         if (index == null) {
             return null;
         } else {
             if (hasId) {
-                if (tuple[0] == null) {
+                if (tuple[offset] == null) {
                     return null;
                 }
             } else if (nullIfEmpty) {
-                for (int i = 0; i < tuple.length; i++) {
+                int end = offset + length;
+                for (int i = offset; i < end; i++) {
                     if (tuple[i] != null) {
-                        return subtypeInstantiators[index.intValue()].newInstance(tuple);
+                        return subtypeInstantiators[index.intValue()].newInstance(tuple, offset, length);
                     }
                 }
 
                 return null;
             }
-            return subtypeInstantiators[index.intValue()].newInstance(tuple);
+            return subtypeInstantiators[index.intValue()].newInstance(tuple, offset, length);
         }
     }
 }
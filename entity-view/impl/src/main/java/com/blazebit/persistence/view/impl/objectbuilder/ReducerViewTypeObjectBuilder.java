@@ -16,11 +16,10 @@
 
 package com.blazebit.persistence.view.impl.objectbuilder;
 
-import java.util.Arrays;
-
-import com.blazebit.persistence.ObjectBuilder;
-
 /**
+ * Builds an object from the range of a tuple that belongs to a view type. Elements of that range that were
+ * consumed by subviews are skipped. If no element was consumed, the delegate reads the range directly from the tuple,
+ * otherwise the remaining elements are compacted into an array that is reused for every tuple.
  *
  * @author Christian Beikov
  * @since 1.0.0
@@ -31,29 +30,41 @@ public class ReducerViewTypeObjectBuilder<T> extends DelegatingObjectBuilder<T>
     private final int suffix;
     private final int length;
     private final boolean keepTuplePrefix;
-    private final FastArrayList newTuple;
+    private final Object[] newTuple;
 
-    public ReducerViewTypeObjectBuilder(ObjectBuilder<T> delegate, int start, int suffix, int length, boolean keepTuplePrefix) {
+    public ReducerViewTypeObjectBuilder(ViewTypeObjectBuilder<T> delegate, int start, int suffix, int length, boolean keepTuplePrefix) {
         super(delegate);
         this.start = start;
         this.suffix = suffix;
         this.length = length;
         this.keepTuplePrefix = keepTuplePrefix;
-        this.newTuple = new FastArrayList(length);
+        this.newTuple = new Object[length];
     }
 
     @Override
     public T build(Object[] tuple) {
-        newTuple.clear();
-        for (int i = start; i < start + length; i++) {
-            if (tuple[i] != TupleReuse.CONSUMED) {
-                newTuple.add(tuple[i]);
+        int end = start + length;
+        int consumedIndex = start;
+        while (consumedIndex < end && tuple[consumedIndex] != TupleReuse.CONSUMED) {
+            consumedIndex++;
+        }
+
+        T result;
+        if (consumedIndex == end) {
+            result = buildObject(tuple, tuple, start, length);
+        } else {
+            // We can reuse the array here because we know that the only possible delegate
+            // is the ViewTypeObjectBuilder which consumes the elements of the array
+            int size = consumedIndex - start;
+            System.arraycopy(tuple, start, newTuple, 0, size);
+            for (int i = consumedIndex + 1; i < end; i++) {
+                if (tuple[i] != TupleReuse.CONSUMED) {
+                    newTuple[size++] = tuple[i];
+                }
             }
+            result = buildObject(tuple, newTuple, 0, size);
         }
 
-        // We can return the actual array here because we know that the only possible delegate
-        // is the ViewTypeObjectBuilder which consumes the elements of the array
-        T result = buildObject(tuple, newTuple.getArray());
         if (keepTuplePrefix) {
             // Create a new array and put in the prefix parts as well as the result into it
             Object[] tupleWithPrefix = new Object[start + suffix + 1];
@@ -66,87 +77,7 @@ public class ReducerViewTypeObjectBuilder<T> extends DelegatingObjectBuilder<T>
         return result;
     }
 
-    protected T buildObject(Object[] originalTuple, Object[] tuple) {
-        return delegate.build(tuple);
-    }
-
-    /**
-     * @author Christian Beikov
-     * @since 1.0.0
-     */
-    private static class FastArrayList {
-
-        /**
-         * The maximum size of array to allocate.
-         * Some VMs reserve some header words in an array.
-         * Attempts to allocate larger arrays may result in
-         * OutOfMemoryError: Requested array size exceeds VM limit
-         */
-        private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
-
-        private Object[] array;
-        private int size;
-
-        public FastArrayList(int initialSize) {
-            this.size = 0;
-            this.array = new Object[initialSize];
-        }
-
-        public void clear() {
-            size = 0;
-        }
-
-        public Object[] getArray() {
-            if (array.length == size) {
-                return array;
-            }
-
-            array = Arrays.copyOf(array, size);
-            return array;
-        }
-
-        public void add(Object value) {
-            if (size < array.length) {
-                array[size] = value;
-            } else {
-                grow(size + 1);
-                array[size] = value;
-            }
-
-            size++;
-        }
-
-        /*
-         * The following is copied from java.util.ArrayList
-         */
-
-        /**
-         * Increases the capacity to ensure that it can hold at least the
-         * number of elements specified by the minimum capacity argument.
-         *
-         * @param minCapacity the desired minimum capacity
-         */
-        private void grow(int minCapacity) {
-            // overflow-conscious code
-            int oldCapacity = array.length;
-            int newCapacity = oldCapacity + (oldCapacity >> 1);
-            if (newCapacity - minCapacity < 0) {
-                newCapacity = minCapacity;
-            }
-            if (newCapacity - MAX_ARRAY_SIZE > 0) {
-                newCapacity = hugeCapacity(minCapacity);
-            }
-            // minCapacity is usually close to size, so this is a win:
-            array = Arrays.copyOf(array, newCapacity);
-        }
-
-        private static int hugeCapacity(int minCapacity) {
-            if (minCapacity < 0) { // overflow
-                throw new OutOfMemoryError();
-            }
-            return (minCapacity > MAX_ARRAY_SIZE)
-                    ? Integer.MAX_VALUE
-                    : MAX_ARRAY_SIZE;
-        }
+    protected T buildObject(Object[] originalTuple, Object[] tuple, int offset, int length) {
+        return ((ViewTypeObjectBuilder<T>) delegate).build(tuple, offset, length);
     }
 }
@@ -22,16 +22,20 @@ import com.blazebit.persistence.view.impl.collection.RecordingMap;
 import java.util.Arrays;
 
 /**
+ * The id of an object within a tuple. An id created through {@link #TupleId(int[])} is a view on the tuple set via
+ * {@link #reset(Object[])} that can be reused for lookups. Ids that are retained must be created via {@link #copy()}.
  *
  * @author Christian Beikov
  * @since 1.0.0
  */
 public class TupleId {
 
-    private final Object[] id;
+    // null if the values are the id elements
+    private final int[] idPositions;
+    private Object[] values;
 
     public TupleId(int[] idPositions, Object[] tuple) {
-        id = new Object[idPositions.length];
+        Object[] id = new Object[idPositions.length];
         for (int i = 0; i < idPositions.length; i++) {
             int idPosition = idPositions[i];
             if (idPosition < 0) {
@@ -40,11 +44,67 @@ public class TupleId {
                 id[i] = tuple[idPosition];
             }
         }
+        this.idPositions = null;
+        this.values = id;
+    }
+
+    /**
+     * Creates a reusable view for the id elements at the given positions of a tuple.
+     *
+     * @param idPositions The positions of the id elements
+     * @since 1.6.12
+     */
+    public TupleId(int[] idPositions) {
+        this.idPositions = idPositions;
+    }
+
+    /**
+     * Sets the tuple this view reads the id elements from.
+     *
+     * @param tuple The tuple
+     * @return this
+     * @since 1.6.12
+     */
+    public TupleId reset(Object[] tuple) {
+        if (idPositions == null) {
+            throw new IllegalStateException("Can't reset a copied tuple id!");
+        }
+        this.values = tuple;
+        return this;
+    }
+
+    /**
+     * Returns a tuple id that holds the current id elements and is thus independent of the tuple.
+     *
+     * @return a copy of this tuple id
+     * @since 1.6.12
+     */
+    public TupleId copy() {
+        if (idPositions == null) {
+            return this;
+        }
+        return new TupleId(idPositions, values);
+    }
+
+    private int size() {
+        return idPositions == null ? values.length : idPositions.length;
+    }
+
+    private Object get(int index) {
+        if (idPositions == null) {
+            return values[index];
+        }
+        int idPosition = idPositions[index];
+        if (idPosition < 0) {
+            return idPosition;
+        }
+        return values[idPosition];
     }
 
     public boolean isEmpty() {
-        for (int i = 0; i < id.length; i++) {
-            if (id[i] != null) {
+        int length = size();
+        for (int i = 0; i < length; i++) {
+            if (get(i) != null) {
                 return false;
             }
         }
@@ -57,10 +117,9 @@ public class TupleId {
         int result = 1;
         // Special handling for RecordingCollection and RecordingMap to avoid full equality checks
         // We de-duplicate these objects by owner anyway, so no need to do a deep hashCode or equals check
-        Object[] a = id;
-        int length = a.length;
+        int length = size();
         for (int i = 0; i < length; i++) {
-            Object element = a[i];
+            Object element = get(i);
             int elementHash = 0;
             if (element instanceof Object[]) {
                 elementHash = Arrays.deepHashCode((Object[]) element);
@@ -103,22 +162,19 @@ public class TupleId {
             return false;
         }
         final TupleId other = (TupleId) obj;
-        Object[] a1 = id;
-        Object[] a2 = other.id;
-
-        if (a1 == a2) {
+        if (this == other) {
             return true;
         }
-        int length = a1.length;
-        if (a2.length != length) {
+        int length = size();
+        if (other.size() != length) {
             return false;
         }
 
         // Special handling for RecordingCollection and RecordingMap to avoid full equality checks
         // We de-duplicate these objects by owner anyway, so no need to do a deep hashCode or equals check
         for (int i = 0; i < length; i++) {
-            Object e1 = a1[i];
-            Object e2 = a2[i];
+            Object e1 = get(i);
+            Object e2 = other.get(i);
 
             if (e1 == e2) {
                 continue;
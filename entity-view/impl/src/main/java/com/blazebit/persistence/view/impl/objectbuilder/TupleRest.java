@@ -26,6 +26,7 @@ import java.util.Arrays;
 public class TupleRest {
 
     private static final Object[] ANY_OFFSET_TUPLE = new Object[0];
+    private static final Object[] EMPTY_OFFSET_TUPLE = new Object[0];
 
     private final Object[] tuple;
     // We need to keep a separate reference to that element since it will be replaced by a collection during flattening
@@ -33,8 +34,13 @@ public class TupleRest {
     private final int index;
 
     public TupleRest(Object[] tuple, int index, int offset) {
-        Object[] offsetTuple = new Object[offset];
-        System.arraycopy(tuple, index, offsetTuple, 0, offset);
+        Object[] offsetTuple;
+        if (offset == 0) {
+            offsetTuple = EMPTY_OFFSET_TUPLE;
+        } else {
+            offsetTuple = new Object[offset];
+            System.arraycopy(tuple, index, offsetTuple, 0, offset);
+        }
         this.tuple = tuple;
         this.offsetTuple = offsetTuple;
         this.index = index + offset;
@@ -63,21 +63,36 @@ public class ViewTypeObjectBuilder<T> implements ObjectBuilder<T> {
 
     @Override
     public T build(Object[] tuple) {
+        return build(tuple, 0, tuple.length);
+    }
+
+    /**
+     * Builds the object from the <code>length</code> elements of the tuple starting at <code>offset</code>
+     * so that a view of a part of a tuple does not require copying the elements into a new array.
+     *
+     * @param tuple The tuple
+     * @param offset The index of the first element
+     * @param length The number of elements
+     * @return The object or <code>null</code> if the elements represent no object
+     * @since 1.6.12
+     */
+    public T build(Object[] tuple, int offset, int length) {
         if (hasId) {
-            if (tuple[0] == null) {
+            if (tuple[offset] == null) {
                 return null;
             }
         } else if (nullIfEmpty) {
-            for (int i = 0; i < tuple.length; i++) {
+            int end = offset + length;
+            for (int i = offset; i < end; i++) {
                 if (tuple[i] != null) {
-                    return objectInstantiator.newInstance(tuple);
+                    return objectInstantiator.newInstance(tuple, offset, length);
                 }
             }
 
             return null;
         }
 
-        return objectInstantiator.newInstance(tuple);
+        return objectInstantiator.newInstance(tuple, offset, length);
     }
 
     @Override
@@ -41,6 +41,7 @@ import com.blazebit.persistence.view.impl.ScalarTargetResolvingExpressionVisitor
 import com.blazebit.persistence.view.impl.metamodel.AbstractAttribute;
 import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.AbstractParameterAttribute;
+import com.blazebit.persistence.view.impl.metamodel.BasicTypeImpl;
 import com.blazebit.persistence.view.impl.metamodel.ConstrainedAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImpl;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
@@ -71,6 +72,7 @@ import com.blazebit.persistence.view.impl.objectbuilder.transformer.NonIndexedTu
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.SingularMultisetTupleTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.SubviewTupleTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.BasicCorrelator;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.BatchCorrelationStatistics;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedCollectionBatchTupleListTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedCollectionSubselectTupleTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedMapBatchTupleListTransformerFactory;
@@ -78,6 +80,7 @@ import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedSingularBatchTupleListTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedSingularSubselectTupleTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedSubviewJoinTupleTransformerFactory;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelationResultCache;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.Correlator;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.SubviewCorrelator;
 import com.blazebit.persistence.view.impl.proxy.AbstractReflectionInstantiator;
@@ -113,6 +116,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -712,6 +716,10 @@ public class ViewTypeObjectBuilderTemplate<T> {
                 batchSize = 1;
             }
 
+            // Only immutable results can be shared between queries through the correlation result cache
+            CorrelationResultCache correlationResultCache = isShareableCorrelationResult(attribute) ? evm.getCorrelationResultCache(attribute) : null;
+            BatchCorrelationStatistics batchCorrelationStatistics = evm.getBatchCorrelationStatistics(viewRoot, attributePath);
+
             if (attribute.isCollection()) {
                 PluralAttribute<?, ?, ?> pluralAttribute = (PluralAttribute<?, ?, ?>) attribute;
                 String[] indexFetches = EMPTY;
@@ -746,7 +754,9 @@ public class ViewTypeObjectBuilderTemplate<T> {
                                 viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
                                 createLimiter(mapperBuilder, correlationAlias, attribute),
                                 indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
-                                dirtyTracking
+                                dirtyTracking,
+                                correlationResultCache,
+                                batchCorrelationStatistics
                         ));
                         return;
                     default:
@@ -757,13 +767,15 @@ public class ViewTypeObjectBuilderTemplate<T> {
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
                         createLimiter(mapperBuilder, correlationAlias, attribute),
                         indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
-                        dirtyTracking
+                        dirtyTracking,
+                        correlationResultCache,
+                        batchCorrelationStatistics
                 ));
             } else {
                 mapperBuilder.addTupleListTransformerFactory(new CorrelatedSingularBatchTupleListTransformerFactory(
                         new BasicCorrelator(),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute)));
+                        createLimiter(mapperBuilder, correlationAlias, attribute), correlationResultCache, batchCorrelationStatistics));
             }
         } else if (attribute.getFetchStrategy() == FetchStrategy.SUBSELECT) {
             String subviewAliasPrefix = mapperBuilder.getAlias(attribute, false);
@@ -1086,6 +1098,10 @@ public class ViewTypeObjectBuilderTemplate<T> {
                 batchSize = 1;
             }
 
+            // Only immutable results can be shared between queries through the correlation result cache
+            CorrelationResultCache correlationResultCache = isShareableCorrelationResult(attribute) ? evm.getCorrelationResultCache(attribute) : null;
+            BatchCorrelationStatistics batchCorrelationStatistics = evm.getBatchCorrelationStatistics(viewRoot, attributePath);
+
             if (attribute.isCollection()) {
                 PluralAttribute<?, ?, ?> pluralAttribute = (PluralAttribute<?, ?, ?>) attribute;
                 String[] indexFetches = EMPTY;
@@ -1120,7 +1136,9 @@ public class ViewTypeObjectBuilderTemplate<T> {
                                 viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
                                 createLimiter(mapperBuilder, correlationAlias, attribute),
                                 indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
-                                dirtyTracking
+                                dirtyTracking,
+                                correlationResultCache,
+                                batchCorrelationStatistics
                         ));
                         return null;
                     default:
@@ -1131,13 +1149,15 @@ public class ViewTypeObjectBuilderTemplate<T> {
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
                         createLimiter(mapperBuilder, correlationAlias, attribute),
                         indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
-                        dirtyTracking
+                        dirtyTracking,
+                        correlationResultCache,
+                        batchCorrelationStatistics
                 ));
             } else {
                 mapperBuilder.addTupleListTransformerFactory(new CorrelatedSingularBatchTupleListTransformerFactory(
                         new SubviewCorrelator(managedViewType, null, evm, subviewAliasPrefix, attributePath),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute)));
+                        createLimiter(mapperBuilder, correlationAlias, attribute), correlationResultCache, batchCorrelationStatistics));
             }
         } else if (attribute.getFetchStrategy() == FetchStrategy.SUBSELECT) {
             String subviewAliasPrefix = mapperBuilder.getAlias(attribute, false);
@@ -1346,6 +1366,71 @@ public class ViewTypeObjectBuilderTemplate<T> {
         return -index;
     }
 
+    private static boolean isShareableCorrelationResult(AbstractAttribute<?, ?> attribute) {
+        return isShareableCorrelationResult(attribute, new HashSet<ManagedViewType<?>>());
+    }
+
+    private static boolean isShareableCorrelationResult(Attribute<?, ?> attribute, Set<ManagedViewType<?>> visitedTypes) {
+        if (attribute instanceof MapAttribute<?, ?, ?> && !isShareableCorrelationResult(((MapAttribute<?, ?, ?>) attribute).getKeyType(), visitedTypes)) {
+            return false;
+        }
+        if (attribute instanceof PluralAttribute<?, ?, ?>) {
+            return isShareableCorrelationResult(((PluralAttribute<?, ?, ?>) attribute).getElementType(), visitedTypes);
+        } else {
+            return isShareableCorrelationResult(((SingularAttribute<?, ?>) attribute).getType(), visitedTypes);
+        }
+    }
+
+    private static boolean isShareableCorrelationResult(Type<?> type, Set<ManagedViewType<?>> visitedTypes) {
+        if (type instanceof ManagedViewType<?>) {
+            return isShareableCorrelationResult((ManagedViewType<?>) type, visitedTypes);
+        }
+        if (type instanceof BasicTypeImpl<?>) {
+            BasicTypeImpl<?> basicType = (BasicTypeImpl<?>) type;
+            // Entities and mutable values like dates or arrays could be changed through a result which would also change the cached result
+            return !basicType.isJpaManaged() && !basicType.getUserType().isMutable();
+        }
+        return false;
+    }
+
+    private static boolean isShareableCorrelationResult(ManagedViewType<?> viewType, Set<ManagedViewType<?>> visitedTypes) {
+        if (!visitedTypes.add(viewType)) {
+            return true;
+        }
+        if (viewType.isUpdatable() || viewType.isCreatable()) {
+            return false;
+        }
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            if (!isShareableNestedCorrelationResult(attribute, visitedTypes)) {
+                return false;
+            }
+        }
+        for (MappingConstructor<?> constructor : viewType.getConstructors()) {
+            for (ParameterAttribute<?, ?> attribute : constructor.getParameterAttributes()) {
+                if (!isShareableNestedCorrelationResult(attribute, visitedTypes)) {
+                    return false;
+                }
+            }
+        }
+        for (ManagedViewType<?> subtype : viewType.getInheritanceSubtypes()) {
+            if (!isShareableCorrelationResult(subtype, visitedTypes)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isShareableNestedCorrelationResult(Attribute<?, ?> attribute, Set<ManagedViewType<?>> visitedTypes) {
+        // The cache key only contains the parameters of the correlation query, so values of parameter mappings
+        // and the parameters of nested queries for SELECT or SUBSELECT fetched attributes would not be considered
+        if (attribute.getMappingType() == Attribute.MappingType.PARAMETER
+                || attribute.getFetchStrategy() == FetchStrategy.SELECT
+                || attribute.getFetchStrategy() == FetchStrategy.SUBSELECT) {
+            return false;
+        }
+        return isShareableCorrelationResult(attribute, visitedTypes);
+    }
+
     private Type<?> getType(Attribute<?, ?> attribute) {
         if (attribute instanceof PluralAttribute<?, ?, ?>) {
             return ((PluralAttribute<?, ?, ?>) attribute).getElementType();
@@ -1428,7 +1513,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
         if (hasSubtypes) {
             result = new InheritanceReducerViewTypeObjectBuilder<>((ViewTypeObjectBuilder<T>) result, tupleOffset, suffix, mappers.length, !isSubview && (tupleOffset > 0 || suffix > 0), subtypeInstantiators);
         } else if (hasOffset || isSubview || hasIndexedCollections || hasSubviews || hasSubqueryCorrelation) {
-            result = new ReducerViewTypeObjectBuilder<T>(result, tupleOffset, suffix, mappers.length, !isSubview && (tupleOffset > 0 || suffix > 0));
+            result = new ReducerViewTypeObjectBuilder<T>((ViewTypeObjectBuilder<T>) result, tupleOffset, suffix, mappers.length, !isSubview && (tupleOffset > 0 || suffix > 0));
         }
 
         if (hasParameters) {
@@ -1437,7 +1522,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
 
         if (tupleTransformatorFactory.hasTransformers() && !isSubview) {
             if (tupleTransformatorFactory.hasListTransformers()) {
-                result = new ChainingCollectionObjectBuilder<T>(tupleTransformatorFactory, result, parameterHolder, optionalParameters, entityViewConfiguration);
+                result = new ChainingCollectionObjectBuilder<T>(tupleTransformatorFactory, result, idPositions, parameterHolder, optionalParameters, entityViewConfiguration);
             } else {
                 result = new ChainingObjectBuilder<T>(tupleTransformatorFactory, result, parameterHolder, optionalParameters, entityViewConfiguration);
             }
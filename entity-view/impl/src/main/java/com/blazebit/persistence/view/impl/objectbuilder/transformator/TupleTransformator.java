@@ -69,6 +69,17 @@ public class TupleTransformator {
         return tupleList;
     }
 
+    public int getBatchSize() {
+        int batchSize = 1;
+        for (int i = 0; i < transformatorLevels.size(); i++) {
+            TupleListTransformer tupleListTransformer = transformatorLevels.get(i).tupleListTransformer;
+            if (tupleListTransformer != null) {
+                batchSize = Math.max(batchSize, tupleListTransformer.getBatchSize());
+            }
+        }
+        return batchSize;
+    }
+
     public Object[] transform(Object[] tuple) {
         if (transformatorLevels.size() != 1) {
             throw new IllegalStateException("Can only do single transformations if there is only a single level");
@@ -62,10 +62,12 @@ public class IndexedTupleListTransformer extends TupleListTransformer {
     public List<Object[]> transform(List<Object[]> tuples) {
         Map<TupleId, TupleIndexValue> tupleIndex = new HashMap<TupleId, TupleIndexValue>(tuples.size());
         Iterator<Object[]> tupleListIter = tuples.iterator();
+        // The id is only copied for new entries, lookups use a view on the tuple
+        TupleId idView = new TupleId(parentIdPositions);
 
         while (tupleListIter.hasNext()) {
             Object[] tuple = tupleListIter.next();
-            TupleId id = new TupleId(parentIdPositions, tuple);
+            TupleId id = idView.reset(tuple);
             // Skip constructing the collection and removing tuples when the parent is empty i.e. null
             if (!id.isEmpty()) {
                 TupleIndexValue tupleIndexValue = tupleIndex.get(id);
@@ -79,7 +81,7 @@ public class IndexedTupleListTransformer extends TupleListTransformer {
                     add(collection, key, tuple[valueStartIndex]);
                     tuple[startIndex] = collection;
                     tuple[valueStartIndex] = TupleReuse.CONSUMED;
-                    tupleIndex.put(id, tupleIndexValue);
+                    tupleIndex.put(id.copy(), tupleIndexValue);
                 } else if (tupleIndexValue.addRestTuple(tuple, startIndex, valueOffset + 1)) {
                     Object collection = tupleIndexValue.getTupleValue();
                     Object key = tuple[startIndex];
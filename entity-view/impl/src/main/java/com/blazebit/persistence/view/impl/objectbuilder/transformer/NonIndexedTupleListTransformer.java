@@ -58,10 +58,12 @@ public class NonIndexedTupleListTransformer extends TupleListTransformer {
     public List<Object[]> transform(List<Object[]> tuples) {
         Map<TupleId, TupleIndexValue> tupleIndex = new HashMap<>(tuples.size());
         Iterator<Object[]> tupleListIter = tuples.iterator();
+        // The id is only copied for new entries, lookups use a view on the tuple
+        TupleId idView = new TupleId(parentIdPositions);
 
         while (tupleListIter.hasNext()) {
             Object[] tuple = tupleListIter.next();
-            TupleId id = new TupleId(parentIdPositions, tuple);
+            TupleId id = idView.reset(tuple);
             // Skip constructing the collection and removing tuples when the parent is empty i.e. null
             if (!id.isEmpty()) {
                 TupleIndexValue tupleIndexValue = tupleIndex.get(id);
@@ -71,7 +73,7 @@ public class NonIndexedTupleListTransformer extends TupleListTransformer {
                     tupleIndexValue = new TupleIndexValue(collection, tuple, startIndex, 1);
                     add(collection, tuple[startIndex]);
                     tuple[startIndex] = collection;
-                    tupleIndex.put(id, tupleIndexValue);
+                    tupleIndex.put(id.copy(), tupleIndexValue);
                 } else if (tupleIndexValue.addRestTuple(tuple, startIndex, 1)) {
                     Object collection = tupleIndexValue.getTupleValue();
                     add(collection, tuple[startIndex]);
@@ -34,4 +34,13 @@ public abstract class TupleListTransformer {
     public abstract int getConsumableIndex();
 
     public abstract List<Object[]> transform(List<Object[]> tuples);
+
+    /**
+     * Returns the number of query root objects for which the tuples should be transformed together.
+     *
+     * @return The batch size
+     */
+    public int getBatchSize() {
+        return 1;
+    }
 }
@@ -40,11 +40,18 @@ import com.blazebit.persistence.view.metamodel.ViewType;
 import javax.persistence.EntityManager;
 import javax.persistence.Parameter;
 import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 /**
  *
@@ -56,11 +63,16 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
     public static final String CORRELATION_KEY_ALIAS = "correlationKey";
     private static final String CORRELATION_PARAM_PREFIX = "correlationParam_";
 
-    protected final int batchSize;
+    protected final int maxBatchSize;
+    protected int batchSize;
     protected final boolean correlatesThis;
     protected final BatchCorrelationMode expectBatchCorrelationMode;
     protected final int valueIndex;
     protected final int keyIndex;
+    protected final CorrelationResultCache correlationResultCache;
+    protected final long correlationCacheTtl;
+    protected final int correlationCacheMaxSize;
+    protected final BatchCorrelationStatistics batchCorrelationStatistics;
 
     protected String correlationParamName;
     protected String correlationSelectExpression;
@@ -68,15 +80,36 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
     protected CorrelatedSubqueryViewRootJpqlMacro viewRootJpqlMacro;
     protected CorrelatedSubqueryEmbeddingViewJpqlMacro embeddingViewJpqlMacro;
     protected Query query;
+    protected BatchCorrelationMode batchCorrelationMode;
+    // The number of values bound to and the number of rows fetched by the batch queries of the current execution
+    protected int batchedKeyCount;
+    protected long fetchedRowCount;
 
     public AbstractCorrelatedBatchTupleListTransformer(ExpressionFactory ef, Correlator correlator, ContainerAccumulator<?> containerAccumulator, ManagedViewTypeImplementor<?> viewRootType, ManagedViewTypeImplementor<?> embeddingViewType, Expression correlationResult, CorrelationProviderFactory correlationProviderFactory, String attributePath, String[] fetches, String[] indexFetches,
-                                                       Expression indexExpression, Correlator indexCorrelator, boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int defaultBatchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, EntityViewConfiguration entityViewConfiguration) {
+                                                       Expression indexExpression, Correlator indexCorrelator, boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int defaultBatchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, CorrelationResultCache correlationResultCache, BatchCorrelationStatistics batchCorrelationStatistics, EntityViewConfiguration entityViewConfiguration) {
         super(ef, correlator, containerAccumulator, viewRootType, embeddingViewType, correlationResult, correlationProviderFactory, attributePath, fetches, indexFetches, indexExpression, indexCorrelator, viewRootIndex, embeddingViewIndex, tupleIndex, correlationBasisType, correlationBasisEntity, limiter, entityViewConfiguration);
-        this.batchSize = entityViewConfiguration.getBatchSize(attributePath, defaultBatchSize);
+        this.maxBatchSize = entityViewConfiguration.getBatchSize(attributePath, defaultBatchSize);
+        this.batchSize = maxBatchSize;
         this.correlatesThis = correlatesThis;
-        this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath);
+        this.batchCorrelationStatistics = entityViewConfiguration.isAdaptiveBatchCorrelation(attributePath) ? batchCorrelationStatistics : null;
+        BatchCorrelationMode learnedBatchCorrelationMode = this.batchCorrelationStatistics == null ? null : this.batchCorrelationStatistics.getBatchCorrelationMode();
+        if (learnedBatchCorrelationMode == null) {
+            this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath);
+        } else {
+            // An explicitly configured expectation still takes precedence over the batch mode of previous executions
+            this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath, learnedBatchCorrelationMode);
+        }
         this.valueIndex = correlator.getElementOffset();
         this.keyIndex = valueIndex + 1;
+        this.correlationCacheTtl = entityViewConfiguration.getCorrelationCacheTtl(attributePath);
+        this.correlationCacheMaxSize = entityViewConfiguration.getCorrelationCacheMaxSize(attributePath);
+        // The cache is only available for attributes with results that can be shared between queries
+        this.correlationResultCache = correlationCacheTtl > 0 ? correlationResultCache : null;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return maxBatchSize;
     }
 
     private String generateCorrelationParamName() {
@@ -97,6 +130,16 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
     }
 
     private String applyAndGetCorrelationRoot(BatchCorrelationMode batchCorrelationMode) {
+        CorrelationQuery correlationQuery = createCorrelationQuery(entityViewConfiguration.getCriteriaBuilder().getEntityManager(), batchCorrelationMode);
+        this.criteriaBuilder = correlationQuery.criteriaBuilder;
+        this.viewRootJpqlMacro = correlationQuery.viewRootJpqlMacro;
+        this.embeddingViewJpqlMacro = correlationQuery.embeddingViewJpqlMacro;
+        this.correlationParamName = correlationQuery.correlationParamName;
+        this.correlationSelectExpression = correlationQuery.correlationSelectExpression;
+        return correlationQuery.correlationRoot;
+    }
+
+    private CorrelationQuery createCorrelationQuery(EntityManager em, BatchCorrelationMode batchCorrelationMode) {
         Class<?> viewRootEntityClass = viewRootType.getEntityClass();
         Class<?> embeddingViewEntityClass = embeddingViewType.getEntityClass();
         String viewRootIdAttributePath = getEntityIdName(viewRootEntityClass);
@@ -124,27 +167,29 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             embeddingViewExpression = CORRELATION_KEY_ALIAS;
         }
 
-        this.criteriaBuilder = queryBuilder.getCriteriaBuilderFactory().create(queryBuilder.getEntityManager(), Object[].class);
+        CriteriaBuilder<?> criteriaBuilder = queryBuilder.getCriteriaBuilderFactory().create(em, Object[].class);
         if (queryBuilder instanceof CTEBuilder<?>) {
-            this.criteriaBuilder.withCtesFrom((CTEBuilder<?>) queryBuilder);
+            criteriaBuilder.withCtesFrom((CTEBuilder<?>) queryBuilder);
         }
-        this.viewRootJpqlMacro = new CorrelatedSubqueryViewRootJpqlMacro(criteriaBuilder, optionalParameters, viewRootExpression != null, viewRootEntityClass, viewRootIdAttributePath, viewRootExpression);
-        this.embeddingViewJpqlMacro = new CorrelatedSubqueryEmbeddingViewJpqlMacro(criteriaBuilder, optionalParameters, embeddingViewExpression != null, embeddingViewEntityClass, embeddingViewIdAttributePath, embeddingViewExpression, batchedIdValues, viewRootJpqlMacro);
-        this.criteriaBuilder.registerMacro("view", new MutableViewJpqlMacro(correlationResult));
-        this.criteriaBuilder.registerMacro("view_root", viewRootJpqlMacro);
-        this.criteriaBuilder.registerMacro("embedding_view", embeddingViewJpqlMacro);
+        CorrelatedSubqueryViewRootJpqlMacro viewRootJpqlMacro = new CorrelatedSubqueryViewRootJpqlMacro(criteriaBuilder, optionalParameters, viewRootExpression != null, viewRootEntityClass, viewRootIdAttributePath, viewRootExpression);
+        CorrelatedSubqueryEmbeddingViewJpqlMacro embeddingViewJpqlMacro = new CorrelatedSubqueryEmbeddingViewJpqlMacro(criteriaBuilder, optionalParameters, embeddingViewExpression != null, embeddingViewEntityClass, embeddingViewIdAttributePath, embeddingViewExpression, batchedIdValues, viewRootJpqlMacro);
+        criteriaBuilder.registerMacro("view", new MutableViewJpqlMacro(correlationResult));
+        criteriaBuilder.registerMacro("view_root", viewRootJpqlMacro);
+        criteriaBuilder.registerMacro("embedding_view", embeddingViewJpqlMacro);
 
         String joinBase = CORRELATION_KEY_ALIAS;
         SubqueryCorrelationBuilder correlationBuilder = new SubqueryCorrelationBuilder(queryBuilder, optionalParameters, criteriaBuilder, correlationAlias, correlationExternalAlias, correlationResult, correlationBasisType, correlationBasisEntityType, joinBase, attributePath, batchSize, limiter, false);
         CorrelationProvider provider = correlationProviderFactory.create(entityViewConfiguration.getCriteriaBuilder(), entityViewConfiguration.getOptionalParameters());
 
+        String correlationParamName;
+        String correlationSelectExpression;
         String correlationKeyExpression;
         if (batchSize > 1) {
             if (batchCorrelationMode == BatchCorrelationMode.VALUES) {
-                this.correlationParamName = CORRELATION_KEY_ALIAS;
+                correlationParamName = CORRELATION_KEY_ALIAS;
                 // TODO: when using EMBEDDING_VIEW, we could make use of correlationBasis instead of binding parameters separately
             } else {
-                this.correlationParamName = generateCorrelationParamName();
+                correlationParamName = generateCorrelationParamName();
             }
             if (correlationBasisEntityType != null) {
                 correlationKeyExpression = CORRELATION_KEY_ALIAS;
@@ -158,8 +203,8 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
                 correlationSelectExpression = correlationKeyExpression = CORRELATION_KEY_ALIAS;
             }
         } else {
-            this.correlationParamName = generateCorrelationParamName();
-            this.correlationSelectExpression = correlationKeyExpression = null;
+            correlationParamName = generateCorrelationParamName();
+            correlationSelectExpression = correlationKeyExpression = null;
         }
 
         int originalFirstResult = criteriaBuilder.getFirstResult();
@@ -186,11 +231,17 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
         }
 
-        return correlationBuilder.getCorrelationRoot();
+        return new CorrelationQuery(criteriaBuilder, viewRootJpqlMacro, embeddingViewJpqlMacro, correlationParamName, correlationSelectExpression, correlationBuilder.getCorrelationRoot());
     }
 
     @Override
     public List<Object[]> transform(List<Object[]> tuples) {
+        // When previous executions batched correlation values, the batch size is derived from the correlation keys of this result and previous executions
+        if (batchCorrelationStatistics != null && batchCorrelationStatistics.getBatchCorrelationMode() == BatchCorrelationMode.VALUES && expectBatchCorrelationMode == BatchCorrelationMode.VALUES) {
+            batchSize = batchCorrelationStatistics.getBatchSize(maxBatchSize, countCorrelationKeys(tuples));
+        }
+        batchedKeyCount = 0;
+        fetchedRowCount = 0;
         FixedArrayList correlationParams = new FixedArrayList(batchSize);
         // We have the correlation key on the first position if we do batching
         final int tupleOffset = (batchSize > 1 ? 1 : 0) + (indexCorrelator == null && indexExpression == null ? 0 : 1);
@@ -219,7 +270,11 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
                 throw new IllegalStateException("The use of VIEW_ROOT in the correlation for '" + embeddingViewType.getJavaType().getName() + "." + attributePath.substring(attributePath.lastIndexOf('.') + 1) + "' is illegal because the view root type '" + viewRootType.getJavaType().getName() + "' does not declare a @IdMapping!");
             }
             transformViewMacroAware(tuples, correlationParams, tupleOffset, correlationRoot, viewRootJpqlMacro, BatchCorrelationMode.VIEW_ROOTS, viewRootType, viewRootIndex);
+        } else if (batchSize > 1 && entityViewConfiguration.isConcurrentBatchCorrelation()) {
+            batchCorrelationMode = BatchCorrelationMode.VALUES;
+            transformConcurrently(tuples, tupleOffset, correlationRoot);
         } else {
+            batchCorrelationMode = BatchCorrelationMode.VALUES;
             EntityManager em = criteriaBuilder.getEntityManager();
             Iterator<Object[]> tupleListIter = tuples.iterator();
             if (batchSize > 1) {
@@ -239,6 +294,8 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             populateParameters(criteriaBuilder);
             query = criteriaBuilder.getQuery();
 
+            Object cacheKeyPrefix = correlationResultCache == null ? null : createCacheKeyPrefix();
+            List<Object> uncachedValues = cacheKeyPrefix == null ? null : new ArrayList<>();
             Map<Object, TuplePromise> correlationValues = new HashMap<>(tuples.size());
             while (tupleListIter.hasNext()) {
                 Object[] tuple = tupleListIter.next();
@@ -252,7 +309,7 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
                     correlationValues.put(correlationValue, tupleIndexValue);
 
                     // Can't correlate null
-                    if (correlationValue != null) {
+                    if (correlationValue != null && !resolveFromCache(cacheKeyPrefix, uncachedValues, correlationValue, tupleIndexValue)) {
                         if (correlationBasisEntity != null) {
                             correlationParams.add(em.getReference(correlationBasisEntity, correlationValue));
                         } else {
@@ -279,12 +336,177 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
 
             fillDefaultValues(Collections.singletonMap(null, correlationValues));
+            if (uncachedValues != null) {
+                putIntoCache(cacheKeyPrefix, uncachedValues, correlationValues);
+            }
         }
 
         consumeTupleMacroViewValues(tuples);
+        if (batchCorrelationStatistics != null) {
+            batchCorrelationStatistics.record(batchCorrelationMode, batchedKeyCount, fetchedRowCount);
+        }
         return tuples;
     }
 
+    private int countCorrelationKeys(List<Object[]> tuples) {
+        Set<Object> keys = new HashSet<>(tuples.size());
+        for (int i = 0; i < tuples.size(); i++) {
+            Object key = tuples.get(i)[startIndex];
+            // Can't correlate null
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        return keys.size();
+    }
+
+    private void transformConcurrently(List<Object[]> tuples, int tupleOffset, String correlationRoot) {
+        Object cacheKeyPrefix = null;
+        List<Object> uncachedValues = null;
+        if (correlationResultCache != null) {
+            populateParameters(criteriaBuilder);
+            cacheKeyPrefix = createCacheKeyPrefix();
+            uncachedValues = new ArrayList<>();
+        }
+        Map<Object, TuplePromise> correlationValues = new HashMap<>(tuples.size());
+        List<CompletableFuture<List<Object>>> batchResults = new ArrayList<>(tuples.size() / batchSize + 1);
+        List<Integer> batchSizes = new ArrayList<>(tuples.size() / batchSize + 1);
+        List<Object> batchValues = new ArrayList<>(batchSize);
+        for (int i = 0; i < tuples.size(); i++) {
+            Object[] tuple = tuples.get(i);
+            Object correlationValue = tuple[startIndex];
+
+            TuplePromise tupleIndexValue = correlationValues.get(correlationValue);
+
+            if (tupleIndexValue == null) {
+                tupleIndexValue = new TuplePromise(startIndex);
+                tupleIndexValue.add(tuple);
+                correlationValues.put(correlationValue, tupleIndexValue);
+
+                // Can't correlate null
+                if (correlationValue != null && !resolveFromCache(cacheKeyPrefix, uncachedValues, correlationValue, tupleIndexValue)) {
+                    batchValues.add(correlationValue);
+                    if (batchSize == batchValues.size()) {
+                        batchSizes.add(batchValues.size());
+                        batchResults.add(batchLoadAsync(batchValues, tupleOffset, correlationRoot));
+                        batchValues = new ArrayList<>(batchSize);
+                    }
+                }
+            } else {
+                tupleIndexValue.add(tuple);
+            }
+        }
+
+        if (!batchValues.isEmpty()) {
+            batchSizes.add(batchValues.size());
+            batchResults.add(batchLoadAsync(batchValues, tupleOffset, correlationRoot));
+        }
+
+        // The results are merged on the calling thread in the order in which the batches were submitted
+        for (int i = 0; i < batchResults.size(); i++) {
+            List<Object> list;
+            try {
+                list = batchResults.get(i).join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw ex;
+            }
+            batchedKeyCount += batchSizes.get(i);
+            fetchedRowCount += list.size();
+            populateResult(correlationValues, null, list);
+        }
+
+        fillDefaultValues(Collections.singletonMap(null, correlationValues));
+        if (uncachedValues != null) {
+            putIntoCache(cacheKeyPrefix, uncachedValues, correlationValues);
+        }
+    }
+
+    private Object createCacheKeyPrefix() {
+        // The correlation results also depend on the parameters of the correlation query and on the requested fetches
+        Map<String, Object> parameterValues = new HashMap<>();
+        for (Parameter<?> parameter : criteriaBuilder.getParameters()) {
+            String name = parameter.getName();
+            if (!name.equals(correlationParamName)) {
+                parameterValues.put(name, criteriaBuilder.isParameterSet(name) ? criteriaBuilder.getParameterValue(name) : null);
+            }
+        }
+        return Arrays.asList(entityViewConfiguration.getFetches(), parameterValues);
+    }
+
+    private boolean resolveFromCache(Object cacheKeyPrefix, List<Object> uncachedValues, Object correlationValue, TuplePromise tuplePromise) {
+        if (cacheKeyPrefix == null) {
+            return false;
+        }
+        CorrelationResultCache.Entry entry = correlationResultCache.get(Arrays.asList(cacheKeyPrefix, correlationValue), correlationCacheMaxSize);
+        if (entry == null) {
+            uncachedValues.add(correlationValue);
+            return false;
+        }
+        tuplePromise.onResult(copy(entry.getValue()), this);
+        return true;
+    }
+
+    private void putIntoCache(Object cacheKeyPrefix, List<Object> uncachedValues, Map<Object, TuplePromise> correlationValues) {
+        for (int i = 0; i < uncachedValues.size(); i++) {
+            Object correlationValue = uncachedValues.get(i);
+            // Cache a copy so that changes to the container of a result don't affect the cached result
+            Object result = copy(correlationValues.get(correlationValue).getResult());
+            correlationResultCache.put(Arrays.asList(cacheKeyPrefix, correlationValue), result, correlationCacheTtl, correlationCacheMaxSize);
+        }
+    }
+
+    private CompletableFuture<List<Object>> batchLoadAsync(List<Object> batchValues, int tupleOffset, String correlationRoot) {
+        // Every batch uses a dedicated entity manager, as entity managers must not be shared between threads
+        final EntityManager em = entityViewConfiguration.getBatchCorrelationEntityManagerFactory().createEntityManager();
+        try {
+            // The query state of a batch is kept local so that the state of the transformer isn't changed by a batch
+            CorrelationQuery correlationQuery = createCorrelationQuery(em, BatchCorrelationMode.VALUES);
+            CriteriaBuilder<?> criteriaBuilder = correlationQuery.criteriaBuilder;
+            // Nested correlations are run on the thread of the batch, otherwise we could exhaust the executor
+            ObjectBuilder<?> objectBuilder = correlator.finish(criteriaBuilder, entityViewConfiguration.withSequentialBatchCorrelation(), 0, tupleOffset, correlationRoot, correlationQuery.embeddingViewJpqlMacro, true);
+            criteriaBuilder.select(correlationQuery.correlationSelectExpression);
+            if (indexCorrelator != null) {
+                ObjectBuilder<?> indexBuilder = indexCorrelator.finish(criteriaBuilder, entityViewConfiguration.withSequentialBatchCorrelation(), tupleOffset, 0, indexExpression, correlationQuery.embeddingViewJpqlMacro, true);
+                if (indexBuilder != null) {
+                    criteriaBuilder.selectNew(new LateAdditionalObjectBuilder(objectBuilder, indexBuilder, false));
+                }
+            }
+            populateParameters(criteriaBuilder);
+            final Query batchQuery = criteriaBuilder.getQuery();
+
+            FixedArrayList batchParameters = new FixedArrayList(batchSize);
+            for (int i = 0; i < batchValues.size(); i++) {
+                if (correlationBasisEntity != null) {
+                    batchParameters.add(em.getReference(correlationBasisEntity, batchValues.get(i)));
+                } else {
+                    batchParameters.add(batchValues.get(i));
+                }
+            }
+            batchParameters.clearRest();
+            if (criteriaBuilder.containsParameter(correlationQuery.correlationParamName)) {
+                criteriaBuilder.setParameter(correlationQuery.correlationParamName, batchParameters);
+                batchQuery.setParameter(correlationQuery.correlationParamName, batchParameters);
+            }
+
+            return CompletableFuture.supplyAsync(new Supplier<List<Object>>() {
+                @Override
+                public List<Object> get() {
+                    try {
+                        return (List<Object>) batchQuery.getResultList();
+                    } finally {
+                        em.close();
+                    }
+                }
+            }, entityViewConfiguration.getBatchCorrelationExecutor());
+        } catch (RuntimeException ex) {
+            em.close();
+            throw ex;
+        }
+    }
+
     @Override
     protected void populateParameters(FullQueryBuilder<?, ?> queryBuilder) {
         FullQueryBuilder<?, ?> mainBuilder = entityViewConfiguration.getCriteriaBuilder();
@@ -361,6 +583,13 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
         }
 
         boolean batchCorrelationValues = !macro.usesViewMacro() && viewRoots.size() <= correlationValues.size();
+        if (batchCorrelationValues) {
+            batchCorrelationMode = BatchCorrelationMode.VALUES;
+        } else {
+            batchCorrelationMode = correlationMode;
+            // The batch size might have been adapted to the correlation values, but we batch view ids here
+            batchSize = maxBatchSize;
+        }
         FixedArrayList viewRootIds = new FixedArrayList(batchSize);
 
         if (batchCorrelationValues) {
@@ -488,7 +717,10 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
         }
 
-        populateResult(correlationValues, defaultKey, (List<Object>) query.getResultList());
+        List<Object> list = (List<Object>) query.getResultList();
+        batchedKeyCount += this.batchCorrelationMode == BatchCorrelationMode.VALUES || viewRootIds == null ? batchParameters.realSize() : viewRootIds.realSize();
+        fetchedRowCount += list.size();
+        populateResult(correlationValues, defaultKey, list);
 
         batchParameters.reset();
         if (viewRootIds != null) {
@@ -535,4 +767,28 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
         }
     }
 
+
+    /**
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class CorrelationQuery {
+
+        private final CriteriaBuilder<?> criteriaBuilder;
+        private final CorrelatedSubqueryViewRootJpqlMacro viewRootJpqlMacro;
+        private final CorrelatedSubqueryEmbeddingViewJpqlMacro embeddingViewJpqlMacro;
+        private final String correlationParamName;
+        private final String correlationSelectExpression;
+        private final String correlationRoot;
+
+        private CorrelationQuery(CriteriaBuilder<?> criteriaBuilder, CorrelatedSubqueryViewRootJpqlMacro viewRootJpqlMacro, CorrelatedSubqueryEmbeddingViewJpqlMacro embeddingViewJpqlMacro, String correlationParamName, String correlationSelectExpression, String correlationRoot) {
+            this.criteriaBuilder = criteriaBuilder;
+            this.viewRootJpqlMacro = viewRootJpqlMacro;
+            this.embeddingViewJpqlMacro = embeddingViewJpqlMacro;
+            this.correlationParamName = correlationParamName;
+            this.correlationSelectExpression = correlationSelectExpression;
+            this.correlationRoot = correlationRoot;
+        }
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.impl.BatchCorrelationMode;
+
+/**
+ * Statistics about past executions of a batch correlated attribute path that are used for adaptive batching.
+ * The statistics are moving averages, so that a single untypical execution doesn't change the derived batch mode or batch size.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class BatchCorrelationStatistics {
+
+    /**
+     * The number of rows a batch query should fetch at most when the configured batch size would allow more.
+     */
+    static final int TARGET_ROWS_PER_BATCH = 4096;
+    // The weight of the past executions in the moving averages, a new execution has a weight of 1 - DECAY
+    private static final double DECAY = 0.875;
+    private static final BatchCorrelationMode[] MODES = BatchCorrelationMode.values();
+
+    private final double[] modeScores = new double[MODES.length];
+    private long executions;
+    private double averageCorrelationKeys;
+    private double averageRowsPerKey;
+    private volatile BatchCorrelationMode batchCorrelationMode;
+    private volatile int expectedCorrelationKeys;
+    private volatile int maxKeysPerBatch = Integer.MAX_VALUE;
+
+    /**
+     * Returns the batch correlation mode that was used by most of the recent executions or <code>null</code> if there was no execution yet.
+     *
+     * @return The learned batch correlation mode or <code>null</code>
+     */
+    public BatchCorrelationMode getBatchCorrelationMode() {
+        return batchCorrelationMode;
+    }
+
+    /**
+     * Records an execution of the correlation.
+     *
+     * @param batchCorrelationMode The batch correlation mode that was used
+     * @param correlationKeys The number of distinct values that were bound to the batch queries
+     * @param rows The number of rows that were fetched by the batch queries
+     */
+    public synchronized void record(BatchCorrelationMode batchCorrelationMode, int correlationKeys, long rows) {
+        int bestMode = batchCorrelationMode.ordinal();
+        for (int i = 0; i < modeScores.length; i++) {
+            modeScores[i] *= DECAY;
+        }
+        modeScores[bestMode] += 1;
+        for (int i = 0; i < modeScores.length; i++) {
+            if (modeScores[i] > modeScores[bestMode]) {
+                bestMode = i;
+            }
+        }
+        // Executions that didn't query anything, e.g. because everything was cached, tell nothing about the keys
+        if (correlationKeys > 0) {
+            double rowsPerKey = (double) rows / correlationKeys;
+            if (executions++ == 0) {
+                averageCorrelationKeys = correlationKeys;
+                averageRowsPerKey = rowsPerKey;
+            } else {
+                averageCorrelationKeys = averageCorrelationKeys * DECAY + correlationKeys * (1 - DECAY);
+                averageRowsPerKey = averageRowsPerKey * DECAY + rowsPerKey * (1 - DECAY);
+            }
+            expectedCorrelationKeys = (int) Math.ceil(averageCorrelationKeys);
+            maxKeysPerBatch = averageRowsPerKey <= 1 ? Integer.MAX_VALUE : (int) (TARGET_ROWS_PER_BATCH / averageRowsPerKey);
+        }
+        this.batchCorrelationMode = MODES[bestMode];
+    }
+
+    /**
+     * Returns the batch size to use for the given amount of distinct correlation keys based on the recorded executions.
+     * The batch size is fitted to the larger of the current and the average number of correlation keys,
+     * so that a page with fewer keys, like the last page, reuses the query shape of the previous executions.
+     * If the correlation fetches many rows per key, the batch size is reduced so that a batch query
+     * fetches about {@link #TARGET_ROWS_PER_BATCH} rows.
+     *
+     * @param maxBatchSize The configured batch size which is used as upper bound
+     * @param correlationKeys The number of distinct correlation keys of the current result
+     * @return The batch size to use
+     */
+    public int getBatchSize(int maxBatchSize, int correlationKeys) {
+        int batchSize = adaptBatchSize(maxBatchSize, Math.max(correlationKeys, expectedCorrelationKeys));
+        int maxKeys = maxKeysPerBatch;
+        if (batchSize > 2 && maxKeys < batchSize) {
+            // Round down to a power of two to keep the number of query shapes low
+            batchSize = maxKeys <= 2 ? 2 : Integer.highestOneBit(maxKeys);
+        }
+        return batchSize;
+    }
+
+    /**
+     * Returns the batch size to use for the given amount of distinct correlation keys.
+     * The keys are distributed evenly across the minimum number of batches and the resulting size is rounded up
+     * to the next power of two so that only few distinct query shapes are produced.
+     *
+     * @param maxBatchSize The configured batch size which is used as upper bound
+     * @param correlationKeys The number of distinct correlation keys
+     * @return The batch size to use
+     */
+    public static int adaptBatchSize(int maxBatchSize, int correlationKeys) {
+        if (maxBatchSize <= 2 || correlationKeys <= 0) {
+            return maxBatchSize;
+        }
+        int batches = (correlationKeys + maxBatchSize - 1) / maxBatchSize;
+        int keysPerBatch = (correlationKeys + batches - 1) / batches;
+        int batchSize = keysPerBatch <= 2 ? 2 : Integer.highestOneBit(keysPerBatch - 1) << 1;
+        return Math.min(batchSize, maxBatchSize);
+    }
+}
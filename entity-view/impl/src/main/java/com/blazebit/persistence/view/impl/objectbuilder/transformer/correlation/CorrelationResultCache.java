@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.parser.util.BoundedCache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size and time bounded cache for the results of a correlated attribute that is shared between queries.
+ * The entries are held in a {@link BoundedCache} which evicts rarely used entries first when the maximum size is exceeded.
+ * Since the maximum size can be configured per query, queries with a different maximum size use separate caches.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class CorrelationResultCache {
+
+    private final ConcurrentMap<Integer, BoundedCache<Object, Entry>> caches = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Returns the cache entry for the given key or <code>null</code> if there is no entry or the entry is expired.
+     *
+     * @param key The cache key
+     * @param maxSize The maximum size of the cache
+     * @return The cache entry or <code>null</code>
+     */
+    public Entry get(Object key, int maxSize) {
+        BoundedCache<Object, Entry> cache = caches.get(maxSize);
+        Entry entry = cache == null ? null : cache.get(key);
+        if (entry != null && entry.isExpired()) {
+            cache.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return entry;
+    }
+
+    public void put(Object key, Object value, long ttlMillis, int maxSize) {
+        BoundedCache<Object, Entry> cache = caches.get(maxSize);
+        if (cache == null) {
+            cache = new BoundedCache<>(maxSize);
+            BoundedCache<Object, Entry> oldCache = caches.putIfAbsent(maxSize, cache);
+            if (oldCache != null) {
+                cache = oldCache;
+            }
+        }
+        Entry entry = new Entry(value, System.nanoTime() + ttlMillis * 1_000_000L);
+        Entry existingEntry = cache.putIfAbsent(key, entry);
+        // Replace an expired entry that wasn't requested since it expired
+        if (existingEntry != entry && existingEntry.isExpired()) {
+            cache.remove(key);
+            cache.putIfAbsent(key, entry);
+        }
+    }
+
+    public void clear() {
+        for (BoundedCache<Object, Entry> cache : caches.values()) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (BoundedCache<Object, Entry> cache : caches.values()) {
+            size += cache.getStatistics().getSize();
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    public static final class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        private boolean isExpired() {
+            return expiresAt - System.nanoTime() <= 0;
+        }
+    }
+}
@@ -32,8 +32,13 @@ import com.blazebit.persistence.view.spi.type.BasicUserType;
 import com.blazebit.persistence.view.spi.type.DirtyStateTrackable;
 import com.blazebit.persistence.view.spi.type.TypeConverter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -88,6 +93,47 @@ public abstract class AbstractReflectionInstantiator<T> implements ObjectInstant
         return array;
     }
 
+    /**
+     * Creates a method handle of the type <code>(int, Object[])Object</code> for a tuple style proxy constructor.
+     * All constructor arguments except for the tuple offset at index 1 and the tuple at the given index are bound to the values of the default object.
+     *
+     * @param constructor The tuple style proxy constructor
+     * @param defaultObject The default arguments for the constructor
+     * @param tupleIndex The index of the tuple parameter
+     * @return The method handle
+     */
+    static MethodHandle createTupleConstructorHandle(Constructor<?> constructor, Object[] defaultObject, int tupleIndex) {
+        MethodHandle handle = unreflectConstructor(constructor);
+        if (defaultObject.length > tupleIndex + 1) {
+            handle = MethodHandles.insertArguments(handle, tupleIndex + 1, Arrays.copyOfRange(defaultObject, tupleIndex + 1, defaultObject.length));
+        }
+        if (tupleIndex > 2) {
+            handle = MethodHandles.insertArguments(handle, 2, Arrays.copyOfRange(defaultObject, 2, tupleIndex));
+        }
+        handle = MethodHandles.insertArguments(handle, 0, new Object[]{ defaultObject[0] });
+        return handle.asType(MethodType.methodType(Object.class, int.class, Object[].class));
+    }
+
+    /**
+     * Creates a method handle of the type <code>(Object[])Object</code> that spreads the array to the arguments of the given constructor.
+     *
+     * @param constructor The constructor
+     * @return The method handle
+     */
+    static MethodHandle createSpreadConstructorHandle(Constructor<?> constructor) {
+        return unreflectConstructor(constructor)
+                .asSpreader(Object[].class, constructor.getParameterTypes().length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    private static MethodHandle unreflectConstructor(Constructor<?> constructor) {
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalArgumentException("Can't access the proxy constructor: " + constructor, ex);
+        }
+    }
+
     public static <T> ObjectInstantiator<T> createInstantiator(MappingConstructorImpl<T> mappingConstructor, ProxyFactory proxyFactory, ManagedViewTypeImplementor<T> managedViewType, Class<?>[] constructorParameterTypes, EntityViewManagerImpl evm, List<MutableBasicUserTypeEntry> mutableBasicUserTypes, List<TypeConverterEntry> typeConverterEntries) {
         if (managedViewType.getJavaType().isInterface() || Modifier.isAbstract(managedViewType.getJavaType().getModifiers())) {
             return new TupleConstructorReflectionInstantiator<>(mappingConstructor, proxyFactory, managedViewType, constructorParameterTypes, evm, mutableBasicUserTypes, typeConverterEntries);
@@ -124,12 +170,18 @@ public abstract class AbstractReflectionInstantiator<T> implements ObjectInstant
         }
     }
 
-    protected final void prepareTuple(Object[] tuple) {
+    @Override
+    public final T newInstance(Object[] tuple) {
+        return newInstance(tuple, 0, tuple.length);
+    }
+
+    protected final void prepareTuple(Object[] tuple, int offset) {
         // TODO: move this into proxy generated code by setting user types on a static AtomicReferenceArray
         // type conversion
         for (int i = 0; i < typeConverters.length; i++) {
             TypeConverterEntry entry = typeConverters[i];
-            tuple[entry.index] = entry.typeConverter.convertToViewType(tuple[entry.index]);
+            int index = offset + entry.index;
+            tuple[index] = entry.typeConverter.convertToViewType(tuple[index]);
         }
     }
 
@@ -21,6 +21,7 @@ import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImpl;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 
@@ -32,7 +33,7 @@ import java.util.Arrays;
 public class AssignmentConstructorReflectionInstantiator<T> extends AbstractReflectionInstantiator<T> {
 
     private final Constructor<T> constructor;
-    private final Object[] defaultObject;
+    private final MethodHandle constructorHandle;
 
     public AssignmentConstructorReflectionInstantiator(MappingConstructorImpl<T> mappingConstructor, ProxyFactory proxyFactory, ManagedViewTypeImplementor<T> viewType, Class<?>[] parameterTypes,
                                                        EntityViewManager entityViewManager, ManagedViewTypeImpl.InheritanceSubtypeConfiguration<T> configuration, MappingConstructorImpl.InheritanceSubtypeConstructorConfiguration<T> subtypeConstructorConfiguration) {
@@ -80,19 +81,24 @@ public class AssignmentConstructorReflectionInstantiator<T> extends AbstractRefl
         }
 
         this.constructor = javaConstructor;
-        this.defaultObject = defaultObject;
+        this.constructorHandle = AbstractReflectionInstantiator.createTupleConstructorHandle(javaConstructor, defaultObject, 3);
     }
 
     @Override
-    public T newInstance(Object[] tuple) {
+    public T newInstance(Object[] tuple, int offset, int length) {
         try {
-            prepareTuple(tuple);
-            Object[] array = Arrays.copyOf(defaultObject, defaultObject.length);
-            array[3] = tuple;
-            T instance = constructor.newInstance(array);
+            prepareTuple(tuple, offset);
+            // The proxy constructor reads the attribute values relative to the offset
+            T instance = (T) (Object) constructorHandle.invokeExact(offset, tuple);
             finalizeInstance(instance);
             return instance;
-        } catch (Exception ex) {
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            // Exceptions of the constructor are wrapped like Constructor.newInstance did, errors are propagated as is
+            if (offset != 0 || length != tuple.length) {
+                tuple = Arrays.copyOfRange(tuple, offset, offset + length);
+            }
             String[] types = new String[tuple.length];
             
             for (int i = 0; i < types.length; i++) {
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.proxy;
+
+import javassist.ClassPath;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.Map;
+
+/**
+ * A class path that resolves the classes which were defined from the {@link ProxyBytecodeCache}.
+ * The bytecode is only parsed by Javassist when a generated proxy refers to such a class.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+class CachedBytecodeClassPath implements ClassPath {
+
+    private final Map<String, byte[]> bytecodes;
+
+    public CachedBytecodeClassPath(Map<String, byte[]> bytecodes) {
+        this.bytecodes = bytecodes;
+    }
+
+    @Override
+    public InputStream openClassfile(String classname) {
+        byte[] bytecode = bytecodes.get(classname);
+        return bytecode == null ? null : new ByteArrayInputStream(bytecode);
+    }
+
+    @Override
+    public URL find(String classname) {
+        final byte[] bytecode = bytecodes.get(classname);
+        if (bytecode == null) {
+            return null;
+        }
+        try {
+            return new URL(null, "file:/ProxyBytecodeCache/" + classname.replace('.', '/') + ".class", new URLStreamHandler() {
+                @Override
+                protected URLConnection openConnection(URL u) {
+                    return new URLConnection(u) {
+                        @Override
+                        public void connect() {
+                        }
+
+                        @Override
+                        public InputStream getInputStream() {
+                            return new ByteArrayInputStream(bytecode);
+                        }
+                    };
+                }
+            });
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachedBytecodeClassPath";
+    }
+}
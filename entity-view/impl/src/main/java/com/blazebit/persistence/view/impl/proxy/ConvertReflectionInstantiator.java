@@ -20,6 +20,7 @@ import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.metamodel.ManagedViewType;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.Collections;
@@ -33,7 +34,7 @@ public class ConvertReflectionInstantiator<T> implements ObjectInstantiator<T> {
 
     private static final boolean TUPLE_STYLE = true;
     private final Constructor<T> constructor;
-    private final Object[] defaultObject;
+    private final MethodHandle constructorHandle;
     private final AbstractReflectionInstantiator.TypeConverterEntry[] typeConverterEntries;
 
     public ConvertReflectionInstantiator(ProxyFactory proxyFactory, ManagedViewType<T> viewType, Class<?>[] parameterTypes, int constructorParameterCount, EntityViewManager entityViewManager) {
@@ -61,29 +62,43 @@ public class ConvertReflectionInstantiator<T> implements ObjectInstantiator<T> {
         }
 
         this.constructor = javaConstructor;
-        this.defaultObject = defaultObject;
+        if (TUPLE_STYLE) {
+            this.constructorHandle = AbstractReflectionInstantiator.createTupleConstructorHandle(javaConstructor, defaultObject, 2);
+        } else {
+            this.constructorHandle = AbstractReflectionInstantiator.createSpreadConstructorHandle(javaConstructor);
+        }
         this.typeConverterEntries = AbstractReflectionInstantiator.withPrimitiveConverters(Collections.<AbstractReflectionInstantiator.TypeConverterEntry>emptyList(), parameterTypes);
     }
 
     @Override
     public T newInstance(Object[] tuple) {
+        return newInstance(tuple, 0, tuple.length);
+    }
+
+    @Override
+    public T newInstance(Object[] tuple, int offset, int length) {
         try {
             // TODO: move this into proxy generated code by setting user types on a static AtomicReferenceArray
             // type conversion
             for (int i = 0; i < typeConverterEntries.length; i++) {
                 AbstractReflectionInstantiator.TypeConverterEntry entry = typeConverterEntries[i];
-                tuple[entry.index] = entry.typeConverter.convertToViewType(tuple[entry.index]);
+                int index = offset + entry.index;
+                tuple[index] = entry.typeConverter.convertToViewType(tuple[index]);
             }
             T t;
             if (TUPLE_STYLE) {
-                Object[] array = Arrays.copyOf(defaultObject, defaultObject.length);
-                array[2] = tuple;
-                t = constructor.newInstance(array);
+                t = (T) (Object) constructorHandle.invokeExact(offset, tuple);
             } else {
-                t = constructor.newInstance(tuple);
+                t = (T) (Object) constructorHandle.invokeExact(Arrays.copyOfRange(tuple, offset, offset + length));
             }
             return t;
-        } catch (Exception ex) {
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            // Exceptions of the constructor are wrapped like Constructor.newInstance did, errors are propagated as is
+            if (offset != 0 || length != tuple.length) {
+                tuple = Arrays.copyOfRange(tuple, offset, offset + length);
+            }
             String[] types = new String[tuple.length];
             
             for (int i = 0; i < types.length; i++) {
@@ -22,6 +22,7 @@ import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
 import com.blazebit.persistence.view.metamodel.ViewType;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +35,7 @@ import java.util.List;
 public class DirectConstructorReflectionInstantiator<T> extends AbstractReflectionInstantiator<T> {
 
     private final Constructor<T> constructor;
+    private final MethodHandle constructorHandle;
     private final int idSwapIndex;
 
     public DirectConstructorReflectionInstantiator(MappingConstructorImpl<T> mappingConstructor, ProxyFactory proxyFactory, ManagedViewTypeImplementor<T> viewType, Class<?>[] parameterTypes,
@@ -51,22 +53,35 @@ public class DirectConstructorReflectionInstantiator<T> extends AbstractReflecti
         }
 
         this.constructor = javaConstructor;
+        this.constructorHandle = AbstractReflectionInstantiator.createSpreadConstructorHandle(javaConstructor);
         this.idSwapIndex = viewType instanceof ViewType<?> ? ((AbstractMethodAttribute<?, ?>) ((ViewType<?>) viewType).getIdAttribute()).getAttributeIndex() : 0;
     }
 
     @Override
-    public T newInstance(Object[] tuple) {
+    public T newInstance(Object[] tuple, int offset, int length) {
         try {
+            if (offset != 0 || length != tuple.length) {
+                // The constructor arguments must be passed as exact array
+                tuple = Arrays.copyOfRange(tuple, offset, offset + length);
+                offset = 0;
+                length = tuple.length;
+            }
             if (idSwapIndex != 0) {
                 Object tmp = tuple[0];
                 tuple[0] = tuple[idSwapIndex];
                 tuple[idSwapIndex] = tmp;
             }
-            prepareTuple(tuple);
-            T instance = constructor.newInstance(tuple);
+            prepareTuple(tuple, 0);
+            T instance = (T) (Object) constructorHandle.invokeExact(tuple);
             finalizeInstance(instance);
             return instance;
-        } catch (Exception ex) {
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            // Exceptions of the constructor are wrapped like Constructor.newInstance did, errors are propagated as is
+            if (offset != 0 || length != tuple.length) {
+                tuple = Arrays.copyOfRange(tuple, offset, offset + length);
+            }
             String[] types = new String[tuple.length];
 
             for (int i = 0; i < types.length; i++) {
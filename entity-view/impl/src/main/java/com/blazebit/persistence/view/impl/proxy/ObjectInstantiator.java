@@ -24,4 +24,16 @@ package com.blazebit.persistence.view.impl.proxy;
 public interface ObjectInstantiator<T> {
 
     public T newInstance(Object[] tuple);
+
+    /**
+     * Creates a new instance from the <code>length</code> elements of the tuple starting at <code>offset</code>.
+     * The elements in that range may be modified, but the tuple is not retained.
+     *
+     * @param tuple The tuple
+     * @param offset The index of the first element
+     * @param length The number of elements
+     * @return The new instance
+     * @since 1.6.12
+     */
+    public T newInstance(Object[] tuple, int offset, int length);
 }
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.proxy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A persistent cache for the bytecode of generated entity view proxy classes.
+ *
+ * The bytecode of the classes that are defined for a proxy is stored in a file per proxy class within a directory that is named after a fingerprint.
+ * The fingerprint is a hash over the class files of the entity views, the entities, the proxy generator, the Javassist version and the proxy relevant settings,
+ * so that a change of any of these leads to a different directory and thus to the regeneration of all proxies.
+ * Every file also contains a hash of its content, which is verified before the bytecode is defined, to detect corrupted or partially written files.
+ * Since the bytecode is defined as is, the directory must not be writable by other users than the one running the application.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class ProxyBytecodeCache {
+
+    private static final Logger LOG = Logger.getLogger(ProxyBytecodeCache.class.getName());
+    private static final int FORMAT_VERSION = 2;
+    private static final String FILE_SUFFIX = ".proxy";
+
+    private final Path directory;
+
+    public ProxyBytecodeCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public static ProxyBytecodeCache of(Object directory, Collection<Class<?>> classes, String settings) {
+        if (directory == null) {
+            return null;
+        }
+        Path path;
+        if (directory instanceof Path) {
+            path = (Path) directory;
+        } else if (directory instanceof File) {
+            path = ((File) directory).toPath();
+        } else {
+            String directoryString = directory.toString().trim();
+            if (directoryString.isEmpty()) {
+                return null;
+            }
+            path = Paths.get(directoryString);
+        }
+        return new ProxyBytecodeCache(path.toAbsolutePath().resolve(computeFingerprint(classes, settings)));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Computes a hash over the given settings, the class files of the given classes and their super types as well as the class file of the proxy generator and the Javassist version.
+     *
+     * @param classes The classes that influence the generated proxies
+     * @param settings The settings that influence the generated proxies
+     * @return The fingerprint as hex string
+     */
+    public static String computeFingerprint(Collection<Class<?>> classes, String settings) {
+        // Sort by name to be independent of the registration order
+        TreeMap<String, Class<?>> relevantClasses = new TreeMap<>();
+        relevantClasses.put(ProxyFactory.class.getName(), ProxyFactory.class);
+        for (Class<?> clazz : classes) {
+            addClassHierarchy(relevantClasses, clazz);
+        }
+
+        MessageDigest digest = createDigest();
+        digest.update(Integer.toString(FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+        // The class file of CtClass contains the version constant, so we use it to detect a Javassist update without loading Javassist
+        byte[] javassistBytecode = readClassFile(ProxyFactory.class.getClassLoader(), "javassist.CtClass");
+        if (javassistBytecode != null) {
+            digest.update(javassistBytecode);
+        }
+        digest.update(settings.getBytes(StandardCharsets.UTF_8));
+        for (Class<?> clazz : relevantClasses.values()) {
+            digest.update(clazz.getName().getBytes(StandardCharsets.UTF_8));
+            byte[] bytecode = readClassFile(clazz.getClassLoader(), clazz.getName());
+            if (bytecode != null) {
+                digest.update(bytecode);
+            }
+        }
+
+        byte[] hash = digest.digest();
+        StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void addClassHierarchy(TreeMap<String, Class<?>> relevantClasses, Class<?> clazz) {
+        if (clazz == null || clazz.isPrimitive() || clazz.isArray() || clazz.getName().startsWith("java.") || relevantClasses.containsKey(clazz.getName())) {
+            return;
+        }
+        relevantClasses.put(clazz.getName(), clazz);
+        addClassHierarchy(relevantClasses, clazz.getSuperclass());
+        for (Class<?> interfaceClass : clazz.getInterfaces()) {
+            addClassHierarchy(relevantClasses, interfaceClass);
+        }
+    }
+
+    private static byte[] readClassFile(ClassLoader classLoader, String className) {
+        String resourceName = className.replace('.', '/') + ".class";
+        try (InputStream is = classLoader == null ? ClassLoader.getSystemResourceAsStream(resourceName) : classLoader.getResourceAsStream(resourceName)) {
+            if (is == null) {
+                return null;
+            }
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                baos.write(buffer, 0, read);
+            }
+            return baos.toByteArray();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads the cached classes for the given proxy class name.
+     *
+     * @param proxyClassName The name of the proxy class
+     * @return The cached entry or <code>null</code> if there is none or it could not be read
+     */
+    public Entry load(String proxyClassName) {
+        Path file = directory.resolve(proxyClassName + FILE_SUFFIX);
+        try {
+            DataInputStream is = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)));
+            if (is.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            byte[] hash = readBytes(is);
+            byte[] content = readBytes(is);
+            if (!MessageDigest.isEqual(hash, createDigest().digest(content))) {
+                LOG.log(Level.WARNING, "Ignoring the cached proxy class bytecode in " + file + " because the content hash does not match");
+                return null;
+            }
+            Entry entry = readEntry(new DataInputStream(new ByteArrayInputStream(content)));
+            if (entry.getClasses().isEmpty() || !proxyClassName.equals(entry.getClasses().get(entry.getClasses().size() - 1).getClassName())) {
+                return null;
+            }
+            return entry;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not read the cached proxy class bytecode from " + file, e);
+            return null;
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream is) throws IOException {
+        int length = is.readInt();
+        // The stream is backed by a byte array, so a length beyond the available bytes means the file is truncated or corrupted
+        if (length < 0 || length > is.available()) {
+            throw new EOFException("Invalid length " + length + " with only " + is.available() + " bytes remaining");
+        }
+        byte[] bytes = new byte[length];
+        is.readFully(bytes);
+        return bytes;
+    }
+
+    private static Entry readEntry(DataInputStream is) throws IOException {
+        int dependencyCount = is.readInt();
+        List<String> dependencies = new ArrayList<>();
+        for (int i = 0; i < dependencyCount; i++) {
+            dependencies.add(is.readUTF());
+        }
+        int classCount = is.readInt();
+        List<ClassDefinition> classes = new ArrayList<>();
+        for (int i = 0; i < classCount; i++) {
+            String className = is.readUTF();
+            classes.add(new ClassDefinition(className, readBytes(is)));
+        }
+        return new Entry(dependencies, classes);
+    }
+
+    /**
+     * Stores the given entry for the proxy class name. Failures are logged but otherwise ignored as the cache is only an optimization.
+     *
+     * @param proxyClassName The name of the proxy class
+     * @param entry The entry to store
+     */
+    public void store(String proxyClassName, Entry entry) {
+        Path file = directory.resolve(proxyClassName + FILE_SUFFIX);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, proxyClassName, ".tmp");
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (DataOutputStream os = new DataOutputStream(baos)) {
+                os.writeInt(entry.getDependencies().size());
+                for (String dependency : entry.getDependencies()) {
+                    os.writeUTF(dependency);
+                }
+                os.writeInt(entry.getClasses().size());
+                for (ClassDefinition classDefinition : entry.getClasses()) {
+                    os.writeUTF(classDefinition.getClassName());
+                    os.writeInt(classDefinition.getBytecode().length);
+                    os.write(classDefinition.getBytecode());
+                }
+            }
+            byte[] content = baos.toByteArray();
+            byte[] hash = createDigest().digest(content);
+            try (DataOutputStream os = new DataOutputStream(Files.newOutputStream(tempFile))) {
+                os.writeInt(FORMAT_VERSION);
+                os.writeInt(hash.length);
+                os.write(hash);
+                os.writeInt(content.length);
+                os.write(content);
+            }
+            // Move the fully written file into place so that concurrently starting applications never read partial files
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempFile = null;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not write the proxy class bytecode to " + file, e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * The classes that make up a proxy, in definition order, along with the entity view classes whose proxies are referenced by the proxy.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    public static final class Entry {
+
+        private final List<String> dependencies;
+        private final List<ClassDefinition> classes;
+
+        public Entry(List<String> dependencies, List<ClassDefinition> classes) {
+            this.dependencies = dependencies;
+            this.classes = classes;
+        }
+
+        public List<String> getDependencies() {
+            return dependencies;
+        }
+
+        public List<ClassDefinition> getClasses() {
+            return classes;
+        }
+    }
+
+    /**
+     * The bytecode of a class.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    public static final class ClassDefinition {
+
+        private final String className;
+        private final byte[] bytecode;
+
+        public ClassDefinition(String className, byte[] bytecode) {
+            this.className = className;
+            this.bytecode = bytecode;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public byte[] getBytecode() {
+            return bytecode;
+        }
+    }
+}
@@ -39,6 +39,7 @@ import com.blazebit.persistence.view.metamodel.Attribute;
 import com.blazebit.persistence.view.metamodel.BasicType;
 import com.blazebit.persistence.view.metamodel.FlatViewType;
 import com.blazebit.persistence.view.metamodel.ManagedViewType;
+import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 import com.blazebit.persistence.view.metamodel.MapAttribute;
 import com.blazebit.persistence.view.metamodel.MappingAttribute;
 import com.blazebit.persistence.view.metamodel.MappingConstructor;
@@ -135,10 +136,17 @@ public class ProxyFactory {
     private final ConcurrentMap<Class<?>, Class<?>> unsafeProxyClasses = new ConcurrentHashMap<>();
     private final ConcurrentMap<Class<?>, Class<?>> proxyClassesToViewClasses = new ConcurrentHashMap<>();
     private final Object proxyLock = new Object();
-    private final ClassPool pool;
+    // Guarded by proxyLock and only created when a proxy class must be generated
+    private ClassPool pool;
+    // The bytecode of classes defined from the bytecode cache, which the pool resolves when generated proxies refer to them
+    private final Map<String, byte[]> cachedClassBytecodes = new ConcurrentHashMap<>();
+    // Guarded by proxyLock and only set while a proxy class is generated for the bytecode cache
+    private List<ProxyBytecodeCache.ClassDefinition> recordedClasses;
+    private List<String> recordedDependencies;
     private final boolean unsafeDisabled;
     private final boolean strictCascadingCheck;
     private final PackageOpener packageOpener;
+    private final ProxyBytecodeCache bytecodeCache;
 
     static {
         String property = System.getProperty("entityview.debugDumpDirectory");
@@ -167,12 +175,15 @@ public class ProxyFactory {
     }
 
     public ProxyFactory(boolean unsafeDisabled, boolean strictCascadingCheck, PackageOpener packageOpener) {
-        ClassPool pool = new ClassPool((ClassPool) null);
-        pool.appendSystemPath();
-        this.pool = pool;
+        this(unsafeDisabled, strictCascadingCheck, packageOpener, null);
+    }
+
+    public ProxyFactory(boolean unsafeDisabled, boolean strictCascadingCheck, PackageOpener packageOpener, ProxyBytecodeCache bytecodeCache) {
         this.unsafeDisabled = unsafeDisabled;
         this.strictCascadingCheck = strictCascadingCheck;
         this.packageOpener = packageOpener;
+        // In modular mode, the module read edges must be added at runtime while generating, so we can't use cached bytecode
+        this.bytecodeCache = NEEDS_READS_INJECTOR ? null : bytecodeCache;
     }
 
     public <T> Class<? extends T> getProxy(EntityViewManager entityViewManager, ManagedViewTypeImplementor<T> viewType) {
@@ -260,7 +271,17 @@ public class ProxyFactory {
             synchronized (proxyLock) {
                 proxyClass = (Class<? extends T>) classes.get(clazz);
                 if (proxyClass == null) {
-                    proxyClass = createProxyClass(entityViewManager, viewType, unsafe);
+                    // Proxies of subviews might be created while generating a proxy, so we have to restore the recording state of the outer proxy
+                    List<ProxyBytecodeCache.ClassDefinition> outerRecordedClasses = recordedClasses;
+                    List<String> outerRecordedDependencies = recordedDependencies;
+                    recordedClasses = null;
+                    recordedDependencies = null;
+                    try {
+                        proxyClass = createProxyClass(entityViewManager, viewType, unsafe);
+                    } finally {
+                        recordedClasses = outerRecordedClasses;
+                        recordedDependencies = outerRecordedDependencies;
+                    }
                     classes.put(clazz, proxyClass);
                     proxyClassesToViewClasses.put(proxyClass, clazz);
                 }
@@ -270,6 +291,16 @@ public class ProxyFactory {
         return proxyClass;
     }
 
+    private void initializePool() {
+        // No need for locking as we are in a locked context in here anyway
+        if (pool == null) {
+            ClassPool pool = new ClassPool((ClassPool) null);
+            pool.appendSystemPath();
+            pool.appendClassPath(new CachedBytecodeClassPath(cachedClassBytecodes));
+            this.pool = pool;
+        }
+    }
+
     private Class<?> getProxyBase(Class<?> baseClass) {
         if (baseClass.isInterface() || !java.lang.reflect.Modifier.isAbstract(baseClass.getSuperclass().getModifiers())) {
             return baseClass;
@@ -300,6 +331,7 @@ public class ProxyFactory {
             return baseClass;
         }
 
+        initializePool();
         ClassPath classPath = new ClassClassPath(baseClass);
         pool.insertClassPath(classPath);
         try {
@@ -380,6 +412,13 @@ public class ProxyFactory {
         String suffix = unsafe ? "unsafe_" : "";
         String baseName = clazz.getName();
         String proxyClassName = baseName + "_$$_javassist_entityview_" + suffix;
+        if (bytecodeCache != null) {
+            Class<? extends T> cachedProxyClass = defineCachedProxyClass(entityViewManager, managedViewType, proxyClassName);
+            if (cachedProxyClass != null) {
+                return cachedProxyClass;
+            }
+        }
+        initializePool();
         CtClass cc = pool.makeClass(proxyClassName);
         CtClass superCc;
 
@@ -389,6 +428,11 @@ public class ProxyFactory {
         try {
             addReadsModule(clazz, clazz, ProxyFactory.class);
             superCc = pool.get(getProxyBase(clazz).getName());
+            if (bytecodeCache != null) {
+                // The proxy base classes are not recorded, as these are shared between proxies and are cheap to generate
+                recordedClasses = new ArrayList<>();
+                recordedDependencies = new ArrayList<>();
+            }
 
             if (clazz.isInterface()) {
                 cc.addInterface(superCc);
@@ -397,14 +441,14 @@ public class ProxyFactory {
             }
 
             boolean dirtyChecking = false;
-            CtField dirtyField = null;
+            CtField[] dirtyFields = null;
             CtField readOnlyParentsField = null;
             CtField parentField = null;
             CtField parentIndexField = null;
             CtField initialStateField = null;
             CtField mutableStateField = null;
             CtMethod markDirtyStub = null;
-            long alwaysDirtyMask = 0L;
+            long[] alwaysDirtyMask = null;
             cc.addInterface(pool.get(EntityViewProxy.class.getName()));
             addGetJpaManagedClass(cc, managedViewType.getEntityClass());
             addGetJpaManagedBaseClass(cc, getJpaManagedBaseClass(managedViewType));
@@ -541,38 +585,39 @@ public class ProxyFactory {
             if (dirtyChecking) {
                 addReplaceAttribute(cc, methodAttributes);
                 cc.removeMethod(markDirtyStub);
-                if (mutableAttributeCount > 64) {
-                    throw new IllegalArgumentException("Support for more than 64 mutable attributes per view is not yet implemented! " + viewType.getJavaType().getName() + " has " + mutableAttributeCount);
-                } else {
-                    dirtyField = new CtField(CtClass.longType, "$$_dirty", cc);
-                    dirtyField.setModifiers(getModifiers(true));
-                    cc.addField(dirtyField);
-
-                    boolean allSupportDirtyTracking = true;
-                    boolean[] supportsDirtyTracking = new boolean[mutableAttributeCount];
-                    int mutableAttributeIndex = 0;
-                    for (int j = 0; j < methodAttributes.length; j++) {
-                        if (methodAttributes[j] != null && methodAttributes[j].hasDirtyStateIndex()) {
-                            if (supportsDirtyTracking(methodAttributes[j])) {
-                                supportsDirtyTracking[mutableAttributeIndex++] = true;
-                            } else {
-                                allSupportDirtyTracking = false;
-                                alwaysDirtyMask |= 1 << mutableAttributeIndex;
-                                supportsDirtyTracking[mutableAttributeIndex++] = false;
-                            }
+                // The dirty bit mask is split into words of 64 bits, one long field per word
+                dirtyFields = new CtField[getDirtyWordCount(mutableAttributeCount)];
+                alwaysDirtyMask = new long[dirtyFields.length];
+                for (int j = 0; j < dirtyFields.length; j++) {
+                    dirtyFields[j] = new CtField(CtClass.longType, getDirtyFieldName(j), cc);
+                    dirtyFields[j].setModifiers(getModifiers(true));
+                    cc.addField(dirtyFields[j]);
+                }
+
+                boolean allSupportDirtyTracking = true;
+                boolean[] supportsDirtyTracking = new boolean[mutableAttributeCount];
+                int mutableAttributeIndex = 0;
+                for (int j = 0; j < methodAttributes.length; j++) {
+                    if (methodAttributes[j] != null && methodAttributes[j].hasDirtyStateIndex()) {
+                        if (supportsDirtyTracking(methodAttributes[j])) {
+                            supportsDirtyTracking[mutableAttributeIndex++] = true;
+                        } else {
+                            allSupportDirtyTracking = false;
+                            alwaysDirtyMask[mutableAttributeIndex >>> 6] |= 1L << mutableAttributeIndex;
+                            supportsDirtyTracking[mutableAttributeIndex++] = false;
                         }
                     }
-
-                    addIsDirty(cc, dirtyField, allSupportDirtyTracking);
-                    addIsDirtyAttribute(cc, dirtyField, supportsDirtyTracking, allSupportDirtyTracking);
-                    addMarkDirty(cc, dirtyField);
-                    addUnmarkDirty(cc, dirtyField, alwaysDirtyMask);
-                    addSetDirty(cc, dirtyField, alwaysDirtyMask);
-                    addResetDirty(cc, dirtyField, alwaysDirtyMask);
-                    addGetDirty(cc, dirtyField);
-                    addGetSimpleDirty(cc, dirtyField);
-                    addCopyDirty(cc, dirtyField, supportsDirtyTracking, allSupportDirtyTracking);
                 }
+
+                addIsDirty(cc, dirtyFields, allSupportDirtyTracking);
+                addIsDirtyAttribute(cc, dirtyFields, supportsDirtyTracking, allSupportDirtyTracking);
+                addMarkDirty(cc, dirtyFields);
+                addUnmarkDirty(cc, dirtyFields, alwaysDirtyMask);
+                addSetDirty(cc, dirtyFields, alwaysDirtyMask);
+                addResetDirty(cc, dirtyFields, alwaysDirtyMask);
+                addGetDirty(cc, dirtyFields);
+                addGetSimpleDirty(cc, dirtyFields);
+                addCopyDirty(cc, dirtyFields, supportsDirtyTracking, allSupportDirtyTracking);
             }
 
             createEqualsHashCodeMethods(viewType, managedViewType, cc, superCc, attributeFields, idField);
@@ -622,7 +667,11 @@ public class ProxyFactory {
                 cc.addConstructor(createTupleConstructor(managedViewType, constructor, cc, attributeFields.length, constructorAttributeTypes.length, attributeFields, constructorAttributeTypes, initialStateField, mutableStateField, methodAttributes, mutableAttributeCount, true, alwaysDirtyMask, unsafe));
             }
 
-            return defineOrGetClass(entityViewManager, unsafe, clazz, clazz, cc);
+            Class<? extends T> proxyClass = defineOrGetClass(entityViewManager, unsafe, clazz, clazz, cc);
+            if (recordedClasses != null) {
+                bytecodeCache.store(proxyClassName, new ProxyBytecodeCache.Entry(recordedDependencies, recordedClasses));
+            }
+            return proxyClass;
         } catch (Exception ex) {
             throw new RuntimeException("Probably we did something wrong, please contact us if you see this message.", ex);
         } finally {
@@ -630,6 +679,69 @@ public class ProxyFactory {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> Class<? extends T> defineCachedProxyClass(EntityViewManager entityViewManager, ManagedViewTypeImplementor<T> managedViewType, String proxyClassName) {
+        ProxyBytecodeCache.Entry entry = bytecodeCache.load(proxyClassName);
+        if (entry == null) {
+            return null;
+        }
+        Class<?> clazz = managedViewType.getJavaType();
+        try {
+            // The proxies of subviews that are referenced by the proxy must be defined before, as the proxy is not able to load them otherwise
+            if (!entry.getDependencies().isEmpty()) {
+                ViewMetamodel metamodel = entityViewManager.getMetamodel();
+                if (metamodel == null) {
+                    return null;
+                }
+                List<ManagedViewTypeImplementor<Object>> dependencies = new ArrayList<>(entry.getDependencies().size());
+                for (String dependency : entry.getDependencies()) {
+                    ManagedViewType<?> dependencyType = metamodel.managedView(Class.forName(dependency, false, clazz.getClassLoader()));
+                    if (dependencyType == null) {
+                        return null;
+                    }
+                    dependencies.add((ManagedViewTypeImplementor<Object>) dependencyType);
+                }
+                for (ManagedViewTypeImplementor<Object> dependency : dependencies) {
+                    getProxy(entityViewManager, dependency);
+                }
+            }
+            getProxyBase(clazz);
+            if (clazz.getPackage() != null) {
+                packageOpener.openPackageIfNeeded(clazz, clazz.getPackage().getName(), ProxyFactory.class);
+            }
+
+            Class<? extends T> proxyClass = null;
+            boolean newlyDefined = false;
+            for (ProxyBytecodeCache.ClassDefinition classDefinition : entry.getClasses()) {
+                try {
+                    proxyClass = (Class<? extends T>) UnsafeHelper.define(classDefinition.getClassName(), classDefinition.getBytecode(), clazz);
+                    newlyDefined = true;
+                } catch (RuntimeException | LinkageError ex) {
+                    // The class might have been defined already by a different proxy factory for the same class loader
+                    try {
+                        proxyClass = (Class<? extends T>) clazz.getClassLoader().loadClass(classDefinition.getClassName());
+                        newlyDefined = false;
+                    } catch (ClassNotFoundException cnfe) {
+                        throw ex;
+                    }
+                }
+                // Proxies that are generated later might reference this class, so Javassist must be able to resolve it
+                cachedClassBytecodes.put(classDefinition.getClassName(), classDefinition.getBytecode());
+            }
+            updateEvmReferences(proxyClass, entityViewManager, !newlyDefined);
+            return proxyClass;
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+    }
+
+    private Class<?> getSubviewProxy(EntityViewManager entityViewManager, ManagedViewTypeImplementor<Object> managedViewType) {
+        if (recordedDependencies != null && !recordedDependencies.contains(managedViewType.getJavaType().getName())) {
+            recordedDependencies.add(managedViewType.getJavaType().getName());
+        }
+        return getProxy(entityViewManager, managedViewType);
+    }
+
     private void createSerializationSubclass(ManagedViewTypeImplementor<?> managedViewType, CtClass cc) throws Exception {
         boolean hasSelfConstructor = false;
         OUTER: for (MappingConstructor<?> constructor : managedViewType.getConstructors()) {
@@ -1023,7 +1135,11 @@ public class ProxyFactory {
                 cc.writeFile(DEBUG_DUMP_DIRECTORY.toString());
             }
 
-            c = (Class<? extends T>) UnsafeHelper.define(cc.getName(), cc.toBytecode(), neighbourClazz);
+            byte[] bytecode = cc.toBytecode();
+            if (recordedClasses != null) {
+                recordedClasses.add(new ProxyBytecodeCache.ClassDefinition(cc.getName(), bytecode));
+            }
+            c = (Class<? extends T>) UnsafeHelper.define(cc.getName(), bytecode, neighbourClazz);
             newlyDefined = true;
         } catch (CannotCompileException | LinkageError ex) {
             // If there are multiple proxy factories for the same class loader
@@ -1318,7 +1434,15 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addIsDirty(CtClass cc, CtField dirtyField, boolean allSupportDirtyTracking) throws CannotCompileException {
+    private static int getDirtyWordCount(int mutableAttributeCount) {
+        return Math.max(1, (mutableAttributeCount + 63) >>> 6);
+    }
+
+    private static String getDirtyFieldName(int wordIndex) {
+        return wordIndex == 0 ? "$$_dirty" : "$$_dirty" + wordIndex;
+    }
+
+    private CtMethod addIsDirty(CtClass cc, CtField[] dirtyFields, boolean allSupportDirtyTracking) throws CannotCompileException {
         String desc = "()" + Descriptor.of("boolean");
         ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_isDirty", desc);
@@ -1326,7 +1450,16 @@ public class ProxyFactory {
         minfo.setAccessFlags(AccessFlag.PUBLIC);
 
         if (allSupportDirtyTracking) {
-            method.setBody("{ return $0." + dirtyField.getName() + " != 0; }");
+            StringBuilder sb = new StringBuilder();
+            sb.append("{ return ");
+            for (int i = 0; i < dirtyFields.length; i++) {
+                if (i != 0) {
+                    sb.append(" || ");
+                }
+                sb.append("$0.").append(dirtyFields[i].getName()).append(" != 0");
+            }
+            sb.append("; }");
+            method.setBody(sb.toString());
         } else {
             method.setBody("{ return true; }");
         }
@@ -1335,7 +1468,7 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addIsDirtyAttribute(CtClass cc, CtField dirtyField, boolean[] supportsDirtyTracking, boolean allSupportDirtyTracking) throws CannotCompileException {
+    private CtMethod addIsDirtyAttribute(CtClass cc, CtField[] dirtyFields, boolean[] supportsDirtyTracking, boolean allSupportDirtyTracking) throws CannotCompileException {
         String desc = "(" + Descriptor.of("int") + ")" + Descriptor.of("boolean");
         ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_isDirty", desc);
@@ -1354,7 +1487,18 @@ public class ProxyFactory {
             sb.append("\t}\n");
         }
 
-        sb.append("\treturn ($0.").append(dirtyField.getName()).append(" & (1L << $1)) != 0;\n");
+        if (dirtyFields.length == 1) {
+            sb.append("\treturn ($0.").append(dirtyFields[0].getName()).append(" & (1L << $1)) != 0;\n");
+        } else {
+            // A long shift only uses the lower 6 bits of the shift distance, so $1 can be used directly within the word
+            sb.append("\tswitch ($1 >>> 6) {\n");
+            for (int i = 0; i < dirtyFields.length; i++) {
+                sb.append("\t\tcase ").append(i).append(": return ($0.").append(dirtyFields[i].getName()).append(" & (1L << $1)) != 0;\n");
+            }
+            sb.append("\t\tdefault : break;\n");
+            sb.append("\t}\n");
+            sb.append("\treturn false;\n");
+        }
         sb.append("}");
         method.setBody(sb.toString());
         cc.addMethod(method);
@@ -1377,18 +1521,25 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addMarkDirty(CtClass cc, CtField dirtyField) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addMarkDirty(CtClass cc, CtField[] dirtyFields) throws CannotCompileException {
         String desc = "(" + Descriptor.of("int") + ")V";
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = dirtyFields[0].getFieldInfo2().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_markDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\t$0.").append(dirtyFieldName).append(" |= (1 << $1);\n");
+        if (dirtyFields.length == 1) {
+            sb.append("\t$0.").append(dirtyFields[0].getName()).append(" |= (1L << $1);\n");
+        } else {
+            sb.append("\tswitch ($1 >>> 6) {\n");
+            for (int i = 0; i < dirtyFields.length; i++) {
+                sb.append("\t\tcase ").append(i).append(": $0.").append(dirtyFields[i].getName()).append(" |= (1L << $1); break;\n");
+            }
+            sb.append("\t\tdefault : break;\n");
+            sb.append("\t}\n");
+        }
 
         sb.append("\tif ($0.$$_parent != null) {\n");
         sb.append("\t$0.$$_parent.$$_markDirty($0.$$_parentIndex);\n");
@@ -1401,24 +1552,34 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addSetDirty(CtClass cc, CtField dirtyField, long alwaysDirtyMask) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addSetDirty(CtClass cc, CtField[] dirtyFields, long[] alwaysDirtyMask) throws CannotCompileException {
         String desc = "([" + Descriptor.of("long") + ")V";
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = dirtyFields[0].getFieldInfo2().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_setDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        if (alwaysDirtyMask == 0L) {
-            sb.append("\t$0.").append(dirtyFieldName).append(" = $1[0];\n");
-        } else {
-            sb.append("\t$0.").append(dirtyFieldName).append(" = $1[0] | ").append(alwaysDirtyMask).append("L;\n");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            String dirtyFieldName = dirtyFields[i].getName();
+            // Dirty arrays from proxies with less words are valid, the missing words are just not dirty
+            String word = i == 0 ? "$1[0]" : "($1.length > " + i + " ? $1[" + i + "] : 0L)";
+            if (alwaysDirtyMask[i] == 0L) {
+                sb.append("\t$0.").append(dirtyFieldName).append(" = ").append(word).append(";\n");
+            } else {
+                sb.append("\t$0.").append(dirtyFieldName).append(" = ").append(word).append(" | ").append(alwaysDirtyMask[i]).append("L;\n");
+            }
         }
 
-        sb.append("\tif ($0.").append(dirtyFieldName).append(" != 0 && $0.$$_parent != null) {\n");
+        sb.append("\tif ((");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            if (i != 0) {
+                sb.append(" | ");
+            }
+            sb.append("$0.").append(dirtyFields[i].getName());
+        }
+        sb.append(") != 0 && $0.$$_parent != null) {\n");
         sb.append("\t\t$0.$$_parent.$$_markDirty($0.$$_parentIndex);\n");
         sb.append("\t}\n");
         sb.append('}');
@@ -1429,18 +1590,18 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addUnmarkDirty(CtClass cc, CtField dirtyField, long alwaysDirtyMask) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addUnmarkDirty(CtClass cc, CtField[] dirtyFields, long[] alwaysDirtyMask) throws CannotCompileException {
         String desc = "()" + Descriptor.of("void");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = dirtyFields[0].getFieldInfo2().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_unmarkDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\t$0.").append(dirtyFieldName).append(" = ").append(alwaysDirtyMask).append("L;\n");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            sb.append("\t$0.").append(dirtyFields[i].getName()).append(" = ").append(alwaysDirtyMask[i]).append("L;\n");
+        }
         sb.append('}');
 
         CtMethod method = CtMethod.make(minfo, cc);
@@ -1449,20 +1610,21 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addResetDirty(CtClass cc, CtField dirtyField, long alwaysDirtyMask) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addResetDirty(CtClass cc, CtField[] dirtyFields, long[] alwaysDirtyMask) throws CannotCompileException {
         String desc = "()[" + Descriptor.of("long");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = dirtyFields[0].getFieldInfo2().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_resetDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\tlong[] dirty = new long[1];\n");
-        sb.append("\tdirty[0] = $0.").append(dirtyFieldName).append(";\n");
-        sb.append("\t$0.").append(dirtyFieldName).append(" = ").append(alwaysDirtyMask).append("L;\n");
+        sb.append("\tlong[] dirty = new long[").append(dirtyFields.length).append("];\n");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            String dirtyFieldName = dirtyFields[i].getName();
+            sb.append("\tdirty[").append(i).append("] = $0.").append(dirtyFieldName).append(";\n");
+            sb.append("\t$0.").append(dirtyFieldName).append(" = ").append(alwaysDirtyMask[i]).append("L;\n");
+        }
         sb.append("\treturn dirty;\n");
         sb.append('}');
 
@@ -1472,19 +1634,19 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addGetDirty(CtClass cc, CtField dirtyField) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addGetDirty(CtClass cc, CtField[] dirtyFields) throws CannotCompileException {
         String desc = "()[" + Descriptor.of("long");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = dirtyFields[0].getFieldInfo2().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_getDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\tlong[] dirty = new long[1];\n");
-        sb.append("\tdirty[0] = $0.").append(dirtyFieldName).append(";\n");
+        sb.append("\tlong[] dirty = new long[").append(dirtyFields.length).append("];\n");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            sb.append("\tdirty[").append(i).append("] = $0.").append(dirtyFields[i].getName()).append(";\n");
+        }
         sb.append("\treturn dirty;\n");
         sb.append('}');
 
@@ -1494,18 +1656,16 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addGetSimpleDirty(CtClass cc, CtField dirtyField) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addGetSimpleDirty(CtClass cc, CtField[] dirtyFields) throws CannotCompileException {
         String desc = "()" + Descriptor.of("long");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = dirtyFields[0].getFieldInfo2().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_getSimpleDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\treturn $0.").append(dirtyFieldName).append(";\n");
+        sb.append("\treturn $0.").append(dirtyFields[0].getName()).append(";\n");
         sb.append('}');
 
         CtMethod method = CtMethod.make(minfo, cc);
@@ -1514,32 +1674,39 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addCopyDirty(CtClass cc, CtField dirtyField, boolean[] supportsDirtyTracking, boolean allSupportDirtyTracking) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addCopyDirty(CtClass cc, CtField[] dirtyFields, boolean[] supportsDirtyTracking, boolean allSupportDirtyTracking) throws CannotCompileException {
         String desc = "([" + Descriptor.of("java.lang.Object") + "[" + Descriptor.of("java.lang.Object") + ")" + Descriptor.of("boolean");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = dirtyFields[0].getFieldInfo2().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_copyDirty", desc);
         minfo.addAttribute(new SignatureAttribute(minfo.getConstPool(), "<T:" + Descriptor.of("java.lang.Object") + ">([TT;[TT;)" + Descriptor.of("boolean")));
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
 
-        sb.append("\tlong dirty = $0.").append(dirtyFieldName).append(";\n");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            sb.append("\tlong dirty").append(i).append(" = $0.").append(dirtyFields[i].getName()).append(";\n");
+        }
 
         if (allSupportDirtyTracking) {
-            sb.append("\tif (dirty == 0) {\n");
+            sb.append("\tif ((");
+            for (int i = 0; i < dirtyFields.length; i++) {
+                if (i != 0) {
+                    sb.append(" | ");
+                }
+                sb.append("dirty").append(i);
+            }
+            sb.append(") == 0) {\n");
             sb.append("\t\treturn false;\n");
             sb.append("\t} else {\n");
         }
 
         for (int i = 0; i < supportsDirtyTracking.length; i++) {
-            long mask = 1 << i;
+            long mask = 1L << i;
 
             if (supportsDirtyTracking[i]) {
-                sb.append("\t\t$2[").append(i).append("] = (dirty & ").append(mask).append(") == 0 ? null : $1[").append(i).append("];\n");
+                sb.append("\t\t$2[").append(i).append("] = (dirty").append(i >>> 6).append(" & ").append(mask).append("L) == 0 ? null : $1[").append(i).append("];\n");
             } else {
                 sb.append("\t\t$2[").append(i).append("] = $1[").append(i).append("];\n");
             }
@@ -2384,19 +2551,19 @@ public class ProxyFactory {
     }
 
     private CtConstructor createNormalConstructor(EntityViewManager evm, ManagedViewType<?> managedViewType, MappingConstructor<?> constructor, CtClass cc, CtField[] attributeFields, CtClass[] attributeTypes, CtField initialStateField, CtField mutableStateField,
-                                                  AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                                  AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         int superConstructorStart = attributeFields.length;
         int superConstructorEnd = attributeTypes.length;
         return createConstructor(evm, managedViewType, constructor, cc, superConstructorStart, superConstructorEnd, attributeFields, attributeTypes, initialStateField, mutableStateField, attributes, mutableAttributeCount, ConstructorKind.NORMAL, null, alwaysDirtyMask, unsafe);
     }
 
     private CtConstructor createCreateConstructor(EntityViewManager evm, ManagedViewType<?> managedViewType, CtClass cc, CtField[] attributeFields, CtClass[] attributeTypes, CtField idField, CtField initialStateField, CtField mutableStateField,
-                                                  AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                                  AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         return createConstructor(evm, managedViewType, null, cc, 0, 0, attributeFields, attributeTypes, initialStateField, mutableStateField, attributes, mutableAttributeCount, ConstructorKind.CREATE, idField, alwaysDirtyMask, unsafe);
     }
 
     private CtConstructor createReferenceConstructor(EntityViewManager evm, ManagedViewType<?> managedViewType, CtClass cc, CtField[] attributeFields, CtField idField, CtField initialStateField, CtField mutableStateField,
-                                                     AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                                     AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         CtClass[] attributeTypes = new CtClass[]{ idField.getType() };
         return createConstructor(evm, managedViewType, null, cc, 0, 0, attributeFields, attributeTypes, initialStateField, mutableStateField, attributes, mutableAttributeCount, ConstructorKind.REFERENCE, idField, alwaysDirtyMask, unsafe);
     }
@@ -2412,7 +2579,7 @@ public class ProxyFactory {
     }
 
     private CtConstructor createConstructor(EntityViewManager evm, ManagedViewType<?> managedViewType, MappingConstructor<?> constructor, CtClass cc, int superConstructorStart, int superConstructorEnd, CtField[] attributeFields, CtClass[] attributeTypes, CtField initialStateField, CtField mutableStateField,
-                                            AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, ConstructorKind kind, CtField idField, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                            AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, ConstructorKind kind, CtField idField, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         CtClass[] parameterTypes;
         if (kind == ConstructorKind.CREATE) {
             parameterTypes = new CtClass[]{ cc, pool.get(Map.class.getName()) };
@@ -2440,7 +2607,7 @@ public class ProxyFactory {
     }
 
     private CtConstructor createTupleConstructor(ManagedViewType<?> managedViewType, MappingConstructor<?> constructor, CtClass cc, int superConstructorStart, int superConstructorEnd, CtField[] attributeFields, CtClass[] attributeTypes, CtField initialStateField, CtField mutableStateField,
-                                                 AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, boolean assignment, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                                 AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, boolean assignment, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         CtClass[] parameterTypes;
         if (assignment) {
             parameterTypes = new CtClass[(superConstructorEnd - superConstructorStart) + 4];
@@ -2612,17 +2779,19 @@ public class ProxyFactory {
     }
 
     private void renderFieldInitialization(EntityViewManager entityViewManager, ManagedViewType<?> managedViewType, MappingConstructor<?> constructor, CtField[] attributeFields, CtField initialStateField, CtField mutableStateField,
-                                           AbstractMethodAttribute<?, ?>[] methodAttributes, int mutableAttributeCount, ConstructorKind kind, long alwaysDirtyMask, StringBuilder sb, boolean unsafe, CtField idField) throws NotFoundException, CannotCompileException {
+                                           AbstractMethodAttribute<?, ?>[] methodAttributes, int mutableAttributeCount, ConstructorKind kind, long[] alwaysDirtyMask, StringBuilder sb, boolean unsafe, CtField idField) throws NotFoundException, CannotCompileException {
         if (initialStateField != null) {
             sb.append("\tObject[] initialStateArr = new Object[").append(mutableAttributeCount).append("];\n");
         }
 
         if (mutableStateField != null) {
             sb.append("\tObject[] mutableStateArr = new Object[").append(mutableAttributeCount).append("];\n");
-            if (unsafe) {
-                sb.append("\t$0.$$_dirty = ").append(alwaysDirtyMask).append("L;\n");
-            } else {
-                sb.append("\t$0.$$_dirty |= ").append(alwaysDirtyMask).append("L;\n");
+            for (int i = 0; i < alwaysDirtyMask.length; i++) {
+                if (unsafe) {
+                    sb.append("\t$0.").append(getDirtyFieldName(i)).append(" = ").append(alwaysDirtyMask[i]).append("L;\n");
+                } else {
+                    sb.append("\t$0.").append(getDirtyFieldName(i)).append(" |= ").append(alwaysDirtyMask[i]).append("L;\n");
+                }
             }
         }
 
@@ -2759,7 +2928,7 @@ public class ProxyFactory {
                         SingularAttribute<?, ?> singularAttribute = (SingularAttribute<?, ?>) methodAttribute;
                         if (singularAttribute.isCreateEmptyFlatView()) {
                             ManagedViewTypeImplementor<Object> attributeManagedViewType = (ManagedViewTypeImplementor<Object>) singularAttribute.getType();
-                            String proxyClassName = getProxy(entityViewManager, attributeManagedViewType).getName();
+                            String proxyClassName = getSubviewProxy(entityViewManager, attributeManagedViewType).getName();
                             sb.append("new ");
                             sb.append(proxyClassName);
                             sb.append("((").append(proxyClassName).append(") null, ");
@@ -2841,7 +3010,7 @@ public class ProxyFactory {
                             }
                             if (singularAttribute != null && singularAttribute.isCreateEmptyFlatView()) {
                                 ManagedViewTypeImplementor<Object> attributeManagedViewType = (ManagedViewTypeImplementor<Object>) singularAttribute.getType();
-                                String proxyClassName = getProxy(entityViewManager, attributeManagedViewType).getName();
+                                String proxyClassName = getSubviewProxy(entityViewManager, attributeManagedViewType).getName();
                                 sb.append("new ");
                                 sb.append(proxyClassName);
                                 sb.append("((").append(proxyClassName).append(") null, $2);\n");
@@ -2902,17 +3071,19 @@ public class ProxyFactory {
         }
     }
 
-    private void renderFieldInitialization(MappingConstructor<?> constructor, CtField[] attributeFields, CtField initialStateField, CtField mutableStateField, AbstractMethodAttribute<?, ?>[] methodAttributes, int mutableAttributeCount, boolean assignment, long alwaysDirtyMask, boolean unsafe, StringBuilder sb) throws NotFoundException {
+    private void renderFieldInitialization(MappingConstructor<?> constructor, CtField[] attributeFields, CtField initialStateField, CtField mutableStateField, AbstractMethodAttribute<?, ?>[] methodAttributes, int mutableAttributeCount, boolean assignment, long[] alwaysDirtyMask, boolean unsafe, StringBuilder sb) throws NotFoundException {
         if (initialStateField != null) {
             sb.append("\tObject[] initialStateArr = new Object[").append(mutableAttributeCount).append("];\n");
         }
 
         if (mutableStateField != null) {
             sb.append("\tObject[] mutableStateArr = new Object[").append(mutableAttributeCount).append("];\n");
-            if (unsafe) {
-                sb.append("\t$0.$$_dirty = ").append(alwaysDirtyMask).append("L;\n");
-            } else {
-                sb.append("\t$0.$$_dirty |= ").append(alwaysDirtyMask).append("L;\n");
+            for (int i = 0; i < alwaysDirtyMask.length; i++) {
+                if (unsafe) {
+                    sb.append("\t$0.").append(getDirtyFieldName(i)).append(" = ").append(alwaysDirtyMask[i]).append("L;\n");
+                } else {
+                    sb.append("\t$0.").append(getDirtyFieldName(i)).append(" |= ").append(alwaysDirtyMask[i]).append("L;\n");
+                }
             }
         }
 
@@ -20,6 +20,7 @@ import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.List;
@@ -32,7 +33,7 @@ import java.util.List;
 public class TupleConstructorReflectionInstantiator<T> extends AbstractReflectionInstantiator<T> {
 
     private final Constructor<T> constructor;
-    private final Object[] defaultObject;
+    private final MethodHandle constructorHandle;
 
     public TupleConstructorReflectionInstantiator(MappingConstructorImpl<T> mappingConstructor, ProxyFactory proxyFactory, ManagedViewTypeImplementor<T> viewType, Class<?>[] parameterTypes,
                                                   EntityViewManager entityViewManager, List<MutableBasicUserTypeEntry> mutableBasicUserTypes, List<TypeConverterEntry> typeConverterEntries) {
@@ -67,19 +68,24 @@ public class TupleConstructorReflectionInstantiator<T> extends AbstractReflectio
         }
 
         this.constructor = javaConstructor;
-        this.defaultObject = defaultObject;
+        this.constructorHandle = AbstractReflectionInstantiator.createTupleConstructorHandle(javaConstructor, defaultObject, 2);
     }
 
     @Override
-    public T newInstance(Object[] tuple) {
+    public T newInstance(Object[] tuple, int offset, int length) {
         try {
-            prepareTuple(tuple);
-            Object[] array = Arrays.copyOf(defaultObject, defaultObject.length);
-            array[2] = tuple;
-            T instance = constructor.newInstance(array);
+            prepareTuple(tuple, offset);
+            // The proxy constructor reads the attribute values relative to the offset
+            T instance = (T) (Object) constructorHandle.invokeExact(offset, tuple);
             finalizeInstance(instance);
             return instance;
-        } catch (Exception ex) {
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            // Exceptions of the constructor are wrapped like Constructor.newInstance did, errors are propagated as is
+            if (offset != 0 || length != tuple.length) {
+                tuple = Arrays.copyOfRange(tuple, offset, offset + length);
+            }
             String[] types = new String[tuple.length];
 
             for (int i = 0; i < types.length; i++) {
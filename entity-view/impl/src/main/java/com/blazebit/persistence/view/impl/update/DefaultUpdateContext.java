@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.view.impl.update;
 
+import com.blazebit.persistence.spi.ExtendedQuerySupport;
 import com.blazebit.persistence.view.FlushOperationBuilder;
 import com.blazebit.persistence.view.OptimisticLockException;
 import com.blazebit.persistence.view.PostCommitListener;
@@ -54,12 +55,15 @@ import com.blazebit.persistence.view.spi.TransactionAccess;
 import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import javax.transaction.Synchronization;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -88,8 +92,16 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
     private Map<EntityKey, List<ViewCacheEntry>> viewCache;
     private Set<EntityKey> versionChecked;
     private List<PostFlushDeleter> orphanRemovalDeleters = new ArrayList<>();
+    // Query strings of the created update queries and the deferred root updates grouped by query string, only used when flushing multiple objects through the same context
+    // The query string is determined by the updater and the dirty attributes, so every group can be executed as one JDBC batch
+    private final Map<Query, String> updateQueryStrings;
+    private final Map<String, List<BatchedUpdate>> batchedUpdates;
 
     public DefaultUpdateContext(EntityViewManagerImpl evm, EntityManager em, boolean forceFull, boolean forceEntity, boolean remove, Class<?> entityViewClass, Object object, Object entity) {
+        this(evm, em, forceFull, forceEntity, remove, entityViewClass, object, entity, false);
+    }
+
+    public DefaultUpdateContext(EntityViewManagerImpl evm, EntityManager em, boolean forceFull, boolean forceEntity, boolean remove, Class<?> entityViewClass, Object object, Object entity, boolean batchUpdates) {
         this.evm = evm;
         this.em = em;
         this.forceFull = forceFull;
@@ -99,6 +111,13 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
         this.entityViewClass = entityViewClass;
         this.object = object;
         this.entity = entity;
+        if (batchUpdates) {
+            this.updateQueryStrings = new IdentityHashMap<>();
+            this.batchedUpdates = new LinkedHashMap<>();
+        } else {
+            this.updateQueryStrings = null;
+            this.batchedUpdates = null;
+        }
 
         if (!transactionAccess.isActive()) {
             throw new IllegalStateException("Transaction is not active!");
@@ -211,6 +230,15 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
         return versionChecked.add(new EntityKey(entityClass, id));
     }
 
+    /**
+     * Clears the version checks so that the next object flushed through this context checks the versions again.
+     *
+     * @since 1.6.12
+     */
+    public void clearVersionChecks() {
+        versionChecked = null;
+    }
+
     @Override
     public boolean addRemovedObject(Object value) {
         if (removedObjects == null) {
@@ -251,6 +279,79 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
         }
     }
 
+    @Override
+    public Query createUpdateQuery(String queryString) {
+        Query query = em.createQuery(queryString);
+        if (updateQueryStrings != null) {
+            updateQueryStrings.put(query, queryString);
+        }
+        return query;
+    }
+
+    @Override
+    public boolean addBatchedUpdate(Query query, Object entity, MutableStateTrackable updatableProxy, int orphanRemovalStartIndex) {
+        if (updateQueryStrings == null) {
+            return false;
+        }
+        String queryString = updateQueryStrings.remove(query);
+        if (queryString == null) {
+            return false;
+        }
+        List<BatchedUpdate> updates = batchedUpdates.get(queryString);
+        if (updates == null) {
+            updates = new ArrayList<>();
+            batchedUpdates.put(queryString, updates);
+        }
+        // The orphans of the view may only be removed after the update was executed
+        updates.add(new BatchedUpdate(query, entity, updatableProxy, orphanRemovalStartIndex, orphanRemovalDeleters.size()));
+        return true;
+    }
+
+    /**
+     * Executes the deferred update queries, every group of queries with the same query string as one JDBC batch if possible,
+     * and removes the orphans of the flushed objects afterwards.
+     *
+     * @throws OptimisticLockException if an update query did not update exactly one row
+     * @since 1.6.12
+     */
+    public void executeBatchedUpdates() {
+        if (batchedUpdates == null) {
+            return;
+        }
+        updateQueryStrings.clear();
+        if (batchedUpdates.isEmpty()) {
+            return;
+        }
+        ExtendedQuerySupport extendedQuerySupport = evm.getCriteriaBuilderFactory().getService(ExtendedQuerySupport.class);
+        List<BatchedUpdate> executedUpdates = new ArrayList<>();
+        for (List<BatchedUpdate> updates : batchedUpdates.values()) {
+            int[] updateCounts = null;
+            if (updates.size() > 1 && extendedQuerySupport != null) {
+                List<Query> queries = new ArrayList<>(updates.size());
+                for (int i = 0; i < updates.size(); i++) {
+                    queries.add(updates.get(i).query);
+                }
+                updateCounts = extendedQuerySupport.executeBatchUpdate(em, queries);
+            }
+            for (int i = 0; i < updates.size(); i++) {
+                BatchedUpdate update = updates.get(i);
+                int updated = updateCounts == null ? update.query.executeUpdate() : updateCounts[i];
+                // Drivers are allowed to report that a batched statement succeeded without providing the row count
+                if (updated != 1 && updated != Statement.SUCCESS_NO_INFO) {
+                    throw new OptimisticLockException("The update operation did not return the expected update count!", update.entity, update.updatableProxy);
+                }
+            }
+            executedUpdates.addAll(updates);
+        }
+        batchedUpdates.clear();
+        for (int i = 0; i < executedUpdates.size(); i++) {
+            BatchedUpdate update = executedUpdates.get(i);
+            for (int j = update.orphanRemovalStartIndex; j < update.orphanRemovalEndIndex; j++) {
+                orphanRemovalDeleters.get(j).execute(this);
+            }
+        }
+    }
+
     @Override
     public void invokePrePersist(MutableStateTrackable updatableProxy, Object entity) {
         listenerManager.invokePrePersist(this, updatableProxy, entity);
@@ -885,6 +986,26 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
         return onPostRollback(entityViewClass, entityClass, viewTransitions, new ViewTransitionPostRollbackListenerImpl<>(listener));
     }
 
+    /**
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class BatchedUpdate {
+        private final Query query;
+        private final Object entity;
+        private final MutableStateTrackable updatableProxy;
+        private final int orphanRemovalStartIndex;
+        private final int orphanRemovalEndIndex;
+
+        public BatchedUpdate(Query query, Object entity, MutableStateTrackable updatableProxy, int orphanRemovalStartIndex, int orphanRemovalEndIndex) {
+            this.query = query;
+            this.entity = entity;
+            this.updatableProxy = updatableProxy;
+            this.orphanRemovalStartIndex = orphanRemovalStartIndex;
+            this.orphanRemovalEndIndex = orphanRemovalEndIndex;
+        }
+    }
+
     /**
      * @author Christian Beikov
      * @since 1.2.0
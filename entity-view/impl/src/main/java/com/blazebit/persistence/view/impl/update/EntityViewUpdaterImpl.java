@@ -19,6 +19,7 @@ package com.blazebit.persistence.view.impl.update;
 import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.parser.EntityMetamodel;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.parser.util.BoundedCache;
 import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
 import com.blazebit.persistence.spi.ExtendedAttribute;
 import com.blazebit.persistence.spi.ExtendedManagedType;
@@ -117,6 +118,7 @@ import java.util.TreeMap;
 public class EntityViewUpdaterImpl implements EntityViewUpdater {
 
     public static final String WHERE_CLAUSE_PREFIX = "_";
+    private static final int UPDATE_QUERY_STRING_CACHE_SIZE = 64;
 
     private final boolean rootUpdateAllowed;
     private final ManagedViewTypeImplementor<?> managedViewType;
@@ -129,6 +131,8 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
     private final String updatePostfixString;
     private final String versionedUpdatePostfixString;
     private final String fullUpdateQueryString;
+    // Partial update query strings by the update query fragment mask of the dirty flusher and the optimistic locking flag in the highest bit
+    private final BoundedCache<Long, String> updateQueryStringCache = new BoundedCache<>(UPDATE_QUERY_STRING_CACHE_SIZE);
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public EntityViewUpdaterImpl(EntityViewManagerImpl evm, Map<Object, EntityViewUpdaterImpl> localCache, ManagedViewTypeImplementor<?> viewType, ManagedViewTypeImplementor<?> declaredViewType, EntityViewUpdaterImpl owner, String ownerMapping) {
@@ -654,32 +658,45 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
             queryString = fullUpdateQueryString;
             needsOptimisticLocking = fullFlusher.hasVersionFlusher();
         } else {
-            StringBuilder sb = new StringBuilder(updatePrefixString.length() + updatePostfixString.length() + 250);
-            sb.append(updatePrefixString);
-            int initialLength = sb.length();
-            flusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
-            if (sb.length() == initialLength) {
-                // If we still need optimistic locking, we just append a flush for the version increment
-                if (needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected()) {
-                    versionFlusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
-                    sb.append(versionedUpdatePostfixString);
-                    queryString = sb.toString();
-                } else {
-                    queryString = null;
-                }
+            needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected();
+            long cacheKey = flusher instanceof CompositeAttributeFlusher ? ((CompositeAttributeFlusher) flusher).getUpdateQueryFragmentMask() : 0L;
+            if (cacheKey == 0L) {
+                queryString = null;
             } else {
-                if (needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected()) {
-                    sb.append(versionedUpdatePostfixString);
+                if (needsOptimisticLocking) {
+                    cacheKey |= Long.MIN_VALUE;
+                }
+                queryString = updateQueryStringCache.get(cacheKey);
+            }
+            if (queryString == null) {
+                StringBuilder sb = new StringBuilder(updatePrefixString.length() + updatePostfixString.length() + 250);
+                sb.append(updatePrefixString);
+                int initialLength = sb.length();
+                flusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
+                if (sb.length() == initialLength) {
+                    // If we still need optimistic locking, we just append a flush for the version increment
+                    if (needsOptimisticLocking) {
+                        versionFlusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
+                        sb.append(versionedUpdatePostfixString);
+                        queryString = sb.toString();
+                    }
                 } else {
-                    sb.append(updatePostfixString);
+                    if (needsOptimisticLocking) {
+                        sb.append(versionedUpdatePostfixString);
+                    } else {
+                        sb.append(updatePostfixString);
+                    }
+                    queryString = sb.toString();
+                    if (cacheKey != 0L) {
+                        updateQueryStringCache.putIfAbsent(cacheKey, queryString);
+                    }
                 }
-                queryString = sb.toString();
             }
         }
 
         Query query = null;
         if (queryString != null) {
-            query = context.getEntityManager().createQuery(queryString);
+            query = context.createUpdateQuery(queryString);
             if (idFlusher != null) {
                 idFlusher.flushQuery(context, WHERE_CLAUSE_PREFIX, null, query, updatableProxy, updatableProxy, updatableProxy.$$_getId(), null, null);
             }
@@ -710,6 +727,9 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
             int orphanRemovalStartIndex = context.getOrphanRemovalDeleters().size();
             Query query = flusher.flushQuery(context, null, this, null, updatableProxy, updatableProxy, updatableProxy, null, flusher);
             if (query != null) {
+                if (context.addBatchedUpdate(query, entity, updatableProxy, orphanRemovalStartIndex)) {
+                    return true;
+                }
                 int updated = query.executeUpdate();
 
                 if (updated != 1) {
@@ -23,6 +23,7 @@ import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import java.util.List;
 
 /**
@@ -102,6 +103,16 @@ public class SimpleUpdateContext implements UpdateContext {
     public void removeOrphans(int orphanRemovalStartIndex) {
     }
 
+    @Override
+    public Query createUpdateQuery(String queryString) {
+        return em.createQuery(queryString);
+    }
+
+    @Override
+    public boolean addBatchedUpdate(Query query, Object entity, MutableStateTrackable updatableProxy, int orphanRemovalStartIndex) {
+        return false;
+    }
+
     @Override
     public void invokePrePersist(MutableStateTrackable updatableProxy, Object entity) {
     }
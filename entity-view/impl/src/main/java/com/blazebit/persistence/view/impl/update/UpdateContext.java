@@ -23,6 +23,7 @@ import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import java.util.List;
 
 /**
@@ -58,6 +59,28 @@ public interface UpdateContext {
 
     public void removeOrphans(int orphanRemovalStartIndex);
 
+    /**
+     * Creates an update query for the given query string.
+     *
+     * @param queryString The update query string
+     * @return The update query
+     * @since 1.6.12
+     */
+    public Query createUpdateQuery(String queryString);
+
+    /**
+     * Defers the execution of the bound root update query of a view to the end of the flush
+     * so that it can be executed in a JDBC batch with other update queries of the same query string.
+     *
+     * @param query The bound update query
+     * @param entity The entity or <code>null</code>
+     * @param updatableProxy The view that is flushed
+     * @param orphanRemovalStartIndex The index of the first orphan removal deleter of the view
+     * @return <code>true</code> if the query was deferred, <code>false</code> if the caller has to execute it
+     * @since 1.6.12
+     */
+    public boolean addBatchedUpdate(Query query, Object entity, MutableStateTrackable updatableProxy, int orphanRemovalStartIndex);
+
     public void invokePrePersist(MutableStateTrackable updatableProxy, Object entity);
 
     public void invokePostPersist(MutableStateTrackable updatableProxy, Object entity);
@@ -159,6 +159,25 @@ public class BasicAttributeFlusher<E, V> extends BasicDirtyChecker<V> implements
         return mapping;
     }
 
+    /**
+     * Returns whether the update query fragment of this flusher is the same for all flushers of the attribute,
+     * so whether the fragment only depends on {@link #hasUpdateQueryFragment()}.
+     *
+     * @return whether the update query fragment is static
+     */
+    public boolean isUpdateQueryFragmentStatic() {
+        return componentFlushers == null;
+    }
+
+    /**
+     * Returns whether {@link #appendUpdateQueryFragment(UpdateContext, StringBuilder, String, String, String)} appends a fragment.
+     *
+     * @return whether this flusher has an update query fragment
+     */
+    public boolean hasUpdateQueryFragment() {
+        return (updatable || isPassThrough()) && (flushOperation == null || update) && inverseFlusher == null && updateFragment != null;
+    }
+
     @Override
     public boolean appendUpdateQueryFragment(UpdateContext context, StringBuilder sb, String mappingPrefix, String parameterPrefix, String separator) {
         // It must be updatable and the value must have changed
@@ -294,6 +294,38 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         return currentValue;
     }
 
+    /**
+     * Returns a mask of the flushers that append a fragment to the update query
+     * or <code>0</code> if the update query fragment of this flusher can't be identified by such a mask.
+     * Since the fragments of the flushers are static, the mask identifies the update query fragment of this flusher.
+     *
+     * @return The mask of the flushers that append an update query fragment or <code>0</code>
+     */
+    public long getUpdateQueryFragmentMask() {
+        // The highest bit is reserved for the optimistic locking flag of the update query cache
+        if (flushers.length > 63) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (int i = 0; i < flushers.length; i++) {
+            DirtyAttributeFlusher<?, Object, Object> flusher = flushers[i];
+            if (flusher != null) {
+                // Subclasses render different fragments
+                if (flusher.getClass() != BasicAttributeFlusher.class) {
+                    return 0L;
+                }
+                BasicAttributeFlusher<?, ?> basicAttributeFlusher = (BasicAttributeFlusher<?, ?>) flusher;
+                if (!basicAttributeFlusher.isUpdateQueryFragmentStatic()) {
+                    return 0L;
+                }
+                if (basicAttributeFlusher.hasUpdateQueryFragment()) {
+                    mask |= 1L << i;
+                }
+            }
+        }
+        return mask;
+    }
+
     @Override
     public boolean appendUpdateQueryFragment(UpdateContext context, StringBuilder sb, String mappingPrefix, String parameterPrefix, String separator) {
         int clauseEndIndex = sb.length();
@@ -826,8 +858,11 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         // After Pre-Update the dirtyness could change
         long[] dirtyMask = context.getInitialStateResetter().addUpdatedView(element);
         boolean ranPreUpdate = context.invokePreUpdate(element);
-        if (ranPreUpdate && this.fullFlushers != this.flushers && element.$$_getSimpleDirty() != 0) {
-            dirtyMask[0] |= element.$$_getSimpleDirty();
+        if (ranPreUpdate && this.fullFlushers != this.flushers && element.$$_isDirty()) {
+            long[] currentDirtyMask = element.$$_getDirty();
+            for (int i = 0; i < currentDirtyMask.length; i++) {
+                dirtyMask[i] |= currentDirtyMask[i];
+            }
             element.$$_setDirty(dirtyMask);
             updateFlushers(context, element, this.flushers);
             element.$$_resetDirty();
@@ -1209,13 +1244,11 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         if (!currentObject.$$_isDirty()) {
             return DirtyKind.NONE;
         }
-        long dirty = currentObject.$$_getSimpleDirty();
         Object[] initialState = initialObject.$$_getInitialState();
         Object[] dirtyState = currentObject.$$_getMutableState();
 
         for (int i = 0; i < initialState.length; i++) {
-            long mask = 1L << i;
-            if ((dirty & mask) != 0) {
+            if (currentObject.$$_isDirty(i)) {
                 if (flushers[i].getDirtyKind(initialState[i], dirtyState[i]) != DirtyKind.NONE) {
                     return DirtyKind.MUTATED;
                 }
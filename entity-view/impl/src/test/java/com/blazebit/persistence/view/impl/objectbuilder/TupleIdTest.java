@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class TupleIdTest {
+
+    @Test
+    public void viewEqualsCopy() {
+        int[] idPositions = { 1, -1, 2 };
+        Object[] tuple = { "a", 1L, "b", "c" };
+        TupleId view = new TupleId(idPositions).reset(tuple);
+        TupleId copy = new TupleId(idPositions, tuple);
+        assertEquals(copy, view);
+        assertEquals(view, copy);
+        assertEquals(copy.hashCode(), view.hashCode());
+        assertEquals(copy, view.copy());
+    }
+
+    @Test
+    public void copyIsIndependentOfTuple() {
+        int[] idPositions = { 0 };
+        Object[] tuple = { 1L, "a" };
+        TupleId view = new TupleId(idPositions).reset(tuple);
+        TupleId copy = view.copy();
+        tuple[0] = 2L;
+        assertNotEquals(copy, view);
+        assertEquals(copy, new TupleId(idPositions).reset(new Object[]{ 1L, "b" }));
+    }
+
+    @Test
+    public void isEmpty() {
+        int[] idPositions = { 0, 1 };
+        TupleId view = new TupleId(idPositions);
+        assertTrue(view.reset(new Object[]{ null, null, "a" }).isEmpty());
+        assertFalse(view.reset(new Object[]{ null, 1L, null }).isEmpty());
+    }
+}
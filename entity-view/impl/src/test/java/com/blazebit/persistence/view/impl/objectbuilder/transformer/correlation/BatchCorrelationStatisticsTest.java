@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.impl.BatchCorrelationMode;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class BatchCorrelationStatisticsTest {
+
+	@Test
+	public void adaptBatchSize() {
+		// Small batch sizes and unknown key counts are not adapted
+		assertEquals(1, BatchCorrelationStatistics.adaptBatchSize(1, 10));
+		assertEquals(2, BatchCorrelationStatistics.adaptBatchSize(2, 1));
+		assertEquals(20, BatchCorrelationStatistics.adaptBatchSize(20, 0));
+		// A single batch is rounded up to the next power of two
+		assertEquals(2, BatchCorrelationStatistics.adaptBatchSize(20, 1));
+		assertEquals(2, BatchCorrelationStatistics.adaptBatchSize(20, 2));
+		assertEquals(8, BatchCorrelationStatistics.adaptBatchSize(20, 7));
+		assertEquals(16, BatchCorrelationStatistics.adaptBatchSize(20, 16));
+		// The configured batch size is the upper bound
+		assertEquals(20, BatchCorrelationStatistics.adaptBatchSize(20, 17));
+		assertEquals(20, BatchCorrelationStatistics.adaptBatchSize(20, 40));
+		// Keys are distributed evenly across the minimum number of batches
+		assertEquals(16, BatchCorrelationStatistics.adaptBatchSize(20, 21));
+		assertEquals(16, BatchCorrelationStatistics.adaptBatchSize(20, 45));
+	}
+
+	@Test
+	public void modeIsLearnedFromRecentExecutions() {
+		BatchCorrelationStatistics statistics = new BatchCorrelationStatistics();
+		assertNull(statistics.getBatchCorrelationMode());
+
+		statistics.record(BatchCorrelationMode.VALUES, 10, 10);
+		assertEquals(BatchCorrelationMode.VALUES, statistics.getBatchCorrelationMode());
+
+		statistics.record(BatchCorrelationMode.VIEW_ROOTS, 10, 10);
+		assertEquals(BatchCorrelationMode.VIEW_ROOTS, statistics.getBatchCorrelationMode());
+
+		// A single execution with a different mode doesn't change the mode that is used by most executions
+		for (int i = 0; i < 5; i++) {
+			statistics.record(BatchCorrelationMode.VALUES, 10, 10);
+		}
+		statistics.record(BatchCorrelationMode.EMBEDDING_VIEWS, 10, 10);
+		assertEquals(BatchCorrelationMode.VALUES, statistics.getBatchCorrelationMode());
+	}
+
+	@Test
+	public void batchSizeIsDerivedFromCorrelationKeys() {
+		BatchCorrelationStatistics statistics = new BatchCorrelationStatistics();
+		assertEquals(8, statistics.getBatchSize(64, 7));
+
+		statistics.record(BatchCorrelationMode.VALUES, 30, 30);
+		// A result with fewer keys reuses the batch size of the previous executions
+		assertEquals(32, statistics.getBatchSize(64, 7));
+		// A result with more keys isn't split up unnecessarily
+		assertEquals(64, statistics.getBatchSize(64, 50));
+		// Executions that don't query anything don't change the expected keys
+		statistics.record(BatchCorrelationMode.VALUES, 0, 0);
+		assertEquals(32, statistics.getBatchSize(64, 7));
+	}
+
+	@Test
+	public void batchSizeIsReducedForManyRowsPerKey() {
+		BatchCorrelationStatistics statistics = new BatchCorrelationStatistics();
+		statistics.record(BatchCorrelationMode.VALUES, 64, 64 * 1000);
+		// About 4 keys fit into the rows a batch should fetch
+		assertEquals(4, statistics.getBatchSize(64, 64));
+		// The configured batch size is not adapted if it is that small already
+		assertEquals(2, statistics.getBatchSize(2, 64));
+
+		statistics = new BatchCorrelationStatistics();
+		statistics.record(BatchCorrelationMode.VALUES, 1, BatchCorrelationStatistics.TARGET_ROWS_PER_BATCH * 10);
+		assertEquals(2, statistics.getBatchSize(64, 64));
+	}
+}
@@ -141,7 +141,9 @@ public final class ImplementationClassWriter extends ClassWriter {
             sb.append("    private ").append(entity.implementationImportType(Constants.LIST)).append("<Object> $$_readOnlyParents;").append(NEW_LINE);
             sb.append("    private ").append(entity.implementationImportType(Constants.DIRTY_TRACKER)).append(" $$_parent;").append(NEW_LINE);
             sb.append("    private int $$_parentIndex;").append(NEW_LINE);
-            sb.append("    private long $$_dirty;").append(NEW_LINE);
+            for (int i = 0; i < entity.getDefaultDirtyMasks().length; i++) {
+                sb.append("    private long ").append(dirtyFieldName(i)).append(";").append(NEW_LINE);
+            }
         }
         if (version != null && version.getPropertyName().equals("$$_version")) {
             sb.append("    private ").append(version.getImplementationTypeString()).append(" ").append(version.getPropertyName()).append(";").append(NEW_LINE);
@@ -201,21 +203,32 @@ public final class ImplementationClassWriter extends ClassWriter {
             sb.append("    @Override").append(NEW_LINE);
             sb.append("    public boolean $$_isDirty() {").append(NEW_LINE);
             if (entity.isAllSupportDirtyTracking()) {
-                sb.append("        return $$_dirty != 0L;").append(NEW_LINE);
+                sb.append("        return ");
+                appendDirtyCheck(sb, entity, " != 0L", " || ");
+                sb.append(";").append(NEW_LINE);
             } else {
                 sb.append("        return true;").append(NEW_LINE);
             }
             sb.append("    }").append(NEW_LINE);
             sb.append("    @Override").append(NEW_LINE);
             sb.append("    public void $$_markDirty(int attributeIndex) {").append(NEW_LINE);
-            sb.append("        this.$$_dirty |= (1 << attributeIndex);").append(NEW_LINE);
+            if (entity.getDefaultDirtyMasks().length == 1) {
+                sb.append("        this.$$_dirty |= (1L << attributeIndex);").append(NEW_LINE);
+            } else {
+                sb.append("        switch (attributeIndex >>> 6) {").append(NEW_LINE);
+                for (int i = 0; i < entity.getDefaultDirtyMasks().length; i++) {
+                    sb.append("            case ").append(i).append(": this.").append(dirtyFieldName(i)).append(" |= (1L << attributeIndex); break;").append(NEW_LINE);
+                }
+                sb.append("            default: break;").append(NEW_LINE);
+                sb.append("        }").append(NEW_LINE);
+            }
             sb.append("        if (this.$$_parent != null) {").append(NEW_LINE);
             sb.append("            this.$$_parent.$$_markDirty(this.$$_parentIndex);").append(NEW_LINE);
             sb.append("        }").append(NEW_LINE);
             sb.append("    }").append(NEW_LINE);
             sb.append("    @Override").append(NEW_LINE);
             sb.append("    public void $$_unmarkDirty() {").append(NEW_LINE);
-            sb.append("        this.$$_dirty = ").append(entity.getDefaultDirtyMask()).append("L;").append(NEW_LINE);
+            appendDefaultDirtyMaskAssignment(sb, entity, " = ", true);
             sb.append("    }").append(NEW_LINE);
             sb.append("    @Override").append(NEW_LINE);
             sb.append("    public void $$_setParent(").append(entity.implementationImportType(Constants.BASIC_DIRTY_TRACKER)).append(" parent, int parentIndex) {").append(NEW_LINE);
@@ -251,18 +264,29 @@ public final class ImplementationClassWriter extends ClassWriter {
 
                 sb.append("        }").append(NEW_LINE);
             }
-            sb.append("        return (this.$$_dirty & (1L << attributeIndex)) != 0;").append(NEW_LINE);
+            if (entity.getDefaultDirtyMasks().length == 1) {
+                sb.append("        return (this.$$_dirty & (1L << attributeIndex)) != 0;").append(NEW_LINE);
+            } else {
+                sb.append("        switch (attributeIndex >>> 6) {").append(NEW_LINE);
+                for (int i = 0; i < entity.getDefaultDirtyMasks().length; i++) {
+                    sb.append("            case ").append(i).append(": return (this.").append(dirtyFieldName(i)).append(" & (1L << attributeIndex)) != 0;").append(NEW_LINE);
+                }
+                sb.append("            default: return false;").append(NEW_LINE);
+                sb.append("        }").append(NEW_LINE);
+            }
             sb.append("    }").append(NEW_LINE);
             sb.append("    @Override").append(NEW_LINE);
             sb.append("    public <T> boolean $$_copyDirty(T[] source, T[] target) {").append(NEW_LINE);
-            sb.append("        if (this.$$_dirty == 0L) {").append(NEW_LINE);
+            sb.append("        if (");
+            appendDirtyCheck(sb, entity, " == 0L", " && ");
+            sb.append(") {").append(NEW_LINE);
             sb.append("            return false;").append(NEW_LINE);
             sb.append("        } else {").append(NEW_LINE);
             for (MetaAttribute member : members) {
                 if ((member.getDirtyStateIndex() != -1)) {
                     if (member.supportsDirtyTracking()) {
-                        long mask = 1 << member.getDirtyStateIndex();
-                        sb.append("            target[").append(member.getDirtyStateIndex()).append("] = (this.$$_dirty & ").append(mask).append(") == 0 ? null : source[").append(member.getDirtyStateIndex()).append("];").append(NEW_LINE);
+                        long mask = 1L << member.getDirtyStateIndex();
+                        sb.append("            target[").append(member.getDirtyStateIndex()).append("] = (this.").append(dirtyFieldName(member.getDirtyStateIndex() >>> 6)).append(" & ").append(mask).append("L) == 0 ? null : source[").append(member.getDirtyStateIndex()).append("];").append(NEW_LINE);
                     } else {
                         sb.append("            target[").append(member.getDirtyStateIndex()).append("] = source[").append(member.getDirtyStateIndex()).append("];").append(NEW_LINE);
                     }
@@ -273,24 +297,38 @@ public final class ImplementationClassWriter extends ClassWriter {
             sb.append("    }").append(NEW_LINE);
             sb.append("    @Override").append(NEW_LINE);
             sb.append("    public void $$_setDirty(long[] dirty) {").append(NEW_LINE);
-            if (entity.getDefaultDirtyMask() == 0) {
-                sb.append("        this.$$_dirty = dirty[0];").append(NEW_LINE);
-            } else {
-                sb.append("        this.$$_dirty = dirty[0] | ").append(entity.getDefaultDirtyMask()).append("L;").append(NEW_LINE);
+            long[] defaultDirtyMasks = entity.getDefaultDirtyMasks();
+            for (int i = 0; i < defaultDirtyMasks.length; i++) {
+                sb.append("        this.").append(dirtyFieldName(i)).append(" = ");
+                if (i == 0) {
+                    sb.append("dirty[0]");
+                } else {
+                    sb.append("(dirty.length > ").append(i).append(" ? dirty[").append(i).append("] : 0L)");
+                }
+                if (defaultDirtyMasks[i] != 0) {
+                    sb.append(" | ").append(defaultDirtyMasks[i]).append("L");
+                }
+                sb.append(";").append(NEW_LINE);
             }
-            sb.append("        if (this.$$_dirty != 0L && this.$$_parent != null) {").append(NEW_LINE);
+            sb.append("        if ((");
+            appendDirtyCheck(sb, entity, " != 0L", " || ");
+            sb.append(") && this.$$_parent != null) {").append(NEW_LINE);
             sb.append("            this.$$_parent.$$_markDirty(this.$$_parentIndex);").append(NEW_LINE);
             sb.append("        }").append(NEW_LINE);
             sb.append("    }").append(NEW_LINE);
             sb.append("    @Override").append(NEW_LINE);
             sb.append("    public long[] $$_resetDirty() {").append(NEW_LINE);
-            sb.append("        long[] dirty = new long[]{ this.$$_dirty };").append(NEW_LINE);
-            sb.append("        this.$$_dirty = ").append(entity.getDefaultDirtyMask()).append("L;").append(NEW_LINE);
+            sb.append("        long[] dirty = ");
+            appendDirtyArray(sb, entity);
+            sb.append(";").append(NEW_LINE);
+            appendDefaultDirtyMaskAssignment(sb, entity, " = ", true);
             sb.append("        return dirty;").append(NEW_LINE);
             sb.append("    }").append(NEW_LINE);
             sb.append("    @Override").append(NEW_LINE);
             sb.append("    public long[] $$_getDirty() {").append(NEW_LINE);
-            sb.append("        return new long[]{ this.$$_dirty };").append(NEW_LINE);
+            sb.append("        return ");
+            appendDirtyArray(sb, entity);
+            sb.append(";").append(NEW_LINE);
             sb.append("    }").append(NEW_LINE);
             sb.append("    @Override").append(NEW_LINE);
             sb.append("    public long $$_getSimpleDirty() {").append(NEW_LINE);
@@ -412,6 +450,39 @@ public final class ImplementationClassWriter extends ClassWriter {
         sb.append(NEW_LINE);
     }
 
+    private static String dirtyFieldName(int wordIndex) {
+        return wordIndex == 0 ? "$$_dirty" : "$$_dirty" + wordIndex;
+    }
+
+    private static void appendDirtyCheck(StringBuilder sb, MetaEntityView entity, String comparison, String junction) {
+        for (int i = 0; i < entity.getDefaultDirtyMasks().length; i++) {
+            if (i != 0) {
+                sb.append(junction);
+            }
+            sb.append("this.").append(dirtyFieldName(i)).append(comparison);
+        }
+    }
+
+    private static void appendDirtyArray(StringBuilder sb, MetaEntityView entity) {
+        sb.append("new long[]{ ");
+        for (int i = 0; i < entity.getDefaultDirtyMasks().length; i++) {
+            if (i != 0) {
+                sb.append(", ");
+            }
+            sb.append("this.").append(dirtyFieldName(i));
+        }
+        sb.append(" }");
+    }
+
+    private static void appendDefaultDirtyMaskAssignment(StringBuilder sb, MetaEntityView entity, String operator, boolean includeZero) {
+        long[] defaultDirtyMasks = entity.getDefaultDirtyMasks();
+        for (int i = 0; i < defaultDirtyMasks.length; i++) {
+            if (includeZero || defaultDirtyMasks[i] != 0) {
+                sb.append("        this.").append(dirtyFieldName(i)).append(operator).append(defaultDirtyMasks[i]).append("L;").append(NEW_LINE);
+            }
+        }
+    }
+
     private static void appendSerializationClass(StringBuilder sb, MetaEntityView entity, Context context) {
         String serializableClassSimpleName = entity.getSimpleName() + SERIALIZATION_CLASS_NAME_SUFFIX;
         for (MetaConstructor constructor : entity.getConstructors()) {
@@ -1016,9 +1087,7 @@ public final class ImplementationClassWriter extends ClassWriter {
         sb.append(NEW_LINE);
 
         if (entity.isCreatable() || entity.isUpdatable()) {
-            if (entity.getDefaultDirtyMask() != 0) {
-                sb.append("        this.$$_dirty |= ").append(entity.getDefaultDirtyMask()).append("L;").append(NEW_LINE);
-            }
+            appendDefaultDirtyMaskAssignment(sb, entity, " |= ", false);
             sb.append("        Object[] initialStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
             sb.append("        Object[] mutableStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
         }
@@ -1109,9 +1178,7 @@ public final class ImplementationClassWriter extends ClassWriter {
         }
 
         if (entity.isCreatable() || entity.isUpdatable()) {
-            if (entity.getDefaultDirtyMask() != 0) {
-                sb.append("        this.$$_dirty |= ").append(entity.getDefaultDirtyMask()).append("L;").append(NEW_LINE);
-            }
+            appendDefaultDirtyMaskAssignment(sb, entity, " |= ", false);
             sb.append("        Object[] initialStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
             sb.append("        Object[] mutableStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
         }
@@ -1224,9 +1291,7 @@ public final class ImplementationClassWriter extends ClassWriter {
         }
 
         if (entity.isCreatable() || entity.isUpdatable()) {
-            if (entity.getDefaultDirtyMask() != 0) {
-                sb.append("        this.$$_dirty |= ").append(entity.getDefaultDirtyMask()).append("L;").append(NEW_LINE);
-            }
+            appendDefaultDirtyMaskAssignment(sb, entity, " |= ", false);
             sb.append("        Object[] initialStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
             sb.append("        Object[] mutableStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
         }
@@ -1292,9 +1357,7 @@ public final class ImplementationClassWriter extends ClassWriter {
         sb.append(NEW_LINE);
 
         if (entity.isCreatable() || entity.isUpdatable()) {
-            if (entity.getDefaultDirtyMask() != 0) {
-                sb.append("        this.$$_dirty |= ").append(entity.getDefaultDirtyMask()).append("L;").append(NEW_LINE);
-            }
+            appendDefaultDirtyMaskAssignment(sb, entity, " |= ", false);
             sb.append("        Object[] initialStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
             sb.append("        Object[] mutableStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
             if (entity.isCreatable()) {
@@ -1451,9 +1514,7 @@ public final class ImplementationClassWriter extends ClassWriter {
         sb.append(NEW_LINE);
         sb.append("        this.$$_kind = (byte) 1;").append(NEW_LINE);
         if (entity.isCreatable() || entity.isUpdatable()) {
-            if (entity.getDefaultDirtyMask() != 0) {
-                sb.append("        this.$$_dirty |= ").append(entity.getDefaultDirtyMask()).append("L;").append(NEW_LINE);
-            }
+            appendDefaultDirtyMaskAssignment(sb, entity, " |= ", false);
             sb.append("        Object[] initialStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
             sb.append("        Object[] mutableStateArr = new Object[").append(entity.getMutableAttributeCount()).append("];").append(NEW_LINE);
         }
@@ -98,7 +98,7 @@ public class AnnotationMetaEntityView implements MetaEntityView {
     private final boolean creatable;
     private final boolean allSupportDirtyTracking;
     private final int mutableAttributeCount;
-    private final int defaultDirtyMask;
+    private final long[] defaultDirtyMasks;
     private final boolean hasEmptyConstructor;
     private final boolean hasSelfConstructor;
     private final boolean hasSubviews;
@@ -287,7 +287,7 @@ public class AnnotationMetaEntityView implements MetaEntityView {
         }
 
         int dirtyStateIndex = 0;
-        int defaultDirtyMask = 0;
+        List<Integer> alwaysDirtyStateIndexes = new ArrayList<>();
         int index = 0;
         if (idMember != null) {
             idMember.setAttributeIndex(index);
@@ -304,7 +304,7 @@ public class AnnotationMetaEntityView implements MetaEntityView {
                     value.setDirtyStateIndex(dirtyStateIndex);
                     if (!value.supportsDirtyTracking()) {
                         allSupportDirtyTracking = false;
-                        defaultDirtyMask |= 1 << dirtyStateIndex;
+                        alwaysDirtyStateIndexes.add(dirtyStateIndex);
                     }
                     dirtyStateIndex++;
                 }
@@ -318,7 +318,12 @@ public class AnnotationMetaEntityView implements MetaEntityView {
         this.valid = valid;
         this.allSupportDirtyTracking = allSupportDirtyTracking;
         this.mutableAttributeCount = dirtyStateIndex;
-        this.defaultDirtyMask = defaultDirtyMask;
+        // Every word of the dirty mask covers 64 mutable attributes
+        long[] defaultDirtyMasks = new long[Math.max(1, (dirtyStateIndex + 63) >>> 6)];
+        for (Integer alwaysDirtyStateIndex : alwaysDirtyStateIndexes) {
+            defaultDirtyMasks[alwaysDirtyStateIndex >>> 6] |= 1L << alwaysDirtyStateIndex;
+        }
+        this.defaultDirtyMasks = defaultDirtyMasks;
 
         if (constructors.isEmpty()) {
             constructors.add(new AnnotationMetaConstructor(this, optionalParameters));
@@ -526,8 +531,8 @@ public class AnnotationMetaEntityView implements MetaEntityView {
     }
 
     @Override
-    public int getDefaultDirtyMask() {
-        return defaultDirtyMask;
+    public long[] getDefaultDirtyMasks() {
+        return defaultDirtyMasks;
     }
 
     @Override
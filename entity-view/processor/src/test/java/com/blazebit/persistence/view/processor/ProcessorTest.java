@@ -20,6 +20,7 @@ import com.blazebit.persistence.view.processor.model.AView;
 import com.blazebit.persistence.view.processor.model.BView;
 import com.blazebit.persistence.view.processor.model.BViewImpl;
 import com.blazebit.persistence.view.processor.model.sub.BaseView_com_blazebit_persistence_view_processor_model_BView;
+import com.google.common.truth.StringSubject;
 import com.google.testing.compile.Compilation;
 import com.google.testing.compile.CompilationSubject;
 import com.google.testing.compile.Compiler;
@@ -53,6 +54,28 @@ public class ProcessorTest {
         Assert.assertEquals("Test", obj.getPostLoadName());
     }
 
+    @Test
+    public void testMoreThan64MutableAttributes() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package com.blazebit.persistence.view.processor.model;\n");
+        sb.append("@com.blazebit.persistence.view.UpdatableEntityView\n");
+        sb.append("@com.blazebit.persistence.view.EntityView(AEntity.class)\n");
+        sb.append("public interface WideView extends IdHolderView<Integer> {\n");
+        for (int i = 0; i < 66; i++) {
+            sb.append("    String getName").append(i).append("();\n");
+            sb.append("    void setName").append(i).append("(String name);\n");
+        }
+        sb.append("}\n");
+        Compilation compilation = Compiler.javac().withProcessors(new EntityViewAnnotationProcessor())
+                .compile(JavaFileObjects.forSourceString("com.blazebit.persistence.view.processor.model.WideView", sb.toString()));
+        CompilationSubject.assertThat(compilation).succeeded();
+        StringSubject implementation = CompilationSubject.assertThat(compilation)
+                .generatedSourceFile("com.blazebit.persistence.view.processor.model.WideViewImpl")
+                .contentsAsUtf8String();
+        implementation.contains("case 1: this.$$_dirty1 |= (1L << attributeIndex); break;");
+        implementation.contains("this.$$_dirty1 = (dirty.length > 1 ? dirty[1] : 0L);");
+    }
+
     private Compilation test(Class<?>... views) {
         Compiler compiler = Compiler.javac().withProcessors(new EntityViewAnnotationProcessor());
         JavaFileObject[] javaFileObjects = new JavaFileObject[views.length];
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.basic;
+
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.basic.model.DocumentValidationView;
+import com.blazebit.persistence.view.testsuite.basic.model.PersonDuplicateCollectionUsageValidationView;
+import com.blazebit.persistence.view.testsuite.basic.model.PersonValidationView;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class ParallelBootstrapTest extends AbstractEntityViewTest {
+
+    @Test
+    public void testParallelEagerLoading() {
+        EntityViewConfiguration cfg = createParallelConfiguration();
+        cfg.setProperty(ConfigurationProperties.TEMPLATE_EAGER_LOADING, "true");
+        cfg.setProperty(ConfigurationProperties.UPDATER_EAGER_LOADING, "true");
+        EntityViewManager evm = build(
+                cfg,
+                DocumentValidationView.class,
+                PersonValidationView.class
+        );
+
+        Assert.assertNotNull(evm.getMetamodel().view(DocumentValidationView.class));
+        Assert.assertNotNull(evm.getMetamodel().view(PersonValidationView.class));
+    }
+
+    @Test
+    public void testParallelValidationReportsErrors() {
+        try {
+            build(
+                    createParallelConfiguration(),
+                    DocumentValidationView.class,
+                    PersonValidationView.class,
+                    PersonDuplicateCollectionUsageValidationView.class
+            );
+            Assert.fail("Expected validation exception!");
+        } catch (IllegalArgumentException ex) {
+            if (!ex.getMessage().contains("'ownedDocuments'")) {
+                throw ex;
+            }
+        }
+    }
+
+    private static EntityViewConfiguration createParallelConfiguration() {
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.setProperty(ConfigurationProperties.BOOTSTRAP_PARALLELISM, "4");
+        return cfg;
+    }
+}
@@ -40,6 +40,8 @@ import org.junit.experimental.categories.Category;
 import javax.persistence.EntityManager;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.*;
 
@@ -136,6 +138,19 @@ public class PrimitiveViewTest extends AbstractEntityViewTest {
         results.get(0).setName("Abc");
     }
 
+    @Test
+    public void testFindAsync() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PrimitiveSimpleDocumentView view = evm.findAsync(emf, PrimitiveSimpleDocumentView.class, doc1.getId(), executor).toCompletableFuture().get();
+            assertEquals(doc1.getId(), view.getId());
+            assertEquals(doc1.getName(), view.getName());
+            assertNull(evm.findAsync(emf, PrimitiveSimpleDocumentView.class, -1L, executor).toCompletableFuture().get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     // Test for issue #375
     public void primitiveBooleanAttributeMetamodelMappingIsCorrect() {
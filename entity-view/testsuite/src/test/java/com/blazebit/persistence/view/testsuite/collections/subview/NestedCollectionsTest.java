@@ -23,14 +23,25 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate50;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate51;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate52;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
 import com.blazebit.persistence.testsuite.tx.TxVoidWork;
 import com.blazebit.persistence.view.testsuite.collections.subview.model.PersonForCollectionsListNestedView;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
@@ -189,6 +200,51 @@ public class NestedCollectionsTest<T extends PersonForCollectionsMasterView, U e
         assertSubviewCollectionEquals(pers2.getOwnedDocuments(), results.get(1).getOwnedDocuments());
     }
 
+    // NOTE: Streaming requires JPA 2.2
+    @Test
+    @Category({ NoHibernate42.class, NoHibernate43.class, NoHibernate50.class, NoHibernate51.class, NoHibernate52.class, NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testCollectionsStream() {
+        EntityViewManager evm = build(
+                viewType,
+                subviewType,
+                SubviewPersonForCollectionsView.class,
+                PersonForCollectionsListNestedView.class
+        );
+
+        CriteriaBuilder<PersonForCollections> criteria = cbf.create(em, PersonForCollections.class, "p")
+            .where("id").in(pers1.getId(), pers2.getId())
+            .orderByAsc("id");
+        CriteriaBuilder<T> cb = evm.applySetting(EntityViewSetting.create(viewType), criteria);
+        List<T> results;
+        try (Stream<T> stream = cb.getResultStream()) {
+            results = stream.collect(Collectors.<T>toList());
+        }
+
+        assertEquals(2, results.size());
+        // Pers1
+        assertEquals(pers1.getName(), results.get(0).getName());
+        assertSubviewCollectionEquals(pers1.getOwnedDocuments(), results.get(0).getOwnedDocuments());
+
+        // Pers2
+        assertEquals(pers2.getName(), results.get(1).getName());
+        assertSubviewCollectionEquals(pers2.getOwnedDocuments(), results.get(1).getOwnedDocuments());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCollectionsStreamRequiresUniqueOrderBy() {
+        EntityViewManager evm = build(
+                viewType,
+                subviewType,
+                SubviewPersonForCollectionsView.class,
+                PersonForCollectionsListNestedView.class
+        );
+
+        CriteriaBuilder<PersonForCollections> criteria = cbf.create(em, PersonForCollections.class, "p")
+            .where("id").in(pers1.getId(), pers2.getId())
+            .orderByAsc("name");
+        evm.applySetting(EntityViewSetting.create(viewType), criteria).getResultStream();
+    }
+
     private void assertSubviewCollectionEquals(Set<DocumentForCollections> ownedDocuments, Set<? extends SubviewDocumentCollectionsView> ownedSubviewDocuments) {
         assertEquals(ownedDocuments.size(), ownedSubviewDocuments.size());
         for (DocumentForCollections doc : ownedDocuments) {
@@ -34,6 +34,7 @@ import org.junit.Before;
 import javax.persistence.EntityManager;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.junit.Assert.assertEquals;
 
@@ -90,6 +91,10 @@ public abstract class AbstractCorrelationTest extends AbstractEntityViewTest {
     }
 
     protected <T extends DocumentCorrelationView> void testCorrelation(Class<T> entityView, Integer batchSize) {
+        testCorrelation(entityView, batchSize, null);
+    }
+
+    protected <T extends DocumentCorrelationView> void testCorrelation(Class<T> entityView, Integer batchSize, Executor batchCorrelationExecutor) {
         EntityViewManager evm = build(
                 entityView,
                 SimpleDocumentCorrelatedView.class,
@@ -102,6 +107,12 @@ public abstract class AbstractCorrelationTest extends AbstractEntityViewTest {
         if (batchSize != null) {
             setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE + ".ownerRelatedDocumentIds", batchSize);
         }
+        if (batchCorrelationExecutor != null) {
+            // Batch all correlations so that the batches are run through the executor
+            setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE, batchSize);
+            setting.setProperty(ConfigurationProperties.BATCH_CORRELATION_EXECUTOR, batchCorrelationExecutor);
+            setting.setProperty(ConfigurationProperties.BATCH_CORRELATION_ENTITY_MANAGER_FACTORY, emf);
+        }
         CriteriaBuilder<T> cb = evm.applySetting(setting, criteria);
         List<T> results = cb.getResultList();
 
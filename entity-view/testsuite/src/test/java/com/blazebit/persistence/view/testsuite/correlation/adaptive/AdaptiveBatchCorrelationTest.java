@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.correlation.adaptive;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.impl.BatchCorrelationMode;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.BatchCorrelationStatistics;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.correlation.adaptive.model.DocumentAdaptiveBatchCorrelationView;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class AdaptiveBatchCorrelationTest extends AbstractEntityViewTest {
+
+    private EntityViewManager evm;
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person o1 = new Person("pers1");
+                Person o2 = new Person("pers2");
+                em.persist(o1);
+                em.persist(o2);
+
+                Document doc1 = new Document("doc1");
+                doc1.setOwner(o1);
+                em.persist(doc1);
+
+                Document doc2 = new Document("doc2");
+                doc2.setOwner(o1);
+                em.persist(doc2);
+
+                Document doc3 = new Document("doc3");
+                doc3.setOwner(o2);
+                em.persist(doc3);
+            }
+        });
+    }
+
+    @Before
+    public void setUp() {
+        evm = build(DocumentAdaptiveBatchCorrelationView.class);
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class })
+    public void testBatchModeIsLearned() {
+        for (int i = 0; i < 3; i++) {
+            List<DocumentAdaptiveBatchCorrelationView> results = getResults();
+            assertEquals("pers1", results.get(0).getOwnerName());
+            assertEquals("pers1", results.get(1).getOwnerName());
+            assertEquals("pers2", results.get(2).getOwnerName());
+            assertEquals(Collections.singleton("doc2"), results.get(0).getOtherOwnerDocumentNames());
+            assertEquals(Collections.singleton("doc1"), results.get(1).getOtherOwnerDocumentNames());
+            assertEquals(new HashSet<String>(), results.get(2).getOtherOwnerDocumentNames());
+        }
+
+        BatchCorrelationStatistics ownerNameStatistics = getStatistics("ownerName");
+        assertEquals(BatchCorrelationMode.VALUES, ownerNameStatistics.getBatchCorrelationMode());
+
+        // The use of VIEW_ROOT requires batching view root ids which is expected after the first execution
+        BatchCorrelationStatistics otherOwnerDocumentNamesStatistics = getStatistics("otherOwnerDocumentNames");
+        assertEquals(BatchCorrelationMode.VIEW_ROOTS, otherOwnerDocumentNamesStatistics.getBatchCorrelationMode());
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class })
+    public void testExplicitBatchModeIsPreferred() {
+        for (int i = 0; i < 2; i++) {
+            CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d").orderByAsc("id");
+            EntityViewSetting<DocumentAdaptiveBatchCorrelationView, CriteriaBuilder<DocumentAdaptiveBatchCorrelationView>> setting = EntityViewSetting.create(DocumentAdaptiveBatchCorrelationView.class);
+            setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE, 20);
+            setting.setProperty(ConfigurationProperties.ADAPTIVE_BATCH_CORRELATION, true);
+            setting.setProperty(ConfigurationProperties.EXPECT_BATCH_MODE, "values");
+            List<DocumentAdaptiveBatchCorrelationView> results = evm.applySetting(setting, criteria).getResultList();
+            assertEquals(3, results.size());
+            assertEquals(Collections.singleton("doc2"), results.get(0).getOtherOwnerDocumentNames());
+        }
+        assertEquals(BatchCorrelationMode.VIEW_ROOTS, getStatistics("otherOwnerDocumentNames").getBatchCorrelationMode());
+    }
+
+    private List<DocumentAdaptiveBatchCorrelationView> getResults() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d").orderByAsc("id");
+        EntityViewSetting<DocumentAdaptiveBatchCorrelationView, CriteriaBuilder<DocumentAdaptiveBatchCorrelationView>> setting = EntityViewSetting.create(DocumentAdaptiveBatchCorrelationView.class);
+        setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE, 20);
+        setting.setProperty(ConfigurationProperties.ADAPTIVE_BATCH_CORRELATION, true);
+        List<DocumentAdaptiveBatchCorrelationView> results = evm.applySetting(setting, criteria).getResultList();
+        assertEquals(3, results.size());
+        return results;
+    }
+
+    private BatchCorrelationStatistics getStatistics(String attributePath) {
+        ManagedViewTypeImplementor<?> viewRoot = (ManagedViewTypeImplementor<?>) evm.getMetamodel().view(DocumentAdaptiveBatchCorrelationView.class);
+        return ((EntityViewManagerImpl) evm).getBatchCorrelationStatistics(viewRoot, attributePath);
+    }
+}
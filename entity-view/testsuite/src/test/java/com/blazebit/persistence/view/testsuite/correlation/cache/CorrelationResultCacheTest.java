@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.correlation.cache;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.correlation.cache.model.DocumentCorrelationCacheView;
+import com.blazebit.persistence.view.testsuite.correlation.cache.model.OwnerCorrelationCacheView;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class CorrelationResultCacheTest extends AbstractEntityViewTest {
+
+    private EntityViewManager evm;
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person o1 = new Person("pers1");
+                em.persist(o1);
+
+                Document doc1 = new Document("doc1");
+                doc1.setOwner(o1);
+                em.persist(doc1);
+
+                Document doc2 = new Document("doc2");
+                doc2.setOwner(o1);
+                em.persist(doc2);
+            }
+        });
+    }
+
+    @Before
+    public void setUp() {
+        evm = build(DocumentCorrelationCacheView.class, OwnerCorrelationCacheView.class);
+        // Revert the renaming of previous tests
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.createQuery("UPDATE Person p SET p.name = CONCAT('p', SUBSTRING(p.name, 5)) WHERE p.name LIKE 'new%'").executeUpdate();
+                em.createQuery("UPDATE Document d SET d.name = CONCAT('d', SUBSTRING(d.name, 5)) WHERE d.name LIKE 'new%'").executeUpdate();
+            }
+        });
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class })
+    public void testCachedCorrelationResultsAreReused() {
+        List<DocumentCorrelationCacheView> results = getResults(60_000L);
+        assertEquals("pers1", results.get(0).getOwnerName());
+        assertEquals(new HashSet<>(Arrays.asList("doc1", "doc2")), results.get(1).getOwnerDocumentNames());
+
+        renameData();
+
+        // The correlations are served from the cache
+        results = getResults(60_000L);
+        assertEquals("pers1", results.get(0).getOwnerName());
+        assertEquals("pers1", results.get(1).getOwnerName());
+        assertEquals(new HashSet<>(Arrays.asList("doc1", "doc2")), results.get(0).getOwnerDocumentNames());
+        assertEquals(new HashSet<>(Arrays.asList("doc1", "doc2")), results.get(1).getOwnerDocumentNames());
+
+        // Without the cache the correlations are queried
+        results = getResults(null);
+        assertEquals("newPers1", results.get(0).getOwnerName());
+        assertEquals(new HashSet<>(Arrays.asList("newDoc1", "newDoc2")), results.get(0).getOwnerDocumentNames());
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class })
+    public void testExpiredCorrelationResultsAreQueried() throws Exception {
+        List<DocumentCorrelationCacheView> results = getResults(1L);
+        assertEquals("pers1", results.get(0).getOwnerName());
+
+        renameData();
+        Thread.sleep(10L);
+
+        results = getResults(1L);
+        assertEquals("newPers1", results.get(0).getOwnerName());
+        assertEquals(new HashSet<>(Arrays.asList("newDoc1", "newDoc2")), results.get(0).getOwnerDocumentNames());
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class })
+    public void testSubviewWithNestedSelectFetchIsNotCached() {
+        List<DocumentCorrelationCacheView> results = getResults(60_000L);
+        assertEquals("pers1", results.get(0).getOwner().getName());
+        assertEquals(new HashSet<>(Arrays.asList("doc1", "doc2")), results.get(0).getOwner().getDocumentNames());
+
+        renameData();
+
+        // The nested correlation of the subview runs a separate query, so the subview must not be cached
+        // The nested correlation of basic values is cached on its own though
+        results = getResults(60_000L);
+        assertEquals("pers1", results.get(0).getOwnerName());
+        assertEquals("newPers1", results.get(0).getOwner().getName());
+        assertEquals(new HashSet<>(Arrays.asList("doc1", "doc2")), results.get(0).getOwner().getDocumentNames());
+    }
+
+    private List<DocumentCorrelationCacheView> getResults(Long ttl) {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d").orderByAsc("id");
+        EntityViewSetting<DocumentCorrelationCacheView, CriteriaBuilder<DocumentCorrelationCacheView>> setting = EntityViewSetting.create(DocumentCorrelationCacheView.class);
+        if (ttl != null) {
+            setting.setProperty(ConfigurationProperties.CORRELATION_CACHE_TTL, ttl);
+        }
+        List<DocumentCorrelationCacheView> results = evm.applySetting(setting, criteria).getResultList();
+        assertEquals(2, results.size());
+        return results;
+    }
+
+    private void renameData() {
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.createQuery("UPDATE Person p SET p.name = CONCAT('newP', SUBSTRING(p.name, 2))").executeUpdate();
+                em.createQuery("UPDATE Document d SET d.name = CONCAT('newD', SUBSTRING(d.name, 2))").executeUpdate();
+            }
+        });
+    }
+}
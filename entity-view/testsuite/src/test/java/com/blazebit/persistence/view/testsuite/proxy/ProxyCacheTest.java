@@ -0,0 +1,231 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.proxy;
+
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
+import com.blazebit.persistence.view.impl.proxy.ProxyFactory;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.proxy.model.DocumentCreateView;
+import com.blazebit.persistence.view.testsuite.proxy.model.DocumentInterfaceView;
+import com.blazebit.persistence.view.testsuite.proxy.model.DocumentNameObjectView;
+import com.blazebit.persistence.view.testsuite.proxy.model.NameObjectView;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class ProxyCacheTest extends AbstractEntityViewTest {
+
+    private Path cacheDirectory;
+
+    @Before
+    public void createCacheDirectory() throws IOException {
+        cacheDirectory = Files.createTempDirectory("proxy-cache");
+    }
+
+    @After
+    public void deleteCacheDirectory() throws IOException {
+        deleteRecursively(cacheDirectory.toFile());
+    }
+
+    @Test
+    public void testProxyBytecodeIsReusedOnNextBootstrap() throws IOException {
+        buildWithCache("true");
+        List<Path> fingerprintDirectories = list(cacheDirectory);
+        assertEquals(1, fingerprintDirectories.size());
+        List<Path> proxyFiles = list(fingerprintDirectories.get(0));
+        assertFalse(proxyFiles.isEmpty());
+
+        FileTime marker = FileTime.fromMillis(0L);
+        for (Path proxyFile : proxyFiles) {
+            Files.setLastModifiedTime(proxyFile, marker);
+        }
+
+        EntityViewManager evm = buildWithCache("true");
+        // The persisted bytecode was used, so nothing was written again
+        assertEquals(proxyFiles, list(fingerprintDirectories.get(0)));
+        for (Path proxyFile : proxyFiles) {
+            assertEquals(marker, Files.getLastModifiedTime(proxyFile));
+        }
+
+        DocumentCreateView view = evm.create(DocumentCreateView.class);
+        Map<Integer, Person> contacts = new HashMap<>();
+        view.setContacts(contacts);
+        assertEquals(contacts, view.getContacts());
+        assertTrue(view.isPostCreated());
+    }
+
+    @Test
+    public void testChangedConfigurationUsesDifferentDirectory() throws IOException {
+        buildWithCache("true");
+        buildWithCache("false");
+        List<Path> fingerprintDirectories = list(cacheDirectory);
+        assertEquals(2, fingerprintDirectories.size());
+        assertNotEquals(fingerprintDirectories.get(0).getFileName(), fingerprintDirectories.get(1).getFileName());
+    }
+
+    @Test
+    public void testGeneratedProxyCanReferenceCachedSubviewProxy() throws IOException {
+        // Only the proxy of the subview is persisted, as the proxies are created lazily
+        EntityViewManager evm = buildLazyWithCache();
+        ((EntityViewManagerImpl) evm).getProxyFactory().getProxy(evm, (ManagedViewTypeImplementor<NameObjectView>) evm.getMetamodel().managedView(NameObjectView.class));
+        List<Path> fingerprintDirectories = list(cacheDirectory);
+        assertEquals(1, list(fingerprintDirectories.get(0)).size());
+
+        // The parent proxy is generated and has to resolve the subview proxy that is defined from the cache
+        evm = buildLazyWithCache();
+        Class<?> proxyClass = ((EntityViewManagerImpl) evm).getProxyFactory().getProxy(evm, (ManagedViewTypeImplementor<DocumentNameObjectView>) evm.getMetamodel().managedView(DocumentNameObjectView.class));
+        assertTrue(DocumentNameObjectView.class.isAssignableFrom(proxyClass));
+        assertEquals(2, list(fingerprintDirectories.get(0)).size());
+    }
+
+    @Test
+    public void testCorruptedProxyFileIsRegenerated() throws IOException {
+        EntityViewManager evm = buildLazyWithCache();
+        ((EntityViewManagerImpl) evm).getProxyFactory().getProxy(evm, (ManagedViewTypeImplementor<NameObjectView>) evm.getMetamodel().managedView(NameObjectView.class));
+        Path proxyFile = list(list(cacheDirectory).get(0)).get(0);
+        byte[] content = Files.readAllBytes(proxyFile);
+        byte[] corruptedContent = content.clone();
+        corruptedContent[corruptedContent.length - 1]++;
+        Files.write(proxyFile, corruptedContent);
+
+        // The content hash doesn't match, so the proxy is generated and written again
+        evm = buildLazyWithCache();
+        ((EntityViewManagerImpl) evm).getProxyFactory().getProxy(evm, (ManagedViewTypeImplementor<NameObjectView>) evm.getMetamodel().managedView(NameObjectView.class));
+        assertArrayEquals(content, Files.readAllBytes(proxyFile));
+    }
+
+    @Test
+    public void testTruncatedOrGarbledProxyFileIsRegenerated() throws IOException {
+        EntityViewManager evm = buildLazyWithCache();
+        ((EntityViewManagerImpl) evm).getProxyFactory().getProxy(evm, (ManagedViewTypeImplementor<NameObjectView>) evm.getMetamodel().managedView(NameObjectView.class));
+        Path proxyFile = list(list(cacheDirectory).get(0)).get(0);
+        byte[] content = Files.readAllBytes(proxyFile);
+
+        List<byte[]> corruptedContents = new ArrayList<>();
+        corruptedContents.add(Arrays.copyOf(content, content.length / 2));
+        corruptedContents.add(Arrays.copyOf(content, 6));
+        // The length of the hash follows the format version
+        corruptedContents.add(withInt(content, 4, Integer.MAX_VALUE));
+        corruptedContents.add(withInt(content, 4, -1));
+        for (byte[] corruptedContent : corruptedContents) {
+            Files.write(proxyFile, corruptedContent);
+
+            // The file is treated like a cache miss, so the proxy is generated and written again
+            evm = buildLazyWithCache();
+            ((EntityViewManagerImpl) evm).getProxyFactory().getProxy(evm, (ManagedViewTypeImplementor<NameObjectView>) evm.getMetamodel().managedView(NameObjectView.class));
+            assertArrayEquals(content, Files.readAllBytes(proxyFile));
+        }
+    }
+
+    @Test
+    public void testCachedProxiesDoNotCreateClassPool() throws Exception {
+        EntityViewManager evm = buildLazyWithCache();
+        ((EntityViewManagerImpl) evm).getProxyFactory().getProxy(evm, (ManagedViewTypeImplementor<DocumentNameObjectView>) evm.getMetamodel().managedView(DocumentNameObjectView.class));
+
+        evm = buildLazyWithCache();
+        ProxyFactory proxyFactory = ((EntityViewManagerImpl) evm).getProxyFactory();
+        Class<?> proxyClass = proxyFactory.getProxy(evm, (ManagedViewTypeImplementor<DocumentNameObjectView>) evm.getMetamodel().managedView(DocumentNameObjectView.class));
+        assertTrue(DocumentNameObjectView.class.isAssignableFrom(proxyClass));
+        Field poolField = ProxyFactory.class.getDeclaredField("pool");
+        poolField.setAccessible(true);
+        assertNull(poolField.get(proxyFactory));
+    }
+
+    private static byte[] withInt(byte[] content, int offset, int value) {
+        byte[] newContent = content.clone();
+        newContent[offset] = (byte) (value >>> 24);
+        newContent[offset + 1] = (byte) (value >>> 16);
+        newContent[offset + 2] = (byte) (value >>> 8);
+        newContent[offset + 3] = (byte) value;
+        return newContent;
+    }
+
+    private EntityViewManager buildWithCache(String unsafeAllowed) {
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.setProperty(ConfigurationProperties.PROXY_EAGER_LOADING, "true");
+        cfg.setProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED, unsafeAllowed);
+        cfg.setProperty(ConfigurationProperties.PROXY_CACHE_DIRECTORY, cacheDirectory.toString());
+        return build(
+                cfg,
+                DocumentInterfaceView.class,
+                DocumentCreateView.class,
+                NameObjectView.class
+        );
+    }
+
+    private EntityViewManager buildLazyWithCache() {
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.setProperty(ConfigurationProperties.PROXY_CACHE_DIRECTORY, cacheDirectory.toString());
+        cfg.addEntityView(DocumentNameObjectView.class);
+        cfg.addEntityView(NameObjectView.class);
+        // Bypass the caching of the test base class as that would replace the proxy factory with a shared one
+        return cfg.createEntityViewManager(cbf);
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                paths.add(path);
+            }
+        }
+        Collections.sort(paths);
+        return paths;
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
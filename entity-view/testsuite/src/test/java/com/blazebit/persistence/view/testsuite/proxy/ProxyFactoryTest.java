@@ -22,6 +22,7 @@ import com.blazebit.persistence.view.ConfigurationProperties;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.EntityViews;
 import com.blazebit.persistence.view.SerializableEntityViewManager;
+import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
 import com.blazebit.persistence.view.impl.proxy.ObjectInstantiator;
@@ -32,6 +33,7 @@ import com.blazebit.persistence.view.metamodel.ManagedViewType;
 import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 import com.blazebit.persistence.view.metamodel.ViewType;
 import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentClassView;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentCreateView;
@@ -39,6 +41,7 @@ import com.blazebit.persistence.view.testsuite.proxy.model.DocumentCreateViewWit
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentInterfaceView;
 import com.blazebit.persistence.view.testsuite.proxy.model.NameObjectView;
 import com.blazebit.persistence.view.testsuite.proxy.model.UnsafeDocumentClassView;
+import com.blazebit.persistence.view.testsuite.proxy.model.WideDocumentView;
 import com.blazebit.reflection.ReflectionUtils;
 import org.junit.Test;
 
@@ -404,6 +407,48 @@ public class ProxyFactoryTest extends AbstractEntityViewTest {
         }
     }
 
+    @Test
+    public void testDirtyTrackingWithMoreThan64MutableAttributes() throws Exception {
+        EntityViewManager evm = build(WideDocumentView.class);
+        ViewType<WideDocumentView> viewType = evm.getMetamodel().view(WideDocumentView.class);
+        int index40 = ((AbstractMethodAttribute<?, ?>) viewType.getAttribute("name40")).getDirtyStateIndex();
+        int indexNonJoinable = ((AbstractMethodAttribute<?, ?>) viewType.getAttribute("nonJoinable")).getDirtyStateIndex();
+        WideDocumentView instance = evm.getReference(WideDocumentView.class, 1L);
+        MutableStateTrackable tracker = (MutableStateTrackable) instance;
+
+        assertEquals(66, tracker.$$_getMutableState().length);
+        assertEquals(2, tracker.$$_getDirty().length);
+        assertFalse(tracker.$$_isDirty());
+
+        instance.setName40("name40");
+        instance.setNonJoinable("nonJoinable");
+
+        assertTrue(tracker.$$_isDirty());
+        for (int i = 0; i < 66; i++) {
+            assertEquals("Dirty state of attribute " + i, i == index40 || i == indexNonJoinable, tracker.$$_isDirty(i));
+        }
+
+        long[] dirty = tracker.$$_resetDirty();
+        assertFalse(tracker.$$_isDirty());
+        assertFalse(tracker.$$_isDirty(indexNonJoinable));
+
+        tracker.$$_setDirty(dirty);
+        assertTrue(tracker.$$_isDirty(index40));
+        assertTrue(tracker.$$_isDirty(indexNonJoinable));
+
+        Object[] dirtyState = new Object[66];
+        assertTrue(tracker.$$_copyDirty(tracker.$$_getMutableState(), dirtyState));
+        for (int i = 0; i < 66; i++) {
+            if (i == index40) {
+                assertEquals("name40", dirtyState[i]);
+            } else if (i == indexNonJoinable) {
+                assertEquals("nonJoinable", dirtyState[i]);
+            } else {
+                assertNull(dirtyState[i]);
+            }
+        }
+    }
+
     private void assertField(Class<?> proxyClass, String fieldName, int modifiers, Class<?> type, Class<?>... typeArguments) throws Exception {
         Field field = proxyClass.getDeclaredField(fieldName);
         assertNotNull(field);
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.proxy.model;
+
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.IdMapping;
+import com.blazebit.persistence.view.Mapping;
+import com.blazebit.persistence.view.UpdatableEntityView;
+
+/**
+ * A view with 66 mutable attributes, which needs a dirty mask of two words.
+ * The non joinable attribute is the last mutable attribute and the only one that is not mapped to the name.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@UpdatableEntityView
+@EntityView(Document.class)
+public interface WideDocumentView {
+
+    @IdMapping
+    public Long getId();
+
+    @Mapping("name")
+    public String getName00();
+
+    public void setName00(String name);
+
+    @Mapping("name")
+    public String getName01();
+
+    public void setName01(String name);
+
+    @Mapping("name")
+    public String getName02();
+
+    public void setName02(String name);
+
+    @Mapping("name")
+    public String getName03();
+
+    public void setName03(String name);
+
+    @Mapping("name")
+    public String getName04();
+
+    public void setName04(String name);
+
+    @Mapping("name")
+    public String getName05();
+
+    public void setName05(String name);
+
+    @Mapping("name")
+    public String getName06();
+
+    public void setName06(String name);
+
+    @Mapping("name")
+    public String getName07();
+
+    public void setName07(String name);
+
+    @Mapping("name")
+    public String getName08();
+
+    public void setName08(String name);
+
+    @Mapping("name")
+    public String getName09();
+
+    public void setName09(String name);
+
+    @Mapping("name")
+    public String getName10();
+
+    public void setName10(String name);
+
+    @Mapping("name")
+    public String getName11();
+
+    public void setName11(String name);
+
+    @Mapping("name")
+    public String getName12();
+
+    public void setName12(String name);
+
+    @Mapping("name")
+    public String getName13();
+
+    public void setName13(String name);
+
+    @Mapping("name")
+    public String getName14();
+
+    public void setName14(String name);
+
+    @Mapping("name")
+    public String getName15();
+
+    public void setName15(String name);
+
+    @Mapping("name")
+    public String getName16();
+
+    public void setName16(String name);
+
+    @Mapping("name")
+    public String getName17();
+
+    public void setName17(String name);
+
+    @Mapping("name")
+    public String getName18();
+
+    public void setName18(String name);
+
+    @Mapping("name")
+    public String getName19();
+
+    public void setName19(String name);
+
+    @Mapping("name")
+    public String getName20();
+
+    public void setName20(String name);
+
+    @Mapping("name")
+    public String getName21();
+
+    public void setName21(String name);
+
+    @Mapping("name")
+    public String getName22();
+
+    public void setName22(String name);
+
+    @Mapping("name")
+    public String getName23();
+
+    public void setName23(String name);
+
+    @Mapping("name")
+    public String getName24();
+
+    public void setName24(String name);
+
+    @Mapping("name")
+    public String getName25();
+
+    public void setName25(String name);
+
+    @Mapping("name")
+    public String getName26();
+
+    public void setName26(String name);
+
+    @Mapping("name")
+    public String getName27();
+
+    public void setName27(String name);
+
+    @Mapping("name")
+    public String getName28();
+
+    public void setName28(String name);
+
+    @Mapping("name")
+    public String getName29();
+
+    public void setName29(String name);
+
+    @Mapping("name")
+    public String getName30();
+
+    public void setName30(String name);
+
+    @Mapping("name")
+    public String getName31();
+
+    public void setName31(String name);
+
+    @Mapping("name")
+    public String getName32();
+
+    public void setName32(String name);
+
+    @Mapping("name")
+    public String getName33();
+
+    public void setName33(String name);
+
+    @Mapping("name")
+    public String getName34();
+
+    public void setName34(String name);
+
+    @Mapping("name")
+    public String getName35();
+
+    public void setName35(String name);
+
+    @Mapping("name")
+    public String getName36();
+
+    public void setName36(String name);
+
+    @Mapping("name")
+    public String getName37();
+
+    public void setName37(String name);
+
+    @Mapping("name")
+    public String getName38();
+
+    public void setName38(String name);
+
+    @Mapping("name")
+    public String getName39();
+
+    public void setName39(String name);
+
+    @Mapping("name")
+    public String getName40();
+
+    public void setName40(String name);
+
+    @Mapping("name")
+    public String getName41();
+
+    public void setName41(String name);
+
+    @Mapping("name")
+    public String getName42();
+
+    public void setName42(String name);
+
+    @Mapping("name")
+    public String getName43();
+
+    public void setName43(String name);
+
+    @Mapping("name")
+    public String getName44();
+
+    public void setName44(String name);
+
+    @Mapping("name")
+    public String getName45();
+
+    public void setName45(String name);
+
+    @Mapping("name")
+    public String getName46();
+
+    public void setName46(String name);
+
+    @Mapping("name")
+    public String getName47();
+
+    public void setName47(String name);
+
+    @Mapping("name")
+    public String getName48();
+
+    public void setName48(String name);
+
+    @Mapping("name")
+    public String getName49();
+
+    public void setName49(String name);
+
+    @Mapping("name")
+    public String getName50();
+
+    public void setName50(String name);
+
+    @Mapping("name")
+    public String getName51();
+
+    public void setName51(String name);
+
+    @Mapping("name")
+    public String getName52();
+
+    public void setName52(String name);
+
+    @Mapping("name")
+    public String getName53();
+
+    public void setName53(String name);
+
+    @Mapping("name")
+    public String getName54();
+
+    public void setName54(String name);
+
+    @Mapping("name")
+    public String getName55();
+
+    public void setName55(String name);
+
+    @Mapping("name")
+    public String getName56();
+
+    public void setName56(String name);
+
+    @Mapping("name")
+    public String getName57();
+
+    public void setName57(String name);
+
+    @Mapping("name")
+    public String getName58();
+
+    public void setName58(String name);
+
+    @Mapping("name")
+    public String getName59();
+
+    public void setName59(String name);
+
+    @Mapping("name")
+    public String getName60();
+
+    public void setName60(String name);
+
+    @Mapping("name")
+    public String getName61();
+
+    public void setName61(String name);
+
+    @Mapping("name")
+    public String getName62();
+
+    public void setName62(String name);
+
+    @Mapping("name")
+    public String getName63();
+
+    public void setName63(String name);
+
+    @Mapping("name")
+    public String getName64();
+
+    public void setName64(String name);
+
+    public String getNonJoinable();
+
+    public void setNonJoinable(String nonJoinable);
+}
@@ -22,11 +22,13 @@ import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
 import com.blazebit.persistence.testsuite.entity.Document;
 import com.blazebit.persistence.view.FlushMode;
 import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.OptimisticLockException;
 import com.blazebit.persistence.view.change.ChangeModel;
 import com.blazebit.persistence.view.change.SingularChangeModel;
 import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 import com.blazebit.persistence.view.testsuite.update.basic.AbstractEntityViewUpdateBasicTest;
 import com.blazebit.persistence.view.testsuite.update.basic.mutable.model.UpdatableDocumentBasicView;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
@@ -68,6 +70,71 @@ public class EntityViewUpdateMutableBasicTest extends AbstractEntityViewUpdateBa
         assertEquals("newDoc", doc1.getName());
     }
 
+    @Test
+    public void testSaveAll() {
+        final UpdatableDocumentBasicView docView1 = getDoc1View();
+        final UpdatableDocumentBasicView docView2 = getDoc2View();
+        Long oldVersion1 = docView1.getVersion();
+        Long oldVersion2 = docView2.getVersion();
+
+        // When
+        docView1.setName("newDoc1");
+        docView2.setName("newDoc2");
+        saveAll(docView1, docView2);
+
+        // Then
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc1", doc1.getName());
+        assertEquals("newDoc2", doc2.getName());
+        assertVersionDiff(oldVersion1, docView1.getVersion(), 1, 1);
+        assertVersionDiff(oldVersion2, docView2.getVersion(), 1, 1);
+        assertEquals(doc1.getVersion(), docView1.getVersion());
+        assertEquals(doc2.getVersion(), docView2.getVersion());
+    }
+
+    @Test
+    public void testSaveAllChecksVersionOfEveryView() {
+        Assume.assumeTrue("Only the query flush strategy batches the updates of versioned views", version && isQueryStrategy());
+        final UpdatableDocumentBasicView docView1 = getDoc1View();
+        final UpdatableDocumentBasicView staleDocView1 = getDoc1View();
+        final UpdatableDocumentBasicView docView2 = getDoc2View();
+
+        // When
+        docView1.setName("newDoc1");
+        staleDocView1.setName("staleDoc1");
+        docView2.setName("newDoc2");
+        try {
+            saveAll(docView1, docView2, staleDocView1);
+            fail("Expected an optimistic lock exception for the stale view");
+        } catch (OptimisticLockException ex) {
+            assertSame(staleDocView1, ex.getEntityView());
+        }
+
+        // Then
+        clearPersistenceContextAndReload();
+        assertEquals("doc1", doc1.getName());
+        assertEquals("doc2", doc2.getName());
+    }
+
+    @Test
+    public void testUpdatesWithDifferentDirtyAttributes() {
+        final UpdatableDocumentBasicView docView = getDoc1View();
+
+        // When
+        docView.setName("newDoc");
+        update(docView);
+        docView.setLastModified(new Date(0));
+        update(docView);
+        docView.setName("newDoc2");
+        update(docView);
+
+        // Then
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc2", doc1.getName());
+        assertEquals(0, doc1.getLastModified().getTime());
+        assertEquals(doc1.getVersion(), docView.getVersion());
+    }
+
     @Test
     public void testSimpleUpdate() {
         // Given & When
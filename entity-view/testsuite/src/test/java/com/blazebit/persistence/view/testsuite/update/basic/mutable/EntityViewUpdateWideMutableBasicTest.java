@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.update.basic.mutable;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
+import com.blazebit.persistence.view.testsuite.proxy.model.WideDocumentView;
+import com.blazebit.persistence.view.testsuite.update.AbstractEntityViewUpdateDocumentTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@RunWith(Parameterized.class)
+// NOTE: No Datanucleus support yet
+@Category({ NoDatanucleus.class, NoEclipselink.class})
+public class EntityViewUpdateWideMutableBasicTest extends AbstractEntityViewUpdateDocumentTest<WideDocumentView> {
+
+    public EntityViewUpdateWideMutableBasicTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, WideDocumentView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        return new Object[][]{
+                { FlushMode.PARTIAL, FlushStrategy.ENTITY, false },
+                { FlushMode.PARTIAL, FlushStrategy.QUERY, false }
+        };
+    }
+
+    @Test
+    public void testPartialFlushOfAttributeInSecondDirtyWord() {
+        int dirtyStateIndex = ((AbstractMethodAttribute<?, ?>) evm.getMetamodel().view(WideDocumentView.class).getAttribute("nonJoinable")).getDirtyStateIndex();
+        assertTrue(dirtyStateIndex >= 64);
+        final WideDocumentView docView = evm.find(em, WideDocumentView.class, doc1.getId());
+
+        // When
+        // A concurrent change to the name must survive, since only the non joinable attribute is dirty
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.find(Document.class, doc1.getId()).setName("concurrentName");
+            }
+        });
+        docView.setNonJoinable("newNonJoinable");
+        AssertStatementBuilder builder = assertQueriesAfterUpdate(docView);
+        if (isQueryStrategy()) {
+            builder.update(Document.class);
+        } else {
+            fullFetch(builder).update(Document.class);
+        }
+        builder.validate();
+
+        // Then
+        clearPersistenceContextAndReload();
+        assertEquals("newNonJoinable", doc1.getNonJoinable());
+        assertEquals("concurrentName", doc1.getName());
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder.assertSelect()
+                .fetching(Document.class)
+                .and();
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder.update(Document.class);
+    }
+}
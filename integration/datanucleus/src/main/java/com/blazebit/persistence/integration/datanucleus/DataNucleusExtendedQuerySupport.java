@@ -133,6 +133,11 @@ public class DataNucleusExtendedQuerySupport implements ExtendedQuerySupport {
         // TODO: implement
         throw new UnsupportedOperationException("Not yet implemeneted!");
     }
+
+    @Override
+    public int[] executeBatchUpdate(EntityManager em, List<Query> queries) {
+        return null;
+    }
     
     private void applySql(Query query, String sqlOverride) {
         // TODO: parameter handling
@@ -664,6 +664,16 @@ public class EclipseLinkJpaProvider implements JpaProvider {
         query.setParameter(name, value);
     }
 
+    @Override
+    public boolean supportsArrayParameters() {
+        return false;
+    }
+
+    @Override
+    public void setArrayParameter(Query query, String name, Object[] value) {
+        throw new UnsupportedOperationException("Binding arrays as parameters is not supported!");
+    }
+
     @Override
     public List<String> getIdentifierOrUniqueKeyEmbeddedPropertyNames(EntityType<?> ownerType, String attributeName) {
         AttributeImpl<?, ?> attribute = getAttribute(ownerType, attributeName);
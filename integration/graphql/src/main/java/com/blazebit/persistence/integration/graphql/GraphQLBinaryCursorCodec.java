@@ -0,0 +1,450 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * A {@link GraphQLCursorCodec} that uses a compact, type tagged binary encoding for the common keyset types
+ * i.e. strings, numbers, booleans, characters, UUIDs as well as <code>java.util</code>, <code>java.sql</code> and <code>java.time</code> temporals.
+ * Integral numbers are encoded as variable length integers, so that small values only need a single byte.
+ *
+ * Cursors with tuple elements of other types are encoded with the fallback codec.
+ * Cursors that are not in the binary format, like cursors that were created by the fallback codec, are also decoded with the fallback codec.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class GraphQLBinaryCursorCodec implements GraphQLCursorCodec {
+
+    // Java serialization streams start with 0xACED, so the first byte is enough to tell the formats apart
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN_TRUE = 2;
+    private static final byte BOOLEAN_FALSE = 3;
+    private static final byte BYTE = 4;
+    private static final byte SHORT = 5;
+    private static final byte INTEGER = 6;
+    private static final byte LONG = 7;
+    private static final byte FLOAT = 8;
+    private static final byte DOUBLE = 9;
+    private static final byte CHARACTER = 10;
+    private static final byte BIG_INTEGER = 11;
+    private static final byte BIG_DECIMAL = 12;
+    private static final byte UUID_TYPE = 13;
+    private static final byte UTIL_DATE = 14;
+    private static final byte SQL_DATE = 15;
+    private static final byte SQL_TIME = 16;
+    private static final byte SQL_TIMESTAMP = 17;
+    private static final byte INSTANT = 18;
+    private static final byte LOCAL_DATE = 19;
+    private static final byte LOCAL_TIME = 20;
+    private static final byte LOCAL_DATE_TIME = 21;
+    private static final byte OFFSET_TIME = 22;
+    private static final byte OFFSET_DATE_TIME = 23;
+    private static final byte ZONED_DATE_TIME = 24;
+
+    private final GraphQLCursorCodec fallbackCodec;
+
+    /**
+     * Creates a new codec that uses the given fallback codec for cursors that can't be represented in the binary format.
+     *
+     * @param fallbackCodec The fallback codec or <code>null</code> if only the binary format should be supported
+     */
+    public GraphQLBinaryCursorCodec(GraphQLCursorCodec fallbackCodec) {
+        this.fallbackCodec = fallbackCodec;
+    }
+
+    @Override
+    public byte[] encode(int offset, int pageSize, Serializable[] tuple) {
+        Writer writer = new Writer(tuple == null ? 8 : 8 + tuple.length * 9);
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeInt(offset);
+        writer.writeInt(pageSize);
+        if (tuple == null) {
+            writer.writeInt(-1);
+        } else {
+            writer.writeInt(tuple.length);
+            for (Serializable element : tuple) {
+                if (!writeElement(writer, element)) {
+                    if (fallbackCodec == null) {
+                        throw new IllegalArgumentException("Unsupported cursor tuple element type: " + element.getClass().getName());
+                    }
+                    return fallbackCodec.encode(offset, pageSize, tuple);
+                }
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public GraphQLCursor decode(byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] != FORMAT_VERSION) {
+            if (fallbackCodec == null) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            return fallbackCodec.decode(bytes);
+        }
+        Reader reader = new Reader(bytes);
+        try {
+            int offset = reader.readInt();
+            int pageSize = reader.readInt();
+            int length = reader.readInt();
+            Serializable[] tuple;
+            if (length == -1) {
+                tuple = null;
+            } else {
+                // Every element needs at least one byte, so this protects against allocating huge arrays
+                if (length < 0 || length > bytes.length - reader.position) {
+                    throw new IllegalArgumentException("Invalid cursor tuple length: " + length);
+                }
+                tuple = new Serializable[length];
+                for (int i = 0; i < length; i++) {
+                    tuple[i] = readElement(reader);
+                }
+            }
+            if (reader.position != bytes.length) {
+                throw new IllegalArgumentException("Unexpected trailing bytes in cursor");
+            }
+            return new GraphQLCursor(offset, pageSize, tuple);
+        } catch (ArrayIndexOutOfBoundsException | DateTimeException ex) {
+            throw new IllegalArgumentException("Couldn't read cursor", ex);
+        }
+    }
+
+    private static boolean writeElement(Writer writer, Serializable element) {
+        if (element == null) {
+            writer.writeByte(NULL);
+            return true;
+        }
+        // Only exact types are supported, as subtypes would not survive a round trip
+        Class<?> type = element.getClass();
+        if (type == String.class) {
+            writer.writeByte(STRING);
+            writer.writeBytes(((String) element).getBytes(StandardCharsets.UTF_8));
+        } else if (type == Long.class) {
+            writer.writeByte(LONG);
+            writer.writeLong((Long) element);
+        } else if (type == Integer.class) {
+            writer.writeByte(INTEGER);
+            writer.writeInt((Integer) element);
+        } else if (type == UUID.class) {
+            UUID uuid = (UUID) element;
+            writer.writeByte(UUID_TYPE);
+            writer.writeFixedLong(uuid.getMostSignificantBits());
+            writer.writeFixedLong(uuid.getLeastSignificantBits());
+        } else if (type == Boolean.class) {
+            writer.writeByte((Boolean) element ? BOOLEAN_TRUE : BOOLEAN_FALSE);
+        } else if (type == Short.class) {
+            writer.writeByte(SHORT);
+            writer.writeInt((Short) element);
+        } else if (type == Byte.class) {
+            writer.writeByte(BYTE);
+            writer.writeByte((Byte) element);
+        } else if (type == Character.class) {
+            writer.writeByte(CHARACTER);
+            writer.writeInt((Character) element);
+        } else if (type == Float.class) {
+            writer.writeByte(FLOAT);
+            writer.writeFixedInt(Float.floatToIntBits((Float) element));
+        } else if (type == Double.class) {
+            writer.writeByte(DOUBLE);
+            writer.writeFixedLong(Double.doubleToLongBits((Double) element));
+        } else if (type == BigInteger.class) {
+            writer.writeByte(BIG_INTEGER);
+            writer.writeBytes(((BigInteger) element).toByteArray());
+        } else if (type == BigDecimal.class) {
+            BigDecimal bigDecimal = (BigDecimal) element;
+            writer.writeByte(BIG_DECIMAL);
+            writer.writeInt(bigDecimal.scale());
+            writer.writeBytes(bigDecimal.unscaledValue().toByteArray());
+        } else if (type == java.sql.Timestamp.class) {
+            java.sql.Timestamp timestamp = (java.sql.Timestamp) element;
+            writer.writeByte(SQL_TIMESTAMP);
+            // The millisecond part is contained in the nanos
+            writer.writeLong(Math.floorDiv(timestamp.getTime(), 1000L));
+            writer.writeInt(timestamp.getNanos());
+        } else if (type == java.util.Date.class) {
+            writer.writeByte(UTIL_DATE);
+            writer.writeLong(((java.util.Date) element).getTime());
+        } else if (type == java.sql.Date.class) {
+            writer.writeByte(SQL_DATE);
+            writer.writeLong(((java.sql.Date) element).getTime());
+        } else if (type == java.sql.Time.class) {
+            writer.writeByte(SQL_TIME);
+            writer.writeLong(((java.sql.Time) element).getTime());
+        } else if (type == Instant.class) {
+            Instant instant = (Instant) element;
+            writer.writeByte(INSTANT);
+            writer.writeLong(instant.getEpochSecond());
+            writer.writeInt(instant.getNano());
+        } else if (type == LocalDate.class) {
+            writer.writeByte(LOCAL_DATE);
+            writer.writeLong(((LocalDate) element).toEpochDay());
+        } else if (type == LocalTime.class) {
+            writer.writeByte(LOCAL_TIME);
+            writer.writeLong(((LocalTime) element).toNanoOfDay());
+        } else if (type == LocalDateTime.class) {
+            writer.writeByte(LOCAL_DATE_TIME);
+            writeLocalDateTime(writer, (LocalDateTime) element);
+        } else if (type == OffsetTime.class) {
+            OffsetTime offsetTime = (OffsetTime) element;
+            writer.writeByte(OFFSET_TIME);
+            writer.writeLong(offsetTime.toLocalTime().toNanoOfDay());
+            writer.writeInt(offsetTime.getOffset().getTotalSeconds());
+        } else if (type == OffsetDateTime.class) {
+            OffsetDateTime offsetDateTime = (OffsetDateTime) element;
+            writer.writeByte(OFFSET_DATE_TIME);
+            writeLocalDateTime(writer, offsetDateTime.toLocalDateTime());
+            writer.writeInt(offsetDateTime.getOffset().getTotalSeconds());
+        } else if (type == ZonedDateTime.class) {
+            ZonedDateTime zonedDateTime = (ZonedDateTime) element;
+            writer.writeByte(ZONED_DATE_TIME);
+            writeLocalDateTime(writer, zonedDateTime.toLocalDateTime());
+            writer.writeInt(zonedDateTime.getOffset().getTotalSeconds());
+            writer.writeBytes(zonedDateTime.getZone().getId().getBytes(StandardCharsets.UTF_8));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void writeLocalDateTime(Writer writer, LocalDateTime localDateTime) {
+        writer.writeLong(localDateTime.toLocalDate().toEpochDay());
+        writer.writeLong(localDateTime.toLocalTime().toNanoOfDay());
+    }
+
+    private static Serializable readElement(Reader reader) {
+        byte tag = reader.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return new String(reader.readBytes(), StandardCharsets.UTF_8);
+            case BOOLEAN_TRUE:
+                return Boolean.TRUE;
+            case BOOLEAN_FALSE:
+                return Boolean.FALSE;
+            case BYTE:
+                return reader.readByte();
+            case SHORT:
+                return (short) reader.readInt();
+            case INTEGER:
+                return reader.readInt();
+            case LONG:
+                return reader.readLong();
+            case FLOAT:
+                return Float.intBitsToFloat(reader.readFixedInt());
+            case DOUBLE:
+                return Double.longBitsToDouble(reader.readFixedLong());
+            case CHARACTER:
+                return (char) reader.readInt();
+            case BIG_INTEGER:
+                return new BigInteger(reader.readBytes());
+            case BIG_DECIMAL:
+                int scale = reader.readInt();
+                return new BigDecimal(new BigInteger(reader.readBytes()), scale);
+            case UUID_TYPE:
+                return new UUID(reader.readFixedLong(), reader.readFixedLong());
+            case UTIL_DATE:
+                return new java.util.Date(reader.readLong());
+            case SQL_DATE:
+                return new java.sql.Date(reader.readLong());
+            case SQL_TIME:
+                return new java.sql.Time(reader.readLong());
+            case SQL_TIMESTAMP:
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(reader.readLong() * 1000L);
+                timestamp.setNanos(reader.readInt());
+                return timestamp;
+            case INSTANT:
+                return Instant.ofEpochSecond(reader.readLong(), reader.readInt());
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(reader.readLong());
+            case LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(reader.readLong());
+            case LOCAL_DATE_TIME:
+                return readLocalDateTime(reader);
+            case OFFSET_TIME:
+                return OffsetTime.of(LocalTime.ofNanoOfDay(reader.readLong()), ZoneOffset.ofTotalSeconds(reader.readInt()));
+            case OFFSET_DATE_TIME:
+                return OffsetDateTime.of(readLocalDateTime(reader), ZoneOffset.ofTotalSeconds(reader.readInt()));
+            case ZONED_DATE_TIME:
+                LocalDateTime localDateTime = readLocalDateTime(reader);
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds(reader.readInt());
+                ZoneId zoneId = ZoneId.of(new String(reader.readBytes(), StandardCharsets.UTF_8));
+                return ZonedDateTime.ofLocal(localDateTime, zoneId, offset);
+            default:
+                throw new IllegalArgumentException("Invalid cursor tuple element type tag: " + tag);
+        }
+    }
+
+    private static LocalDateTime readLocalDateTime(Reader reader) {
+        LocalDate localDate = LocalDate.ofEpochDay(reader.readLong());
+        return LocalDateTime.of(localDate, LocalTime.ofNanoOfDay(reader.readLong()));
+    }
+
+    /**
+     * A growable byte buffer that writes integral numbers as zig-zag encoded variable length integers.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        public Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+
+        public void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        public void writeInt(int value) {
+            writeLong(value);
+        }
+
+        public void writeLong(long value) {
+            ensureCapacity(10);
+            long zigZag = (value << 1) ^ (value >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+                zigZag >>>= 7;
+            }
+            buffer[position++] = (byte) zigZag;
+        }
+
+        public void writeFixedInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        public void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        public void writeBytes(byte[] bytes) {
+            writeInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    /**
+     * A reader for the format written by {@link Writer}.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        public Reader(byte[] buffer) {
+            this.buffer = buffer;
+            // Skip the format version
+            this.position = 1;
+        }
+
+        public byte readByte() {
+            return buffer[position++];
+        }
+
+        public int readInt() {
+            long value = readLong();
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid cursor integer value: " + value);
+            }
+            return (int) value;
+        }
+
+        public long readLong() {
+            long zigZag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                zigZag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigZag >>> 1) ^ -(zigZag & 1);
+                }
+            }
+            throw new IllegalArgumentException("Invalid cursor variable length integer");
+        }
+
+        public int readFixedInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        public long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        public byte[] readBytes() {
+            int length = readInt();
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Invalid cursor byte length: " + length);
+            }
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+import java.io.Serializable;
+
+/**
+ * Encodes and decodes the binary form of {@link GraphQLCursor} objects. The binary form is encoded as Base64 before it is handed out to clients.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface GraphQLCursorCodec {
+
+    /**
+     * Encodes the given cursor components to a byte array.
+     *
+     * @param offset The offset
+     * @param pageSize The page size
+     * @param tuple The tuple
+     * @return the encoded form of the cursor
+     */
+    public byte[] encode(int offset, int pageSize, Serializable[] tuple);
+
+    /**
+     * Decodes the given bytes to a {@link GraphQLCursor}.
+     *
+     * @param bytes The encoded form of the cursor
+     * @return a new cursor
+     * @throws IllegalArgumentException When the bytes can't be decoded
+     */
+    public GraphQLCursor decode(byte[] bytes);
+}
@@ -158,6 +158,8 @@ public class GraphQLEntityViewSupportFactory {
     private boolean defineRelayNodeIfNotExist;
     private boolean defineDedicatedRelayNodes;
     private Pattern typeFilterPattern;
+    private GraphQLCursorCodec cursorCodec;
+    private boolean binaryCursorCodec;
     private Map<String, GraphQLScalarType> scalarTypeMap;
     private Set<String> registeredScalarTypeNames;
 
@@ -328,6 +330,60 @@ public class GraphQLEntityViewSupportFactory {
         this.typeFilterPattern = typeFilterPattern;
     }
 
+    /**
+     * Returns the cursor codec to use for the {@link GraphQLEntityViewSupport} or <code>null</code> if the default should be used.
+     *
+     * @return the cursor codec
+     * @since 1.6.12
+     */
+    public GraphQLCursorCodec getCursorCodec() {
+        return cursorCodec;
+    }
+
+    /**
+     * Sets the cursor codec to use for the {@link GraphQLEntityViewSupport}.
+     * By default, a {@link GraphQLSerializationCursorCodec} is used, or a {@link GraphQLBinaryCursorCodec} if {@link #isBinaryCursorCodec()} is <code>true</code>.
+     *
+     * @param cursorCodec the cursor codec or <code>null</code> to use the default
+     * @since 1.6.12
+     */
+    public void setCursorCodec(GraphQLCursorCodec cursorCodec) {
+        this.cursorCodec = cursorCodec;
+    }
+
+    /**
+     * Returns <code>true</code> if cursors should be encoded with a {@link GraphQLBinaryCursorCodec} when no cursor codec is set.
+     *
+     * @return <code>true</code> if cursors should be encoded with a {@link GraphQLBinaryCursorCodec}
+     * @since 1.6.12
+     */
+    public boolean isBinaryCursorCodec() {
+        return binaryCursorCodec;
+    }
+
+    /**
+     * Sets whether cursors should be encoded with a {@link GraphQLBinaryCursorCodec} when no cursor codec is set.
+     * The binary codec falls back to Java serialization for unsupported types and is able to decode cursors in the Java serialization format,
+     * so cursors that were handed out before enabling it keep working.
+     *
+     * @param binaryCursorCodec Whether cursors should be encoded with a {@link GraphQLBinaryCursorCodec}
+     * @since 1.6.12
+     */
+    public void setBinaryCursorCodec(boolean binaryCursorCodec) {
+        this.binaryCursorCodec = binaryCursorCodec;
+    }
+
+    private GraphQLCursorCodec createCursorCodec(Set<String> serializableBasicTypes) {
+        if (cursorCodec != null) {
+            return cursorCodec;
+        }
+        GraphQLCursorCodec serializationCursorCodec = new GraphQLSerializationCursorCodec(serializableBasicTypes);
+        if (binaryCursorCodec) {
+            return new GraphQLBinaryCursorCodec(serializationCursorCodec);
+        }
+        return serializationCursorCodec;
+    }
+
     /**
      * Returns a new {@link GraphQLEntityViewSupport} after registering the entity view types from {@link EntityViewManager}
      * on the given {@link TypeDefinitionRegistry}.
@@ -465,7 +521,8 @@ public class GraphQLEntityViewSupportFactory {
 
         serializableBasicTypes.add(Serializable[].class.getName());
         serializableBasicTypes.add(GraphQLCursor.class.getName());
-        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes);
+        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes, createCursorCodec(serializableBasicTypes), GraphQLEntityViewSupport.PAGE_SIZE_NAME, GraphQLEntityViewSupport.OFFSET_NAME, GraphQLEntityViewSupport.BEFORE_CURSOR_NAME,
+                GraphQLEntityViewSupport.AFTER_CURSOR_NAME, GraphQLEntityViewSupport.TOTAL_COUNT_NAME, GraphQLEntityViewSupport.EDGES_NAME, GraphQLEntityViewSupport.EDGE_NODE_NAME, GraphQLEntityViewSupport.EDGE_CURSOR_NAME);
     }
 
     /**
@@ -664,7 +721,8 @@ public class GraphQLEntityViewSupportFactory {
                 schemaBuilder.additionalType(additionalType);
             }
         }
-        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes);
+        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes, createCursorCodec(serializableBasicTypes), GraphQLEntityViewSupport.PAGE_SIZE_NAME, GraphQLEntityViewSupport.OFFSET_NAME, GraphQLEntityViewSupport.BEFORE_CURSOR_NAME,
+                GraphQLEntityViewSupport.AFTER_CURSOR_NAME, GraphQLEntityViewSupport.TOTAL_COUNT_NAME, GraphQLEntityViewSupport.EDGES_NAME, GraphQLEntityViewSupport.EDGE_NODE_NAME, GraphQLEntityViewSupport.EDGE_CURSOR_NAME);
     }
 
     private GraphQLList getListType(GraphQLType elementType) {
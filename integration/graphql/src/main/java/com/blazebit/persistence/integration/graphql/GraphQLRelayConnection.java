@@ -21,7 +21,6 @@ import com.blazebit.persistence.PagedList;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 
@@ -54,15 +53,26 @@ public class GraphQLRelayConnection<T> implements Serializable {
      * @param list The list
      */
     public GraphQLRelayConnection(List<T> list) {
+        this(list, (GraphQLCursorCodec) null);
+    }
+
+    /**
+     * Creates a new GraphQL page from the given list that encodes cursors with the given codec.
+     *
+     * @param list The list
+     * @param cursorCodec The cursor codec or <code>null</code> to use {@link GraphQLRelayPageInfo#serialize(int, int, Serializable[])}
+     * @since 1.6.12
+     */
+    public GraphQLRelayConnection(List<T> list, GraphQLCursorCodec cursorCodec) {
         if (list instanceof PagedList<?>) {
             PagedList<T> data = (PagedList<T>) list;
-            this.pageInfo = new GraphQLRelayPageInfo(data);
+            this.pageInfo = new GraphQLRelayPageInfo(data, cursorCodec);
             this.totalCount = data.getTotalSize();
         } else {
             this.pageInfo = GraphQLRelayPageInfo.EMPTY;
             this.totalCount = list.size();
         }
-        this.edges = createEdges(list, pageInfo);
+        this.edges = createEdges(list, pageInfo, cursorCodec);
     }
 
     /**
@@ -71,12 +81,23 @@ public class GraphQLRelayConnection<T> implements Serializable {
      * @param list The paged list
      */
     public GraphQLRelayConnection(PagedList<T> list) {
-        this.pageInfo = new GraphQLRelayPageInfo(list);
+        this(list, (GraphQLCursorCodec) null);
+    }
+
+    /**
+     * Creates a GraphQL page from the given paged list that encodes cursors with the given codec.
+     *
+     * @param list The paged list
+     * @param cursorCodec The cursor codec or <code>null</code> to use {@link GraphQLRelayPageInfo#serialize(int, int, Serializable[])}
+     * @since 1.6.12
+     */
+    public GraphQLRelayConnection(PagedList<T> list, GraphQLCursorCodec cursorCodec) {
+        this.pageInfo = new GraphQLRelayPageInfo(list, cursorCodec);
         this.totalCount = list.getTotalSize();
-        this.edges = createEdges(list, pageInfo);
+        this.edges = createEdges(list, pageInfo, cursorCodec);
     }
 
-    private static <X> List<GraphQLRelayEdge<X>> createEdges(List<X> list, GraphQLRelayPageInfo pageInfo) {
+    private static <X> List<GraphQLRelayEdge<X>> createEdges(List<X> list, GraphQLRelayPageInfo pageInfo, GraphQLCursorCodec cursorCodec) {
         List<GraphQLRelayEdge<X>> edges;
         List<Keyset> keysets;
         if (list instanceof PagedList<?> && pageInfo != null && ((PagedList<?>) list).getKeysetPage() != null && (keysets = ((PagedList<?>) list).getKeysetPage().getKeysets()).size() == list.size()) {
@@ -86,7 +107,7 @@ public class GraphQLRelayConnection<T> implements Serializable {
             edges = new ArrayList<>(list.size());
             for (int i = 0; i < list.size(); i++) {
                 X node = list.get(i);
-                edges.add(new GraphQLRelayEdge<>(Base64.getEncoder().encodeToString(pageInfo.serialize(offset, pageSize, keysets.get(i).getTuple())), node));
+                edges.add(new GraphQLRelayEdge<>(pageInfo.encodeCursor(cursorCodec, offset, pageSize, keysets.get(i).getTuple()), node));
             }
         } else {
             edges = new ArrayList<>(list.size());
@@ -19,11 +19,9 @@ package com.blazebit.persistence.integration.graphql;
 import com.blazebit.persistence.KeysetPage;
 import com.blazebit.persistence.PagedList;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Base64;
+import java.util.Collections;
 
 /**
  * A GraphQL Relay page info.
@@ -34,6 +32,8 @@ import java.util.Base64;
 public class GraphQLRelayPageInfo implements Serializable {
 
     public static final transient GraphQLRelayPageInfo EMPTY = new GraphQLRelayPageInfo();
+    // The codec is only used for encoding here, so no types have to be allowed for deserialization
+    private static final transient GraphQLCursorCodec DEFAULT_CURSOR_CODEC = new GraphQLSerializationCursorCodec(Collections.<String>emptySet());
 
     private final boolean hasNextPage;
     private final boolean hasPreviousPage;
@@ -53,16 +53,27 @@ public class GraphQLRelayPageInfo implements Serializable {
      * @param data The paged list
      */
     public GraphQLRelayPageInfo(PagedList<?> data) {
+        this(data, null);
+    }
+
+    /**
+     * Creates a new page info object from the given paged list that encodes cursors with the given codec.
+     *
+     * @param data The paged list
+     * @param cursorCodec The cursor codec or <code>null</code> to use {@link #serialize(int, int, Serializable[])}
+     * @since 1.6.12
+     */
+    public GraphQLRelayPageInfo(PagedList<?> data, GraphQLCursorCodec cursorCodec) {
         this.hasPreviousPage = data.getFirstResult() != 0;
         this.hasNextPage = data.getTotalSize() == -1 || data.getFirstResult() + data.getMaxResults() < data.getTotalSize();
         KeysetPage keysetPage = data.getKeysetPage();
         if (keysetPage != null && keysetPage.getLowest() != null) {
-            this.startCursor = Base64.getEncoder().encodeToString(serialize(data.getFirstResult(), data.getMaxResults(), keysetPage.getLowest().getTuple()));
+            this.startCursor = encodeCursor(cursorCodec, data.getFirstResult(), data.getMaxResults(), keysetPage.getLowest().getTuple());
         } else {
             this.startCursor = null;
         }
         if (keysetPage != null && keysetPage.getHighest() != null) {
-            this.endCursor = Base64.getEncoder().encodeToString(serialize(data.getFirstResult(), data.getMaxResults(), keysetPage.getHighest().getTuple()));
+            this.endCursor = encodeCursor(cursorCodec, data.getFirstResult(), data.getMaxResults(), keysetPage.getHighest().getTuple());
         } else {
             this.endCursor = null;
         }
@@ -135,14 +146,10 @@ public class GraphQLRelayPageInfo implements Serializable {
      * @return the serialized form of the cursor
      */
     protected static byte[] serializeCursor(int offset, int pageSize, Serializable[] tuple) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
-            oos.write(offset);
-            oos.write(pageSize);
-            oos.writeObject(tuple);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-        return baos.toByteArray();
+        return DEFAULT_CURSOR_CODEC.encode(offset, pageSize, tuple);
+    }
+
+    String encodeCursor(GraphQLCursorCodec cursorCodec, int offset, int pageSize, Serializable[] tuple) {
+        return Base64.getEncoder().encodeToString(cursorCodec == null ? serialize(offset, pageSize, tuple) : cursorCodec.encode(offset, pageSize, tuple));
     }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+import com.blazebit.persistence.parser.EntityMetamodel;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.metamodel.ViewMetamodel;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Currency;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class GraphQLCursorCodecTest {
+
+    private final GraphQLSerializationCursorCodec serializationCodec = new GraphQLSerializationCursorCodec(allowedTypes());
+    private final GraphQLBinaryCursorCodec binaryCodec = new GraphQLBinaryCursorCodec(serializationCodec);
+
+    private static Set<String> allowedTypes() {
+        Set<String> allowedTypes = new HashSet<>();
+        allowedTypes.add(Integer.class.getName());
+        allowedTypes.add(Number.class.getName());
+        allowedTypes.add(Currency.class.getName());
+        allowedTypes.add(Serializable[].class.getName());
+        return allowedTypes;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Timestamp timestamp = new Timestamp(-1234567L);
+        timestamp.setNanos(123456789);
+        Serializable[] tuple = new Serializable[]{
+            null, "abc", 1L, -5, UUID.randomUUID(), true, (short) 3, (byte) -2, 'x', 1.5f, 2.25d,
+            new BigInteger("-123456789012345678901234567890"), new BigDecimal("-12.3400"),
+            new Date(123L), new java.sql.Date(456L), timestamp,
+            Instant.ofEpochSecond(-10, 5), LocalDate.of(2020, 1, 2), LocalTime.of(1, 2, 3, 4), LocalDateTime.of(2020, 1, 2, 3, 4, 5, 6),
+            OffsetDateTime.of(2020, 1, 2, 3, 4, 5, 6, ZoneOffset.ofHours(-3)), ZonedDateTime.of(2020, 7, 2, 3, 4, 5, 6, ZoneId.of("Europe/Vienna"))
+        };
+
+        GraphQLCursor cursor = binaryCodec.decode(binaryCodec.encode(300, 20, tuple));
+
+        Assert.assertEquals(300, cursor.getOffset());
+        Assert.assertEquals(20, cursor.getPageSize());
+        Assert.assertArrayEquals(tuple, cursor.getTuple());
+        for (int i = 1; i < tuple.length; i++) {
+            Assert.assertEquals(tuple[i].getClass(), cursor.getTuple()[i].getClass());
+        }
+    }
+
+    @Test
+    public void testBinaryFormatIsSmaller() {
+        Serializable[] tuple = new Serializable[]{ 42L, 7 };
+        Assert.assertTrue(binaryCodec.encode(0, 10, tuple).length < serializationCodec.encode(0, 10, tuple).length);
+    }
+
+    @Test
+    public void testDecodeSerializedCursor() {
+        GraphQLCursor cursor = binaryCodec.decode(serializationCodec.encode(1, 2, new Serializable[]{ 5 }));
+        Assert.assertEquals(1, cursor.getOffset());
+        Assert.assertEquals(2, cursor.getPageSize());
+        Assert.assertArrayEquals(new Serializable[]{ 5 }, cursor.getTuple());
+    }
+
+    @Test
+    public void testUnsupportedTypeUsesFallback() {
+        Serializable[] tuple = new Serializable[]{ 1, Currency.getInstance("EUR") };
+        byte[] bytes = binaryCodec.encode(0, 1, tuple);
+        Assert.assertArrayEquals(serializationCodec.encode(0, 1, tuple), bytes);
+        Assert.assertArrayEquals(tuple, binaryCodec.decode(bytes).getTuple());
+    }
+
+    @Test
+    public void testSerializationIsDefault() {
+        GraphQLEntityViewSupport support = new GraphQLEntityViewSupportFactory(false, false).create(new TypeDefinitionRegistry(), mockEntityViewManager());
+        Assert.assertTrue(support.getCursorCodec() instanceof GraphQLSerializationCursorCodec);
+        assertRoundTrip(support);
+
+        // Cursors of connections are encoded with Java serialization by default
+        byte[] bytes = GraphQLRelayPageInfo.serializeCursor(0, 1, new Serializable[]{ 1L });
+        Assert.assertEquals((byte) 0xAC, bytes[0]);
+        Assert.assertEquals((byte) 0xED, bytes[1]);
+    }
+
+    @Test
+    public void testBinaryCursorCodecOptIn() {
+        GraphQLEntityViewSupportFactory factory = new GraphQLEntityViewSupportFactory(false, false);
+        factory.setBinaryCursorCodec(true);
+        GraphQLEntityViewSupport support = factory.create(new TypeDefinitionRegistry(), mockEntityViewManager());
+        Assert.assertTrue(support.getCursorCodec() instanceof GraphQLBinaryCursorCodec);
+        assertRoundTrip(support);
+
+        // Cursors that were handed out before enabling the binary codec can still be read
+        GraphQLCursor cursor = support.deserialize(Base64.getEncoder().encodeToString(GraphQLRelayPageInfo.serializeCursor(3, 4, new Serializable[]{ 5L })));
+        Assert.assertEquals(3, cursor.getOffset());
+        Assert.assertArrayEquals(new Serializable[]{ 5L }, cursor.getTuple());
+    }
+
+    private static void assertRoundTrip(GraphQLEntityViewSupport support) {
+        Serializable[] tuple = new Serializable[]{ "abc", 1L };
+        GraphQLCursor cursor = support.deserialize(Base64.getEncoder().encodeToString(support.serializeCursor(1, 2, tuple)));
+        Assert.assertEquals(1, cursor.getOffset());
+        Assert.assertEquals(2, cursor.getPageSize());
+        Assert.assertArrayEquals(tuple, cursor.getTuple());
+    }
+
+    private static EntityViewManager mockEntityViewManager() {
+        EntityViewManager entityViewManager = mock(EntityViewManager.class);
+        EntityMetamodel entityMetamodel = mock(EntityMetamodel.class);
+        Set<javax.persistence.metamodel.Type<?>> basicTypes = new HashSet<>();
+        basicTypes.add(mockBasicType(String.class));
+        basicTypes.add(mockBasicType(Long.class));
+        when(entityMetamodel.getBasicTypes()).thenReturn(basicTypes);
+        when(entityViewManager.getService(EntityMetamodel.class)).thenReturn(entityMetamodel);
+        when(entityViewManager.getMetamodel()).thenReturn(mock(ViewMetamodel.class));
+        return entityViewManager;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static javax.persistence.metamodel.Type<?> mockBasicType(Class<?> javaType) {
+        javax.persistence.metamodel.Type<Object> type = mock(javax.persistence.metamodel.Type.class);
+        when(type.getJavaType()).thenReturn((Class<Object>) javaType);
+        return type;
+    }
+
+    @Test
+    public void testInvalid() {
+        byte[] bytes = binaryCodec.encode(0, 1, new Serializable[]{ "abc", 1L });
+        try {
+            binaryCodec.decode(Arrays.copyOf(bytes, bytes.length - 1));
+            Assert.fail("Expected to fail decoding a truncated cursor");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+        try {
+            new GraphQLBinaryCursorCodec(null).decode(serializationCodec.encode(0, 1, new Serializable[]{ 1 }));
+            Assert.fail("Expected to fail decoding a serialized cursor without fallback");
+        } catch (IllegalArgumentException ex) {
+            Assert.assertEquals("Unsupported cursor format", ex.getMessage());
+        }
+    }
+}
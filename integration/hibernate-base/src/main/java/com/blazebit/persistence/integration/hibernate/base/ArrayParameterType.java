@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.hibernate.base;
+
+import org.hibernate.type.AbstractSingleColumnStandardBasicType;
+import org.hibernate.type.descriptor.ValueBinder;
+import org.hibernate.type.descriptor.ValueExtractor;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractTypeDescriptor;
+import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+import org.hibernate.type.descriptor.sql.BasicBinder;
+import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * A parameter only type that binds a Java array as a single SQL array through the JDBC driver.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class ArrayParameterType extends AbstractSingleColumnStandardBasicType<Object[]> {
+
+    public static final ArrayParameterType INSTANCE = new ArrayParameterType();
+
+    public ArrayParameterType() {
+        super(ArraySqlTypeDescriptor.INSTANCE, ArrayJavaTypeDescriptor.INSTANCE);
+    }
+
+    @Override
+    public String getName() {
+        return "blaze_array_parameter";
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class ArraySqlTypeDescriptor implements SqlTypeDescriptor {
+
+        static final ArraySqlTypeDescriptor INSTANCE = new ArraySqlTypeDescriptor();
+
+        @Override
+        public int getSqlType() {
+            return Types.ARRAY;
+        }
+
+        @Override
+        public boolean canBeRemapped() {
+            return false;
+        }
+
+        @Override
+        public <X> ValueBinder<X> getBinder(JavaTypeDescriptor<X> javaTypeDescriptor) {
+            return new BasicBinder<X>(javaTypeDescriptor, this) {
+                @Override
+                protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
+                    // The JDBC drivers determine the SQL array type from the component type of the Java array
+                    st.setObject(index, value);
+                }
+            };
+        }
+
+        @Override
+        public <X> ValueExtractor<X> getExtractor(JavaTypeDescriptor<X> javaTypeDescriptor) {
+            throw new UnsupportedOperationException("Arrays are only supported as parameters!");
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class ArrayJavaTypeDescriptor extends AbstractTypeDescriptor<Object[]> {
+
+        static final ArrayJavaTypeDescriptor INSTANCE = new ArrayJavaTypeDescriptor();
+
+        private ArrayJavaTypeDescriptor() {
+            super(Object[].class);
+        }
+
+        @Override
+        public String toString(Object[] value) {
+            return Arrays.toString(value);
+        }
+
+        @Override
+        public Object[] fromString(String string) {
+            throw new UnsupportedOperationException("Arrays are only supported as parameters!");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <X> X unwrap(Object[] value, Class<X> type, WrapperOptions options) {
+            if (value == null) {
+                return null;
+            }
+            if (type.isInstance(value)) {
+                return (X) value;
+            }
+            throw unknownUnwrap(type);
+        }
+
+        @Override
+        public <X> Object[] wrap(X value, WrapperOptions options) {
+            if (value == null) {
+                return null;
+            }
+            if (value instanceof Object[]) {
+                return (Object[]) value;
+            }
+            throw unknownWrap(value.getClass());
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.TypeMismatchException;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
 import org.hibernate.engine.query.spi.HQLQueryPlan;
 import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.spi.QueryParameters;
@@ -59,6 +60,7 @@ import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.loader.hql.QueryLoader;
 import org.hibernate.param.ParameterSpecification;
 import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.Queryable;
 import org.hibernate.type.ManyToOneType;
 import org.hibernate.type.Type;
 
@@ -68,7 +70,12 @@ import javax.persistence.NonUniqueResultException;
 import javax.persistence.PersistenceException;
 import javax.persistence.Query;
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
@@ -95,6 +102,29 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
 
     private static final Logger LOG = Logger.getLogger(HibernateExtendedQuerySupport.class.getName());
     private static final String[] KNOWN_STATEMENTS = { "select ", "insert ", "update ", "delete " };
+    // The session parameter type changed in Hibernate 5.2, so we look these up by arity
+    private static final Method PARAMETER_BIND_METHOD;
+    private static final Constructor<BulkOperationCleanupAction> BULK_OPERATION_CLEANUP_ACTION_CONSTRUCTOR;
+
+    static {
+        Method bindMethod = null;
+        for (Method method : ParameterSpecification.class.getMethods()) {
+            if ("bind".equals(method.getName()) && method.getParameterTypes().length == 4) {
+                bindMethod = method;
+                break;
+            }
+        }
+        Constructor<BulkOperationCleanupAction> bulkOperationCleanupActionConstructor = null;
+        for (Constructor<?> constructor : BulkOperationCleanupAction.class.getConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length == 2 && parameterTypes[1] == Queryable[].class) {
+                bulkOperationCleanupActionConstructor = (Constructor<BulkOperationCleanupAction>) constructor;
+                break;
+            }
+        }
+        PARAMETER_BIND_METHOD = bindMethod;
+        BULK_OPERATION_CLEANUP_ACTION_CONSTRUCTOR = bulkOperationCleanupActionConstructor;
+    }
     
     private final ConcurrentMap<SessionFactoryImplementor, BoundedConcurrentHashMap<QueryPlanCacheKey, QueryPlanCacheValue>> queryPlanCachesCache = new ConcurrentHashMap<>();
     private final ConcurrentMap<FieldKey, Field> fieldCache = new ConcurrentHashMap<>();
@@ -682,6 +712,77 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         }
     }
 
+    @Override
+    public int[] executeBatchUpdate(EntityManager em, List<Query> queries) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        SessionFactoryImplementor sfi = session.getFactory();
+
+        if (session.isClosed()) {
+            throw new PersistenceException("Entity manager is closed!");
+        }
+
+        Set<String> querySpaces = new HashSet<>();
+        List<QueryParamEntry> queryParamEntries = getQueryParamEntries(em, queries, querySpaces);
+        String queryString = queryParamEntries.get(0).queryString;
+        for (int i = 1; i < queryParamEntries.size(); i++) {
+            // Expanded collection parameters lead to different SQL
+            if (!queryString.equals(queryParamEntries.get(i).queryString)) {
+                return null;
+            }
+        }
+
+        HQLQueryPlan queryPlan = sfi.getQueryPlanCache().getHQLQueryPlan(queryString, false, Collections.EMPTY_MAP);
+        QueryTranslator queryTranslator = queryPlan.getTranslators()[0];
+        if (!queryTranslator.isManipulationStatement()) {
+            throw new IllegalArgumentException("Only modification queries can be executed as batch!");
+        }
+        StatementExecutor executor = getStatementExecutor(queryTranslator);
+        // Multi-table modifications and deletes with cascading deletes need multiple statements per query
+        if (!(executor instanceof BasicExecutor) || executor instanceof DeleteExecutor) {
+            return null;
+        }
+
+        String sql = executor.getSqlStatements()[0];
+        autoFlush(querySpaces, session);
+        try {
+            // Invalidate the second level cache regions just like a normal execution does
+            Queryable persister = getField(executor, "persister");
+            ((EventSource) session).getActionQueue().addAction(BULK_OPERATION_CLEANUP_ACTION_CONSTRUCTOR.newInstance(session, new Queryable[]{ persister }));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        PreparedStatement statement = null;
+        try {
+            statement = session.connection().prepareStatement(sql);
+            for (QueryParamEntry queryParamEntry : queryParamEntries) {
+                int position = 1;
+                for (ParameterSpecification specification : queryParamEntry.specifications) {
+                    position += (Integer) PARAMETER_BIND_METHOD.invoke(specification, statement, queryParamEntry.queryParameters, session, position);
+                }
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } catch (SQLException e) {
+            throw hibernateAccess.convert(em, sfi.getJdbcServices().getSqlExceptionHelper().convert(e, "could not execute batch update", sql));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw hibernateAccess.convert(em, sfi.getJdbcServices().getSqlExceptionHelper().convert((SQLException) e.getCause(), "could not bind parameters", sql));
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    LOG.fine("Could not close batch statement: " + e.getMessage());
+                }
+            }
+        }
+    }
+
     public void autoFlush(Set<String> querySpaces, SessionImplementor sessionImplementor) {
         AutoFlushEvent event = new AutoFlushEvent(querySpaces, (EventSource) sessionImplementor);
         for (AutoFlushEventListener listener : sessionImplementor.getFactory().getServiceRegistry().getService(EventListenerRegistry.class).getEventListenerGroup(EventType.AUTO_FLUSH).listeners()) {
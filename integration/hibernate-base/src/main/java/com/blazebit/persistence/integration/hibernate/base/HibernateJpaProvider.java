@@ -1638,6 +1638,17 @@ public class HibernateJpaProvider implements JpaProvider {
         }
     }
 
+    @Override
+    public boolean supportsArrayParameters() {
+        return true;
+    }
+
+    @Override
+    public void setArrayParameter(Query query, String name, Object[] value) {
+        // Passing the type explicitly skips the validation against the type that Hibernate inferred for the parameter
+        query.unwrap(org.hibernate.Query.class).setParameter(name, value, ArrayParameterType.INSTANCE);
+    }
+
     @Override
     public List<String> getIdentifierOrUniqueKeyEmbeddedPropertyNames(EntityType<?> owner, String attributeName) {
         return new ArrayList<>(getJoinMappingPropertyNames(owner, null, attributeName).keySet());
@@ -1213,6 +1213,12 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         }
     }
 
+    @Override
+    public int[] executeBatchUpdate(EntityManager em, List<Query> queries) {
+        // TODO: implement JDBC batching for Hibernate 6
+        return null;
+    }
+
     private static String[][] getReturningColumns(boolean caseInsensitive, String exampleQuerySql) {
         int fromIndex = exampleQuerySql.indexOf("from");
         int selectIndex = exampleQuerySql.indexOf("select");
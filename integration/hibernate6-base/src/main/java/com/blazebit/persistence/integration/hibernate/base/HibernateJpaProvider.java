@@ -1465,6 +1465,16 @@ public class HibernateJpaProvider implements JpaProvider {
         query.setParameter(name, value);
     }
 
+    @Override
+    public boolean supportsArrayParameters() {
+        return false;
+    }
+
+    @Override
+    public void setArrayParameter(Query query, String name, Object[] value) {
+        throw new UnsupportedOperationException("Binding arrays as parameters is not supported!");
+    }
+
     @Override
     public List<String> getIdentifierOrUniqueKeyEmbeddedPropertyNames(EntityType<?> owner, String attributeName) {
         return new ArrayList<>(getJoinMappingPropertyNames(owner, null, attributeName).keySet());
@@ -64,7 +64,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * @author Christian Beikov
@@ -386,6 +388,14 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
             return entityViewManager.get().find(entityManager, entityViewSetting, entityId);
         }
 
+        public <T> CompletionStage<T> findAsync(EntityManager entityManager, Class<T> entityViewClass, Object entityId, Executor executor) {
+            return entityViewManager.get().findAsync(entityManager, entityViewClass, entityId, executor);
+        }
+
+        public <T> CompletionStage<T> findAsync(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId, Executor executor) {
+            return entityViewManager.get().findAsync(entityManager, entityViewSetting, entityId, executor);
+        }
+
         public <T> T getReference(Class<T> entityViewClass, Object id) {
             return entityViewManager.get().getReference(entityViewClass, id);
         }
@@ -474,6 +484,10 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
             entityViewManager.get().save(entityManager, view);
         }
 
+        public void saveAll(EntityManager entityManager, Iterable<?> views) {
+            entityViewManager.get().saveAll(entityManager, views);
+        }
+
         public void saveFull(EntityManager entityManager, Object view) {
             entityViewManager.get().saveFull(entityManager, view);
         }
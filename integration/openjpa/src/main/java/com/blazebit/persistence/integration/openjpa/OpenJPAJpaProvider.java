@@ -425,6 +425,16 @@ public class OpenJPAJpaProvider implements JpaProvider {
         query.setParameter(name, value);
     }
 
+    @Override
+    public boolean supportsArrayParameters() {
+        return false;
+    }
+
+    @Override
+    public void setArrayParameter(Query query, String name, Object[] value) {
+        throw new UnsupportedOperationException("Binding arrays as parameters is not supported!");
+    }
+
     private Attribute<?, ?> getAttribute(ManagedType<?> ownerType, String attributeName) {
         if (attributeName.indexOf('.') == -1) {
             return ownerType.getAttribute(attributeName);